@@ -0,0 +1,61 @@
+package com.webler.goliath.algorithm;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DijkstraBenchmark {
+    @Param({"8", "16", "32"})
+    private int size;
+    private Vertex[] vertices;
+    private Edge[] edges;
+    private Dijkstra dijkstra;
+
+    /**
+    * Generates a grid graph where every cell is connected to its eight neighbours.
+    */
+    @Setup
+    public void setup() {
+        vertices = new Vertex[size * size];
+        List<Edge> edgeList = new ArrayList<>();
+        for (int i = 0; i < size; ++i) {
+            for (int j = 0; j < size; ++j) {
+                int id = i * size + j;
+                vertices[id] = new Vertex(id);
+                for (int di = -1; di <= 1; ++di) {
+                    for (int dj = -1; dj <= 1; ++dj) {
+                        int k = i + di;
+                        int l = j + dj;
+                        // Connects the cell to every neighbour inside the grid.
+                        if((di != 0 || dj != 0) && k >= 0 && k < size && l >= 0 && l < size) {
+                            edgeList.add(new Edge(id, k * size + l, 1));
+                        }
+                    }
+                }
+            }
+        }
+        edges = edgeList.toArray(new Edge[0]);
+        dijkstra = new Dijkstra();
+        dijkstra.buildGraph(vertices, edges, true);
+    }
+
+    @Benchmark
+    public Dijkstra buildGraph() {
+        Dijkstra d = new Dijkstra();
+        d.buildGraph(vertices, edges, true);
+        return d;
+    }
+
+    @Benchmark
+    public void computePath(Blackhole bh) {
+        dijkstra.reset();
+        dijkstra.computePath(0);
+        bh.consume(dijkstra.getDistance(size * size - 1));
+    }
+}
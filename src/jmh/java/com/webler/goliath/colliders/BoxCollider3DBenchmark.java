@@ -0,0 +1,74 @@
+package com.webler.goliath.colliders;
+
+import com.webler.goliath.core.GameObject;
+import com.webler.goliath.core.Scene;
+import com.webler.goliath.core.SceneParams;
+import org.joml.Vector3d;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BoxCollider3DBenchmark {
+    private static final double RAY_STEP = 0.1;
+    private static final double RAY_MAX_DIST = 40;
+    @Param({"16", "256"})
+    private int collidersCount;
+    private BoxCollider3D[] colliders;
+    private BoxCollider3D mover;
+
+    /**
+    * Places the colliders on a row along the x axis and a moving collider at its start.
+    */
+    @Setup
+    public void setup() {
+        Scene scene = new Scene(null) {
+            @Override
+            public void init(SceneParams params) {}
+        };
+        colliders = new BoxCollider3D[collidersCount];
+        for (int i = 0; i < collidersCount; ++i) {
+            colliders[i] = createCollider(scene, 4 + i * 2, 0, (i % 3) - 1);
+        }
+        mover = createCollider(scene, 0, 0, 0);
+    }
+
+    @Benchmark
+    public void collidesWith(Blackhole bh) {
+        for (BoxCollider3D collider : colliders) {
+            bh.consume(mover.collidesWith(collider));
+        }
+    }
+
+    /**
+    * Steps a ray along the x axis and tests every point against all colliders, the way EntityController#raycast does for fixed objects.
+    */
+    @Benchmark
+    public Vector3d raycast() {
+        Vector3d vec = new Vector3d(1, 0, 0).normalize().mul(RAY_STEP);
+        Vector3d rayPosition = new Vector3d(0, 0.25, 0.25);
+        double dist = 0;
+        while(dist < RAY_MAX_DIST) {
+            rayPosition.add(vec);
+            for (BoxCollider3D collider : colliders) {
+                // Returns the first point inside a collider.
+                if(collider.contains(rayPosition)) {
+                    return rayPosition;
+                }
+            }
+            dist += RAY_STEP;
+        }
+        return null;
+    }
+
+    private static BoxCollider3D createCollider(Scene scene, double x, double y, double z) {
+        GameObject gameObject = new GameObject(scene);
+        gameObject.transform.position.set(x, y, z);
+        BoxCollider3D collider = new BoxCollider3D(new Vector3d(1, 1, 1));
+        gameObject.addComponent("BoxCollider3D", collider);
+        return collider;
+    }
+}
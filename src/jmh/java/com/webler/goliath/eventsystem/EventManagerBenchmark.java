@@ -0,0 +1,79 @@
+package com.webler.goliath.eventsystem;
+
+import com.webler.goliath.core.Component;
+import com.webler.goliath.core.GameObject;
+import com.webler.goliath.eventsystem.events.Event;
+import com.webler.goliath.eventsystem.listeners.EventHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventManagerBenchmark {
+    @Param({"1", "16", "256"})
+    private int listenersCount;
+    private List<BenchmarkListener> listeners;
+    private BenchmarkEvent event;
+
+    @Setup
+    public void setup() {
+        listeners = new ArrayList<>();
+        for (int i = 0; i < listenersCount; ++i) {
+            BenchmarkListener listener = new BenchmarkListener();
+            EventManager.registerListeners(listener);
+            listeners.add(listener);
+        }
+        event = new BenchmarkEvent(null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (BenchmarkListener listener : listeners) {
+            EventManager.unregisterListeners(listener);
+        }
+    }
+
+    @Benchmark
+    public void dispatchEvent() {
+        EventManager.dispatchEvent(event);
+    }
+
+    @Benchmark
+    public void dispatchUnhandledEvent() {
+        EventManager.dispatchEvent(new UnhandledEvent(null));
+    }
+
+    public static class BenchmarkEvent extends Event {
+        public BenchmarkEvent(GameObject gameObject) {
+            super(gameObject);
+        }
+    }
+
+    public static class UnhandledEvent extends Event {
+        public UnhandledEvent(GameObject gameObject) {
+            super(gameObject);
+        }
+    }
+
+    public static class BenchmarkListener extends Component {
+        private int received;
+
+        @Override
+        public void start() {}
+
+        @Override
+        public void update(double dt) {}
+
+        @Override
+        public void destroy() {}
+
+        @EventHandler
+        public void onBenchmarkEvent(BenchmarkEvent event) {
+            ++received;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.webler.goliath.graphics;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ShaderBenchmark {
+    private static final int U_TEX = Shader.getUniformHandle("u_tex");
+    private Shader shader;
+
+    /**
+    * Loads the sprite shader and parses its uniforms without a GL context. The camera and fog come from the Frame uniform block, so u_tex is the uniform the renderer sets per draw. Only the lookup and the comparison with the last value are measured, not the GL call.
+    */
+    @Setup
+    public void setup() {
+        Graphics.setBackend(new RecordingGraphicsBackend());
+        shader = Shader.load("goliath/shaders/sprite.glsl", "", "FOG_ON");
+        shader.initUniforms();
+        shader.setInt(U_TEX, 0);
+    }
+
+    @Benchmark
+    public Uniform findTextureUniform() {
+        return shader.findUniform("u_tex");
+    }
+
+    @Benchmark
+    public Uniform findMissingUniform() {
+        return shader.findUniform("u_missing");
+    }
+
+    @Benchmark
+    public int setUnchangedTexture() {
+        shader.setInt(U_TEX, 0);
+        return shader.getSkippedUploadsCount();
+    }
+
+    @Benchmark
+    public int supplyUnchangedTexture() {
+        shader.supplyUniform("u_tex", 0);
+        return shader.getSkippedUploadsCount();
+    }
+}
@@ -0,0 +1,66 @@
+package com.webler.goliath.graphics;
+
+import com.webler.goliath.core.GameObject;
+import com.webler.goliath.core.Scene;
+import com.webler.goliath.core.SceneParams;
+import com.webler.goliath.graphics.components.SpriteRenderer;
+import com.webler.goliath.prefabs.PerspectiveCameraPrefab;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpriteBatchBenchmark {
+    @Param({"100", "1000"})
+    private int spritesCount;
+    @Param({"true", "false"})
+    private boolean moving;
+    private SpriteBatch spriteBatch;
+    private List<GameObject> gameObjects;
+
+    /**
+    * Fills a billboard batch with sprites of a few textures. Only the CPU side of the batch is built since there is no GL context.
+    */
+    @Setup
+    public void setup() {
+        Graphics.setBackend(new RecordingGraphicsBackend());
+        Scene scene = new Scene(null) {
+            @Override
+            public void init(SceneParams params) {}
+        };
+        new PerspectiveCameraPrefab(Math.PI / 3, 0.1, 1000).create(scene);
+        Sprite[] sprites = new Sprite[] {
+                new Sprite(new Texture(16, 16)),
+                new Sprite(new Texture(32, 32)),
+                new Sprite(new Texture(64, 64))
+        };
+        spriteBatch = new SpriteBatch(-1);
+        gameObjects = new ArrayList<>();
+        for (int i = 0; i < spritesCount; ++i) {
+            GameObject gameObject = new GameObject(scene);
+            gameObject.transform.position.set(i % 32, 0, i / 32);
+            SpriteRenderer spriteRenderer = new SpriteRenderer(sprites[i % sprites.length], -1);
+            gameObject.addComponent("SpriteRenderer", spriteRenderer);
+            spriteBatch.add(spriteRenderer);
+            gameObjects.add(gameObject);
+        }
+    }
+
+    @Benchmark
+    public SpriteBatch prepare() {
+        // Moving sprites have to compute their positions again.
+        if(moving) {
+            for (GameObject gameObject : gameObjects) {
+                gameObject.update(0);
+                gameObject.transform.position.y += 0.01;
+                gameObject.prepareRender(1);
+            }
+        }
+        spriteBatch.prepare();
+        return spriteBatch;
+    }
+}
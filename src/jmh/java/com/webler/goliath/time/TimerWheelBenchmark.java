@@ -0,0 +1,46 @@
+package com.webler.goliath.time;
+
+import com.webler.goliath.core.GameObject;
+import com.webler.goliath.core.Scene;
+import com.webler.goliath.core.SceneParams;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimerWheelBenchmark {
+    @Param({"16", "1024", "16384"})
+    private int timersCount;
+    private TimerWheel timers;
+    private GameObject owner;
+    private Runnable reschedule;
+
+    @Setup
+    public void setup() {
+        Scene scene = new Scene(null) {
+            @Override
+            public void init(SceneParams params) {}
+        };
+        owner = new GameObject(scene, "owner");
+        scene.add(owner);
+        timers = scene.getTimers();
+        // Every timer schedules a new one when it fires, so the number of pending timers stays the same.
+        reschedule = () -> timers.schedule(owner, 2, reschedule);
+        for (int i = 0; i < timersCount; ++i) {
+            timers.schedule(owner, 2.0 * i / timersCount, reschedule);
+        }
+    }
+
+    @Benchmark
+    public int update() {
+        timers.update(1 / 60.0);
+        return timers.getFiredCount();
+    }
+
+    @Benchmark
+    public void scheduleAndCancel() {
+        timers.schedule(owner, 1, reschedule).cancel();
+    }
+}
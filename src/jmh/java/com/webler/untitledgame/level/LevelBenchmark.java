@@ -0,0 +1,78 @@
+package com.webler.untitledgame.level;
+
+import com.webler.goliath.graphics.Graphics;
+import com.webler.goliath.graphics.RecordingGraphicsBackend;
+import com.webler.untitledgame.MyConfig;
+import com.webler.untitledgame.level.graphics.LevelGeometry;
+import com.webler.untitledgame.level.levelmap.LevelMap;
+import com.webler.untitledgame.level.levelmap.Platform;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LevelBenchmark {
+    private static final int ROOM_SIZE = 6;
+    @Param({"2", "4", "8"})
+    private int rooms;
+    private Path levelPath;
+    private Path savePath;
+    private Level level;
+
+    /**
+    * Generates a level of rooms x rooms platforms of alternating height and loads it headless.
+    */
+    @Setup
+    public void setup() throws Exception {
+        Graphics.setBackend(new RecordingGraphicsBackend());
+        new MyConfig("LevelScene", null, false).preload();
+
+        LevelMap levelMap = new LevelMap();
+        for (int i = 0; i < rooms; ++i) {
+            for (int j = 0; j < rooms; ++j) {
+                levelMap.addPlatform(new Platform(j * ROOM_SIZE, i * ROOM_SIZE, ROOM_SIZE, ROOM_SIZE, (i + j) % 2, 4));
+            }
+        }
+        levelPath = Files.createTempFile("benchmark_level", ".xml");
+        savePath = Files.createTempFile("benchmark_level_save", ".xml");
+        levelMap.save(levelPath.toString());
+
+        level = new Level();
+        level.load(levelPath.toString());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(levelPath);
+        Files.deleteIfExists(savePath);
+    }
+
+    @Benchmark
+    public Level buildGraph() {
+        level.buildGraph();
+        return level;
+    }
+
+    @Benchmark
+    public LevelGeometry levelGeometry() {
+        return new LevelGeometry(level);
+    }
+
+    @Benchmark
+    public LevelMap loadLevelMap() throws Exception {
+        LevelMap levelMap = new LevelMap();
+        levelMap.load(levelPath.toString());
+        return levelMap;
+    }
+
+    @Benchmark
+    public LevelMap saveLevelMap() throws Exception {
+        LevelMap levelMap = level.getLevelMap();
+        levelMap.save(savePath.toString());
+        return levelMap;
+    }
+}
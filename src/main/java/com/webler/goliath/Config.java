@@ -1,6 +1,9 @@
 package com.webler.goliath;
 
+import com.webler.goliath.audio.AudioBackend;
 import com.webler.goliath.core.SceneParams;
+import com.webler.goliath.graphics.GraphicsBackend;
+import com.webler.goliath.input.InputSource;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -13,6 +16,17 @@ public class Config {
     private String startScene;
     private SceneParams startSceneParams;
     private boolean loggerEnabled;
+    private boolean fixedTimestep;
+    private int tickRate;
+    private int maxTicksPerFrame;
+    private int workerCount;
+    private double eventInboxBudget;
+    private boolean headless;
+    private long headlessFrames;
+    private GraphicsBackend graphicsBackend;
+    private AudioBackend audioBackend;
+    private InputSource inputSource;
+    private Long seed;
 
     public Config(String title, int windowWidth, int windowHeight, String startScene, SceneParams startSceneParams, boolean loggerEnabled) {
         this.title = title;
@@ -21,6 +35,17 @@ public class Config {
         this.startScene = startScene;
         this.startSceneParams = startSceneParams;
         this.loggerEnabled = loggerEnabled;
+        fixedTimestep = false;
+        tickRate = 60;
+        maxTicksPerFrame = 5;
+        workerCount = Math.max(Runtime.getRuntime().availableProcessors() - 1, 1);
+        eventInboxBudget = 0.002;
+        headless = false;
+        headlessFrames = 0;
+        graphicsBackend = null;
+        audioBackend = null;
+        inputSource = null;
+        seed = null;
     }
 
     public void preload() {}
@@ -1,15 +1,23 @@
 package com.webler.goliath;
 
+import com.webler.goliath.audio.AudioBackend;
 import com.webler.goliath.audio.AudioManager;
+import com.webler.goliath.audio.OpenALAudioBackend;
+import com.webler.goliath.audio.RecordingAudioBackend;
 import com.webler.goliath.core.Scene;
 import com.webler.goliath.core.SceneParams;
 import com.webler.goliath.core.exceptions.SceneNotRegisteredException;
+import com.webler.goliath.eventsystem.EventManager;
 import com.webler.goliath.graphics.*;
 import com.webler.goliath.graphics.canvas.Canvas;
-import com.webler.goliath.graphics.components.Camera;
 import com.webler.goliath.graphics.font.BitmapFont;
 import com.webler.goliath.graphics.ui.UIElements;
 import com.webler.goliath.input.Input;
+import com.webler.goliath.input.InputSource;
+import com.webler.goliath.jobs.FramePhase;
+import com.webler.goliath.jobs.JobSystem;
+import com.webler.goliath.math.Rng;
+import com.webler.goliath.profiler.Profiler;
 import com.webler.goliath.utils.AssetPool;
 import lombok.Getter;
 import org.lwjgl.glfw.*;
@@ -22,8 +30,6 @@ import java.util.logging.LogManager;
 import java.util.logging.Logger;
 
 import static org.lwjgl.opengl.GL11.*;
-import static org.lwjgl.opengl.GL30.GL_FRAMEBUFFER;
-import static org.lwjgl.opengl.GL30.glBindFramebuffer;
 
 public class Game {
     protected static Logger logger = Logger.getLogger(Game.class.getName());
@@ -47,6 +53,9 @@ public class Game {
     private Canvas canvas;
     @Getter
     private UIElements uiElements;
+    @Getter
+    private long frame;
+    private boolean stopRequested;
 
     public Game(Config config) {
         currentScene = null;
@@ -56,6 +65,8 @@ public class Game {
         title = config.getTitle();
         registeredScenes = new HashMap<>();
         sceneChangeStack = new Stack<>();
+        frame = 0;
+        stopRequested = false;
     }
 
     /**
@@ -69,7 +80,35 @@ public class Game {
     }
 
     /**
-    * Initializes GLFW and creates the window. This should be called before any calls to #getGLUT
+    * Asks the game to stop. The loop finishes the current frame and the game is destroyed.
+    */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+    * Sets the size of the viewport. A windowed game follows the size of its window again on the next frame, so this only sticks for headless games.
+    * 
+    * @param width - The width in pixels
+    * @param height - The height in pixels
+    */
+    public void setSize(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+    * Returns true if the game runs without a window, GL context and audio device.
+    * 
+    * 
+    * @return true if the game is headless
+    */
+    public boolean isHeadless() {
+        return config.isHeadless();
+    }
+
+    /**
+    * Initializes GLFW and creates the window. This should be called before any calls to #getGLUT. A headless game skips the window, the GL context and the audio device and uses the recording backends unless the config sets others.
     */
     private void init() {
         // Resets the logger to the default logger if not configured.
@@ -77,6 +116,66 @@ public class Game {
             LogManager.getLogManager().reset();
         }
 
+        GraphicsBackend graphicsBackend = config.getGraphicsBackend();
+        AudioBackend audioBackend = config.getAudioBackend();
+        // Picks the backends that match the mode if the config does not set them.
+        if(graphicsBackend == null) {
+            graphicsBackend = config.isHeadless() ? new RecordingGraphicsBackend() : new OpenGLBackend();
+        }
+        if(audioBackend == null) {
+            audioBackend = config.isHeadless() ? new RecordingAudioBackend() : new OpenALAudioBackend();
+        }
+        Graphics.setBackend(graphicsBackend);
+        // Seeds the random numbers of the game, replays set the seed of the recorded run.
+        Rng.get().setSeed(config.getSeed() != null ? config.getSeed() : System.nanoTime());
+        // Lets the input source see the game before the scene starts, replays set the recorded size.
+        if(config.getInputSource() != null) {
+            config.getInputSource().start(this);
+        }
+
+        // Creates the window and the GL context.
+        if(!config.isHeadless()) {
+            initWindow();
+        }
+
+        AudioManager.init(audioBackend);
+        JobSystem.get().start(config.getWorkerCount());
+
+        AssetPool.addBitmapFont("default", new BitmapFont(
+                new Spritesheet(
+                        AssetPool.getTexture("goliath/font/pixfont-bold.png"),
+                12, 16, 95, 16
+            ),charset.toCharArray())
+        );
+
+        config.preload();
+
+        // Sets the default blend state of the GL context.
+        if(Graphics.hasContext()) {
+            glEnable(GL_BLEND);
+            glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        }
+
+        renderer = new Renderer();
+
+        canvas = new Canvas(this);
+        uiElements = new UIElements(canvas);
+
+        // ImGui and the framebuffer need the window.
+        if(!config.isHeadless()) {
+            imGuiLayer = new ImGuiLayer(window);
+            framebuffer = new Framebuffer(width, height);
+            imGuiLayer.init();
+        }
+        DebugDraw.get().start();
+
+        playScene(config.getStartScene(), config.getStartSceneParams());
+    }
+
+    /**
+    * Initializes GLFW, creates the window and makes its GL context current.
+    */
+    private void initWindow() {
         GLFWErrorCallback.createPrint(System.err).set();
 
         // Returns true if the GLFW is not initialized.
@@ -116,44 +215,22 @@ public class Game {
         logger.info("GLFW Version: " + GLFW.glfwGetVersionString());
 
         GL.createCapabilities();
-
-        AudioManager.init();
-
-        AssetPool.addBitmapFont("default", new BitmapFont(
-                new Spritesheet(
-                        AssetPool.getTexture("goliath/font/pixfont-bold.png"),
-                12, 16, 95, 16
-            ),charset.toCharArray())
-        );
-
-        config.preload();
-
-        glEnable(GL_BLEND);
-        glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
-
-        renderer = new Renderer();
-
-        imGuiLayer = new ImGuiLayer(window);
-        framebuffer = new Framebuffer(width, height);
-        canvas = new Canvas(this);
-        uiElements = new UIElements(canvas);
-
-        imGuiLayer.init();
-        DebugDraw.get().start();
-
-        playScene(config.getStartScene(), config.getStartSceneParams());
     }
 
     /**
-    * The main GLFW loop. Reads input from the input thread and passes it to the FrameBuffer
+    * The main GLFW loop. Reads input from the input thread and passes it to the FrameBuffer. A headless game runs frames as fast as it can with the time of one tick per frame.
     */
     private void loop() {
-        double beginTime = GLFW.glfwGetTime();
+        boolean headless = config.isHeadless();
+        double tickDt = 1.0 / config.getTickRate();
+        double beginTime = headless ? 0 : GLFW.glfwGetTime();
         double endTime;
-        double dt = -1f;
+        double dt = headless ? tickDt : -1f;
+        double accumulator = 0;
+        InputSource inputSource = config.getInputSource();
 
         // This method is called by the main loop to close the specified window.
-        while ( !GLFW.glfwWindowShouldClose(window) ) {
+        while (isRunning()) {
 
 //            if(Input.keyBeginPress(GLFW.GLFW_KEY_F2)) {
 //                if(cursorLocked) {
@@ -164,80 +241,179 @@ public class Game {
 //                cursorLocked = !cursorLocked;
 //            }
 
-            int[] widthPointer = new int[1];
-            int[] heightPointer = new int[1];
-
-            GLFW.glfwGetWindowSize(window, widthPointer, heightPointer);
+            // Follows the size of the window.
+            if(!headless) {
+                updateSize();
+            }
 
-            width = widthPointer[0];
-            height = heightPointer[0];
+            Profiler profiler = Profiler.get();
+            profiler.beginFrame();
 
-            // Set the width and height of the framebuffer.
-            if(width != framebuffer.getWidth() || height != framebuffer.getHeight()) {
-                framebuffer.setSize(width, height);
+            // Feeds scripted or replayed input before the steps of the frame.
+            if(inputSource != null) {
+                inputSource.update(frame);
+                dt = inputSource.getFrameTime(frame, dt);
             }
 
             // Draws the current scene.
             if(currentScene != null) {
-                Camera camera = currentScene.getCamera();
-
-                DebugDraw.get().beginFrame();
-                canvas.beginFrame();
-                Input.beginFrame();
-
-                currentScene.update(dt);
-
-                glBindFramebuffer(GL_FRAMEBUFFER, framebuffer.getFbo());
-
-                glViewport(0, 0, width, height);
+                JobSystem.get().beginFrame();
+                double alpha = 1;
+
+                // Delivers the results of background tasks before the steps of the frame.
+                profiler.begin("Inbox");
+                EventManager.drainPostedEvents(config.getEventInboxBudget());
+                profiler.end();
+
+                // Runs as many fixed steps as fit into the accumulated time, otherwise one step with the frame time.
+                if(config.isFixedTimestep()) {
+                    accumulator += Math.max(dt, 0);
+                    int ticks = 0;
+                    while(accumulator >= tickDt && ticks < config.getMaxTicksPerFrame()) {
+                        tick(tickDt);
+                        Input.endFrame();
+                        accumulator -= tickDt;
+                        ++ticks;
+                    }
+                    // Drops the time that could not be caught up so a long frame does not slow down the following ones.
+                    if(accumulator >= tickDt) {
+                        accumulator %= tickDt;
+                    }
+                    alpha = accumulator / tickDt;
+                } else {
+                    tick(dt);
+                }
+
+                JobSystem.get().beginPhase(FramePhase.RENDER_PREP);
+                currentScene.prepareRender(alpha);
+                renderer.prepare(currentScene.getCamera());
+                JobSystem.get().endPhase(FramePhase.RENDER_PREP);
+
+                Graphics.getBackend().renderFrame(this, currentScene);
+
+                // ImGui needs the window.
+                if(!headless) {
+                    Input.setCaptured(false);
+                    profiler.begin("ImGui");
+                    imGuiLayer.beginFrame();
+                    currentScene.imgui();
+                    imGuiLayer.endFrame();
+                    profiler.end();
+                }
+
+                // Input of fixed steps is consumed by the steps themselves.
+                if(!config.isFixedTimestep()) {
+                    Input.endFrame();
+                }
+                AudioManager.endFrame();
+            }
 
-                Color bg = camera.getBackgroundColor();
-                glClearColor((float)bg.r, (float)bg.g, (float)bg.b, (float)bg.a);
-                glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
+            // This method is called by sceneChangeStack to change the scene.
+            while(!sceneChangeStack.isEmpty()) {
+                changeScene();
+            }
 
-                renderer.render(camera.getPVMatrix(), camera.getViewMatrix());
+            // Presents the frame and measures its time.
+            if(!headless) {
+                profiler.begin("Swap");
+                GLFW.glfwSwapBuffers(window);
+                profiler.end();
+                GLFW.glfwPollEvents();
 
-                DebugDraw.get().draw(currentScene.getCamera().getPVMatrix());
+                endTime = GLFW.glfwGetTime();
+                dt = endTime - beginTime;
+                beginTime = endTime;
+            }
+            profiler.endFrame();
+            ++frame;
+        }
+    }
 
-                canvas.endFrame();
+    /**
+    * Returns true while the loop should run. A headless game stops after the configured number of frames.
+    * 
+    * 
+    * @return false if the game was stopped, the window was closed or all headless frames ran
+    */
+    private boolean isRunning() {
+        // Stops when asked to.
+        if(stopRequested) {
+            return false;
+        }
+        // Runs the configured number of frames or until stopped.
+        if(config.isHeadless()) {
+            return config.getHeadlessFrames() <= 0 || frame < config.getHeadlessFrames();
+        }
+        return !GLFW.glfwWindowShouldClose(window);
+    }
 
-                glBindFramebuffer(GL_FRAMEBUFFER, 0);
+    /**
+    * Reads the size of the window and resizes the framebuffer to it.
+    */
+    private void updateSize() {
+        int[] widthPointer = new int[1];
+        int[] heightPointer = new int[1];
 
-                currentScene.draw();
+        GLFW.glfwGetWindowSize(window, widthPointer, heightPointer);
 
-                Input.setCaptured(false);
-                imGuiLayer.beginFrame();
-                currentScene.imgui();
-                imGuiLayer.endFrame();
+        width = widthPointer[0];
+        height = heightPointer[0];
 
-                Input.endFrame();
-                AudioManager.endFrame();
-            }
+        // Set the width and height of the framebuffer.
+        if(width != framebuffer.getWidth() || height != framebuffer.getHeight()) {
+            framebuffer.setSize(width, height);
+        }
+    }
 
-            // This method is called by sceneChangeStack to change the scene.
-            while(!sceneChangeStack.isEmpty()) {
-                changeScene();
-            }
+    /**
+    * Runs one simulation step of the current scene and then delivers the queued events. Debug lines and canvas quads are cleared first so only the last step of a frame is drawn.
+    * 
+    * @param dt - Time of the step in seconds
+    */
+    private void tick(double dt) {
+        DebugDraw.get().beginFrame();
+        canvas.beginFrame();
+        Input.beginFrame();
+
+        // Toggles the profiler overlay. Checked in the step so a press is consumed once, like the rest of the input.
+        if(Input.keyBeginPress(GLFW.GLFW_KEY_F3)) {
+            Profiler.get().toggleOverlay();
+        }
 
-            GLFW.glfwSwapBuffers(window);
-            GLFW.glfwPollEvents();
+        Profiler.get().begin("Scene.update");
+        currentScene.update(dt);
+        Profiler.get().end();
 
-            endTime = GLFW.glfwGetTime();
-            dt = endTime - beginTime;
-            beginTime = endTime;
-        }
+        // Delivers the events queued during the step in one batch.
+        Profiler.get().begin("Events");
+        EventManager.flushQueuedEvents();
+        Profiler.get().end();
     }
 
     /**
     * Destroys GLFW and frees resources. Called when the application is terminated or when an error occurs
     */
     private void destroy() {
-        imGuiLayer.destroy();
         renderer.clear();
+        renderer.getFrameUniforms().destroy();
         DebugDraw.get().destroy();
         AssetPool.destroy();
-        framebuffer.destroy();
         AudioManager.destroy();
+        JobSystem.get().destroy();
+        Graphics.getBackend().destroy();
+        // Closes recordings.
+        if(config.getInputSource() != null) {
+            config.getInputSource().destroy();
+        }
+
+        // Returns if there is no window to destroy.
+        if(config.isHeadless()) {
+            logger.info("Application ended.");
+            return;
+        }
+
+        imGuiLayer.destroy();
+        framebuffer.destroy();
 
         Callbacks.glfwFreeCallbacks(window);
         GLFW.glfwDestroyWindow(window);
@@ -294,6 +470,8 @@ public class Game {
             if(currentScene != null) {
                 currentScene.destroy();
             }
+            // Events of the old scene are not delivered to the new one.
+            EventManager.clearQueuedEvents();
 
             Input.start(window);
             canvas.start();
@@ -27,14 +27,14 @@ public class Animator extends Component {
     }
 
     /**
-    * Updates the animation. This is called every frame by the animator. If the animation is playing it will start a new animation from the current frame
+    * Updates the animation. This is called every frame by the animator. If the animation is playing it will start a new animation from the current frame. Frame stepping is frozen while the game object is outside of the view of the camera.
     * 
     * @param dt - time since the last
     */
     @Override
     public void update(double dt) {
         // This method is called by the animation.
-        if (isPlaying) {
+        if (isPlaying && gameObject.isVisible()) {
             Frame currentFrame = currentAnimation.frames()[currentFrameIdx];
             animable.setFrame(currentFrame.x(), currentFrame.y(), currentAnimation.frameWidth(), currentAnimation.frameHight());
             // This method is called by the animation.
@@ -0,0 +1,91 @@
+package com.webler.goliath.audio;
+
+public interface AudioBackend {
+    /**
+    * Opens the audio device. Called once by AudioManager#init ( AudioBackend ).
+    */
+    void init();
+
+    /**
+    * Closes the audio device.
+    */
+    void destroy();
+
+    /**
+    * Loads a sound resource into a buffer.
+    * 
+    * @param resourceName - The name of the Ogg Vorbis resource
+    * 
+    * @return the id of the buffer
+    */
+    int createBuffer(String resourceName);
+
+    /**
+    * Deletes a buffer created by #createBuffer ( String ).
+    * 
+    * @param bufferId - The id of the buffer
+    */
+    void deleteBuffer(int bufferId);
+
+    /**
+    * Creates a source that plays buffers.
+    * 
+    * @param loop - true if the source loops its buffer
+    * 
+    * @return the id of the source
+    */
+    int createSource(boolean loop);
+
+    /**
+    * Sets the buffer a source plays.
+    * 
+    * @param sourceId - The id of the source
+    * @param bufferId - The id of the buffer
+    */
+    void setSourceBuffer(int sourceId, int bufferId);
+
+    /**
+    * Sets the gain of a source.
+    * 
+    * @param sourceId - The id of the source
+    * @param gain - The gain, already multiplied with the global gain
+    */
+    void setSourceGain(int sourceId, float gain);
+
+    /**
+    * Starts playing a source.
+    * 
+    * @param sourceId - The id of the source
+    */
+    void play(int sourceId);
+
+    /**
+    * Pauses a source.
+    * 
+    * @param sourceId - The id of the source
+    */
+    void pause(int sourceId);
+
+    /**
+    * Stops a source.
+    * 
+    * @param sourceId - The id of the source
+    */
+    void stop(int sourceId);
+
+    /**
+    * Returns true if the source is playing.
+    * 
+    * @param sourceId - The id of the source
+    * 
+    * @return true if the source is playing
+    */
+    boolean isPlaying(int sourceId);
+
+    /**
+    * Deletes a source created by #createSource ( boolean ).
+    * 
+    * @param sourceId - The id of the source
+    */
+    void deleteSource(int sourceId);
+}
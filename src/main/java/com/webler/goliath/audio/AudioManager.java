@@ -1,21 +1,12 @@
 package com.webler.goliath.audio;
 
-import org.lwjgl.openal.AL;
-import org.lwjgl.openal.ALC;
-import org.lwjgl.openal.ALCCapabilities;
-
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static org.lwjgl.openal.ALC10.*;
-
 public class AudioManager {
     private static AudioManager instance = null;
-    private long device;
-    private long context;
+    private AudioBackend backend;
     private final List<SoundSource> sources;
     private List<SoundSource> tempSources;
     private double globalGain;
@@ -38,26 +29,35 @@ public class AudioManager {
         sources = new ArrayList<>();
         tempSources = new ArrayList<>();
         globalGain = 1.0;
+        backend = new OpenALAudioBackend();
     }
 
     /**
     * Initializes the OpenAL library. This must be called before any other methods are called in order to avoid memory leaks
     */
     public static void init() {
+        init(new OpenALAudioBackend());
+    }
+
+    /**
+    * Initializes the audio with the given backend. Sounds and sources created afterwards go through this backend.
+    * 
+    * @param backend - The backend to use, e.g. a RecordingAudioBackend when running without an audio device
+    */
+    public static void init(AudioBackend backend) {
         AudioManager manager = AudioManager.getInstance();
-        manager.device = alcOpenDevice((ByteBuffer) null);
-        // OpenAL device is not open.
-        if (manager.device == 0) {
-            throw new IllegalStateException("Failed to open the default OpenAL device.");
-        }
-        ALCCapabilities alcCapabilities = ALC.createCapabilities(manager.device);
-        manager.context = alcCreateContext(manager.device, (IntBuffer) null);
-        // Creates an OpenAL context.
-        if(manager.context == 0) {
-            throw new IllegalStateException("Failed to create OpenAL context.");
-        }
-        alcMakeContextCurrent(manager.context);
-        AL.createCapabilities(alcCapabilities);
+        backend.init();
+        manager.backend = backend;
+    }
+
+    /**
+    * Returns the audio backend. Defaults to OpenAL if #init ( AudioBackend ) was not called.
+    * 
+    * 
+    * @return the audio backend
+    */
+    public static AudioBackend getBackend() {
+        return getInstance().backend;
     }
 
     /**
@@ -117,8 +117,7 @@ public class AudioManager {
     public static void destroy() {
         AudioManager manager = AudioManager.getInstance();
         clear();
-        alcDestroyContext(manager.context);
-        alcCloseDevice(manager.device);
+        getBackend().destroy();
     }
 
     /**
@@ -0,0 +1,157 @@
+package com.webler.goliath.audio;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.openal.AL;
+import org.lwjgl.openal.ALC;
+import org.lwjgl.openal.ALCCapabilities;
+import org.lwjgl.stb.STBVorbisInfo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+import static com.webler.goliath.utils.IOUtil.ioResourceToByteBuffer;
+import static org.lwjgl.openal.AL10.*;
+import static org.lwjgl.openal.ALC10.*;
+import static org.lwjgl.stb.STBVorbis.*;
+
+public class OpenALAudioBackend implements AudioBackend {
+    private long device;
+    private long context;
+
+    /**
+    * Opens the default OpenAL device and makes its context current.
+    */
+    @Override
+    public void init() {
+        device = alcOpenDevice((ByteBuffer) null);
+        // OpenAL device is not open.
+        if (device == 0) {
+            throw new IllegalStateException("Failed to open the default OpenAL device.");
+        }
+        ALCCapabilities alcCapabilities = ALC.createCapabilities(device);
+        context = alcCreateContext(device, (IntBuffer) null);
+        // Creates an OpenAL context.
+        if(context == 0) {
+            throw new IllegalStateException("Failed to create OpenAL context.");
+        }
+        alcMakeContextCurrent(context);
+        AL.createCapabilities(alcCapabilities);
+    }
+
+    /**
+    * Destroys the OpenAL context and closes the device.
+    */
+    @Override
+    public void destroy() {
+        alcDestroyContext(context);
+        alcCloseDevice(device);
+    }
+
+    /**
+    * Decodes an Ogg Vorbis resource into an OpenAL buffer.
+    * 
+    * @param resourceName - The name of the Ogg Vorbis resource
+    * 
+    * @return the id of the buffer
+    */
+    @Override
+    public int createBuffer(String resourceName) {
+        int bufferId = alGenBuffers();
+
+        try(STBVorbisInfo info = STBVorbisInfo.malloc()) {
+            ShortBuffer pcm = readVorbis(resourceName, 32 * 1024, info);
+
+            alBufferData(bufferId, info.channels() == 1 ? AL_FORMAT_MONO16 : AL_FORMAT_STEREO16, pcm, info.sample_rate());
+        }
+        return bufferId;
+    }
+
+    @Override
+    public void deleteBuffer(int bufferId) {
+        alDeleteBuffers(bufferId);
+    }
+
+    @Override
+    public int createSource(boolean loop) {
+        int sourceId = alGenSources();
+
+        // Switches to loop mode.
+        if(loop) {
+            alSourcei(sourceId, AL_LOOPING, AL_TRUE);
+        }
+        return sourceId;
+    }
+
+    @Override
+    public void setSourceBuffer(int sourceId, int bufferId) {
+        alSourcei(sourceId, AL_BUFFER, bufferId);
+    }
+
+    @Override
+    public void setSourceGain(int sourceId, float gain) {
+        alSourcef(sourceId, AL_GAIN, gain);
+    }
+
+    @Override
+    public void play(int sourceId) {
+        alSourcePlay(sourceId);
+    }
+
+    @Override
+    public void pause(int sourceId) {
+        alSourcePause(sourceId);
+    }
+
+    @Override
+    public void stop(int sourceId) {
+        alSourceStop(sourceId);
+    }
+
+    @Override
+    public boolean isPlaying(int sourceId) {
+        return alGetSourcei(sourceId, AL_SOURCE_STATE) == AL_PLAYING;
+    }
+
+    @Override
+    public void deleteSource(int sourceId) {
+        alDeleteSources(sourceId);
+    }
+
+    /**
+    * Reads and returns PCM data from vorbis file. This is a helper method for #createBuffer ( String ) that allows to pass in information about the stream to stb_vorbis_open_memory () and #stb_vorbis_get_samples_short_interleaved ().
+    * 
+    * @param resourceName - name of the resource to read from.
+    * @param bufferSize - size of the buffer to use. Must be greater than 0.
+    * @param info - STBVorbisInfo to fill with information.
+    * 
+    * @return ShortBuffer containing the audio data read from the vorbis file. It is big enough to hold 16 - bit values
+    */
+    private static ShortBuffer readVorbis(String resourceName, int bufferSize, STBVorbisInfo info) {
+        ByteBuffer vorbis;
+        try {
+            vorbis = ioResourceToByteBuffer(resourceName, bufferSize);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        IntBuffer error   = BufferUtils.createIntBuffer(1);
+        long      decoder = stb_vorbis_open_memory(vorbis, error, null);
+        // Open Ogg Vorbis file. If decoder is 0 throw RuntimeException.
+        if (decoder == 0) {
+            throw new RuntimeException("Failed to open Ogg Vorbis file. Error: " + error.get(0));
+        }
+
+        stb_vorbis_get_info(decoder, info);
+
+        int channels = info.channels();
+
+        ShortBuffer pcm = BufferUtils.createShortBuffer(stb_vorbis_stream_length_in_samples(decoder) * channels);
+
+        stb_vorbis_get_samples_short_interleaved(decoder, channels, pcm);
+        stb_vorbis_close(decoder);
+
+        return pcm;
+    }
+}
@@ -0,0 +1,104 @@
+package com.webler.goliath.audio;
+
+import lombok.Getter;
+
+@Getter
+public class RecordingAudioBackend implements AudioBackend {
+    private int buffersCount;
+    private int sourcesCount;
+    private int liveSourcesCount;
+    private long playsCount;
+
+    public RecordingAudioBackend() {
+        buffersCount = 0;
+        sourcesCount = 0;
+        liveSourcesCount = 0;
+        playsCount = 0;
+    }
+
+    /**
+    * Nothing to open.
+    */
+    @Override
+    public void init() {
+    }
+
+    /**
+    * Nothing to close.
+    */
+    @Override
+    public void destroy() {
+    }
+
+    /**
+    * Hands out a buffer id without decoding the resource.
+    * 
+    * @param resourceName - The name of the Ogg Vorbis resource
+    * 
+    * @return the id of the buffer
+    */
+    @Override
+    public int createBuffer(String resourceName) {
+        return ++buffersCount;
+    }
+
+    @Override
+    public void deleteBuffer(int bufferId) {
+    }
+
+    /**
+    * Hands out a source id and counts the source as live until it is deleted.
+    * 
+    * @param loop - true if the source loops its buffer
+    * 
+    * @return the id of the source
+    */
+    @Override
+    public int createSource(boolean loop) {
+        ++liveSourcesCount;
+        return ++sourcesCount;
+    }
+
+    @Override
+    public void setSourceBuffer(int sourceId, int bufferId) {
+    }
+
+    @Override
+    public void setSourceGain(int sourceId, float gain) {
+    }
+
+    /**
+    * Counts the play request.
+    * 
+    * @param sourceId - The id of the source
+    */
+    @Override
+    public void play(int sourceId) {
+        ++playsCount;
+    }
+
+    @Override
+    public void pause(int sourceId) {
+    }
+
+    @Override
+    public void stop(int sourceId) {
+    }
+
+    /**
+    * Returns false, nothing is ever playing so one - shot sources are released at the end of the frame.
+    * 
+    * @param sourceId - The id of the source
+    * 
+    * @return always false
+    */
+    @Override
+    public boolean isPlaying(int sourceId) {
+        return false;
+    }
+
+    @Override
+    public void deleteSource(int sourceId) {
+        --liveSourcesCount;
+    }
+}
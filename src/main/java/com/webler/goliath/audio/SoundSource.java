@@ -1,17 +1,10 @@
 package com.webler.goliath.audio;
 
-import static org.lwjgl.openal.AL10.*;
-
 public class SoundSource {
     private final int sourceId;
 
     public SoundSource(boolean loop) {
-        this.sourceId = alGenSources();
-
-        // Switches to loop mode.
-        if(loop) {
-            alSourcei(sourceId, AL_LOOPING, AL_TRUE);
-        }
+        this.sourceId = AudioManager.getBackend().createSource(loop);
         setGain(1.0);
     }
 
@@ -22,7 +15,7 @@ public class SoundSource {
     */
     public void setBuffer(int bufferId) {
         stop();
-        alSourcei(sourceId, AL_BUFFER, bufferId);
+        AudioManager.getBackend().setSourceBuffer(sourceId, bufferId);
     }
 
     /**
@@ -31,14 +24,14 @@ public class SoundSource {
     * @param gain - the gain to set
     */
     public void setGain(double gain) {
-        alSourcef(sourceId, AL_GAIN, (float)(gain * AudioManager.getGlobalGain()));
+        AudioManager.getBackend().setSourceGain(sourceId, (float)(gain * AudioManager.getGlobalGain()));
     }
 
     /**
     * Plays the source. This is equivalent to calling #alSourcePlay ( int ) with the sourceId
     */
     public void play() {
-        alSourcePlay(sourceId);
+        AudioManager.getBackend().play(sourceId);
     }
 
     /**
@@ -48,29 +41,29 @@ public class SoundSource {
     * @return true if the sound source is playing false otherwise ( not supported by OpenAL yet ) or if the source does not exist
     */
     public boolean isPlaying() {
-        return alGetSourcei(sourceId, AL_SOURCE_STATE) == AL_PLAYING;
+        return AudioManager.getBackend().isPlaying(sourceId);
     }
 
     /**
     * Pause the source. This is a no - op if the source is not paused. See alSource
     */
     public void pause() {
-        alSourcePause(sourceId);
+        AudioManager.getBackend().pause(sourceId);
     }
 
     /**
     * Stops the source. This is equivalent to calling alSourceStop ( sourceId ). Note that you can't stop a source that is in progress
     */
     public void stop() {
-        alSourceStop(sourceId);
+        AudioManager.getBackend().stop(sourceId);
     }
 
     /**
-    * Destroys the OpenAL connection. This is called when the program is no longer needed to run on the device
+    * Destroys the source. This is called when the program is no longer needed to run on the device
     */
     public void destroy() {
         stop();
-        alDeleteSources(sourceId);
+        AudioManager.getBackend().deleteSource(sourceId);
     }
 
 }
@@ -34,6 +34,47 @@ public abstract class Component {
     */
     public void imgui() {}
 
+    /**
+    * Called once per rendered frame after the simulation steps of the frame. Renderers use it to prepare their state from the interpolated transform.
+    * 
+    * @param alpha - How far the render time is between the last two simulation steps ( 1 without fixed timestep
+    */
+    public void prepareRender(double alpha) {}
+
+    /**
+    * Returns true if #updateParallel ( double ) of this component may run on a worker thread. Such a component may only write the state of its own game object there.
+    * 
+    * 
+    * @return true if the component has work for the parallel update phase
+    */
+    public boolean isParallelSafe() {
+        return false;
+    }
+
+    /**
+    * Called on a worker thread in the parallel update phase after all components were updated. Only called if #isParallelSafe () returns true. Events dispatched here are delivered in the sync phase.
+    * 
+    * @param dt - the time since the last update in seconds
+    */
+    public void updateParallel(double dt) {}
+
+    /**
+    * Called on the main thread in the sync phase after #updateParallel ( double ) for parallel - safe components of game objects that were updated in this step. Code that reads the results of the parallel update, like animations that depend on the ground contact after physics, belongs here.
+    * 
+    * @param dt - the time since the last update in seconds
+    */
+    public void lateUpdate(double dt) {}
+
+    /**
+    * Called when the game object is released back to its PrefabPool after it was destroyed. Restores the state the prefab created so the game object can be started again. Resources that are expensive to create should be kept.
+    */
+    public void reset() {}
+
+    /**
+    * Called when a pooled game object is dropped by its PrefabPool. Frees the resources that were kept for reuse.
+    */
+    public void dispose() {}
+
     /**
     * Sets the entity that this entity is associated with. This is used to create a GameObject for the entity in the game.
     * 
@@ -62,6 +103,10 @@ public abstract class Component {
     * @return The offset position of the game object relative to the camera's position ( in world coordinates ). Note that the offset is calculated by multiplying the offset with the camera's scale
     */
     public Vector3d getOffsetPosition() {
+        // Goes through the world matrix only for children so the common case does not touch the cached matrices.
+        if(gameObject.transform.getParent() != null) {
+            return gameObject.transform.getMatrix().transformPosition(new Vector3d(offset));
+        }
         return new Vector3d(offset)
                 .mul(gameObject.transform.scale)
                 .rotate(gameObject.transform.rotation)
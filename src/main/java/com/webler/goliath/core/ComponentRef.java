@@ -0,0 +1,69 @@
+package com.webler.goliath.core;
+
+import com.webler.goliath.core.exceptions.ComponentNotFoundException;
+import com.webler.goliath.core.exceptions.ComponentTypeException;
+import lombok.Getter;
+
+public final class ComponentRef<T extends Component> {
+    @Getter
+    private final Class<T> type;
+    @Getter
+    private final String name;
+    @Getter
+    private final int slot;
+
+    private ComponentRef(Class<T> type, String name) {
+        this.type = type;
+        this.name = name;
+        slot = ComponentRegistry.getSlot(name);
+    }
+
+    /**
+    * Creates a typed handle for the component with the given name. The name is resolved to a slot id once so lookups through the handle are a plain array access.
+    * 
+    * @param type - The class of the component.
+    * @param name - The name the component is registered under in its game object.
+    * 
+    * @return The handle to the component
+    */
+    public static <T extends Component> ComponentRef<T> of(Class<T> type, String name) {
+        return new ComponentRef<>(type, name);
+    }
+
+    /**
+    * Returns the component of the game object this handle points to. Throws if the game object has no such component or it has a different type.
+    * 
+    * @param gameObject - The game object to look up.
+    * 
+    * @return The component of the game object
+    */
+    public T get(GameObject gameObject) {
+        T component = find(gameObject);
+        // Throws an exception if the component is not found.
+        if(component == null) {
+            throw new ComponentNotFoundException(gameObject.getName(), name);
+        }
+        return component;
+    }
+
+    /**
+    * Returns the component of the game object this handle points to or null if the game object does not have it.
+    * 
+    * @param gameObject - The game object to look up.
+    * 
+    * @return The component or null if there is no component with this name
+    */
+    @SuppressWarnings("unchecked")
+    public T find(GameObject gameObject) {
+        Component c = gameObject.getComponentAt(slot);
+        // Returns null if the component is not found.
+        if(c == null) {
+            return null;
+        }
+        // Throws an exception if the component has a different type.
+        if(!type.isInstance(c)) {
+            throw new ComponentTypeException(name, type.getName());
+        }
+        return (T) c;
+    }
+}
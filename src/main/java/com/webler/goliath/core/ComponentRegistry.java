@@ -0,0 +1,50 @@
+package com.webler.goliath.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class ComponentRegistry {
+    private static final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    private static final AtomicInteger slotsCounter = new AtomicInteger(0);
+
+    private ComponentRegistry() {}
+
+    /**
+    * Returns the slot id of the component name. Slot ids are small integers that are assigned the first time a name is seen and are used to index the component arrays of every game object.
+    * 
+    * @param name - The name of the component ( e. g. " Collider " ).
+    * 
+    * @return The slot id of the name. The same name always maps to the same id for the lifetime of the application
+    */
+    public static int getSlot(String name) {
+        Integer slot = slots.get(name);
+        // Fast path for names that have already been registered.
+        if(slot != null) {
+            return slot;
+        }
+        return slots.computeIfAbsent(name, n -> slotsCounter.getAndIncrement());
+    }
+
+    /**
+    * Returns the slot id of a component name without registering it. Used by lookups, so probing for a name that no component was ever added with does not grow the slot arrays.
+    * 
+    * @param name - The name of the component ( e. g. " Collider " ).
+    * 
+    * @return The slot id of the name or - 1 if the name was never registered
+    */
+    public static int findSlot(String name) {
+        Integer slot = slots.get(name);
+        return slot != null ? slot : -1;
+    }
+
+    /**
+    * Returns the number of slots that have been registered so far. Game objects size their component arrays with this value.
+    * 
+    * 
+    * @return The number of registered component names
+    */
+    public static int getSlotCount() {
+        return slotsCounter.get();
+    }
+}
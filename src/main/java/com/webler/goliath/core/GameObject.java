@@ -5,35 +5,53 @@ import com.webler.goliath.core.components.Transform;
 import com.webler.goliath.core.exceptions.ComponentNotFoundException;
 import com.webler.goliath.core.exceptions.ComponentTypeException;
 import com.webler.goliath.eventsystem.EventManager;
+import com.webler.goliath.prefabs.PrefabPool;
+import com.webler.goliath.profiler.Profiler;
 import lombok.Getter;
+import lombok.Setter;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 public final class GameObject {
-    private final Logger logger = Logger.getLogger(GameObject.class.getName());
+    private static final Logger logger = Logger.getLogger(GameObject.class.getName());
     private static final AtomicLong idsCounter = new AtomicLong(0);
+    private static final int INITIAL_CAPACITY = 4;
     @Getter
     private final Game game;
     @Getter
     private final Scene scene;
     @Getter
     private final String name;
-    private final Map<String, Component> components;
+    private Component[] slots;
+    private Component[] components;
+    private int componentsCount;
+    private boolean parallelComponents;
     public final Transform transform;
-    public final Set<String> tags;
+    private Set<String> tags;
+    @Getter
+    private int handle;
+    @Getter
+    @Setter
+    private PrefabPool pool;
+    @Getter
+    @Setter
+    private LodState lod;
 
     public GameObject(Scene scene, String name) {
         this.scene = scene;
         this.game = scene.getGame();
         this.name = name;
-        components = new HashMap<>();
+        slots = new Component[ComponentRegistry.getSlotCount()];
+        components = new Component[INITIAL_CAPACITY];
+        componentsCount = 0;
+        parallelComponents = false;
         transform = new Transform();
-        tags = new HashSet<>();
+        tags = null;
+        handle = Scene.NULL_HANDLE;
+        pool = null;
+        lod = null;
         addComponent("Transform", transform);
     }
 
@@ -45,14 +63,18 @@ public final class GameObject {
     * Registers all listeners for this component. This is called by #init ( Component ) and should be called before any components are added
     */
     public void registerListeners() {
-        components.forEach((n, c) -> EventManager.registerListeners(c));
+        for (int i = 0; i < componentsCount; ++i) {
+            EventManager.registerListeners(components[i]);
+        }
     }
 
     /**
     * Start the component. This is called by the start method of each component that is responsible for processing the data
     */
     public void start() {
-        components.forEach((n, c) -> c.start());
+        for (int i = 0; i < componentsCount; ++i) {
+            components[i].start();
+        }
     }
 
     /**
@@ -61,24 +83,115 @@ public final class GameObject {
     * @param dt - the time since the last update in seconds or
     */
     public void update(double dt) {
-        components.forEach((n, c) -> c.update(dt));
+        Profiler profiler = Profiler.get();
+        // Attributes the update time to the class of each component while the profiler records.
+        if(profiler.isRecording()) {
+            for (int i = 0; i < componentsCount; ++i) {
+                Component c = components[i];
+                profiler.begin(c.getClass());
+                c.update(dt);
+                profiler.end();
+            }
+            return;
+        }
+        for (int i = 0; i < componentsCount; ++i) {
+            components[i].update(dt);
+        }
+    }
+
+    /**
+    * Runs the parallel update of all parallel - safe components. Called on a worker thread by Scene#update ( double ).
+    * 
+    * @param dt - the time since the last update in seconds
+    */
+    public void updateParallel(double dt) {
+        for (int i = 0; i < componentsCount; ++i) {
+            Component c = components[i];
+            // Only parallel - safe components have work for worker threads.
+            if(c.isParallelSafe()) {
+                c.updateParallel(dt);
+            }
+        }
+    }
+
+    /**
+    * Runs the late update of all parallel - safe components. Called on the main thread by Scene#update ( double ) after the parallel update.
+    * 
+    * @param dt - the time since the last update in seconds
+    */
+    public void lateUpdate(double dt) {
+        for (int i = 0; i < componentsCount; ++i) {
+            Component c = components[i];
+            // Only parallel - safe components have results of the parallel update to read.
+            if(c.isParallelSafe()) {
+                c.lateUpdate(dt);
+            }
+        }
+    }
+
+    /**
+    * Returns true if any component of this game object has work for the parallel update phase.
+    * 
+    * 
+    * @return true if #updateParallel ( double ) has to be called
+    */
+    public boolean hasParallelComponents() {
+        return parallelComponents;
     }
 
     /**
     * Destroy all components and unregisters all event listeners. This is called when the application is shut down and should not be used
     */
     public void destroy() {
-        components.forEach((n, c) -> {
+        for (int i = 0; i < componentsCount; ++i) {
+            Component c = components[i];
             c.destroy();
             EventManager.unregisterListeners(c);
-        });
+        }
+    }
+
+    /**
+    * Resets all components. Called by the PrefabPool when the game object is released for reuse.
+    */
+    public void reset() {
+        for (int i = 0; i < componentsCount; ++i) {
+            components[i].reset();
+        }
+    }
+
+    /**
+    * Disposes all components. Called by the PrefabPool when a released game object is dropped.
+    */
+    public void dispose() {
+        for (int i = 0; i < componentsCount; ++i) {
+            components[i].dispose();
+        }
+    }
+
+    /**
+    * Prepares all components for rendering. Called once per rendered frame after the simulation steps and after the scene has prepared the transforms of all game objects.
+    * 
+    * @param alpha - How far the render time is between the last two simulation steps
+    */
+    public void prepareRender(double alpha) {
+        // Resolves the render matrix of the hierarchy here so worker threads only read it.
+        transform.getRenderMatrix();
+        for (int i = 0; i < componentsCount; ++i) {
+            Component c = components[i];
+            // The transform was already prepared by the scene.
+            if(c != transform) {
+                c.prepareRender(alpha);
+            }
+        }
     }
 
     /**
     * Draws the image UI for all components in this scene. This is a no - op if there are no components
     */
     public void imgui() {
-        components.forEach((n, c) -> c.imgui());
+        for (int i = 0; i < componentsCount; ++i) {
+            components[i].imgui();
+        }
     }
 
     /**
@@ -88,12 +201,31 @@ public final class GameObject {
     * @param c - The component to add to the GameObject as
     */
     public void addComponent(String name, Component c) {
+        int slot = ComponentRegistry.getSlot(name);
+        // Grows the slot array if the name was registered after this game object was created.
+        if(slot >= slots.length) {
+            slots = Arrays.copyOf(slots, Math.max(slot + 1, ComponentRegistry.getSlotCount()));
+        }
+        c.setEntity(this);
+        parallelComponents |= c.isParallelSafe();
+        Component old = slots[slot];
+        slots[slot] = c;
         // Check if game object contains a component with the given name
-        if(components.containsKey(name)) {
+        if(old != null) {
             logger.warning("Game object already contains component with name " + name);
+            for (int i = 0; i < componentsCount; ++i) {
+                // Replaces the old component in place to keep the update order.
+                if(components[i] == old) {
+                    components[i] = c;
+                    return;
+                }
+            }
         }
-        c.setEntity(this);
-        components.put(name, c);
+        // Grows the dense array if it is full.
+        if(componentsCount == components.length) {
+            components = Arrays.copyOf(components, componentsCount * 2);
+        }
+        components[componentsCount++] = c;
     }
 
     /**
@@ -104,7 +236,7 @@ public final class GameObject {
     * @return whether or not there is a component with the given name in this component set ( false if not
     */
     public boolean hasComponent(String name) {
-        return components.containsKey(name);
+        return getComponentAt(ComponentRegistry.findSlot(name)) != null;
     }
 
     /**
@@ -116,7 +248,7 @@ public final class GameObject {
     * @return The component with the specified name or null if there is no such component in the group or if the component does not exist
     */
     public <T extends Component> T getComponent(Class<T> cls, String name) {
-        Component c = components.get(name);
+        Component c = getComponentAt(ComponentRegistry.findSlot(name));
         // Throws an exception if the component is not found.
         if(c == null) {
             throw new ComponentNotFoundException(this.name, name);
@@ -128,6 +260,77 @@ public final class GameObject {
         }
     }
 
+    /**
+    * Gets the component through a typed handle. Unlike #getComponent ( Class String ) this does not hash the name.
+    * 
+    * @param ref - The handle of the component.
+    * 
+    * @return The component the handle points to
+    */
+    public <T extends Component> T getComponent(ComponentRef<T> ref) {
+        return ref.get(this);
+    }
+
+    /**
+    * Returns the component stored in the given slot. Slot ids come from ComponentRegistry.
+    * 
+    * @param slot - The slot id of the component or - 1 for a name that was never registered.
+    * 
+    * @return The component or null if the slot is empty
+    */
+    public Component getComponentAt(int slot) {
+        return slot >= 0 && slot < slots.length ? slots[slot] : null;
+    }
+
+    /**
+    * Adds a tag to this game object. The tag set is only allocated when the first tag is added.
+    * 
+    * @param tag - The tag to add.
+    */
+    public void addTag(String tag) {
+        // Allocates the tag set on first use.
+        if(tags == null) {
+            tags = new HashSet<>(4);
+        }
+        // Updates the tag index of the scene if this game object is in the scene.
+        if(tags.add(tag) && handle != Scene.NULL_HANDLE) {
+            scene.onTagAdded(this, tag);
+        }
+    }
+
+    /**
+    * Removes a tag from this game object.
+    * 
+    * @param tag - The tag to remove.
+    */
+    public void removeTag(String tag) {
+        // Removes the tag from the scene index if this game object is in the scene.
+        if(tags != null && tags.remove(tag) && handle != Scene.NULL_HANDLE) {
+            scene.onTagRemoved(this, tag);
+        }
+    }
+
+    /**
+    * Returns true if this game object has the given tag.
+    * 
+    * @param tag - The tag to look for.
+    * 
+    * @return true if the game object has the tag
+    */
+    public boolean hasTag(String tag) {
+        return tags != null && tags.contains(tag);
+    }
+
+    /**
+    * Returns a read - only view of the tags of this game object.
+    * 
+    * 
+    * @return The tags of this game object
+    */
+    public Set<String> getTags() {
+        return tags == null ? Collections.emptySet() : Collections.unmodifiableSet(tags);
+    }
+
     /**
     * Removes this Scene from the scene's list of Scene objects. This is called when the Scene is no longer needed
     */
@@ -135,6 +338,35 @@ public final class GameObject {
         scene.remove(this);
     }
 
+    /**
+    * Returns true if this game object is in its scene and has not been removed. This is a cheap check for code that keeps references to game objects.
+    * 
+    * 
+    * @return true if the game object is alive
+    */
+    public boolean isAlive() {
+        return scene.isAlive(handle);
+    }
+
+    /**
+    * Sets the handle of this game object. Only the scene calls this when the game object enters or leaves it.
+    * 
+    * @param handle - The handle or Scene.NULL_HANDLE.
+    */
+    void setHandle(int handle) {
+        this.handle = handle;
+    }
+
+    /**
+    * Returns true if the game object can be seen by the camera. Game objects that are not registered at the SimulationLod of the scene are always visible.
+    * 
+    * 
+    * @return false if the simulation LOD found the game object outside of the view
+    */
+    public boolean isVisible() {
+        return lod == null || lod.isVisible();
+    }
+
     /**
     * Generates a name for an object. This is used to distinguish objects that are in the same game as each other.
     * 
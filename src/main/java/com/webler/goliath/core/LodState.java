@@ -0,0 +1,58 @@
+package com.webler.goliath.core;
+
+import lombok.Getter;
+
+public class LodState {
+    @Getter
+    private LodTier tier;
+    @Getter
+    private boolean visible;
+    @Getter
+    private boolean updated;
+    @Getter
+    private double dt;
+    private double accumulatedDt;
+    private int skippedSteps;
+
+    public LodState(int phase) {
+        tier = LodTier.ACTIVE;
+        visible = true;
+        updated = true;
+        dt = 0;
+        accumulatedDt = 0;
+        skippedSteps = phase;
+    }
+
+    /**
+    * Sets the tier and visibility of the entity. Called by SimulationLod at the beginning of every step.
+    * 
+    * @param tier - The tier of the entity
+    * @param visible - Whether the entity can be seen by the camera
+    */
+    void set(LodTier tier, boolean visible) {
+        this.tier = tier;
+        this.visible = visible;
+    }
+
+    /**
+    * Accumulates the time of a step and decides if the entity is updated in it. Far tiers are updated every few steps with the time of all the steps they skipped.
+    * 
+    * @param dt - The time of the step in seconds
+    * 
+    * @return true if the entity has to be updated with #getDt () in this step
+    */
+    boolean advance(double dt) {
+        accumulatedDt += dt;
+        ++skippedSteps;
+        // Skips the step if the interval of the tier has not passed yet.
+        if(skippedSteps < tier.getInterval()) {
+            updated = false;
+            return false;
+        }
+        this.dt = accumulatedDt;
+        accumulatedDt = 0;
+        skippedSteps = 0;
+        updated = true;
+        return true;
+    }
+}
@@ -0,0 +1,16 @@
+package com.webler.goliath.core;
+
+import lombok.Getter;
+
+@Getter
+public enum LodTier {
+    ACTIVE(1),
+    REDUCED(4),
+    DORMANT(16);
+
+    private final int interval;
+
+    LodTier(int interval) {
+        this.interval = interval;
+    }
+}
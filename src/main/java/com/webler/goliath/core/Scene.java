@@ -1,32 +1,85 @@
 package com.webler.goliath.core;
 
 import com.webler.goliath.Game;
+import com.webler.goliath.core.ecs.EntityWorld;
+import com.webler.goliath.eventsystem.EventManager;
+import com.webler.goliath.eventsystem.events.Event;
 import com.webler.goliath.graphics.components.Camera;
+import com.webler.goliath.jobs.FramePhase;
+import com.webler.goliath.jobs.JobSystem;
 import com.webler.goliath.prefabs.PerspectiveCameraPrefab;
+import com.webler.goliath.profiler.Profiler;
+import com.webler.goliath.time.TimerWheel;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public abstract class Scene {
+    public static final int NULL_HANDLE = -1;
+    private static final int INDEX_BITS = 20;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    private static final int GENERATION_MASK = (1 << (31 - INDEX_BITS)) - 1;
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MIN_FREE_SLOTS = 1024;
+    private static final int PARALLEL_UPDATE_GRAIN = 4;
     @Getter
     private final Game game;
-    private final List<GameObject> entities;
-    private final LinkedList<GameObject> pendingEntities;
-    private final LinkedList<GameObject> entitiesToRemove;
+    private GameObject[] entities;
+    @Getter
+    private int entitiesCount;
+    private GameObject[] slots;
+    private int[] generations;
+    private int[] slotsDenseIndex;
+    private int[] freeSlots;
+    private int freeSlotsHead;
+    private int freeSlotsCount;
+    private int nextSlot;
+    private final Queue<GameObject> pendingEntities;
+    private final Queue<GameObject> entitiesToRemove;
+    private GameObject[] parallelEntities;
+    private int parallelEntitiesCount;
+    private final List<List<Event>> deferredEvents;
+    private final Map<String, Set<GameObject>> entitiesByTag;
+    private final Map<String, Set<GameObject>> entitiesByTagViews;
+    private final Map<String, List<GameObject>> entitiesByName;
     private boolean running;
     @Setter
     @Getter
     private Camera camera;
+    @Getter
+    private final EntityWorld world;
+    @Getter
+    private final SimulationLod lod;
+    @Getter
+    private final TimerWheel timers;
 
     public Scene(Game game) {
         this.game = game;
-        entities = new ArrayList<>();
-        pendingEntities = new LinkedList<>();
-        entitiesToRemove = new LinkedList<>();
+        entities = new GameObject[INITIAL_CAPACITY];
+        entitiesCount = 0;
+        slots = new GameObject[INITIAL_CAPACITY];
+        generations = new int[INITIAL_CAPACITY];
+        slotsDenseIndex = new int[INITIAL_CAPACITY];
+        freeSlots = new int[INITIAL_CAPACITY];
+        freeSlotsHead = 0;
+        freeSlotsCount = 0;
+        nextSlot = 0;
+        pendingEntities = new ConcurrentLinkedQueue<>();
+        entitiesToRemove = new ConcurrentLinkedQueue<>();
+        parallelEntities = new GameObject[INITIAL_CAPACITY];
+        parallelEntitiesCount = 0;
+        deferredEvents = new ArrayList<>();
+        entitiesByTag = new HashMap<>();
+        entitiesByTagViews = new HashMap<>();
+        entitiesByName = new HashMap<>();
 
         running = false;
         camera = null;
+        world = new EntityWorld();
+        lod = new SimulationLod(this);
+        timers = new TimerWheel();
     }
 
     /**
@@ -46,7 +99,7 @@ public abstract class Scene {
         if(running) {
             pendingEntities.add(e);
         } else {
-            entities.add(e);
+            attach(e);
         }
     }
 
@@ -59,8 +112,8 @@ public abstract class Scene {
         // Remove the entity from the list of entities to be removed.
         if(running) {
             entitiesToRemove.add(e);
-        } else {
-            entities.remove(e);
+        } else if(isAlive(e.getHandle())) {
+            detach(e);
         }
     }
 
@@ -74,35 +127,146 @@ public abstract class Scene {
             add(cameraGameObject);
         }
         running = true;
-        for (GameObject e : entities) {
-            e.registerListeners();
+        int count = entitiesCount;
+        for (int i = 0; i < count; ++i) {
+            entities[i].registerListeners();
         }
-        for (GameObject e : entities) {
-            e.start();
+        for (int i = 0; i < count; ++i) {
+            entities[i].start();
         }
     }
 
     /**
-    * Updates the game. This is called every frame to perform a physics update. Entities are added to the end of the list and removed from the list after they are started.
+    * Updates the game. This is called every frame to perform a physics update. The step runs in three phases: the pre - update phase fires the expired timers and updates all components in order, the parallel update phase runs parallel - safe components on the worker threads of the JobSystem and the sync phase applies deferred events in the order of the entities, runs the late update of the parallel - safe components and applies entities added or removed during the step.
     * 
     * @param dt - Time since last frame in seconds ( ignored for performance
     */
     public void update(double dt) {
-        for(GameObject e : entities) {
-            e.update(dt);
+        JobSystem jobs = JobSystem.get();
+        Profiler profiler = Profiler.get();
+
+        jobs.beginPhase(FramePhase.PRE_UPDATE);
+        profiler.begin("SimulationLod");
+        lod.update();
+        profiler.end();
+        profiler.begin("Timers");
+        timers.update(dt);
+        profiler.end();
+        profiler.begin("EntityWorld");
+        world.update(dt);
+        profiler.end();
+        for(int i = 0; i < entitiesCount; ++i) {
+            GameObject e = entities[i];
+            LodState state = e.getLod();
+            // Entities in far tiers are updated every few steps with the accumulated time.
+            if(state == null) {
+                e.update(dt);
+            } else if(state.advance(dt)) {
+                e.update(state.getDt());
+            }
         }
+        jobs.endPhase(FramePhase.PRE_UPDATE);
+
+        jobs.beginPhase(FramePhase.PARALLEL_UPDATE);
+        updateParallel(dt);
+        jobs.endPhase(FramePhase.PARALLEL_UPDATE);
+
+        jobs.beginPhase(FramePhase.SYNC);
+        flushDeferredEvents();
+        lateUpdate(dt);
         // This method is used to add all pending entities to the pending entities queue.
-        while(!pendingEntities.isEmpty()) {
-            GameObject e = pendingEntities.poll();
-            entities.add(e);
+        GameObject e;
+        while((e = pendingEntities.poll()) != null) {
+            attach(e);
             e.registerListeners();
             e.start();
         }
-        // Removes all entities from the list of entitiesToRemove.
-        while(!entitiesToRemove.isEmpty()) {
-            GameObject e = entitiesToRemove.poll();
-            e.destroy();
-            entities.remove(e);
+        // Removes all entities from the list of entitiesToRemove. Entities removed more than once are skipped by their stale handle.
+        while((e = entitiesToRemove.poll()) != null) {
+            if(isAlive(e.getHandle())) {
+                e.destroy();
+                detach(e);
+                // Gives pooled entities back to their pool for reuse.
+                if(e.getPool() != null) {
+                    e.getPool().release(e);
+                }
+            }
+        }
+        jobs.endPhase(FramePhase.SYNC);
+    }
+
+    /**
+    * Runs the parallel update of all entities with parallel - safe components that were updated in this step. The entities are split between the workers of the JobSystem.
+    * 
+    * @param dt - Time since last frame in seconds
+    */
+    private void updateParallel(double dt) {
+        int count = 0;
+        for (int i = 0; i < entitiesCount; ++i) {
+            GameObject e = entities[i];
+            // Collects the entities that have work for the workers. Entities skipped by the simulation LOD are skipped here too.
+            if(e.hasParallelComponents() && (e.getLod() == null || e.getLod().isUpdated())) {
+                if(count == parallelEntities.length) {
+                    parallelEntities = Arrays.copyOf(parallelEntities, count * 2);
+                }
+                parallelEntities[count++] = e;
+            }
+        }
+        parallelEntitiesCount = count;
+        // Every entity gets its own buffer for the events it dispatches on a worker.
+        while(deferredEvents.size() < count) {
+            deferredEvents.add(new ArrayList<>());
+        }
+        GameObject[] parallel = parallelEntities;
+        List<List<Event>> buffers = deferredEvents;
+        JobSystem.get().parallelFor(count, PARALLEL_UPDATE_GRAIN, i -> {
+            GameObject e = parallel[i];
+            LodState state = e.getLod();
+            EventManager.beginDeferring(buffers.get(i));
+            try {
+                e.updateParallel(state == null ? dt : state.getDt());
+            } finally {
+                EventManager.endDeferring();
+            }
+        });
+    }
+
+    /**
+    * Delivers the events dispatched in the parallel update in the order of the entities, so the result does not depend on which worker finished first.
+    */
+    private void flushDeferredEvents() {
+        for (int i = 0; i < parallelEntitiesCount; ++i) {
+            EventManager.flushDeferredEvents(deferredEvents.get(i));
+        }
+    }
+
+    /**
+    * Runs the late update of the entities that took part in the parallel update of this step. Runs on the main thread.
+    * 
+    * @param dt - Time since last frame in seconds
+    */
+    private void lateUpdate(double dt) {
+        for (int i = 0; i < parallelEntitiesCount; ++i) {
+            GameObject e = parallelEntities[i];
+            LodState state = e.getLod();
+            e.lateUpdate(state == null ? dt : state.getDt());
+        }
+        Arrays.fill(parallelEntities, 0, parallelEntitiesCount, null);
+        parallelEntitiesCount = 0;
+    }
+
+    /**
+    * Prepares all entities for rendering. This is the variable - rate render phase that runs once per rendered frame after all simulation steps of the frame.
+    * 
+    * @param alpha - How far the render time is between the last two simulation steps ( 1 without fixed timestep
+    */
+    public void prepareRender(double alpha) {
+        // Transforms go first so components can read the render matrices of parents that come later in the entity array.
+        for (int i = 0; i < entitiesCount; ++i) {
+            entities[i].transform.prepareRender(alpha);
+        }
+        for (int i = 0; i < entitiesCount; ++i) {
+            entities[i].prepareRender(alpha);
         }
     }
 
@@ -111,17 +275,19 @@ public abstract class Scene {
     */
     public void destroy() {
         running = false;
-        for (GameObject e : entities) {
-            e.destroy();
+        for (int i = 0; i < entitiesCount; ++i) {
+            entities[i].destroy();
         }
+        world.clear();
+        timers.clear();
     }
 
     /**
     * Called when imgui is enabled in the scene. This is the place where you can add your own images
     */
     protected void sceneImgui() {
-        for (GameObject e : entities) {
-            e.imgui();
+        for (int i = 0; i < entitiesCount; ++i) {
+            entities[i].imgui();
         }
     }
 
@@ -140,14 +306,15 @@ public abstract class Scene {
     }
 
     /**
-    * Returns a list of GameObjects that have been tagged with the given tag. This is useful for debugging purposes to determine if a game object is in the world or not
+    * Returns the GameObjects that have been tagged with the given tag. The result is a read - only view of the tag index of the scene so it changes when entities are added, removed or retagged.
     * 
     * @param tag - The tag to search for
     * 
-    * @return A list of GameObjects that have been tagged with the given tag or an empty list if there are
+    * @return A read - only view of the GameObjects that have been tagged with the given tag. Copy it before removing entities while the scene is not running
     */
-    public List<GameObject> getEntitiesByTag(String tag) {
-        return entities.stream().filter(e -> e.tags.contains(tag)).toList();
+    public Collection<GameObject> getEntitiesByTag(String tag) {
+        Set<GameObject> view = entitiesByTagViews.get(tag);
+        return view == null ? Collections.emptySet() : view;
     }
 
     /**
@@ -155,9 +322,167 @@ public abstract class Scene {
     * 
     * @param name - Name of the entity to search for
     * 
-    * @return GameObject with the given name or null if no entity with the given name exists in this game's
+    * @return GameObject with the given name or null if no entity with the given name exists in this game's. If several entities share the name the one that was added first is returned
     */
     public GameObject getEntityByName(String name) {
-        return entities.stream().filter(e -> e.getName().equals(name)).findAny().orElse(null);
+        List<GameObject> named = entitiesByName.get(name);
+        return named == null ? null : named.get(0);
+    }
+
+    /**
+    * Returns the GameObject the handle points to. Handles of removed entities are stale and resolve to null even if their slot was reused.
+    * 
+    * @param handle - The handle of the entity ( see GameObject#getHandle )
+    * 
+    * @return The GameObject or null if the handle is stale
+    */
+    public GameObject resolve(int handle) {
+        return isAlive(handle) ? slots[handle & INDEX_MASK] : null;
+    }
+
+    /**
+    * Returns true if the handle points to an entity of this scene.
+    * 
+    * @param handle - The handle of the entity
+    * 
+    * @return true if the entity is in the scene and has not been removed
+    */
+    public boolean isAlive(int handle) {
+        // Returns false for the null handle.
+        if(handle < 0) {
+            return false;
+        }
+        int slot = handle & INDEX_MASK;
+        return slot < nextSlot && slots[slot] != null && generations[slot] == handle >>> INDEX_BITS;
+    }
+
+    /**
+    * Returns the entity at the given index of the dense entity array. Indices change when entities are removed.
+    * 
+    * @param index - The index between 0 and getEntitiesCount ()
+    * 
+    * @return The GameObject at the index
+    */
+    public GameObject getEntity(int index) {
+        return entities[index];
+    }
+
+    /**
+    * Stores the entity in a free slot, appends it to the dense entity array and adds it to the tag and name indexes. Free slots are reused in the order they were freed and only once more than MIN_FREE_SLOTS are free, so the generation of a slot grows slowly even if pooled entities are removed and added many times per second.
+    * 
+    * @param e - The entity to attach
+    */
+    private void attach(GameObject e) {
+        int slot;
+        // Reuses the slot that was freed first if enough slots are free.
+        if(freeSlotsCount > MIN_FREE_SLOTS) {
+            slot = freeSlots[freeSlotsHead];
+            freeSlotsHead = (freeSlotsHead + 1) % freeSlots.length;
+            --freeSlotsCount;
+        } else {
+            slot = nextSlot++;
+            // Throws an exception if the slot does not fit into a handle.
+            if(slot > INDEX_MASK) {
+                throw new IllegalStateException("Scene cannot hold more than " + (INDEX_MASK + 1) + " entities");
+            }
+            if(slot == slots.length) {
+                slots = Arrays.copyOf(slots, slot * 2);
+                generations = Arrays.copyOf(generations, slot * 2);
+                slotsDenseIndex = Arrays.copyOf(slotsDenseIndex, slot * 2);
+            }
+        }
+        if(entitiesCount == entities.length) {
+            entities = Arrays.copyOf(entities, entitiesCount * 2);
+        }
+        slots[slot] = e;
+        slotsDenseIndex[slot] = entitiesCount;
+        entities[entitiesCount++] = e;
+        e.setHandle((generations[slot] << INDEX_BITS) | slot);
+        entitiesByName.computeIfAbsent(e.getName(), name -> new ArrayList<>(1)).add(e);
+        for (String tag : e.getTags()) {
+            onTagAdded(e, tag);
+        }
+    }
+
+    /**
+    * Frees the slot of the entity, swap - removes it from the dense entity array and removes it from the tag and name indexes. A slot whose generation would wrap around is retired instead of freed, so a stale handle never points to a later entity.
+    * 
+    * @param e - The entity to remove from the indexes
+    */
+    private void detach(GameObject e) {
+        int slot = e.getHandle() & INDEX_MASK;
+        int index = slotsDenseIndex[slot];
+        GameObject last = entities[--entitiesCount];
+        // Moves the last entity into the place of the removed one.
+        entities[index] = last;
+        slotsDenseIndex[last.getHandle() & INDEX_MASK] = index;
+        entities[entitiesCount] = null;
+        slots[slot] = null;
+        generations[slot] = (generations[slot] + 1) & GENERATION_MASK;
+        // Frees the slot unless its generation wrapped around.
+        if(generations[slot] != 0) {
+            pushFreeSlot(slot);
+        }
+        e.setHandle(NULL_HANDLE);
+        List<GameObject> named = entitiesByName.get(e.getName());
+        // Drops the name from the index with its last entity.
+        if(named.size() == 1) {
+            entitiesByName.remove(e.getName());
+        } else {
+            named.remove(e);
+        }
+        for (String tag : e.getTags()) {
+            onTagRemoved(e, tag);
+        }
+    }
+
+    /**
+    * Appends a slot to the queue of free slots.
+    * 
+    * @param slot - The free slot
+    */
+    private void pushFreeSlot(int slot) {
+        // Grows the queue and unwraps it so the oldest free slot is first.
+        if(freeSlotsCount == freeSlots.length) {
+            int[] grown = new int[freeSlotsCount * 2];
+            for (int i = 0; i < freeSlotsCount; ++i) {
+                grown[i] = freeSlots[(freeSlotsHead + i) % freeSlots.length];
+            }
+            freeSlots = grown;
+            freeSlotsHead = 0;
+        }
+        freeSlots[(freeSlotsHead + freeSlotsCount) % freeSlots.length] = slot;
+        ++freeSlotsCount;
+    }
+
+    /**
+    * Adds the entity to the index of the tag. Called by GameObject#addTag for entities that are in the scene.
+    * 
+    * @param e - The tagged entity
+    * @param tag - The added tag
+    */
+    void onTagAdded(GameObject e, String tag) {
+        Set<GameObject> tagged = entitiesByTag.get(tag);
+        // Creates the index of the tag on first use.
+        if(tagged == null) {
+            tagged = new LinkedHashSet<>();
+            entitiesByTag.put(tag, tagged);
+            entitiesByTagViews.put(tag, Collections.unmodifiableSet(tagged));
+        }
+        tagged.add(e);
+    }
+
+    /**
+    * Removes the entity from the index of the tag. Called by GameObject#removeTag for entities that are in the scene.
+    * 
+    * @param e - The entity
+    * @param tag - The removed tag
+    */
+    void onTagRemoved(GameObject e, String tag) {
+        Set<GameObject> tagged = entitiesByTag.get(tag);
+        // Removes the entity only if the tag is indexed.
+        if(tagged != null) {
+            tagged.remove(e);
+        }
     }
 }
@@ -0,0 +1,110 @@
+package com.webler.goliath.core;
+
+import com.webler.goliath.graphics.components.Camera;
+import lombok.Getter;
+import lombok.Setter;
+import org.joml.Matrix4d;
+import org.joml.Vector3d;
+import org.joml.Vector4d;
+
+import java.util.Arrays;
+
+public class SimulationLod {
+    private static final double VIEW_MARGIN = 0.25;
+    private final Scene scene;
+    @Getter
+    @Setter
+    private boolean enabled;
+    @Getter
+    @Setter
+    private double nearDistance;
+    @Getter
+    @Setter
+    private double farDistance;
+    private final int[] tierCounts;
+    private final Vector4d clipPosition;
+    private int registeredCount;
+
+    public SimulationLod(Scene scene) {
+        this.scene = scene;
+        enabled = true;
+        nearDistance = 16;
+        farDistance = 100;
+        tierCounts = new int[LodTier.values().length];
+        clipPosition = new Vector4d();
+        registeredCount = 0;
+    }
+
+    /**
+    * Puts a game object under the control of the service. Its updates are skipped or batched depending on its tier and components like Animator can ask whether it is visible.
+    * 
+    * @param e - The game object to register
+    */
+    public void register(GameObject e) {
+        // Registers the game object only once. The phase spreads the updates of far tiers over the steps.
+        if(e.getLod() == null) {
+            e.setLod(new LodState(registeredCount++ % LodTier.DORMANT.getInterval()));
+        }
+    }
+
+    /**
+    * Assigns the tiers of all registered entities of the scene. Entities that are visible or closer than the near distance are active, entities up to the far distance are reduced and everything behind it is dormant. Called by the scene at the beginning of every step.
+    */
+    public void update() {
+        Arrays.fill(tierCounts, 0);
+        Camera camera = scene.getCamera();
+        Vector3d eye = camera != null ? camera.getGameObject().transform.position : null;
+        Matrix4d PVMatrix = camera != null ? camera.getPVMatrix() : null;
+        for (int i = 0; i < scene.getEntitiesCount(); ++i) {
+            GameObject e = scene.getEntity(i);
+            LodState state = e.getLod();
+            // Only registered entities have a tier.
+            if(state == null) {
+                continue;
+            }
+            // Keeps everything active if the service is disabled or there is no camera.
+            if(!enabled || eye == null) {
+                state.set(LodTier.ACTIVE, true);
+            } else {
+                Vector3d position = e.transform.position;
+                double distance = position.distance(eye);
+                boolean visible = distance <= farDistance && isInView(PVMatrix, position);
+                LodTier tier;
+                if(visible || distance <= nearDistance) {
+                    tier = LodTier.ACTIVE;
+                } else if(distance <= farDistance) {
+                    tier = LodTier.REDUCED;
+                } else {
+                    tier = LodTier.DORMANT;
+                }
+                state.set(tier, visible);
+            }
+            ++tierCounts[state.getTier().ordinal()];
+        }
+    }
+
+    /**
+    * Returns the number of registered entities in the tier after the last update.
+    * 
+    * @param tier - The tier
+    * 
+    * @return The number of entities in the tier
+    */
+    public int getTierCount(LodTier tier) {
+        return tierCounts[tier.ordinal()];
+    }
+
+    /**
+    * Checks if the position projects into the view of the camera. The view is widened a bit so sprites at the border are not frozen.
+    * 
+    * @param PVMatrix - The projection view matrix of the camera
+    * @param position - The position in world space
+    * 
+    * @return true if the position is in front of the camera and inside the widened view
+    */
+    private boolean isInView(Matrix4d PVMatrix, Vector3d position) {
+        clipPosition.set(position, 1).mul(PVMatrix);
+        double w = clipPosition.w * (1 + VIEW_MARGIN);
+        return clipPosition.w > 0 && Math.abs(clipPosition.x) <= w && Math.abs(clipPosition.y) <= w;
+    }
+}
@@ -9,20 +9,64 @@ public class Transform extends Component {
     public final Quaterniond rotation;
     public final Vector3d scale;
     @Getter
+    private Transform parent;
+    private final Matrix4d localMatrix;
     private final Matrix4d matrix;
+    private final Vector3d matrixPosition;
+    private final Quaterniond matrixRotation;
+    private final Vector3d matrixScale;
+    private long localVersion;
+    private long builtLocalVersion;
+    private long builtParentVersion;
+    private long version;
+    private final Vector3d prevPosition;
+    private final Quaterniond prevRotation;
+    private final Vector3d prevScale;
+    @Getter
+    private final Vector3d renderPosition;
+    private final Quaterniond renderRotation;
+    private final Vector3d renderScale;
+    private final Matrix4d localRenderMatrix;
+    private final Matrix4d renderMatrix;
+    private long localRenderVersion;
+    private long builtLocalRenderVersion;
+    private long builtParentRenderVersion;
+    private long renderVersion;
 
     public Transform() {
-        position = new Vector3d();
-        rotation = new Quaterniond();
-        scale = new Vector3d(1.0, 1.0, 1.0);
-        matrix = new Matrix4d();
+        this(new Vector3d(), new Quaterniond(), new Vector3d(1.0, 1.0, 1.0));
     }
 
     public Transform(Transform transform) {
-        position = new Vector3d(transform.position);
-        rotation = new Quaterniond(transform.rotation);
-        scale = new Vector3d(transform.scale);
-        matrix = new Matrix4d();
+        this(new Vector3d(transform.position), new Quaterniond(transform.rotation), new Vector3d(transform.scale));
+    }
+
+    private Transform(Vector3d position, Quaterniond rotation, Vector3d scale) {
+        this.position = position;
+        this.rotation = rotation;
+        this.scale = scale;
+        parent = null;
+        localMatrix = new Matrix4d().translate(position).rotate(rotation).scale(scale);
+        matrix = new Matrix4d(localMatrix);
+        matrixPosition = new Vector3d(position);
+        matrixRotation = new Quaterniond(rotation);
+        matrixScale = new Vector3d(scale);
+        localVersion = 0;
+        builtLocalVersion = 0;
+        builtParentVersion = -1;
+        version = 0;
+        prevPosition = new Vector3d(position);
+        prevRotation = new Quaterniond(rotation);
+        prevScale = new Vector3d(scale);
+        renderPosition = new Vector3d(position);
+        renderRotation = new Quaterniond(rotation);
+        renderScale = new Vector3d(scale);
+        localRenderMatrix = new Matrix4d(localMatrix);
+        renderMatrix = new Matrix4d(localMatrix);
+        localRenderVersion = 0;
+        builtLocalRenderVersion = 0;
+        builtParentRenderVersion = -1;
+        renderVersion = 0;
     }
 
     /**
@@ -31,18 +75,61 @@ public class Transform extends Component {
     @Override
     public void start() {
         updateMatrix();
+        snap();
     }
 
     /**
-    * Updates the matrix. This is called every frame during the update loop. The matrix is updated by calling updateMatrix ()
+    * Updates the matrix. This is called every frame during the update loop. The state before the update is kept so renderers can interpolate between the last two simulation steps.
     * 
     * @param dt - time since the last
     */
     @Override
     public void update(double dt) {
+        prevPosition.set(position);
+        prevRotation.set(rotation);
+        prevScale.set(scale);
         updateMatrix();
     }
 
+    /**
+    * Computes the local render state by interpolating between the state before and after the last simulation step. Nothing is computed for an object that did not move since the last rendered frame.
+    * 
+    * @param alpha - How far the render time is between the last two simulation steps. 1 renders the current state
+    */
+    @Override
+    public void prepareRender(double alpha) {
+        boolean moving = !prevPosition.equals(position) || !prevRotation.equals(rotation) || !prevScale.equals(scale);
+        // Renders the current state without interpolation.
+        if(alpha >= 1 || !moving) {
+            // Skips the matrix if the current state is already rendered.
+            if(renderPosition.equals(position) && renderRotation.equals(rotation) && renderScale.equals(scale)) {
+                return;
+            }
+            renderPosition.set(position);
+            renderRotation.set(rotation);
+            renderScale.set(scale);
+        } else {
+            prevPosition.lerp(position, alpha, renderPosition);
+            prevRotation.slerp(rotation, alpha, renderRotation);
+            prevScale.lerp(scale, alpha, renderScale);
+        }
+        localRenderMatrix.identity()
+                .translate(renderPosition)
+                .rotate(renderRotation)
+                .scale(renderScale);
+        ++localRenderVersion;
+    }
+
+    /**
+    * Makes the previous state equal to the current state so the next frame does not interpolate. Call it after teleporting an object.
+    */
+    public void snap() {
+        prevPosition.set(position);
+        prevRotation.set(rotation);
+        prevScale.set(scale);
+        prepareRender(1);
+    }
+
     /**
     * Called when the component is no longer needed. This is the place to do any cleanup that needs to be done
     */
@@ -52,13 +139,134 @@ public class Transform extends Component {
     }
 
     /**
-    * Updates the transformation matrix to reflect the current position rotation and scale. This is called by the constructor to ensure that the matrix is up to date
+    * Detaches a pooled transform from its parent.
+    */
+    @Override
+    public void reset() {
+        setParent(null);
+    }
+
+    /**
+    * Attaches this transform to a parent. Position, rotation and scale become relative to the parent and the world matrix follows the parent lazily.
+    * 
+    * @param parent - The parent transform or null to detach
+    */
+    public void setParent(Transform parent) {
+        // Throws an exception if the parent is this transform or one of its descendants.
+        for (Transform p = parent; p != null; p = p.parent) {
+            if(p == this) {
+                throw new IllegalArgumentException("Transform cannot be its own ancestor");
+            }
+        }
+        this.parent = parent;
+        builtParentVersion = -1;
+        builtParentRenderVersion = -1;
+        // Forces the matrices to be rebuilt with the new parent.
+        ++localVersion;
+        ++localRenderVersion;
+    }
+
+    /**
+    * Updates the transformation matrix to reflect the current position rotation and scale. The local matrix is rebuilt only if one of them changed and the world matrix only if the local matrix or a parent changed.
     */
     public void updateMatrix() {
-        matrix.identity()
-                .translate(position)
-                .rotate(rotation)
-                .scale(scale);
+        // Rebuilds the local matrix if the local state changed since it was built.
+        if(!position.equals(matrixPosition) || !rotation.equals(matrixRotation) || !scale.equals(matrixScale)) {
+            matrixPosition.set(position);
+            matrixRotation.set(rotation);
+            matrixScale.set(scale);
+            localMatrix.identity()
+                    .translate(position)
+                    .rotate(rotation)
+                    .scale(scale);
+            ++localVersion;
+        }
+        // Combines the local matrix with the world matrix of the parent.
+        if(parent == null) {
+            if(builtLocalVersion != localVersion) {
+                matrix.set(localMatrix);
+                builtLocalVersion = localVersion;
+                ++version;
+            }
+        } else {
+            parent.updateMatrix();
+            if(builtLocalVersion != localVersion || builtParentVersion != parent.version) {
+                parent.matrix.mul(localMatrix, matrix);
+                builtLocalVersion = localVersion;
+                builtParentVersion = parent.version;
+                ++version;
+            }
+        }
+    }
+
+    /**
+    * Returns the world matrix. It is brought up to date first so it can be read any time after the transform changed.
+    * 
+    * 
+    * @return The world matrix of the transform
+    */
+    public Matrix4d getMatrix() {
+        updateMatrix();
+        return matrix;
+    }
+
+    /**
+    * Returns the version of the world matrix. It changes whenever the world matrix changes so users can skip work for unchanged transforms.
+    * 
+    * 
+    * @return The version of the world matrix
+    */
+    public long getVersion() {
+        updateMatrix();
+        return version;
+    }
+
+    /**
+    * Returns the position in world space. Same as position for transforms without parent.
+    * 
+    * @param dest - The vector to store the position in
+    * 
+    * @return dest
+    */
+    public Vector3d getWorldPosition(Vector3d dest) {
+        return getMatrix().getTranslation(dest);
+    }
+
+    /**
+    * Returns the interpolated world matrix used for rendering. The matrix of a child is combined with the render matrix of its parent lazily.
+    * 
+    * 
+    * @return The render matrix of the transform
+    */
+    public Matrix4d getRenderMatrix() {
+        // Combines the local render matrix with the render matrix of the parent.
+        if(parent == null) {
+            if(builtLocalRenderVersion != localRenderVersion) {
+                renderMatrix.set(localRenderMatrix);
+                builtLocalRenderVersion = localRenderVersion;
+                ++renderVersion;
+            }
+        } else {
+            Matrix4d parentRenderMatrix = parent.getRenderMatrix();
+            if(builtLocalRenderVersion != localRenderVersion || builtParentRenderVersion != parent.renderVersion) {
+                parentRenderMatrix.mul(localRenderMatrix, renderMatrix);
+                builtLocalRenderVersion = localRenderVersion;
+                builtParentRenderVersion = parent.renderVersion;
+                ++renderVersion;
+            }
+        }
+        return renderMatrix;
+    }
+
+    /**
+    * Returns the version of the render matrix. Renderers compare it with the version they used last to skip unchanged transforms.
+    * 
+    * 
+    * @return The version of the render matrix
+    */
+    public long getRenderVersion() {
+        getRenderMatrix();
+        return renderVersion;
     }
 
 }
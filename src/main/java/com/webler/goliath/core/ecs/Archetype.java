@@ -0,0 +1,113 @@
+package com.webler.goliath.core.ecs;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+public final class Archetype {
+    private static final int INITIAL_CAPACITY = 64;
+    @Getter
+    private final long mask;
+    private final ColumnType[] types;
+    private final double[][] columns;
+    private int[] entities;
+    @Getter
+    private int count;
+    private int capacity;
+
+    Archetype(long mask) {
+        this.mask = mask;
+        types = new ColumnType[Long.bitCount(mask)];
+        columns = new double[ColumnType.MAX_TYPES][];
+        capacity = INITIAL_CAPACITY;
+        entities = new int[capacity];
+        count = 0;
+        int i = 0;
+        for (int id = 0; id < ColumnType.MAX_TYPES; ++id) {
+            // Allocates a column for every type in the mask.
+            if((mask & (1L << id)) != 0) {
+                ColumnType type = ColumnType.get(id);
+                types[i++] = type;
+                columns[id] = new double[capacity * type.getWidth()];
+            }
+        }
+    }
+
+    /**
+    * Returns the column of the given type. Values of the entity in row r start at r * type.getWidth().
+    * 
+    * @param type - The column type.
+    * 
+    * @return The backing array of the column or null if the archetype does not contain the type. The array is replaced when the archetype grows so do not keep it across frames
+    */
+    public double[] getColumn(ColumnType type) {
+        return columns[type.getId()];
+    }
+
+    /**
+    * Returns the entity stored in the given row.
+    * 
+    * @param row - The row of the entity.
+    * 
+    * @return The entity id
+    */
+    public int getEntity(int row) {
+        return entities[row];
+    }
+
+    /**
+    * Returns true if this archetype contains all column types of the mask.
+    * 
+    * @param mask - The mask of column types.
+    * 
+    * @return true if all types are contained
+    */
+    public boolean contains(long mask) {
+        return (this.mask & mask) == mask;
+    }
+
+    /**
+    * Appends a row for the entity and fills it with the default values of every column.
+    * 
+    * @param entity - The entity id.
+    * 
+    * @return The row of the entity
+    */
+    int add(int entity) {
+        // Grows every column if the archetype is full.
+        if(count == capacity) {
+            capacity *= 2;
+            entities = Arrays.copyOf(entities, capacity);
+            for (ColumnType type : types) {
+                columns[type.getId()] = Arrays.copyOf(columns[type.getId()], capacity * type.getWidth());
+            }
+        }
+        int row = count++;
+        entities[row] = entity;
+        for (ColumnType type : types) {
+            System.arraycopy(type.getDefaults(), 0, columns[type.getId()], row * type.getWidth(), type.getWidth());
+        }
+        return row;
+    }
+
+    /**
+    * Removes the row by moving the last row into its place.
+    * 
+    * @param row - The row to remove.
+    * 
+    * @return The entity that was moved into the row or -1 if the removed row was the last one
+    */
+    int remove(int row) {
+        int last = --count;
+        // Returns early if the removed row is the last one.
+        if(row == last) {
+            return -1;
+        }
+        entities[row] = entities[last];
+        for (ColumnType type : types) {
+            int width = type.getWidth();
+            System.arraycopy(columns[type.getId()], last * width, columns[type.getId()], row * width, width);
+        }
+        return entities[row];
+    }
+}
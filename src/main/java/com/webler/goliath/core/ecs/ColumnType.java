@@ -0,0 +1,80 @@
+package com.webler.goliath.core.ecs;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public final class ColumnType {
+    public static final int MAX_TYPES = 64;
+    private static final List<ColumnType> types = new ArrayList<>();
+
+    public static final ColumnType POSITION = register("Position", 3);
+    public static final ColumnType ROTATION = register("Rotation", 4, 0, 0, 0, 1);
+    public static final ColumnType SCALE = register("Scale", 3, 1, 1, 1);
+    public static final ColumnType VELOCITY = register("Velocity", 3);
+    public static final ColumnType ACCELERATION = register("Acceleration", 3);
+    public static final ColumnType SIZE = register("Size", 3);
+
+    private final String name;
+    private final int id;
+    private final int width;
+    private final long mask;
+    private final double[] defaults;
+
+    private ColumnType(String name, int id, int width, double[] defaults) {
+        this.name = name;
+        this.id = id;
+        this.width = width;
+        this.mask = 1L << id;
+        this.defaults = defaults;
+    }
+
+    /**
+    * Registers a new column type. Every entity of an archetype containing this type stores width doubles in the column of the type.
+    * 
+    * @param name - The name of the column type. Used for debugging only.
+    * @param width - The number of doubles stored per entity.
+    * @param defaults - The initial values of a new row. Missing values are zero.
+    * 
+    * @return The registered column type
+    */
+    public static synchronized ColumnType register(String name, int width, double... defaults) {
+        // Throws an exception if the mask has no free bits left.
+        if(types.size() >= MAX_TYPES) {
+            throw new IllegalStateException("Cannot register more than " + MAX_TYPES + " column types");
+        }
+        double[] rowDefaults = new double[width];
+        System.arraycopy(defaults, 0, rowDefaults, 0, Math.min(width, defaults.length));
+        ColumnType type = new ColumnType(name, types.size(), width, rowDefaults);
+        types.add(type);
+        return type;
+    }
+
+    /**
+    * Returns the column type with the given id.
+    * 
+    * @param id - The id of the column type.
+    * 
+    * @return The column type
+    */
+    public static synchronized ColumnType get(int id) {
+        return types.get(id);
+    }
+
+    /**
+    * Returns the mask containing all given column types.
+    * 
+    * @param types - The column types.
+    * 
+    * @return The bitwise or of the masks of the types
+    */
+    public static long maskOf(ColumnType... types) {
+        long mask = 0;
+        for (ColumnType type : types) {
+            mask |= type.mask;
+        }
+        return mask;
+    }
+}
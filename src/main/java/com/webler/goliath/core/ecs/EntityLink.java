@@ -0,0 +1,95 @@
+package com.webler.goliath.core.ecs;
+
+import com.webler.goliath.core.Component;
+import com.webler.goliath.core.components.Transform;
+import lombok.Getter;
+
+public class EntityLink extends Component {
+    private final ColumnType[] types;
+    @Getter
+    protected EntityWorld world;
+    @Getter
+    protected int entity;
+
+    public EntityLink(ColumnType... types) {
+        this.types = types;
+        entity = -1;
+    }
+
+    /**
+    * Creates the entity in the world of the scene and copies the transform of the game object into its position, rotation and scale columns.
+    */
+    @Override
+    public void start() {
+        world = gameObject.getScene().getWorld();
+        entity = world.create(types);
+        Archetype archetype = world.getArchetype(entity);
+        int row = world.getRow(entity);
+        Transform transform = gameObject.transform;
+        double[] position = archetype.getColumn(ColumnType.POSITION);
+        // Copies the position if the entity stores it.
+        if(position != null) {
+            position[row * 3] = transform.position.x;
+            position[row * 3 + 1] = transform.position.y;
+            position[row * 3 + 2] = transform.position.z;
+        }
+        double[] rotation = archetype.getColumn(ColumnType.ROTATION);
+        // Copies the rotation if the entity stores it.
+        if(rotation != null) {
+            rotation[row * 4] = transform.rotation.x;
+            rotation[row * 4 + 1] = transform.rotation.y;
+            rotation[row * 4 + 2] = transform.rotation.z;
+            rotation[row * 4 + 3] = transform.rotation.w;
+        }
+        double[] scale = archetype.getColumn(ColumnType.SCALE);
+        // Copies the scale if the entity stores it.
+        if(scale != null) {
+            scale[row * 3] = transform.scale.x;
+            scale[row * 3 + 1] = transform.scale.y;
+            scale[row * 3 + 2] = transform.scale.z;
+        }
+    }
+
+    /**
+    * Copies the position, rotation and scale columns of the entity back into the transform of the game object so renderers keep working.
+    * 
+    * @param dt - Time since the last update in seconds ( ignored
+    */
+    @Override
+    public void update(double dt) {
+        Archetype archetype = world.getArchetype(entity);
+        // Keeps the transform if a system destroyed the entity or the world was cleared.
+        if(archetype == null) {
+            return;
+        }
+        int row = world.getRow(entity);
+        Transform transform = gameObject.transform;
+        double[] position = archetype.getColumn(ColumnType.POSITION);
+        // Copies the position if the entity stores it.
+        if(position != null) {
+            transform.position.set(position[row * 3], position[row * 3 + 1], position[row * 3 + 2]);
+        }
+        double[] rotation = archetype.getColumn(ColumnType.ROTATION);
+        // Copies the rotation if the entity stores it.
+        if(rotation != null) {
+            transform.rotation.set(rotation[row * 4], rotation[row * 4 + 1], rotation[row * 4 + 2], rotation[row * 4 + 3]);
+        }
+        double[] scale = archetype.getColumn(ColumnType.SCALE);
+        // Copies the scale if the entity stores it.
+        if(scale != null) {
+            transform.scale.set(scale[row * 3], scale[row * 3 + 1], scale[row * 3 + 2]);
+        }
+    }
+
+    /**
+    * Destroys the entity of this link.
+    */
+    @Override
+    public void destroy() {
+        // Destroys the entity only if it was created.
+        if(entity != -1) {
+            world.destroy(entity);
+            entity = -1;
+        }
+    }
+}
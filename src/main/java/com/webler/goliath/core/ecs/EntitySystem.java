@@ -0,0 +1,11 @@
+package com.webler.goliath.core.ecs;
+
+public interface EntitySystem {
+    /**
+    * Updates all entities this system is interested in. Systems should fetch their archetypes with EntityWorld#query and iterate the columns directly.
+    * 
+    * @param world - The world the system belongs to.
+    * @param dt - Time since the last update in seconds.
+    */
+    void update(EntityWorld world, double dt);
+}
@@ -0,0 +1,244 @@
+package com.webler.goliath.core.ecs;
+
+import java.util.*;
+
+public class EntityWorld {
+    private static final int INITIAL_CAPACITY = 256;
+    private final List<Archetype> archetypes;
+    private final Map<Long, Archetype> archetypesByMask;
+    private final Map<Long, List<Archetype>> queries;
+    private final List<EntitySystem> systems;
+    private Archetype[] entityArchetypes;
+    private int[] entityRows;
+    private int[] freeIds;
+    private int freeCount;
+    private int nextId;
+    private int[] pendingDestroys;
+    private int pendingDestroysCount;
+    private boolean updating;
+
+    public EntityWorld() {
+        archetypes = new ArrayList<>();
+        archetypesByMask = new HashMap<>();
+        queries = new HashMap<>();
+        systems = new ArrayList<>();
+        entityArchetypes = new Archetype[INITIAL_CAPACITY];
+        entityRows = new int[INITIAL_CAPACITY];
+        freeIds = new int[INITIAL_CAPACITY];
+        freeCount = 0;
+        nextId = 0;
+        pendingDestroys = new int[INITIAL_CAPACITY];
+        pendingDestroysCount = 0;
+        updating = false;
+    }
+
+    /**
+    * Creates an entity with the given column types. The values of the entity are initialized with the defaults of the types.
+    * 
+    * @param types - The column types of the entity.
+    * 
+    * @return The id of the new entity
+    */
+    public int create(ColumnType... types) {
+        long mask = ColumnType.maskOf(types);
+        Archetype archetype = archetypesByMask.get(mask);
+        // Creates the archetype on first use and adds it to the matching queries.
+        if(archetype == null) {
+            archetype = new Archetype(mask);
+            archetypes.add(archetype);
+            archetypesByMask.put(mask, archetype);
+            for (Map.Entry<Long, List<Archetype>> query : queries.entrySet()) {
+                if(archetype.contains(query.getKey())) {
+                    query.getValue().add(archetype);
+                }
+            }
+        }
+        int entity;
+        // Reuses a freed id if there is one.
+        if(freeCount > 0) {
+            entity = freeIds[--freeCount];
+        } else {
+            entity = nextId++;
+            if(entity == entityArchetypes.length) {
+                entityArchetypes = Arrays.copyOf(entityArchetypes, entity * 2);
+                entityRows = Arrays.copyOf(entityRows, entity * 2);
+            }
+        }
+        entityArchetypes[entity] = archetype;
+        entityRows[entity] = archetype.add(entity);
+        return entity;
+    }
+
+    /**
+    * Destroys the entity. If systems are running the entity is destroyed after the last system finished so rows do not move under a running loop.
+    * 
+    * @param entity - The id of the entity.
+    */
+    public void destroy(int entity) {
+        // Defers the removal while systems iterate the archetypes.
+        if(updating) {
+            if(pendingDestroysCount == pendingDestroys.length) {
+                pendingDestroys = Arrays.copyOf(pendingDestroys, pendingDestroysCount * 2);
+            }
+            pendingDestroys[pendingDestroysCount++] = entity;
+            return;
+        }
+        Archetype archetype = entityArchetypes[entity];
+        // Returns if the entity was already destroyed.
+        if(archetype == null) {
+            return;
+        }
+        int moved = archetype.remove(entityRows[entity]);
+        // Updates the row of the entity that took the place of the removed one.
+        if(moved != -1) {
+            entityRows[moved] = entityRows[entity];
+        }
+        entityArchetypes[entity] = null;
+        entityRows[entity] = -1;
+        if(freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = entity;
+    }
+
+    /**
+    * Returns true if the entity exists.
+    * 
+    * @param entity - The id of the entity.
+    * 
+    * @return true if the entity was created and not destroyed yet
+    */
+    public boolean isAlive(int entity) {
+        return entity >= 0 && entity < nextId && entityArchetypes[entity] != null;
+    }
+
+    /**
+    * Returns the archetype the entity is stored in.
+    * 
+    * @param entity - The id of the entity.
+    * 
+    * @return The archetype of the entity or null if it does not exist
+    */
+    public Archetype getArchetype(int entity) {
+        return isAlive(entity) ? entityArchetypes[entity] : null;
+    }
+
+    /**
+    * Returns the row of the entity in its archetype. Rows change when other entities are destroyed.
+    * 
+    * @param entity - The id of the entity.
+    * 
+    * @return The row of the entity or -1 if it does not exist
+    */
+    public int getRow(int entity) {
+        return isAlive(entity) ? entityRows[entity] : -1;
+    }
+
+    /**
+    * Sets the values of one column of the entity.
+    * 
+    * @param entity - The id of the entity.
+    * @param type - The column type. The archetype of the entity must contain it.
+    * @param values - The values to set. At most type.getWidth() values are copied.
+    */
+    public void set(int entity, ColumnType type, double... values) {
+        double[] column = entityArchetypes[entity].getColumn(type);
+        System.arraycopy(values, 0, column, entityRows[entity] * type.getWidth(), Math.min(values.length, type.getWidth()));
+    }
+
+    /**
+    * Returns one value of one column of the entity.
+    * 
+    * @param entity - The id of the entity.
+    * @param type - The column type. The archetype of the entity must contain it.
+    * @param index - The index of the value inside the row of the column.
+    * 
+    * @return The value
+    */
+    public double get(int entity, ColumnType type, int index) {
+        return entityArchetypes[entity].getColumn(type)[entityRows[entity] * type.getWidth() + index];
+    }
+
+    /**
+    * Returns all archetypes containing the given column types. The returned list is cached and grows when new archetypes are created.
+    * 
+    * @param types - The column types the archetypes must contain.
+    * 
+    * @return A read - only list of the matching archetypes
+    */
+    public List<Archetype> query(ColumnType... types) {
+        long mask = ColumnType.maskOf(types);
+        List<Archetype> result = queries.get(mask);
+        // Builds the query on first use.
+        if(result == null) {
+            result = new ArrayList<>();
+            for (Archetype archetype : archetypes) {
+                if(archetype.contains(mask)) {
+                    result.add(archetype);
+                }
+            }
+            queries.put(mask, result);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+    * Adds a system to the world. Systems are updated in the order they were added.
+    * 
+    * @param system - The system to add.
+    */
+    public void addSystem(EntitySystem system) {
+        systems.add(system);
+    }
+
+    /**
+    * Removes a system from the world.
+    * 
+    * @param system - The system to remove.
+    */
+    public void removeSystem(EntitySystem system) {
+        systems.remove(system);
+    }
+
+    /**
+    * Updates all systems and destroys the entities that were destroyed during the update.
+    * 
+    * @param dt - Time since the last update in seconds.
+    */
+    public void update(double dt) {
+        updating = true;
+        for (int i = 0; i < systems.size(); ++i) {
+            systems.get(i).update(this, dt);
+        }
+        updating = false;
+        for (int i = 0; i < pendingDestroysCount; ++i) {
+            destroy(pendingDestroys[i]);
+        }
+        pendingDestroysCount = 0;
+    }
+
+    /**
+    * Returns the number of living entities.
+    * 
+    * 
+    * @return The number of entities
+    */
+    public int getEntityCount() {
+        return nextId - freeCount;
+    }
+
+    /**
+    * Removes all entities and systems. The ids, rows and free ids are reset too, so an id from before the clear does not resolve until it is handed out again by #create ( ColumnType... ).
+    */
+    public void clear() {
+        archetypes.clear();
+        archetypesByMask.clear();
+        queries.clear();
+        systems.clear();
+        Arrays.fill(entityArchetypes, 0, nextId, null);
+        Arrays.fill(entityRows, 0, nextId, -1);
+        freeCount = 0;
+        nextId = 0;
+        pendingDestroysCount = 0;
+    }
+}
@@ -0,0 +1,63 @@
+package com.webler.goliath.eventsystem;
+
+import com.webler.goliath.eventsystem.events.Event;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class EventInbox {
+    private final AtomicReference<Node> tail;
+    private Node head;
+
+    public EventInbox() {
+        head = new Node(null);
+        tail = new AtomicReference<>(head);
+    }
+
+    /**
+    * Adds an event to the inbox. Can be called from any thread. Posting takes no lock, producers only swap the tail of a linked list.
+    * 
+    * @param event - The event to post
+    */
+    public void post(Event event) {
+        Node node = new Node(event);
+        Node prev = tail.getAndSet(node);
+        prev.next = node;
+    }
+
+    /**
+    * Removes the oldest event. Must only be called from one thread at a time. An event whose producer has swapped the tail but not linked it yet is seen by the next poll.
+    * 
+    * 
+    * @return the oldest event or null if the inbox is empty
+    */
+    public Event poll() {
+        Node next = head.next;
+        // Returns if no linked event is left.
+        if(next == null) {
+            return null;
+        }
+        Event event = next.event;
+        next.event = null;
+        head = next;
+        return event;
+    }
+
+    /**
+    * Returns true if there is no event to poll.
+    * 
+    * 
+    * @return true if the inbox is empty
+    */
+    public boolean isEmpty() {
+        return head.next == null;
+    }
+
+    private static final class Node {
+        private Event event;
+        private volatile Node next;
+
+        private Node(Event event) {
+            this.event = event;
+        }
+    }
+}
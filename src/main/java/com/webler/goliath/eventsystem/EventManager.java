@@ -1,27 +1,335 @@
 package com.webler.goliath.eventsystem;
 
 import com.webler.goliath.core.Component;
+import com.webler.goliath.core.GameObject;
 import com.webler.goliath.eventsystem.events.Event;
+import com.webler.goliath.eventsystem.exceptions.EventHandlerException;
 import com.webler.goliath.eventsystem.listeners.EventHandler;
+import com.webler.goliath.eventsystem.ListenerList.Listener;
+import com.webler.goliath.eventsystem.listeners.EventInvoker;
+import com.webler.goliath.jobs.JobSystem;
 
-import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
+import java.lang.invoke.*;
 import java.lang.reflect.Method;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.logging.Logger;
 
 public class EventManager {
     private static final Logger logger = Logger.getLogger(EventManager.class.getName());
-    private static final HashMap<Class<? extends Event>, CopyOnWriteArrayList<Listener>> registeredListeners =
-            new HashMap<>();
+    private static final HashMap<Class<? extends Event>, ListenerList> registeredListeners = new HashMap<>();
+    private static final HashMap<Class<? extends Event>, HashMap<Object, ListenerList>> scopedListeners = new HashMap<>();
+    private static final IdentityHashMap<Component, Listener[]> registrations = new IdentityHashMap<>();
+    private static final ThreadLocal<List<Event>> deferredEvents = new ThreadLocal<>();
+    private static final EventInbox inbox = new EventInbox();
+    private static final Object queueLock = new Object();
+    private static ArrayList<Event> queuedEvents = new ArrayList<>();
+    private static ArrayList<Event> flushedEvents = new ArrayList<>();
+    private static final HashMap<QueueKey, Integer> coalescedEvents = new HashMap<>();
+    private static final ClassValue<Handler[]> handlers = new ClassValue<>() {
+        @Override
+        protected Handler[] computeValue(Class<?> type) {
+            return findHandlers(type);
+        }
+    };
 
     /**
-    * Registers all event handlers in the given class instance. This method is called by Jitsi and should not be called directly
+    * Registers all event handlers in the given class instance. The handlers of a class are found once and cached. Registering a component that is already registered has no effect.
     * 
     * @param listenerClassInstance - class instance to scan for
     */
     public static void registerListeners(Component listenerClassInstance) {
-        for (Method method : listenerClassInstance.getClass().getMethods()) {
+        Handler[] classHandlers = handlers.get(listenerClassInstance.getClass());
+        // Returns if there is nothing to register or the component is registered already.
+        if(classHandlers.length == 0 || registrations.containsKey(listenerClassInstance)) {
+            return;
+        }
+        Listener[] listeners = new Listener[classHandlers.length];
+        for (int i = 0; i < classHandlers.length; ++i) {
+            Handler handler = classHandlers[i];
+            Object scope = getScope(listenerClassInstance, handler);
+            listeners[i] = new Listener(listenerClassInstance, handler.invoker(), handler.name(), handler.eventClass(), scope);
+            getOrCreateListeners(handler.eventClass(), scope).add(listeners[i]);
+        }
+        registrations.put(listenerClassInstance, listeners);
+    }
+
+    /**
+    * Removes all listeners registered for the given class instance. The registrations of a component are kept in a reverse index, so only its own listeners are visited and each is removed in constant time.
+    * 
+    * @param listenerClassInstance - the class instance that should no longer be
+    */
+    public static void unregisterListeners(Component listenerClassInstance) {
+        Listener[] listeners = registrations.remove(listenerClassInstance);
+        // Returns if the component has no registered listeners.
+        if(listeners == null) {
+            return;
+        }
+        for (Listener listener : listeners) {
+            ListenerList list = listener.getList();
+            list.remove(listener);
+            // Drops the list of a source or channel without listeners, sources come and go with their game objects.
+            if(listener.scope != null && list.isEmpty()) {
+                HashMap<Object, ListenerList> scoped = scopedListeners.get(listener.eventClass);
+                scoped.remove(listener.scope);
+                // Drops the index of the event class if it is empty.
+                if(scoped.isEmpty()) {
+                    scopedListeners.remove(listener.eventClass);
+                }
+            }
+        }
+    }
+
+    /**
+    * Returns the list of listeners of an event class and scope and creates it on first use.
+    * 
+    * @param eventClass - The class of the event
+    * @param scope - The source game object, the channel or null for listeners of all events of the class
+    * 
+    * @return the list of listeners
+    */
+    private static ListenerList getOrCreateListeners(Class<? extends Event> eventClass, Object scope) {
+        // Global listeners are not indexed by scope.
+        if(scope == null) {
+            return registeredListeners.computeIfAbsent(eventClass, c -> new ListenerList());
+        }
+        return scopedListeners.computeIfAbsent(eventClass, c -> new HashMap<>())
+                .computeIfAbsent(scope, s -> new ListenerList());
+    }
+
+    /**
+    * Returns the scope a handler of the listener subscribes to.
+    * 
+    * @param listener - The listener
+    * @param handler - The handler of the listener
+    * 
+    * @return the game object of the listener for own events, the channel or null for all events
+    */
+    private static Object getScope(Component listener, Handler handler) {
+        // Own events are keyed by the game object of the listener.
+        if(handler.own()) {
+            // Throws an exception if the listener is not attached to a game object.
+            if(listener.getGameObject() == null) {
+                throw new IllegalStateException("Event handler " + handler.name() + " receives own events but the listener has no game object.");
+            }
+            return listener.getGameObject();
+        }
+        return handler.channel();
+    }
+
+    /**
+    * Dispatches an event to all registered listeners. Listeners of all events of the class are called first, then the listeners of the source game object and then the listeners of the channel of the event. A failing handler does not keep the other listeners from the event, the first failure is thrown as an EventHandlerException once all of them ran. Events dispatched in the parallel update phase are added to the buffer of the entity that is updated on the thread and delivered by #flushDeferredEvents ( List ).
+    * 
+    * @param event - the event to be
+    */
+    public static void dispatchEvent(Event event) {
+        // Defers the event until the sync phase if listeners could run on a worker thread.
+        if(JobSystem.get().isParallelPhase()) {
+            List<Event> buffer = deferredEvents.get();
+            // Throws an exception if no entity is updated on the thread, the event would have no place in the order of delivery.
+            if(buffer == null) {
+                throw new IllegalStateException("Event " + event.getClass().getSimpleName() + " dispatched in the parallel update phase outside of an entity update.");
+            }
+            buffer.add(event);
+            return;
+        }
+        EventHandlerException failure = invokeListeners(registeredListeners.get(event.getClass()), event, null);
+        HashMap<Object, ListenerList> scoped = scopedListeners.get(event.getClass());
+        // Only the listeners of the source and the channel of the event are looked up.
+        if(scoped != null) {
+            // Dispatches to the listeners of the source.
+            if(event.getGameObject() != null) {
+                failure = invokeListeners(scoped.get(event.getGameObject()), event, failure);
+            }
+            // Dispatches to the listeners of the channel.
+            if(event.getChannel() != null) {
+                failure = invokeListeners(scoped.get(event.getChannel()), event, failure);
+            }
+        }
+        // Throws the first failure once every listener got the event.
+        if(failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+    * Queues an event for the next #flushQueuedEvents (). Game flushes the queue after every simulation step, so handlers of queued events run in one batch and not in the middle of the updates of other components. Can be called from any thread.
+    * 
+    * @param event - The event to queue
+    */
+    public static void queueEvent(Event event) {
+        queueEvent(event, false);
+    }
+
+    /**
+    * Queues an event for the next #flushQueuedEvents (). A coalesced event replaces an earlier queued event of the same class and source, so an event queued every step is handled once per flush with its latest state.
+    * 
+    * @param event - The event to queue
+    * @param coalesce - true to replace an earlier queued event of the same class and source
+    */
+    public static void queueEvent(Event event, boolean coalesce) {
+        synchronized (queueLock) {
+            // Adds the event to the end of the queue if it is not coalesced with an earlier one.
+            if(!coalesce) {
+                queuedEvents.add(event);
+                return;
+            }
+            QueueKey key = new QueueKey(event.getClass(), event.getGameObject());
+            Integer index = coalescedEvents.get(key);
+            // Replaces the earlier event in place to keep the order of the queue.
+            if(index != null) {
+                queuedEvents.set(index, event);
+            } else {
+                coalescedEvents.put(key, queuedEvents.size());
+                queuedEvents.add(event);
+            }
+        }
+    }
+
+    /**
+    * Dispatches the queued events in the order they were queued. Events queued by the handlers are dispatched by the next flush. Called by Game after every simulation step.
+    */
+    public static void flushQueuedEvents() {
+        ArrayList<Event> events;
+        synchronized (queueLock) {
+            // Returns if no event was queued.
+            if(queuedEvents.isEmpty()) {
+                return;
+            }
+            events = queuedEvents;
+            queuedEvents = flushedEvents;
+            flushedEvents = events;
+            coalescedEvents.clear();
+        }
+        try {
+            for (int i = 0; i < events.size(); ++i) {
+                dispatchEvent(events.get(i));
+            }
+        } finally {
+            events.clear();
+        }
+    }
+
+    /**
+    * Drops all queued events. Called by Game when the scene changes.
+    */
+    public static void clearQueuedEvents() {
+        synchronized (queueLock) {
+            queuedEvents.clear();
+            coalescedEvents.clear();
+        }
+    }
+
+    /**
+    * Returns the number of events waiting for the next flush.
+    * 
+    * 
+    * @return the number of queued events
+    */
+    public static int getQueuedEventsCount() {
+        synchronized (queueLock) {
+            return queuedEvents.size();
+        }
+    }
+
+    /**
+    * Calls the handlers of the listeners with the event.
+    * 
+    * @param listeners - The listeners or null if there are none
+    * @param event - The event
+    * @param failure - The failure of listeners that got the event before or null
+    * 
+    * @return the first failure with the later ones suppressed or null if every handler succeeded
+    */
+    private static EventHandlerException invokeListeners(ListenerList listeners, Event event, EventHandlerException failure) {
+        // Returns if nobody listens.
+        if(listeners == null) {
+            return failure;
+        }
+        return listeners.dispatch(event, failure);
+    }
+
+    /**
+    * Posts an event to the inbox of the main thread. This is the way for background tasks like asset loading, path finding or saving to report back: posting never blocks and the event is dispatched on the main thread by the next #drainPostedEvents ( double ), which Game calls once per frame before the simulation steps.
+    * 
+    * @param event - The event to post
+    */
+    public static void postEvent(Event event) {
+        inbox.post(event);
+    }
+
+    /**
+    * Dispatches posted events in the order they were posted until the inbox is empty or the time budget is used up. Events that do not fit into the budget stay in the inbox for the next call, at least one event is dispatched per call. Must be called on the main thread.
+    * 
+    * @param budget - The time budget in seconds
+    * 
+    * @return the number of dispatched events
+    */
+    public static int drainPostedEvents(double budget) {
+        long deadline = System.nanoTime() + (long) (budget * 1e9);
+        int count = 0;
+        Event event;
+        while((event = inbox.poll()) != null) {
+            dispatchEvent(event);
+            ++count;
+            // Leaves the remaining events for the next frame once the budget is used up.
+            if(System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+    * Returns true if posted events wait for #drainPostedEvents ( double ).
+    * 
+    * 
+    * @return true if the inbox is not empty
+    */
+    public static boolean hasPostedEvents() {
+        return !inbox.isEmpty();
+    }
+
+    /**
+    * Makes events dispatched on the calling thread in the parallel update phase go to the given buffer. Called by the scene around the parallel update of every entity, so the events of each entity are kept apart and can be delivered in the order of the entities no matter which worker finished first.
+    * 
+    * @param buffer - The buffer of the entity that is updated
+    */
+    public static void beginDeferring(List<Event> buffer) {
+        deferredEvents.set(buffer);
+    }
+
+    /**
+    * Stops deferring events of the calling thread into the buffer set by #beginDeferring ( List ).
+    */
+    public static void endDeferring() {
+        deferredEvents.remove();
+    }
+
+    /**
+    * Dispatches the events of a buffer that were deferred during the parallel update phase in the order they were dispatched and clears the buffer. Called by the scene in the sync phase once per entity in the order of the entities.
+    * 
+    * @param buffer - The deferred events of an entity
+    */
+    public static void flushDeferredEvents(List<Event> buffer) {
+        for (int i = 0; i < buffer.size(); ++i) {
+            dispatchEvent(buffer.get(i));
+        }
+        buffer.clear();
+    }
+
+    /**
+    * Finds the event handler methods of a class and generates an invoker for each. Called once per class, the result is cached.
+    * 
+    * @param cls - The class of the listener
+    * 
+    * @return the handlers of the class
+    */
+    private static Handler[] findHandlers(Class<?> cls) {
+        List<Handler> found = new ArrayList<>();
+        for (Method method : cls.getMethods()) {
             // If the annotation is present in the event handler method.
             if(!method.isAnnotationPresent(EventHandler.class)) {
                 continue;
@@ -43,66 +351,57 @@ public class EventManager {
 
             @SuppressWarnings("unchecked") Class<? extends Event> eventClass = (Class<? extends Event>) method.getParameterTypes()[0];
 
-            Listener listener = new Listener(listenerClassInstance, method);
-            addListener(eventClass, listener);
+            EventHandler annotation = method.getAnnotation(EventHandler.class);
+            String channel = annotation.channel().isEmpty() ? null : annotation.channel();
+            String name = cls.getSimpleName() + "." + method.getName();
+            found.add(new Handler(eventClass, createInvoker(cls, method), name, annotation.own(), channel));
         }
+        return found.toArray(new Handler[0]);
     }
 
     /**
-    * Removes all CopyOnWriteListeners registered to the given class instance. This is useful for unit tests that need to know when an instance of a listener is no longer needed.
+    * Generates an invoker that calls the handler method directly. Falls back to a method handle if no class can be generated for the method, e.g. for handlers of hidden classes.
     * 
-    * @param listenerClassInstance - the class instance that should no longer be
-    */
-    public static void unregisterListeners(Component listenerClassInstance) {
-        for (CopyOnWriteArrayList<Listener> listenerList : registeredListeners.values()) {
-            // Removes all listeners from the list of listeners that have been registered with this class instance.
-            for (int i = 0; i < listenerList.size(); ++i) {
-                // Removes the listener from the listenerList.
-                if (listenerList.get(i).listenerClassInstance == listenerClassInstance) {
-                    listenerList.remove(i);
-                    i -= 1;
-                }
-            }
-        }
-    }
-
-    /**
-    * Adds a listener to the list of listeners for the specified event. It is assumed that the listener will be called in the context of the thread that created the event
+    * @param cls - The class of the listener
+    * @param method - The handler method
     * 
-    * @param eventClass - the class of the event
-    * @param listener - the listener to be added to the list of
+    * @return the invoker of the method
     */
-    private static void addListener(Class<? extends Event> eventClass, Listener listener) {
-        // Register a listener for the given event class.
-        if(!registeredListeners.containsKey(eventClass)) {
-            registeredListeners.put(eventClass, new CopyOnWriteArrayList<>());
+    private static EventInvoker createInvoker(Class<?> cls, Method method) {
+        MethodHandle handle;
+        try {
+            method.setAccessible(true);
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(cls, MethodHandles.lookup());
+            handle = lookup.unreflect(method);
+            try {
+                CallSite site = LambdaMetafactory.metafactory(lookup,
+                        "invoke",
+                        MethodType.methodType(EventInvoker.class),
+                        MethodType.methodType(void.class, Object.class, Event.class),
+                        handle,
+                        MethodType.methodType(void.class, cls, method.getParameterTypes()[0]));
+                return (EventInvoker) site.getTarget().invoke();
+            } catch (Throwable e) {
+                logger.fine("Using a method handle for event handler " + method.getName() + ": " + e);
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalStateException("Could not access event handler " + cls.getName() + "." + method.getName(), e);
         }
-
-        registeredListeners.get(eventClass).add(listener);
+        MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Event.class));
+        return (listener, event) -> {
+            try {
+                generic.invokeExact(listener, event);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
     }
 
-    /**
-    * Dispatches an event to all registered listeners. This method is called by EventDispatcher. dispatchEvent to be notified of event arrival
-    * 
-    * @param event - the event to be
-    */
-    public static void dispatchEvent(Event event) {
-        CopyOnWriteArrayList<Listener> listeners = registeredListeners.get(event.getClass());
-        // Dispatches event to all listeners.
-        if(listeners != null) {
-            for(Listener listener : listeners) {
-                listener.listenerMethod.setAccessible(true);
-                try {
-                    listener.listenerMethod.invoke(listener.listenerClassInstance, event);
-                } catch (IllegalAccessException e) {
-                    logger.warning("Could not access event handler method:");
-                } catch (InvocationTargetException e) {
-                    logger.warning("Could not dispatch event to handler " + listener.listenerMethod.getName());
-                }
-            }
-        }
+    private record Handler(Class<? extends Event> eventClass, EventInvoker invoker, String name, boolean own, String channel) {
     }
 
-    private record Listener(Object listenerClassInstance, Method listenerMethod) {
+    private record QueueKey(Class<? extends Event> eventClass, GameObject source) {
     }
 }
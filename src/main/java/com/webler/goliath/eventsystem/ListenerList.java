@@ -0,0 +1,163 @@
+package com.webler.goliath.eventsystem;
+
+import com.webler.goliath.eventsystem.events.Event;
+import com.webler.goliath.eventsystem.exceptions.EventHandlerException;
+import com.webler.goliath.eventsystem.listeners.EventInvoker;
+
+import java.util.Arrays;
+
+final class ListenerList {
+    private static final int INITIAL_CAPACITY = 4;
+    private Listener[] listeners;
+    private int size;
+    private int removedCount;
+    private int dispatchDepth;
+
+    ListenerList() {
+        listeners = new Listener[INITIAL_CAPACITY];
+        size = 0;
+        removedCount = 0;
+        dispatchDepth = 0;
+    }
+
+    /**
+    * Appends a listener. A listener added while the list dispatches is called from the next dispatch on.
+    * 
+    * @param listener - The listener to add
+    */
+    void add(Listener listener) {
+        // Grows the array if it is full. A running dispatch keeps iterating the old array.
+        if(size == listeners.length) {
+            listeners = Arrays.copyOf(listeners, size * 2);
+        }
+        listener.list = this;
+        listeners[size++] = listener;
+    }
+
+    /**
+    * Removes a listener in constant time. The listener is only marked as removed, so a running dispatch skips it, and the array is compacted once no dispatch runs and at least half of it is removed listeners.
+    * 
+    * @param listener - The listener to remove, must have been added to this list
+    */
+    void remove(Listener listener) {
+        // Returns if the listener was already removed.
+        if(listener.removed) {
+            return;
+        }
+        listener.removed = true;
+        ++removedCount;
+        compactIfNeeded();
+    }
+
+    /**
+    * Returns true if every listener of the list was removed.
+    * 
+    * 
+    * @return true if the list has no live listeners
+    */
+    boolean isEmpty() {
+        return size == removedCount;
+    }
+
+    /**
+    * Calls the handlers of the live listeners in the order they were added. Handlers may add and remove listeners of this list while it dispatches. A failing handler does not stop the dispatch, every other listener still gets the event and the failures are returned.
+    * 
+    * @param event - The event
+    * @param failure - The failure of listeners that got the event before or null
+    * 
+    * @return the first failure with the later ones suppressed or null if every handler succeeded
+    */
+    EventHandlerException dispatch(Event event, EventHandlerException failure) {
+        Listener[] array = listeners;
+        int count = size;
+        ++dispatchDepth;
+        try {
+            for (int i = 0; i < count; ++i) {
+                Listener listener = array[i];
+                // Skips listeners removed by an earlier handler.
+                if(listener.removed) {
+                    continue;
+                }
+                try {
+                    listener.invoker.invoke(listener.instance, event);
+                } catch (EventHandlerException e) {
+                    failure = addFailure(failure, e);
+                } catch (RuntimeException | Error e) {
+                    failure = addFailure(failure, new EventHandlerException(listener.name, event.getClass().getSimpleName(), e));
+                }
+            }
+        } finally {
+            --dispatchDepth;
+            compactIfNeeded();
+        }
+        return failure;
+    }
+
+    /**
+    * Adds a failure of a handler to the failures of a dispatch.
+    * 
+    * @param failure - The failures so far or null
+    * @param e - The new failure
+    * 
+    * @return the first failure with the later ones suppressed
+    */
+    private static EventHandlerException addFailure(EventHandlerException failure, EventHandlerException e) {
+        // The first failure is thrown, the later ones are kept with it.
+        if(failure == null) {
+            return e;
+        }
+        failure.addSuppressed(e);
+        return failure;
+    }
+
+    /**
+    * Drops the removed listeners from the array if no dispatch runs and they make up at least half of it, so the cost of removals stays constant on average.
+    */
+    private void compactIfNeeded() {
+        // Compacting would move listeners under a running dispatch.
+        if(dispatchDepth > 0 || removedCount == 0 || removedCount * 2 < size) {
+            return;
+        }
+        int live = 0;
+        for (int i = 0; i < size; ++i) {
+            Listener listener = listeners[i];
+            // Moves live listeners to the front.
+            if(!listener.removed) {
+                listeners[live++] = listener;
+            }
+        }
+        Arrays.fill(listeners, live, size, null);
+        size = live;
+        removedCount = 0;
+    }
+
+    static final class Listener {
+        final Object instance;
+        final EventInvoker invoker;
+        final String name;
+        final Class<? extends Event> eventClass;
+        final Object scope;
+        private ListenerList list;
+        private boolean removed;
+
+        Listener(Object instance, EventInvoker invoker, String name, Class<? extends Event> eventClass, Object scope) {
+            this.instance = instance;
+            this.invoker = invoker;
+            this.name = name;
+            this.eventClass = eventClass;
+            this.scope = scope;
+            list = null;
+            removed = false;
+        }
+
+        /**
+        * Returns the list the listener was added to.
+        * 
+        * 
+        * @return the list of the listener
+        */
+        ListenerList getList() {
+            return list;
+        }
+    }
+}
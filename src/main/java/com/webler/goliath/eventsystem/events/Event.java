@@ -6,9 +6,15 @@ import lombok.Getter;
 @Getter
 public abstract class Event {
     private final GameObject gameObject;
+    private final String channel;
 
     public Event(GameObject gameObject) {
+        this(gameObject, null);
+    }
+
+    public Event(GameObject gameObject, String channel) {
         this.gameObject = gameObject;
+        this.channel = channel;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+package com.webler.goliath.eventsystem.exceptions;
+
+public class EventHandlerException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    public EventHandlerException(String handlerName, String eventName, Throwable cause) {
+        super("Event handler " + handlerName + " failed to handle " + eventName + ": " + cause, cause);
+    }
+}
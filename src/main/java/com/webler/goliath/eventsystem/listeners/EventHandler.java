@@ -6,4 +6,19 @@ import java.lang.annotation.*;
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface EventHandler {
+    /**
+    * Subscribes the handler only to events whose source is the game object of the listener. EventManager keeps these handlers in an index by source, so a dispatch does not call the handlers of other game objects.
+    * 
+    * 
+    * @return true to receive only the events of the own game object, the channel is ignored then
+    */
+    boolean own() default false;
+
+    /**
+    * Subscribes the handler only to events dispatched on the given channel.
+    * 
+    * 
+    * @return the name of the channel or an empty string to receive events of all channels
+    */
+    String channel() default "";
 }
@@ -0,0 +1,14 @@
+package com.webler.goliath.eventsystem.listeners;
+
+import com.webler.goliath.eventsystem.events.Event;
+
+@FunctionalInterface
+public interface EventInvoker {
+    /**
+    * Calls an event handler method on a listener. Instances are generated by EventManager for every EventHandler method, so a dispatch is a plain interface call.
+    * 
+    * @param listener - The component that declares the handler
+    * @param event - The event to handle
+    */
+    void invoke(Object listener, Event event);
+}
@@ -1,7 +1,6 @@
 package com.webler.goliath.graphics;
 
 import com.webler.goliath.utils.AssetPool;
-import org.joml.Matrix4d;
 import org.joml.Vector2d;
 import org.joml.Vector3d;
 
@@ -45,6 +44,10 @@ public class DebugDraw {
     * Starts the rendering. This is called by OpenGL at start and should not be called by user code
     */
     public void start() {
+        // Lines are still collected without a GL context, they are just not drawn.
+        if(!Graphics.hasContext()) {
+            return;
+        }
         shader = AssetPool.getShader("goliath/shaders/lines.glsl");
         vao = glGenVertexArrays();
         glBindVertexArray(vao);
@@ -71,13 +74,13 @@ public class DebugDraw {
     }
 
     /**
-    * Adds a line to the graph. This is useful for drawing lines that don't fit in the graph's view.
+    * Adds a line to the graph. This is useful for drawing lines that don't fit in the graph's view. Safe to call from worker threads.
     * 
     * @param from - The position of the line from the origin.
     * @param to - The position of the line to the destination.
     * @param color - The color of the line in the form RGB
     */
-    public void addLine(Vector3d from, Vector3d to, Color color) {
+    public synchronized void addLine(Vector3d from, Vector3d to, Color color) {
         // Returns the number of lines to be processed.
         if(linesCount + 1 == MAX_LINES) {
             return;
@@ -161,20 +164,32 @@ public class DebugDraw {
         linesCount = 0;
     }
 
+    /**
+    * Returns the number of lines added since #beginFrame ().
+    * 
+    * 
+    * @return the number of lines
+    */
+    public synchronized int getLinesCount() {
+        return linesCount;
+    }
+
     /**
     * Destroys OpenGL resources. This is called by #destroy ( GLContext ) when the context is no longer needed
     */
     public void destroy() {
+        // Nothing was created without a GL context.
+        if(!Graphics.hasContext()) {
+            return;
+        }
         glDeleteBuffers(vbo);
         glDeleteVertexArrays(vao);
     }
 
     /**
-    * Draws the lines using the given projection matrix. This is useful for debugging and to visualize the lines as they are drawn.
-    * 
-    * @param PV - The projection matrix to use for drawing the lines
+    * Draws the lines with the camera of the Frame uniform block. This is useful for debugging and to visualize the lines as they are drawn.
     */
-    public void draw(Matrix4d PV) {
+    public void draw() {
         glDisable(GL_DEPTH_TEST);
 
         glBindBuffer(GL_ARRAY_BUFFER, vbo);
@@ -182,8 +197,6 @@ public class DebugDraw {
 
         glUseProgram(shader.getProgram());
 
-        shader.supplyUniform("u_PV", PV);
-
         glBindVertexArray(vao);
 
         glEnableVertexAttribArray(POS_INDEX);
@@ -0,0 +1,197 @@
+package com.webler.goliath.graphics;
+
+import lombok.Getter;
+import org.joml.Matrix4d;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL30.glBindBufferBase;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER;
+
+public class FrameUniforms {
+    public static final String BLOCK_NAME = "Frame";
+    public static final int BINDING = 0;
+    public static final int MAX_SPOT_LIGHTS = 64;
+    static final int PV_OFFSET = 0;
+    static final int VIEW_OFFSET = 64;
+    static final int SCREEN_OFFSET = 128;
+    static final int FOG_COLOR_OFFSET = 192;
+    static final int AMBIENT_COLOR_OFFSET = 208;
+    static final int FOG_NEAR_OFFSET = 224;
+    static final int FOG_FAR_OFFSET = 228;
+    static final int SPOT_LIGHTS_COUNT_OFFSET = 232;
+    static final int SPOT_LIGHTS_OFFSET = 240;
+    static final int SPOT_LIGHT_SIZE = 3 * 4 * Float.BYTES;
+    static final int SIZE = SPOT_LIGHTS_OFFSET + MAX_SPOT_LIGHTS * SPOT_LIGHT_SIZE;
+    private final ByteBuffer data;
+    private final ByteBuffer uploaded;
+    private int ubo;
+    private int spotLightsCount;
+    private int uploadedSize;
+    @Getter
+    private int uploadsCount;
+    @Getter
+    private int skippedUploadsCount;
+
+    public FrameUniforms() {
+        data = MemoryUtil.memCalloc(SIZE);
+        uploaded = MemoryUtil.memCalloc(SIZE);
+        ubo = 0;
+        spotLightsCount = 0;
+        uploadedSize = 0;
+        uploadsCount = 0;
+        skippedUploadsCount = 0;
+    }
+
+    /**
+    * Sets the matrices of the camera the frame is rendered with.
+    * 
+    * @param PVMatrix - The projection view matrix
+    * @param viewMatrix - The view matrix
+    */
+    public void setCamera(Matrix4d PVMatrix, Matrix4d viewMatrix) {
+        PVMatrix.getFloats(PV_OFFSET, data);
+        viewMatrix.getFloats(VIEW_OFFSET, data);
+    }
+
+    /**
+    * Sets the orthographic projection of the canvas, which maps pixels with the origin in the upper left corner.
+    * 
+    * @param width - The width of the screen in pixels
+    * @param height - The height of the screen in pixels
+    * @param projection - A matrix to build the projection in
+    */
+    public void setScreen(int width, int height, Matrix4d projection) {
+        projection.identity().ortho2D(0, width, height, 0).getFloats(SCREEN_OFFSET, data);
+    }
+
+    /**
+    * Sets the fog parameters.
+    * 
+    * @param fog - The fog
+    */
+    public void setFog(Fog fog) {
+        putVec4(FOG_COLOR_OFFSET, fog.fogColor.r, fog.fogColor.g, fog.fogColor.b, fog.fogColor.a);
+        data.putFloat(FOG_NEAR_OFFSET, (float) fog.fogNear);
+        data.putFloat(FOG_FAR_OFFSET, (float) fog.fogFar);
+    }
+
+    /**
+    * Sets the sum of the ambient lights.
+    * 
+    * @param r - The red component
+    * @param g - The green component
+    * @param b - The blue component
+    */
+    public void setAmbientColor(double r, double g, double b) {
+        putVec4(AMBIENT_COLOR_OFFSET, r, g, b, 1);
+    }
+
+    /**
+    * Sets the number of spot lights. Lights past MAX_SPOT_LIGHTS are dropped since the block has no room for them.
+    * 
+    * @param count - The number of spot lights
+    */
+    public void setSpotLightsCount(int count) {
+        spotLightsCount = Math.min(count, MAX_SPOT_LIGHTS);
+        data.putInt(SPOT_LIGHTS_COUNT_OFFSET, spotLightsCount);
+    }
+
+    /**
+    * Sets a spot light as three vec4: the position, the color scaled by the intensity and the radii. Indices past MAX_SPOT_LIGHTS are ignored.
+    * 
+    * @param index - The index of the light
+    * @param x - The x coordinate of the position
+    * @param y - The y coordinate of the position
+    * @param z - The z coordinate of the position
+    * @param r - The red component of the color
+    * @param g - The green component of the color
+    * @param b - The blue component of the color
+    * @param radiusMin - The radius up to which the light has full intensity
+    * @param radiusMax - The radius after which the light has no intensity
+    */
+    public void setSpotLight(int index, double x, double y, double z, double r, double g, double b, double radiusMin, double radiusMax) {
+        // The block has no room for more lights.
+        if(index >= MAX_SPOT_LIGHTS) {
+            return;
+        }
+        int offset = SPOT_LIGHTS_OFFSET + index * SPOT_LIGHT_SIZE;
+        putVec4(offset, x, y, z, 1);
+        putVec4(offset + 16, r, g, b, 1);
+        putVec4(offset + 32, radiusMin, radiusMax, 0, 0);
+    }
+
+    /**
+    * Uploads the block to the uniform buffer and binds the buffer to BINDING. Only the part up to the last spot light is compared and uploaded, and the upload is skipped if it did not change since the last frame. Without a GL context only the comparison is done.
+    */
+    public void upload() {
+        int size = SPOT_LIGHTS_OFFSET + spotLightsCount * SPOT_LIGHT_SIZE;
+        boolean context = Graphics.hasContext();
+        // Creates the buffer on first use.
+        if(context && ubo == 0) {
+            ubo = glGenBuffers();
+            glBindBuffer(GL_UNIFORM_BUFFER, ubo);
+            glBufferData(GL_UNIFORM_BUFFER, SIZE, GL_DYNAMIC_DRAW);
+        }
+        data.limit(size);
+        uploaded.limit(size);
+        // Skips the upload if the block did not change.
+        if(size == uploadedSize && data.equals(uploaded)) {
+            ++skippedUploadsCount;
+        } else {
+            MemoryUtil.memCopy(data, uploaded);
+            uploadedSize = size;
+            ++uploadsCount;
+            // Only the copy is kept without a GL context.
+            if(context) {
+                glBindBuffer(GL_UNIFORM_BUFFER, ubo);
+                glBufferSubData(GL_UNIFORM_BUFFER, 0, data);
+            }
+        }
+        data.clear();
+        uploaded.clear();
+        // Binds the buffer every frame since the binding point is state of the context.
+        if(context) {
+            glBindBufferBase(GL_UNIFORM_BUFFER, BINDING, ubo);
+            glBindBuffer(GL_UNIFORM_BUFFER, 0);
+        }
+    }
+
+    /**
+    * Returns the block as it is laid out in the uniform buffer.
+    * 
+    * 
+    * @return the data of the block
+    */
+    ByteBuffer getData() {
+        return data;
+    }
+
+    /**
+    * Deletes the uniform buffer and frees the data.
+    */
+    public void destroy() {
+        // The buffer only exists if it was uploaded with a GL context.
+        if(ubo != 0) {
+            glDeleteBuffers(ubo);
+            ubo = 0;
+        }
+        MemoryUtil.memFree(data);
+        MemoryUtil.memFree(uploaded);
+    }
+
+    /**
+    * Writes a vec4 into the block.
+    * 
+    * @param offset - The offset of the vector in bytes
+    * @param x - The x component
+    * @param y - The y component
+    * @param z - The z component
+    * @param w - The w component
+    */
+    private void putVec4(int offset, double x, double y, double z, double w) {
+        data.putFloat(offset, (float) x).putFloat(offset + 4, (float) y).putFloat(offset + 8, (float) z).putFloat(offset + 12, (float) w);
+    }
+}
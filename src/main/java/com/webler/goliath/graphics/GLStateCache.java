@@ -0,0 +1,151 @@
+package com.webler.goliath.graphics;
+
+import lombok.Getter;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL20.glUseProgram;
+import static org.lwjgl.opengl.GL30.glBindVertexArray;
+
+public class GLStateCache {
+    private static final int UNKNOWN = -1;
+    private int program;
+    private int texture;
+    private int vertexArray;
+    private int blend;
+    private int blendSrc;
+    private int blendDst;
+    private int depthTest;
+    @Getter
+    private int changesCount;
+    @Getter
+    private int avoidedChangesCount;
+
+    public GLStateCache() {
+        reset();
+    }
+
+    /**
+    * Forgets the cached state and clears the counters. Called at the start of every frame since code outside of the renderer, like the canvas and ImGui, changes the state behind the cache.
+    */
+    public void reset() {
+        program = UNKNOWN;
+        texture = UNKNOWN;
+        vertexArray = UNKNOWN;
+        blend = UNKNOWN;
+        blendSrc = UNKNOWN;
+        blendDst = UNKNOWN;
+        depthTest = UNKNOWN;
+        changesCount = 0;
+        avoidedChangesCount = 0;
+    }
+
+    /**
+    * Makes the program current unless it already is.
+    * 
+    * @param program - The program
+    */
+    public void useProgram(int program) {
+        // Skips the call if the program is current.
+        if(this.program == program) {
+            ++avoidedChangesCount;
+            return;
+        }
+        glUseProgram(program);
+        this.program = program;
+        ++changesCount;
+    }
+
+    /**
+    * Binds the texture to the 2D target of the active texture unit unless it is bound already.
+    * 
+    * @param texture - The id of the texture
+    */
+    public void bindTexture(int texture) {
+        // Skips the call if the texture is bound.
+        if(this.texture == texture) {
+            ++avoidedChangesCount;
+            return;
+        }
+        glBindTexture(GL_TEXTURE_2D, texture);
+        this.texture = texture;
+        ++changesCount;
+    }
+
+    /**
+    * Binds the vertex array unless it is bound already.
+    * 
+    * @param vertexArray - The vertex array
+    */
+    public void bindVertexArray(int vertexArray) {
+        // Skips the call if the vertex array is bound.
+        if(this.vertexArray == vertexArray) {
+            ++avoidedChangesCount;
+            return;
+        }
+        glBindVertexArray(vertexArray);
+        this.vertexArray = vertexArray;
+        ++changesCount;
+    }
+
+    /**
+    * Enables or disables blending unless it is in that state already.
+    * 
+    * @param enabled - Whether blending is enabled
+    */
+    public void setBlend(boolean enabled) {
+        int value = enabled ? 1 : 0;
+        // Skips the call if blending is in the state.
+        if(blend == value) {
+            ++avoidedChangesCount;
+            return;
+        }
+        // Enables or disables blending.
+        if(enabled) {
+            glEnable(GL_BLEND);
+        } else {
+            glDisable(GL_BLEND);
+        }
+        blend = value;
+        ++changesCount;
+    }
+
+    /**
+    * Sets the blend function unless it is set already.
+    * 
+    * @param src - The source factor
+    * @param dst - The destination factor
+    */
+    public void setBlendFunc(int src, int dst) {
+        // Skips the call if the function is set.
+        if(blendSrc == src && blendDst == dst) {
+            ++avoidedChangesCount;
+            return;
+        }
+        glBlendFunc(src, dst);
+        blendSrc = src;
+        blendDst = dst;
+        ++changesCount;
+    }
+
+    /**
+    * Enables or disables the depth test unless it is in that state already.
+    * 
+    * @param enabled - Whether the depth test is enabled
+    */
+    public void setDepthTest(boolean enabled) {
+        int value = enabled ? 1 : 0;
+        // Skips the call if the depth test is in the state.
+        if(depthTest == value) {
+            ++avoidedChangesCount;
+            return;
+        }
+        // Enables or disables the depth test.
+        if(enabled) {
+            glEnable(GL_DEPTH_TEST);
+        } else {
+            glDisable(GL_DEPTH_TEST);
+        }
+        depthTest = value;
+        ++changesCount;
+    }
+}
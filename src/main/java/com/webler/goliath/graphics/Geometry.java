@@ -1,10 +1,66 @@
 package com.webler.goliath.graphics;
 
+import org.joml.Vector3d;
+
 public abstract class Geometry {
+    private Vector3d boundingCenter;
+    private double boundingRadius;
 
     public abstract float[] getVertices();
 
     public abstract int[] getIndices();
 
     public abstract DrawCall[] getDrawCalls();
+
+    /**
+    * Returns the center of the bounding sphere of the vertices in model space. The bounds are computed on first use, geometries do not change their vertices after their buffers were created.
+    * 
+    * 
+    * @return the center of the bounding sphere, must not be modified
+    */
+    public Vector3d getBoundingCenter() {
+        computeBounds();
+        return boundingCenter;
+    }
+
+    /**
+    * Returns the radius of the bounding sphere of the vertices in model space.
+    * 
+    * 
+    * @return the radius of the bounding sphere
+    */
+    public double getBoundingRadius() {
+        computeBounds();
+        return boundingRadius;
+    }
+
+    /**
+    * Computes a bounding sphere around the center of the box of all vertex positions.
+    */
+    private void computeBounds() {
+        // Bounds are computed only once.
+        if(boundingCenter != null) {
+            return;
+        }
+        float[] vertices = getVertices();
+        // A geometry without vertices has an empty sphere at the origin.
+        if(vertices.length < 3) {
+            boundingCenter = new Vector3d();
+            boundingRadius = 0;
+            return;
+        }
+        Vector3d min = new Vector3d(Double.POSITIVE_INFINITY);
+        Vector3d max = new Vector3d(Double.NEGATIVE_INFINITY);
+        for (int i = 0; i + 2 < vertices.length; i += MeshGroup.VERT_SIZE) {
+            min.set(Math.min(min.x, vertices[i]), Math.min(min.y, vertices[i + 1]), Math.min(min.z, vertices[i + 2]));
+            max.set(Math.max(max.x, vertices[i]), Math.max(max.y, vertices[i + 1]), Math.max(max.z, vertices[i + 2]));
+        }
+        Vector3d center = new Vector3d(min).add(max).mul(0.5);
+        double radiusSquared = 0;
+        for (int i = 0; i + 2 < vertices.length; i += MeshGroup.VERT_SIZE) {
+            radiusSquared = Math.max(radiusSquared, center.distanceSquared(vertices[i], vertices[i + 1], vertices[i + 2]));
+        }
+        boundingRadius = Math.sqrt(radiusSquared);
+        boundingCenter = center;
+    }
 }
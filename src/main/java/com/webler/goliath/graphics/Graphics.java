@@ -0,0 +1,37 @@
+package com.webler.goliath.graphics;
+
+public final class Graphics {
+    private static GraphicsBackend backend = new OpenGLBackend();
+
+    private Graphics() {
+    }
+
+    /**
+    * Returns the graphics backend of the game. Defaults to the OpenGL backend.
+    * 
+    * 
+    * @return the current graphics backend
+    */
+    public static GraphicsBackend getBackend() {
+        return backend;
+    }
+
+    /**
+    * Sets the graphics backend. Must be called before any GPU object is created, which Game does in its init.
+    * 
+    * @param backend - The backend to use
+    */
+    public static void setBackend(GraphicsBackend backend) {
+        Graphics.backend = backend;
+    }
+
+    /**
+    * Returns true if the current backend has an OpenGL context.
+    * 
+    * 
+    * @return true if GL calls can be made
+    */
+    public static boolean hasContext() {
+        return backend.hasContext();
+    }
+}
@@ -0,0 +1,35 @@
+package com.webler.goliath.graphics;
+
+import com.webler.goliath.Game;
+import com.webler.goliath.core.Scene;
+
+public interface GraphicsBackend {
+    /**
+    * Returns true if the backend has an OpenGL context. GPU objects like Mesh, Texture, SpriteBatch, Canvas and DebugDraw only create GL resources when it has one, otherwise they keep their CPU side only.
+    * 
+    * 
+    * @return true if GL calls can be made
+    */
+    boolean hasContext();
+
+    /**
+    * Generates the id of a new texture. Textures are batched and compared by id, so backends without a context still have to hand out unique ids.
+    * 
+    * 
+    * @return the id of the texture
+    */
+    int genTexture();
+
+    /**
+    * Submits a frame of the scene. Called by Game after the render - prep phase with the renderer, the debug lines and the canvas filled for this frame.
+    * 
+    * @param game - The game that owns the renderer and the canvas
+    * @param scene - The scene to render
+    */
+    void renderFrame(Game game, Scene scene);
+
+    /**
+    * Releases the resources of the backend. Called when the game is destroyed.
+    */
+    void destroy();
+}
@@ -2,6 +2,11 @@ package com.webler.goliath.graphics;
 
 import com.webler.goliath.exceptions.ResourceFormatException;
 import com.webler.goliath.exceptions.ResourceNotFoundException;
+import com.webler.goliath.profiler.ProfileHistory;
+import com.webler.goliath.profiler.ProfileNode;
+import com.webler.goliath.profiler.Profiler;
+import imgui.ImColor;
+import imgui.ImDrawList;
 import imgui.ImFontAtlas;
 import imgui.ImFontConfig;
 import imgui.ImGui;
@@ -15,13 +20,22 @@ import java.io.IOException;
 import java.io.InputStream;
 
 public class ImGuiLayer {
+    private static final int[] FLAME_COLORS = {
+            ImColor.rgba(0.85f, 0.45f, 0.2f, 1f),
+            ImColor.rgba(0.9f, 0.6f, 0.2f, 1f),
+            ImColor.rgba(0.8f, 0.35f, 0.25f, 1f),
+            ImColor.rgba(0.9f, 0.7f, 0.3f, 1f)
+    };
+    private static final int FLAME_TEXT_COLOR = ImColor.rgba(0f, 0f, 0f, 1f);
     private final ImGuiImplGl3 imGuiImplGl3;
     private final ImGuiImplGlfw imGuiImplGlfw;
     private final long window;
     private final String defaultFontPath;
+    private final float[] frameTimes;
 
     public ImGuiLayer(long window) {
         this.window = window;
+        frameTimes = new float[Profiler.HISTORY_CAPACITY];
         imGuiImplGl3 = new ImGuiImplGl3();
         imGuiImplGlfw = new ImGuiImplGlfw();
         defaultFontPath = "goliath/font/segoeui.ttf";
@@ -73,9 +87,14 @@ public class ImGuiLayer {
     }
 
     /**
-    * Called by ImGui to end the frame. This is the same as render () but does not call glBegin
+    * Called by ImGui to end the frame. This is the same as render () but does not call glBegin. The profiler overlay is drawn on top of the windows of the scene if it is visible.
     */
     public void endFrame() {
+        // Draws the profiler overlay.
+        if(Profiler.get().isOverlayVisible()) {
+            drawProfiler(Profiler.get());
+        }
+
         ImGui.render();
         imGuiImplGl3.renderDrawData(ImGui.getDrawData());
 
@@ -96,4 +115,80 @@ public class ImGuiLayer {
         imGuiImplGlfw.dispose();
         ImGui.destroyContext();
     }
+
+    /**
+    * Draws the profiler window with the frame time graph and a flame - style breakdown of the scopes. Widths in the flame graph are proportional to the average time of the scopes.
+    * 
+    * @param profiler - The profiler to show
+    */
+    private void drawProfiler(Profiler profiler) {
+        ImGui.setNextWindowBgAlpha(0.85f);
+        // Skips the content if the window is collapsed.
+        if(ImGui.begin("Profiler")) {
+            ProfileHistory frames = profiler.getFrameHistory();
+            int count = frames.copyMillis(frameTimes);
+            ImGui.text(String.format("Frame %.2f ms  min %.2f  avg %.2f  p99 %.2f",
+                    frames.getLast() / 1e6, frames.getMin() / 1e6, frames.getAvg() / 1e6, frames.getP99() / 1e6));
+            float width = ImGui.getContentRegionAvailX();
+            ImGui.plotLines("##frame_times", frameTimes, count, 0, null,
+                    0, Math.max(frames.getMax() / 1e6f, 1) * 1.2f, width, 80);
+            ImGui.separator();
+
+            ProfileNode root = profiler.getRoot();
+            // Draws the flame graph only when there are recorded frames.
+            if(root.getHistory().getAvg() > 0) {
+                float rowHeight = ImGui.getTextLineHeight() + 4;
+                float x = ImGui.getCursorScreenPosX();
+                float y = ImGui.getCursorScreenPosY();
+                int depth = drawFlameNode(ImGui.getWindowDrawList(), root, x, y, width, rowHeight, 0, 0);
+                ImGui.dummy(width, (depth + 1) * rowHeight);
+            }
+        }
+        ImGui.end();
+    }
+
+    /**
+    * Draws a scope of the flame graph and its children below it. A tooltip with the statistics of the scope is shown when it is hovered.
+    * 
+    * @param drawList - The draw list of the profiler window
+    * @param node - The scope to draw
+    * @param x - The left edge of the scope
+    * @param y - The top edge of the flame graph
+    * @param width - The width of the scope
+    * @param rowHeight - The height of one row
+    * @param depth - The row of the scope
+    * @param index - The index of the scope among its siblings, used for the color
+    * 
+    * @return the deepest row drawn
+    */
+    private int drawFlameNode(ImDrawList drawList, ProfileNode node, float x, float y, float width, float rowHeight, int depth, int index) {
+        float top = y + depth * rowHeight;
+        float bottom = top + rowHeight - 1;
+        drawList.addRectFilled(x, top, x + width - 1, bottom, FLAME_COLORS[(depth + index) % FLAME_COLORS.length]);
+        drawList.pushClipRect(x, top, x + width - 1, bottom, true);
+        drawList.addText(x + 2, top + 2, FLAME_TEXT_COLOR, node.getName());
+        drawList.popClipRect();
+
+        ProfileHistory history = node.getHistory();
+        // Shows the statistics of the hovered scope.
+        if(ImGui.isMouseHoveringRect(x, top, x + width, bottom)) {
+            ImGui.setTooltip(String.format("%s\navg %.3f ms\nmin %.3f ms\np99 %.3f ms\ncalls %d",
+                    node.getName(), history.getAvg() / 1e6, history.getMin() / 1e6, history.getP99() / 1e6, node.getLastCalls()));
+        }
+
+        int maxDepth = depth;
+        long total = history.getAvg();
+        float childX = x;
+        int childIndex = 0;
+        for (ProfileNode child : node.getChildren()) {
+            float childWidth = Math.min(width * child.getHistory().getAvg() / Math.max(total, 1), x + width - childX);
+            // Scopes narrower than a pixel are not drawn.
+            if(childWidth >= 1) {
+                maxDepth = Math.max(maxDepth, drawFlameNode(drawList, child, childX, y, childWidth, rowHeight, depth + 1, childIndex));
+            }
+            childX += childWidth;
+            ++childIndex;
+        }
+        return maxDepth;
+    }
 }
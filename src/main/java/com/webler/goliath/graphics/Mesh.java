@@ -1,104 +1,55 @@
 package com.webler.goliath.graphics;
 
 import lombok.Getter;
-import org.joml.*;
-
-import static org.lwjgl.opengl.GL20.*;
-import static org.lwjgl.opengl.GL30.*;
+import org.joml.Matrix4d;
+import org.joml.Vector3d;
+import org.joml.Vector4d;
 
 public class Mesh {
-    private static final int POS_INDEX = 0;
-    private static final int POS_SIZE = 3;
-    private static final int POS_OFFSET = 0;
-    private static final int UV_INDEX = 1;
-    private static final int UV_SIZE = 2;
-    private static final int UV_OFFSET = 3;
-    private static final int NORMAL_INDEX = 2;
-    private static final int NORMAL_SIZE = 3;
-    private static final int NORMAL_OFFSET = 5;
-    private static final int VERT_SIZE = POS_SIZE + UV_SIZE + NORMAL_SIZE;
+    @Getter
     private final Geometry geometry;
-    private int vao;
-    private int vbo;
-    private int ebo;
     @Getter
     private final Matrix4d modelMatrix;
     @Getter
     private final Vector4d color;
+    MeshGroup group;
+    int index;
 
     public Mesh(Geometry geometry) {
         this.geometry = geometry;
         modelMatrix = new Matrix4d().identity();
         color = new Vector4d(1, 1, 1, 1);
-        init();
+        group = null;
+        index = -1;
     }
 
     /**
-    * Initializes OpenGL state. Called by #create () to initialize the OpenGL state before drawing is started
+    * Computes the bounding sphere of the mesh in world space from the bounds of its geometry and the model matrix. The radius is scaled by the largest scale of the model matrix so the sphere always contains the mesh.
+    * 
+    * @param dest - Receives the center in x, y and z and the radius in w
+    * 
+    * @return dest
     */
-    private void init() {
-        vao = glGenVertexArrays();
-        glBindVertexArray(vao);
-
-        vbo = glGenBuffers();
-        glBindBuffer(GL_ARRAY_BUFFER, vbo);
-        glBufferData(GL_ARRAY_BUFFER, geometry.getVertices(), GL_STATIC_DRAW);
-        glVertexAttribPointer(POS_INDEX,
-                POS_SIZE,
-                GL_FLOAT,
-                false,
-                VERT_SIZE * Float.BYTES,
-                POS_OFFSET * Float.BYTES);
-        glVertexAttribPointer(UV_INDEX,
-                UV_SIZE,
-                GL_FLOAT,
-                false,
-                VERT_SIZE * Float.BYTES,
-                UV_OFFSET * Float.BYTES);
-        glVertexAttribPointer(NORMAL_INDEX,
-                NORMAL_SIZE,
-                GL_FLOAT,
-                false,
-                VERT_SIZE * Float.BYTES,
-                NORMAL_OFFSET * Float.BYTES);
-
-        ebo = glGenBuffers();
-        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ebo);
-        glBufferData(GL_ELEMENT_ARRAY_BUFFER, geometry.getIndices(), GL_STATIC_DRAW);
-
-        glBindVertexArray(0);
+    public Vector4d getBoundingSphere(Vector4d dest) {
+        Vector3d center = geometry.getBoundingCenter();
+        Matrix4d m = modelMatrix;
+        double scaleX = m.m00() * m.m00() + m.m01() * m.m01() + m.m02() * m.m02();
+        double scaleY = m.m10() * m.m10() + m.m11() * m.m11() + m.m12() * m.m12();
+        double scaleZ = m.m20() * m.m20() + m.m21() * m.m21() + m.m22() * m.m22();
+        double scale = Math.sqrt(Math.max(scaleX, Math.max(scaleY, scaleZ)));
+        return dest.set(m.m00() * center.x + m.m10() * center.y + m.m20() * center.z + m.m30(),
+                m.m01() * center.x + m.m11() * center.y + m.m21() * center.z + m.m31(),
+                m.m02() * center.x + m.m12() * center.y + m.m22() * center.z + m.m32(),
+                geometry.getBoundingRadius() * scale);
     }
 
     /**
-    * Destroys OpenGL resources. This is called by #destroy ( GLContext ) when the context is no longer needed
+    * Releases the GPU buffers of the geometry. The buffers are shared by all meshes of the same geometry and deleted when the last of them is destroyed.
     */
     public void destroy() {
-        glDeleteVertexArrays(vao);
-        glDeleteBuffers(vbo);
-        glDeleteBuffers(ebo);
-    }
-
-    /**
-    * Renders the geometry to the VAO. This is called by GLUT every frame to render the geometry
-    */
-    public void render() {
-        glBindVertexArray(vao);
-
-        glEnableVertexAttribArray(POS_INDEX);
-        glEnableVertexAttribArray(UV_INDEX);
-        glEnableVertexAttribArray(NORMAL_INDEX);
-
-        DrawCall[] drawCalls = geometry.getDrawCalls();
-        for (DrawCall drawCall : drawCalls) {
-            glBindTexture(GL_TEXTURE_2D, drawCall.texId());
-            glDrawElements(GL_TRIANGLES, drawCall.count(), GL_UNSIGNED_INT, (long) drawCall.offset() * Integer.BYTES);
+        // Only a mesh that was added to a renderer holds the buffers.
+        if(group != null) {
+            group.release(this);
         }
-
-        glDisableVertexAttribArray(POS_INDEX);
-        glDisableVertexAttribArray(UV_INDEX);
-        glDisableVertexAttribArray(NORMAL_INDEX);
-
-        glBindVertexArray(0);
     }
-
 }
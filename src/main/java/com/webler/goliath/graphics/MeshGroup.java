@@ -0,0 +1,273 @@
+package com.webler.goliath.graphics;
+
+import com.webler.goliath.math.Frustum;
+import lombok.Getter;
+import org.joml.Vector3d;
+import org.joml.Vector4d;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL33.glVertexAttribDivisor;
+
+final class MeshGroup {
+    private static final int POS_INDEX = 0;
+    private static final int POS_SIZE = 3;
+    private static final int POS_OFFSET = 0;
+    private static final int UV_INDEX = 1;
+    private static final int UV_SIZE = 2;
+    private static final int UV_OFFSET = 3;
+    private static final int NORMAL_INDEX = 2;
+    private static final int NORMAL_SIZE = 3;
+    private static final int NORMAL_OFFSET = 5;
+    static final int VERT_SIZE = POS_SIZE + UV_SIZE + NORMAL_SIZE;
+    private static final int MODEL_INDEX = 3;
+    private static final int MODEL_SIZE = 16;
+    private static final int MODEL_OFFSET = 0;
+    private static final int COLOR_INDEX = 7;
+    private static final int COLOR_SIZE = 4;
+    private static final int COLOR_OFFSET = 16;
+    static final int INSTANCE_SIZE = MODEL_SIZE + COLOR_SIZE;
+    private final Renderer renderer;
+    @Getter
+    private final Geometry geometry;
+    private final List<Mesh> meshes;
+    private final List<Mesh> visibleMeshes;
+    private final Vector4d boundingSphere;
+    private float nearestDistance;
+    private int refCount;
+    @Getter
+    private boolean destroyed;
+    private int vao;
+    private int vbo;
+    private int ebo;
+    private int instanceVbo;
+
+    MeshGroup(Renderer renderer, Geometry geometry) {
+        this.renderer = renderer;
+        this.geometry = geometry;
+        meshes = new ArrayList<>();
+        visibleMeshes = new ArrayList<>();
+        boundingSphere = new Vector4d();
+        nearestDistance = 0;
+        refCount = 0;
+        destroyed = false;
+        init();
+    }
+
+    /**
+    * Creates the buffers of the geometry and the buffer of the per - instance model matrices and colors. The model matrix takes four attribute locations, one per column.
+    */
+    private void init() {
+        // Only the CPU side is kept without a GL context.
+        if(!Graphics.hasContext()) {
+            return;
+        }
+        vao = glGenVertexArrays();
+        glBindVertexArray(vao);
+
+        vbo = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        glBufferData(GL_ARRAY_BUFFER, geometry.getVertices(), GL_STATIC_DRAW);
+        glVertexAttribPointer(POS_INDEX, POS_SIZE, GL_FLOAT, false, VERT_SIZE * Float.BYTES, POS_OFFSET * Float.BYTES);
+        glVertexAttribPointer(UV_INDEX, UV_SIZE, GL_FLOAT, false, VERT_SIZE * Float.BYTES, UV_OFFSET * Float.BYTES);
+        glVertexAttribPointer(NORMAL_INDEX, NORMAL_SIZE, GL_FLOAT, false, VERT_SIZE * Float.BYTES, NORMAL_OFFSET * Float.BYTES);
+        glEnableVertexAttribArray(POS_INDEX);
+        glEnableVertexAttribArray(UV_INDEX);
+        glEnableVertexAttribArray(NORMAL_INDEX);
+
+        instanceVbo = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, instanceVbo);
+        for (int i = 0; i < 4; ++i) {
+            glVertexAttribPointer(MODEL_INDEX + i, 4, GL_FLOAT, false, INSTANCE_SIZE * Float.BYTES, (MODEL_OFFSET + i * 4) * Float.BYTES);
+            glVertexAttribDivisor(MODEL_INDEX + i, 1);
+            glEnableVertexAttribArray(MODEL_INDEX + i);
+        }
+        glVertexAttribPointer(COLOR_INDEX, COLOR_SIZE, GL_FLOAT, false, INSTANCE_SIZE * Float.BYTES, COLOR_OFFSET * Float.BYTES);
+        glVertexAttribDivisor(COLOR_INDEX, 1);
+        glEnableVertexAttribArray(COLOR_INDEX);
+
+        ebo = glGenBuffers();
+        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ebo);
+        glBufferData(GL_ELEMENT_ARRAY_BUFFER, geometry.getIndices(), GL_STATIC_DRAW);
+
+        glBindVertexArray(0);
+    }
+
+    /**
+    * Counts a mesh that uses the buffers of this group.
+    */
+    void acquire() {
+        ++refCount;
+    }
+
+    /**
+    * Drops a mesh from the group. The buffers are deleted when no mesh uses them anymore.
+    * 
+    * @param mesh - The destroyed mesh
+    */
+    void release(Mesh mesh) {
+        mesh.group = null;
+        // The buffers of a cleared renderer are already gone.
+        if(destroyed) {
+            mesh.index = -1;
+            return;
+        }
+        remove(mesh);
+        // Deletes the buffers with the last mesh.
+        if(--refCount == 0) {
+            renderer.releaseGroup(this);
+        }
+    }
+
+    /**
+    * Adds a mesh to the meshes drawn by the group.
+    * 
+    * @param mesh - The mesh, bound to this group
+    */
+    void add(Mesh mesh) {
+        // Returns if the mesh is drawn already.
+        if(mesh.index != -1) {
+            return;
+        }
+        mesh.index = meshes.size();
+        meshes.add(mesh);
+    }
+
+    /**
+    * Removes a mesh from the meshes drawn by the group in constant time. The last mesh takes its place.
+    * 
+    * @param mesh - The mesh to remove
+    * 
+    * @return true if the mesh was drawn by the group
+    */
+    boolean remove(Mesh mesh) {
+        // Returns false if the mesh is not drawn.
+        if(mesh.index == -1) {
+            return false;
+        }
+        Mesh last = meshes.remove(meshes.size() - 1);
+        // Moves the last mesh into the place of the removed one.
+        if(last != mesh) {
+            meshes.set(mesh.index, last);
+            last.index = mesh.index;
+        }
+        mesh.index = -1;
+        return true;
+    }
+
+    /**
+    * Returns the number of meshes drawn by the group.
+    * 
+    * 
+    * @return the number of meshes
+    */
+    int getMeshesCount() {
+        return meshes.size();
+    }
+
+    /**
+    * Returns the number of meshes that passed the culling of the last #prepare ( Frustum Vector3d ).
+    * 
+    * 
+    * @return the number of meshes drawn this frame
+    */
+    int getVisibleCount() {
+        return visibleMeshes.size();
+    }
+
+    /**
+    * Collects the meshes whose bounding spheres intersect the frustum and finds the distance of the nearest one, which places the group in the render queue. Only these meshes are uploaded and drawn.
+    * 
+    * @param frustum - The frustum of the camera or null to draw every mesh
+    * @param eye - The position of the camera or null if there is no camera
+    * 
+    * @return the number of culled meshes
+    */
+    int prepare(Frustum frustum, Vector3d eye) {
+        visibleMeshes.clear();
+        nearestDistance = 0;
+        // Draws everything in insertion order if there is no camera.
+        if(eye == null) {
+            visibleMeshes.addAll(meshes);
+            return 0;
+        }
+        double nearest = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < meshes.size(); ++i) {
+            Mesh mesh = meshes.get(i);
+            mesh.getBoundingSphere(boundingSphere);
+            // Keeps the meshes that may be seen by the camera.
+            if(frustum == null || frustum.intersectsSphere(boundingSphere.x, boundingSphere.y, boundingSphere.z, boundingSphere.w)) {
+                visibleMeshes.add(mesh);
+                nearest = Math.min(nearest, eye.distance(boundingSphere.x, boundingSphere.y, boundingSphere.z) - boundingSphere.w);
+            }
+        }
+        nearestDistance = (float) Math.max(nearest, 0);
+        return meshes.size() - visibleMeshes.size();
+    }
+
+    /**
+    * Adds one item per texture of the geometry to the render queue. Each item draws all visible meshes with one instanced draw call.
+    * 
+    * @param queue - The render queue of the frame
+    * @param shader - The index of the mesh shader
+    */
+    void enqueue(RenderQueue queue, int shader) {
+        int count = visibleMeshes.size();
+        // Nothing to draw.
+        if(count == 0) {
+            return;
+        }
+        for (DrawCall drawCall : geometry.getDrawCalls()) {
+            RenderQueue.Item item = queue.add(RenderQueue.opaqueKey(RenderQueue.PASS_OPAQUE, shader, drawCall.texId(), nearestDistance));
+            item.set(shader, vao, drawCall.texId(), true, true, drawCall.count(), (long) drawCall.offset() * Integer.BYTES, 0, count);
+        }
+    }
+
+    /**
+    * Uploads the model matrices and colors of the visible meshes into the instance buffer. Called before the render queue is submitted.
+    * 
+    * @param instanceData - Off - heap buffer with room for the instances of all visible meshes of the group
+    */
+    void upload(FloatBuffer instanceData) {
+        int count = visibleMeshes.size();
+        // Nothing to upload.
+        if(count == 0) {
+            return;
+        }
+        for (int i = 0; i < count; ++i) {
+            Mesh mesh = visibleMeshes.get(i);
+            int offset = i * INSTANCE_SIZE;
+            mesh.getModelMatrix().get(offset + MODEL_OFFSET, instanceData);
+            mesh.getColor().get(offset + COLOR_OFFSET, instanceData);
+        }
+        instanceData.limit(count * INSTANCE_SIZE);
+
+        glBindBuffer(GL_ARRAY_BUFFER, instanceVbo);
+        glBufferData(GL_ARRAY_BUFFER, instanceData, GL_STREAM_DRAW);
+        instanceData.clear();
+    }
+
+    /**
+    * Deletes the buffers. Meshes that still point to the group bind to a new group when they are added again.
+    */
+    void destroy() {
+        destroyed = true;
+        for (Mesh mesh : meshes) {
+            mesh.index = -1;
+        }
+        meshes.clear();
+        visibleMeshes.clear();
+        // Nothing was created without a GL context.
+        if(!Graphics.hasContext()) {
+            return;
+        }
+        glDeleteVertexArrays(vao);
+        glDeleteBuffers(vbo);
+        glDeleteBuffers(ebo);
+        glDeleteBuffers(instanceVbo);
+    }
+}
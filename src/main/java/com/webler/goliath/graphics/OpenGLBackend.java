@@ -0,0 +1,86 @@
+package com.webler.goliath.graphics;
+
+import com.webler.goliath.Game;
+import com.webler.goliath.core.Scene;
+import com.webler.goliath.graphics.components.Camera;
+import com.webler.goliath.profiler.Profiler;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL30.GL_FRAMEBUFFER;
+import static org.lwjgl.opengl.GL30.glBindFramebuffer;
+
+public class OpenGLBackend implements GraphicsBackend {
+    /**
+    * Returns true since the game creates the GL context before anything is loaded.
+    * 
+    * 
+    * @return always true
+    */
+    @Override
+    public boolean hasContext() {
+        return true;
+    }
+
+    /**
+    * Generates a GL texture.
+    * 
+    * 
+    * @return the GL name of the texture
+    */
+    @Override
+    public int genTexture() {
+        return glGenTextures();
+    }
+
+    /**
+    * Uploads the Frame uniform block, renders the scene, the debug lines and the canvas into the framebuffer of the game and draws the framebuffer to the window.
+    * 
+    * @param game - The game that owns the renderer and the canvas
+    * @param scene - The scene to render
+    */
+    @Override
+    public void renderFrame(Game game, Scene scene) {
+        Profiler profiler = Profiler.get();
+        Camera camera = scene.getCamera();
+        Framebuffer framebuffer = game.getFramebuffer();
+
+        glBindFramebuffer(GL_FRAMEBUFFER, framebuffer.getFbo());
+
+        glViewport(0, 0, game.getWidth(), game.getHeight());
+
+        Color bg = camera.getBackgroundColor();
+        glClearColor((float)bg.r, (float)bg.g, (float)bg.b, (float)bg.a);
+        glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
+
+        Renderer renderer = game.getRenderer();
+
+        profiler.begin("Renderer.uploadFrameUniforms");
+        renderer.uploadFrameUniforms(camera.getPVMatrix(), camera.getViewMatrix(), game.getWidth(), game.getHeight());
+        profiler.end();
+
+        profiler.begin("Renderer.render");
+        renderer.render();
+        profiler.end();
+
+        profiler.begin("DebugDraw.draw");
+        DebugDraw.get().draw();
+        profiler.end();
+
+        profiler.begin("Canvas.endFrame");
+        game.getCanvas().endFrame();
+        profiler.end();
+
+        glBindFramebuffer(GL_FRAMEBUFFER, 0);
+
+        profiler.begin("Scene.draw");
+        scene.draw();
+        profiler.end();
+    }
+
+    /**
+    * Nothing to release, GL objects are destroyed by their owners.
+    */
+    @Override
+    public void destroy() {
+    }
+}
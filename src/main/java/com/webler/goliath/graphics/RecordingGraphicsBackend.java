@@ -0,0 +1,81 @@
+package com.webler.goliath.graphics;
+
+import com.webler.goliath.Game;
+import com.webler.goliath.core.Scene;
+import lombok.Getter;
+
+@Getter
+public class RecordingGraphicsBackend implements GraphicsBackend {
+    private int texturesCount;
+    private long framesCount;
+    private int lastMeshesCount;
+    private int lastSpritesCount;
+    private int lastLinesCount;
+    private int lastQuadsCount;
+    private int lastCulledMeshesCount;
+    private int lastCulledSpritesCount;
+    private long totalMeshesCount;
+    private long totalSpritesCount;
+    private long totalLinesCount;
+    private long totalQuadsCount;
+    private long totalCulledMeshesCount;
+    private long totalCulledSpritesCount;
+
+    public RecordingGraphicsBackend() {
+        texturesCount = 0;
+        framesCount = 0;
+    }
+
+    /**
+    * Returns false, GPU objects keep their CPU side only.
+    * 
+    * 
+    * @return always false
+    */
+    @Override
+    public boolean hasContext() {
+        return false;
+    }
+
+    /**
+    * Hands out a unique texture id without creating a texture.
+    * 
+    * 
+    * @return the id of the texture
+    */
+    @Override
+    public int genTexture() {
+        return ++texturesCount;
+    }
+
+    /**
+    * Records how many meshes, sprites, debug lines and canvas quads the frame would have drawn and how many meshes and sprites were culled. Nothing is drawn.
+    * 
+    * @param game - The game that owns the renderer and the canvas
+    * @param scene - The scene to render
+    */
+    @Override
+    public void renderFrame(Game game, Scene scene) {
+        Renderer renderer = game.getRenderer();
+        lastMeshesCount = renderer.getMeshesCount();
+        lastSpritesCount = renderer.getSpritesCount();
+        lastLinesCount = DebugDraw.get().getLinesCount();
+        lastQuadsCount = game.getCanvas().getQuadsCount();
+        lastCulledMeshesCount = renderer.getCulledMeshesCount();
+        lastCulledSpritesCount = renderer.getCulledSpritesCount();
+        totalMeshesCount += lastMeshesCount;
+        totalSpritesCount += lastSpritesCount;
+        totalLinesCount += lastLinesCount;
+        totalQuadsCount += lastQuadsCount;
+        totalCulledMeshesCount += lastCulledMeshesCount;
+        totalCulledSpritesCount += lastCulledSpritesCount;
+        ++framesCount;
+    }
+
+    /**
+    * Nothing to release.
+    */
+    @Override
+    public void destroy() {
+    }
+}
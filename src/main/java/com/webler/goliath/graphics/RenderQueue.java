@@ -0,0 +1,206 @@
+package com.webler.goliath.graphics;
+
+import java.util.Arrays;
+
+final class RenderQueue {
+    static final int PASS_OPAQUE = 0;
+    static final int PASS_BLENDED = 1;
+    static final int PASS_OVERLAY = 2;
+    private static final int MAX_PASS = 0xFF;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX_SIZE = 1 << RADIX_BITS;
+    private static final int INITIAL_CAPACITY = 64;
+    private long[] keys;
+    private long[] sortedKeys;
+    private int[] order;
+    private int[] sortedOrder;
+    private Item[] items;
+    private final int[] counts;
+    private int size;
+
+    RenderQueue() {
+        keys = new long[INITIAL_CAPACITY];
+        sortedKeys = new long[INITIAL_CAPACITY];
+        order = new int[INITIAL_CAPACITY];
+        sortedOrder = new int[INITIAL_CAPACITY];
+        items = new Item[INITIAL_CAPACITY];
+        counts = new int[RADIX_SIZE];
+        size = 0;
+    }
+
+    /**
+    * Packs the key of a draw item that writes depth. Items are grouped by pass, shader and texture and drawn front to back inside a group so the depth test rejects hidden fragments early.
+    * 
+    * @param pass - The pass, lower passes are drawn first
+    * @param shader - The index of the shader
+    * @param texture - The id of the texture
+    * @param depth - The distance from the camera, not negative
+    * 
+    * @return the key
+    */
+    static long opaqueKey(int pass, int shader, int texture, float depth) {
+        return ((long) Math.min(pass, MAX_PASS) << 56) | ((long) (shader & 0xFF) << 48) | ((long) (texture & 0xFFFF) << 32) |
+                depthBits(depth);
+    }
+
+    /**
+    * Packs the key of a blended draw item. Blended items are drawn back to front inside their pass before they are grouped by shader and texture, since their order decides the result.
+    * 
+    * @param pass - The pass, lower passes are drawn first
+    * @param shader - The index of the shader
+    * @param texture - The id of the texture
+    * @param depth - The distance from the camera, not negative
+    * 
+    * @return the key
+    */
+    static long blendedKey(int pass, int shader, int texture, float depth) {
+        return ((long) Math.min(pass, MAX_PASS) << 56) | ((~depthBits(depth) & 0xFFFFFFFFL) << 24) | ((long) (shader & 0xFF) << 16) |
+                (texture & 0xFFFF);
+    }
+
+    /**
+    * Returns the bits of a float distance as an unsigned integer. The bits of floats that are not negative sort like the floats.
+    * 
+    * @param depth - The distance
+    * 
+    * @return the bits of the distance
+    */
+    private static long depthBits(float depth) {
+        return Float.floatToIntBits(Math.max(depth, 0f)) & 0xFFFFFFFFL;
+    }
+
+    /**
+    * Adds a draw item with the given key. The returned item is reused between frames and has to be filled by the caller.
+    * 
+    * @param key - The sort key of the item
+    * 
+    * @return the item
+    */
+    Item add(long key) {
+        // Grows the arrays if the queue is full.
+        if(size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            sortedKeys = Arrays.copyOf(sortedKeys, capacity);
+            order = Arrays.copyOf(order, capacity);
+            sortedOrder = Arrays.copyOf(sortedOrder, capacity);
+            items = Arrays.copyOf(items, capacity);
+        }
+        // Creates the item on first use of the index.
+        if(items[size] == null) {
+            items[size] = new Item();
+        }
+        keys[size] = key;
+        order[size] = size;
+        return items[size++];
+    }
+
+    /**
+    * Sorts the items by key with a least significant digit radix sort. The sort is stable, so items with equal keys keep the order they were added in, and bytes that are equal in all keys are skipped.
+    */
+    void sort() {
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; ++i) {
+                ++counts[(int) (keys[i] >>> shift) & (RADIX_SIZE - 1)];
+            }
+            // Skips the byte if all keys share it.
+            if(size == 0 || counts[(int) (keys[0] >>> shift) & (RADIX_SIZE - 1)] == size) {
+                continue;
+            }
+            int sum = 0;
+            for (int i = 0; i < RADIX_SIZE; ++i) {
+                int count = counts[i];
+                counts[i] = sum;
+                sum += count;
+            }
+            for (int i = 0; i < size; ++i) {
+                int index = counts[(int) (keys[i] >>> shift) & (RADIX_SIZE - 1)]++;
+                sortedKeys[index] = keys[i];
+                sortedOrder[index] = order[i];
+            }
+            long[] swapKeys = keys;
+            keys = sortedKeys;
+            sortedKeys = swapKeys;
+            int[] swapOrder = order;
+            order = sortedOrder;
+            sortedOrder = swapOrder;
+        }
+    }
+
+    /**
+    * Returns the item at a position of the sorted queue.
+    * 
+    * @param index - The position, less than the size
+    * 
+    * @return the item
+    */
+    Item get(int index) {
+        return items[order[index]];
+    }
+
+    /**
+    * Returns the key at a position of the sorted queue.
+    * 
+    * @param index - The position, less than the size
+    * 
+    * @return the key
+    */
+    long getKey(int index) {
+        return keys[index];
+    }
+
+    /**
+    * Returns the number of items in the queue.
+    * 
+    * 
+    * @return the number of items
+    */
+    int size() {
+        return size;
+    }
+
+    /**
+    * Removes all items. The items are kept for the next frame.
+    */
+    void clear() {
+        size = 0;
+    }
+
+    static final class Item {
+        int shader;
+        int vertexArray;
+        int texture;
+        boolean blend;
+        boolean depthTest;
+        int count;
+        long offset;
+        int baseVertex;
+        int instances;
+
+        /**
+        * Sets what the item draws and the state it needs.
+        * 
+        * @param shader - The index of the shader
+        * @param vertexArray - The vertex array with the buffers
+        * @param texture - The id of the texture
+        * @param blend - Whether blending is enabled
+        * @param depthTest - Whether the depth test is enabled
+        * @param count - The number of indices
+        * @param offset - The offset of the first index in the element buffer in bytes
+        * @param baseVertex - The value added to every index
+        * @param instances - The number of instances or 0 for a draw call without instancing
+        */
+        void set(int shader, int vertexArray, int texture, boolean blend, boolean depthTest, int count, long offset, int baseVertex, int instances) {
+            this.shader = shader;
+            this.vertexArray = vertexArray;
+            this.texture = texture;
+            this.blend = blend;
+            this.depthTest = depthTest;
+            this.count = count;
+            this.offset = offset;
+            this.baseVertex = baseVertex;
+            this.instances = instances;
+        }
+    }
+}
@@ -1,55 +1,104 @@
 package com.webler.goliath.graphics;
 
+import com.webler.goliath.graphics.components.Camera;
 import com.webler.goliath.graphics.components.SpriteRenderer;
 import com.webler.goliath.graphics.light.AmbientLight;
 import com.webler.goliath.graphics.light.SpotLight;
+import com.webler.goliath.math.Frustum;
 import com.webler.goliath.utils.AssetPool;
 import lombok.Getter;
 import org.joml.Matrix4d;
 import org.joml.Vector3d;
+import org.lwjgl.system.MemoryUtil;
 
-import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL31.glDrawElementsInstanced;
+import static org.lwjgl.opengl.GL32.glDrawElementsBaseVertex;
 
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class Renderer {
-    private final List<Mesh> meshes;
+    private static final int MESH_SHADER = 0;
+    private static final int SPRITE_SHADER = 1;
+    private static final int U_TEX = Shader.getUniformHandle("u_tex");
+    private final Map<Geometry, MeshGroup> meshGroups;
+    private FloatBuffer instanceData;
     private final List<SpriteBatch> spriteBatches;
     private final List<AmbientLight> ambientLights;
     private final List<SpotLight> spotLights;
+    private final Frustum frustum;
+    private final RenderQueue queue;
+    private final GLStateCache stateCache;
+    private final Shader[] shaders;
+    @Getter
+    private final FrameUniforms frameUniforms;
+    private final Matrix4d screenMatrix;
     @Getter
     private Fog fog;
+    @Getter
+    private int culledMeshesCount;
+    @Getter
+    private int culledSpritesCount;
     public boolean fogOn = false;
+    public boolean fogCullOn = false;
     public boolean lightOn = false;
 
     public Renderer() {
-        meshes = new ArrayList<>();
+        meshGroups = new LinkedHashMap<>();
+        instanceData = null;
         spriteBatches = new ArrayList<>();
         ambientLights = new ArrayList<>();
         spotLights = new ArrayList<>();
+        frustum = new Frustum();
+        queue = new RenderQueue();
+        stateCache = new GLStateCache();
+        shaders = new Shader[2];
+        frameUniforms = new FrameUniforms();
+        screenMatrix = new Matrix4d();
         fog = new Fog(50, 100, Color.BLACK);
+        culledMeshesCount = 0;
+        culledSpritesCount = 0;
     }
 
     /**
-    * Adds a mesh to the meshes list. This is useful for adding meshes to an already existing mesh or to re - use an existing mesh in a different way
+    * Adds a mesh to the meshes drawn every frame. Meshes of the same geometry share its GPU buffers and are drawn together with instancing, so share geometry instances between meshes where you can. The buffers are created with the first mesh of a geometry.
     * 
     * @param mesh - the mesh to be
     */
     public void add(Mesh mesh) {
-        meshes.add(mesh);
+        // Binds the mesh to the buffers of its geometry when it is added for the first time or after the renderer was cleared.
+        if(mesh.group == null || mesh.group.isDestroyed()) {
+            MeshGroup group = meshGroups.computeIfAbsent(mesh.getGeometry(), geometry -> new MeshGroup(this, geometry));
+            group.acquire();
+            mesh.group = group;
+        }
+        mesh.group.add(mesh);
     }
 
     /**
-    * Removes the mesh from the meshes. This is equivalent to meshes. remove ( mesh ).
+    * Removes the mesh from the meshes drawn every frame. The mesh keeps the buffers of its geometry until it is destroyed, so a pooled mesh can be added again cheaply.
     * 
     * @param mesh - the mesh to remove. It must be an instance of Mesh
     * 
     * @return true if the mesh was removed
     */
     public boolean remove(Mesh mesh) {
-        return meshes.remove(mesh);
+        return mesh.group != null && mesh.group.remove(mesh);
+    }
+
+    /**
+    * Deletes the buffers of a geometry after its last mesh was destroyed. Called by MeshGroup.
+    * 
+    * @param group - The group without meshes
+    */
+    void releaseGroup(MeshGroup group) {
+        meshGroups.remove(group.getGeometry());
+        group.destroy();
     }
 
     /**
@@ -144,117 +193,229 @@ public class Renderer {
     }
 
     /**
-    * Renders the scene. This is called by Render#render ( Matrix4d Matrix4d ) and should not be called directly
+    * Returns the number of meshes added to the renderer.
     * 
-    * @param PVMatrix - matrix to use for viewing
-    * @param viewMatrix - matrix to use for
+    * 
+    * @return the number of meshes
     */
-    public void render(Matrix4d PVMatrix, Matrix4d viewMatrix) {
-        String preFragment = "";
-        // Add FOG_ON to the fragment before the fragment.
-        if(fogOn) preFragment += "FOG_ON,";
-        // Add LIGHT_ON to the fragment.
-        if(lightOn) preFragment += "LIGHT_ON,";
+    public int getMeshesCount() {
+        int count = 0;
+        for(MeshGroup group : meshGroups.values()) {
+            count += group.getMeshesCount();
+        }
+        return count;
+    }
 
-        Shader meshShader = AssetPool.getShader("goliath/shaders/mesh.glsl", "", preFragment);
-        Shader spriteShader = AssetPool.getShader("goliath/shaders/sprite.glsl", "", preFragment);
+    /**
+    * Returns the number of geometries with their own GPU buffers. Meshes of one geometry are drawn with one instanced draw call per texture.
+    * 
+    * 
+    * @return the number of mesh groups
+    */
+    public int getMeshGroupsCount() {
+        return meshGroups.size();
+    }
 
-        Vector3d[] spotLightVec = new Vector3d[spotLights.size() * 3];
-        // This method will create a vector vector of the spot lights.
-        for(int i = 0; i < spotLights.size(); ++i) {
-            SpotLight spotLight = spotLights.get(i);
-            Color lightColor = spotLight.getColor();
-            spotLightVec[i * 3] = new Vector3d(spotLight.getGameObject().transform.position);
-            spotLightVec[i * 3 + 1] = new Vector3d(lightColor.r, lightColor.g, lightColor.b).mul(spotLight.getIntensity());
-            spotLightVec[i * 3 + 2] = new Vector3d(spotLight.getRadiusMin(), spotLight.getRadiusMax(), 0);
+    /**
+    * Returns the number of sprite renderers in all sprite batches.
+    * 
+    * 
+    * @return the number of sprites
+    */
+    public int getSpritesCount() {
+        int count = 0;
+        for(SpriteBatch spriteBatch : spriteBatches) {
+            count += spriteBatch.getSpritesCount();
         }
+        return count;
+    }
 
-        Vector3d ambientColorVec = new Vector3d();
-        for (AmbientLight ambientLight : ambientLights) {
-            Color ambientColor = ambientLight.getColor();
-            ambientColorVec.add(new Vector3d(ambientColor.r, ambientColor.g, ambientColor.b))
-                    .mul(ambientLight.getIntensity());
+    /**
+    * Prepares the CPU side of rendering for the frame. Called in the render - prep phase after the scene has prepared its components and before #render (). Meshes and depth - sorted sprites outside of the view of the camera are culled here, and with fogCullOn also everything behind the far end of the fog. The remaining draw calls are collected in the render queue and sorted by their keys: meshes front to back, then depth - sorted sprites back to front, then the other sprite batches in the order of their z - index.
+    * 
+    * @param camera - The camera the frame is rendered with or null to draw everything
+    */
+    public void prepare(Camera camera) {
+        Frustum cullingFrustum = null;
+        Vector3d eye = null;
+        // Culls only if there is a camera to cull against.
+        if(camera != null) {
+            eye = camera.getGameObject().transform.getRenderPosition();
+            frustum.set(camera.getPVMatrix());
+            frustum.setMaxDistance(eye, fogOn && fogCullOn ? fog.fogFar : Double.POSITIVE_INFINITY);
+            cullingFrustum = frustum;
+        }
+        queue.clear();
+        culledMeshesCount = 0;
+        for(MeshGroup group : meshGroups.values()) {
+            culledMeshesCount += group.prepare(cullingFrustum, eye);
+            group.enqueue(queue, MESH_SHADER);
         }
+        culledSpritesCount = 0;
+        int pass = RenderQueue.PASS_OVERLAY;
+        for(SpriteBatch spriteBatch : spriteBatches) {
+            spriteBatch.prepare(cullingFrustum);
+            culledSpritesCount += spriteBatch.getCulledSpritesCount();
+            spriteBatch.enqueue(queue, SPRITE_SHADER, pass);
+            // Every batch that is not depth - sorted is drawn in its own pass in the order of the z - index.
+            if(spriteBatch.getZIndex() != -1) {
+                ++pass;
+            }
+        }
+        queue.sort();
+    }
 
-        glEnable(GL_BLEND);
-        glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
-        glEnable(GL_DEPTH_TEST);
+    /**
+    * Returns the number of draw items in the render queue of the frame.
+    * 
+    * 
+    * @return the number of draw items
+    */
+    public int getDrawItemsCount() {
+        return queue.size();
+    }
 
-        meshShader.bind();
+    /**
+    * Returns the number of GL state changes the last frame issued.
+    * 
+    * 
+    * @return the number of state changes
+    */
+    public int getStateChangesCount() {
+        return stateCache.getChangesCount();
+    }
 
-        // Set the light lights on the mesh shader.
-        if(lightOn) {
-            meshShader.supplyUniform("u_spot_lights", spotLightVec);
-            meshShader.supplyUniform("u_spot_lights_count", spotLights.size());
-            meshShader.supplyUniform("u_ambient_color", ambientColorVec);
-        }
+    /**
+    * Returns the number of GL state changes of the last frame that were dropped since the state was set already.
+    * 
+    * 
+    * @return the number of avoided state changes
+    */
+    public int getAvoidedStateChangesCount() {
+        return stateCache.getAvoidedChangesCount();
+    }
 
-        // Set the fog on or off shader.
-        if(fogOn) {
-            Color fogColor = fog.fogColor;
+    /**
+    * Fills the Frame uniform block shared by all engine shaders with the camera, the screen projection of the canvas, the fog and the lights, and uploads it once for the frame. Called before #render () so the scene, the debug lines and the canvas all read the same buffer.
+    * 
+    * @param PVMatrix - The projection view matrix of the camera
+    * @param viewMatrix - The view matrix of the camera
+    * @param screenWidth - The width of the canvas in pixels
+    * @param screenHeight - The height of the canvas in pixels
+    */
+    public void uploadFrameUniforms(Matrix4d PVMatrix, Matrix4d viewMatrix, int screenWidth, int screenHeight) {
+        frameUniforms.setCamera(PVMatrix, viewMatrix);
+        frameUniforms.setScreen(screenWidth, screenHeight, screenMatrix);
+        frameUniforms.setFog(fog);
 
-            meshShader.supplyUniform("u_fog_color", new Vector3d(fogColor.r, fogColor.g, fogColor.b));
-            meshShader.supplyUniform("u_fog_near", fog.fogNear);
-            meshShader.supplyUniform("u_fog_far", fog.fogFar);
+        double ambientR = 0, ambientG = 0, ambientB = 0;
+        for (AmbientLight ambientLight : ambientLights) {
+            Color ambientColor = ambientLight.getColor();
+            ambientR = (ambientR + ambientColor.r) * ambientLight.getIntensity();
+            ambientG = (ambientG + ambientColor.g) * ambientLight.getIntensity();
+            ambientB = (ambientB + ambientColor.b) * ambientLight.getIntensity();
         }
+        frameUniforms.setAmbientColor(ambientR, ambientG, ambientB);
 
-        meshShader.supplyUniform("u_view", viewMatrix);
+        frameUniforms.setSpotLightsCount(spotLights.size());
+        for(int i = 0; i < spotLights.size(); ++i) {
+            SpotLight spotLight = spotLights.get(i);
+            Color lightColor = spotLight.getColor();
+            Vector3d position = spotLight.getGameObject().transform.position;
+            double intensity = spotLight.getIntensity();
+            frameUniforms.setSpotLight(i, position.x, position.y, position.z, lightColor.r * intensity, lightColor.g * intensity,
+                    lightColor.b * intensity, spotLight.getRadiusMin(), spotLight.getRadiusMax());
+        }
 
-        for(Mesh mesh : meshes) {
-            Matrix4d PVM = new Matrix4d(PVMatrix).mul(mesh.getModelMatrix());
+        frameUniforms.upload();
+    }
 
-            meshShader.supplyUniform("u_PVM", PVM);
-            meshShader.supplyUniform("u_model", mesh.getModelMatrix());
-            meshShader.supplyUniform("u_color", mesh.getColor());
+    /**
+    * Renders the scene. The Frame uniform block has to be uploaded with #uploadFrameUniforms ( Matrix4d Matrix4d int int ) before.
+    */
+    public void render() {
+        String preFragment = "";
+        // Add FOG_ON to the fragment before the fragment.
+        if(fogOn) preFragment += "FOG_ON,";
+        // Add LIGHT_ON to the fragment.
+        if(lightOn) preFragment += "LIGHT_ON,";
 
-            mesh.render();
-        }
+        Shader meshShader = AssetPool.getShader("goliath/shaders/mesh.glsl", "", preFragment);
+        Shader spriteShader = AssetPool.getShader("goliath/shaders/sprite.glsl", "", preFragment);
 
-        meshShader.unbind();
+        stateCache.reset();
+        stateCache.setBlend(true);
+        stateCache.setBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
 
-        spriteShader.bind();
-        spriteShader.supplyUniform("u_PV", PVMatrix);
-        spriteShader.supplyUniform("u_view", viewMatrix);
+        for(MeshGroup group : meshGroups.values()) {
+            int capacity = group.getVisibleCount() * MeshGroup.INSTANCE_SIZE;
+            // Grows the instance buffer to fit the largest group.
+            if(capacity > 0 && (instanceData == null || instanceData.capacity() < capacity)) {
+                instanceData = MemoryUtil.memRealloc(instanceData, Math.max(capacity, instanceData == null ? 0 : instanceData.capacity() * 2));
+                instanceData.clear();
+            }
+            group.upload(instanceData);
+        }
+        for(SpriteBatch spriteBatch : spriteBatches) {
+            spriteBatch.upload(stateCache);
+        }
 
-        // Set the fog on or off sprite shader.
-        if(fogOn) {
-            Color fogColor = fog.fogColor;
+        shaders[MESH_SHADER] = meshShader;
+        shaders[SPRITE_SHADER] = spriteShader;
+        submit();
 
-            spriteShader.supplyUniform("u_fog_color", new Vector3d(fogColor.r, fogColor.g, fogColor.b));
-            spriteShader.supplyUniform("u_fog_near", fog.fogNear);
-            spriteShader.supplyUniform("u_fog_far", fog.fogFar);
+        for(SpriteBatch spriteBatch : spriteBatches) {
+            spriteBatch.endRender();
         }
 
-        for(SpriteBatch spriteBatch : spriteBatches) {
-            glEnable(GL_BLEND);
-            glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
-            // Enable or disable depth test.
-            if(spriteBatch.getZIndex() == -1) {
-                glEnable(GL_DEPTH_TEST);
+        stateCache.bindVertexArray(0);
+        stateCache.useProgram(0);
+    }
+
+    /**
+    * Draws the items of the sorted render queue. State is only changed through the state cache, so items that share a shader, vertex array or texture with the item before them issue just the draw call.
+    */
+    private void submit() {
+        for (int i = 0; i < queue.size(); ++i) {
+            RenderQueue.Item item = queue.get(i);
+            Shader shader = shaders[item.shader];
+            stateCache.useProgram(shader.getProgram());
+            // Textures are bound to unit 0, the upload is skipped once the program holds it.
+            shader.setInt(U_TEX, 0);
+            stateCache.bindVertexArray(item.vertexArray);
+            stateCache.bindTexture(item.texture);
+            stateCache.setBlend(item.blend);
+            stateCache.setDepthTest(item.depthTest);
+            // Draws all instances of a mesh group at once.
+            if(item.instances > 0) {
+                glDrawElementsInstanced(GL_TRIANGLES, item.count, GL_UNSIGNED_INT, item.offset, item.instances);
             } else {
-                glDisable(GL_DEPTH_TEST);
+                glDrawElementsBaseVertex(GL_TRIANGLES, item.count, GL_UNSIGNED_INT, item.offset, item.baseVertex);
             }
-            spriteBatch.render();
         }
-
-        spriteShader.unbind();
     }
 
     /**
     * Clears the scene. Clears all meshes sprites and lights and fog settings to default values
     */
     public void clear() {
-        for(Mesh mesh : meshes) {
-            mesh.destroy();
+        for(MeshGroup group : meshGroups.values()) {
+            group.destroy();
         }
-        meshes.clear();
+        meshGroups.clear();
+        queue.clear();
+        MemoryUtil.memFree(instanceData);
+        instanceData = null;
         for(SpriteBatch batch : spriteBatches) {
             batch.destroy();
         }
         spriteBatches.clear();
         spotLights.clear();
         ambientLights.clear();
+        culledMeshesCount = 0;
+        culledSpritesCount = 0;
         fogOn = false;
+        fogCullOn = false;
         lightOn = false;
         fog.fogColor = Color.BLACK;
         fog.fogNear = 50;
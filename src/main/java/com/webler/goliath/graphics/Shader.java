@@ -2,31 +2,75 @@ package com.webler.goliath.graphics;
 import com.webler.goliath.exceptions.ResourceFormatException;
 import com.webler.goliath.exceptions.ResourceNotFoundException;
 import lombok.Getter;
-import org.joml.*;
+import org.joml.Matrix4d;
+import org.joml.Vector3d;
+import org.joml.Vector4d;
+import org.lwjgl.system.MemoryUtil;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.FloatBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL31.GL_INVALID_INDEX;
+import static org.lwjgl.opengl.GL31.glGetUniformBlockIndex;
+import static org.lwjgl.opengl.GL31.glUniformBlockBinding;
 
 public class Shader {
     protected static final Logger logger = Logger.getLogger(Shader.class.getName());
+    private static final Map<String, Integer> handles = new ConcurrentHashMap<>();
+    private static final AtomicInteger handlesCounter = new AtomicInteger(0);
+    private static final int MAT4 = 0;
+    private static final int VEC3 = 1;
+    private static final int VEC4 = 2;
+    private static final int FLOAT = 3;
+    private static final int INT = 4;
+    private static final int INITIAL_SCRATCH_SIZE = 16;
+    private static final Pattern INCLUDE_PATTERN = Pattern.compile("#include( )+\"([^\"]+)\"");
     @Getter
     private int program;
     private final String vertexSource;
     private final String fragmentSource;
-    private final Set<Uniform> uniforms;
+    private Uniform[] uniforms;
+    private float[][] uploadedValues;
+    private FloatBuffer scratch;
+    @Getter
+    private int uploadsCount;
+    @Getter
+    private int skippedUploadsCount;
 
     public Shader(String vertexSource, String fragmentSource) {
         this.vertexSource = vertexSource;
         this.fragmentSource = fragmentSource;
-        uniforms = new HashSet<>();
+        uniforms = new Uniform[0];
+        uploadedValues = new float[0][];
+        scratch = null;
+        uploadsCount = 0;
+        skippedUploadsCount = 0;
+    }
+
+    /**
+    * Returns the handle of a uniform name. Handles are small integers that are assigned the first time a name is seen and index the uniforms of every shader, so resolve them once and keep them in constants.
+    * 
+    * @param name - The name of the uniform ( e. g. " u_tex " ).
+    * 
+    * @return The handle of the name. The same name always maps to the same handle for the lifetime of the application
+    */
+    public static int getUniformHandle(String name) {
+        Integer handle = handles.get(name);
+        // Fast path for names that have already been registered.
+        if(handle != null) {
+            return handle;
+        }
+        return handles.computeIfAbsent(name, n -> handlesCounter.getAndIncrement());
     }
 
     /**
@@ -49,17 +93,45 @@ public class Shader {
         glDeleteShader(vertexShader);
         glDeleteShader(fragmentShader);
 
+        bindUniformBlock(FrameUniforms.BLOCK_NAME, FrameUniforms.BINDING);
+
+        initUniforms();
+    }
+
+    /**
+    * Parses the uniforms of the vertex and the fragment source.
+    */
+    void initUniforms() {
         initUniforms(vertexSource);
         initUniforms(fragmentSource);
     }
 
+    /**
+    * Connects a uniform block of the program to a binding point, so the program reads the buffer bound there. Programs without the block are left alone.
+    * 
+    * @param name - The name of the block
+    * @param binding - The binding point
+    */
+    public void bindUniformBlock(String name, int binding) {
+        int index = glGetUniformBlockIndex(program, name);
+        // The program does not declare the block or the compiler removed it since it is unused.
+        if(index == GL_INVALID_INDEX) {
+            return;
+        }
+        glUniformBlockBinding(program, index, binding);
+    }
+
     /**
     * Initializes the uniforms by parsing the given source. Uniform names are separated by spaces and each part is of the form uniformName ( location )
     * 
     * @param source - the source to parse
     */
     public void initUniforms(String source) {
-        glUseProgram(program);
+        boolean context = Graphics.hasContext();
+        // Only the parsing is done without a GL context, uniforms are numbered instead of looked up.
+        if(context) {
+            glUseProgram(program);
+        }
         Pattern pattern = Pattern.compile("(uniform)( )+([a-zA-Z0-9]+)( )+([a-zA-Z0-9_]+)");
         Matcher matcher = pattern.matcher(source);
         // Find uniform locations in the shader.
@@ -68,42 +140,42 @@ public class Shader {
             String[] splitString = group.split("( )+");
             // Add uniform to uniforms list
             if (splitString.length > 2) {
-                int loc = glGetUniformLocation(program, splitString[2]);
-                uniforms.add(new Uniform(splitString[2], loc, splitString[1]));
+                int handle = getUniformHandle(splitString[2]);
+                // Grows the arrays indexed by handle.
+                if(handle >= uniforms.length) {
+                    uniforms = Arrays.copyOf(uniforms, handle + 1);
+                    uploadedValues = Arrays.copyOf(uploadedValues, handle + 1);
+                }
+                int loc = context ? glGetUniformLocation(program, splitString[2]) : handle;
+                uniforms[handle] = new Uniform(splitString[2], loc, splitString[1]);
             }
         }
     }
 
     /**
-    * Supply a value to a uniform. This is useful for setting values that are shared between programs such as GLSL and OpenGL
+    * Supply a value to a uniform by name. The name is resolved to a handle on every call, code that runs every frame should keep the handle from #getUniformHandle ( String ) and use the typed setters.
     * 
     * @param name - The name of the uniform to supply
     * @param value - The value to supply to the uniform ( can be Matrix4d Vector3d
     */
     public <T> void supplyUniform(String name, T value) {
-        Uniform uniform = uniforms.stream()
-                .filter((Uniform u) -> u.name().equals(name))
-                .findAny()
-                .orElse(null);
+        int handle = getUniformHandle(name);
 
         // Find a uniform. If no uniform is found a warning is logged.
-        if(uniform == null) {
+        if(getUniform(handle) == null) {
             logger.warning("Could not find uniform " + name);
             return;
         }
 
-        int location = uniform.location();
         // Uniforms the value of the uniform distribution.
-        if(value instanceof Matrix4d) {
-            float[] mat = new float[16];
-            ((Matrix4d) value).get(mat);
-            glUniformMatrix4fv(location, false, mat);
+        if(value instanceof Matrix4d mat) {
+            setMat4(handle, mat);
         // Uniforms the value of the uniform distribution.
         } else if(value instanceof Vector3d vec) {
-            glUniform3f(location, (float) vec.x, (float) vec.y, (float) vec.z);
+            setVec3(handle, vec.x, vec.y, vec.z);
         // Uniforms the value of the uniform distribution.
         }  else if(value instanceof Vector4d vec) {
-            glUniform4f(location, (float) vec.x, (float) vec.y, (float) vec.z, (float) vec.w);
+            setVec4(handle, vec.x, vec.y, vec.z, vec.w);
         // Uniforms the value of the uniform variable.
         } else if(value instanceof Vector3d[] vec) {
             float[] buffer = new float[vec.length * 3];
@@ -113,16 +185,185 @@ public class Shader {
                 buffer[i * 3 + 1] = (float) vec[i].y;
                 buffer[i * 3 + 2] = (float) vec[i].z;
             }
-            glUniform3fv(location, buffer);
+            setVec3Array(handle, buffer, vec.length);
         // Uniform value of the value.
         } else if(value instanceof Integer number) {
-            glUniform1i(location, number);
+            setInt(handle, number);
         // Uniform value of the current value.
         } else if(value instanceof Double number) {
-            glUniform1f(location, number.floatValue());
+            setFloat(handle, number);
+        }
+    }
+
+    /**
+    * Sets a mat4 uniform. The program has to be current. Like all typed setters the GL call is skipped if the uniform already holds the value.
+    * 
+    * @param handle - The handle of the uniform
+    * @param value - The matrix
+    */
+    public void setMat4(int handle, Matrix4d value) {
+        value.get(scratch(16));
+        upload(handle, 16, MAT4);
+    }
+
+    /**
+    * Sets a vec3 uniform. The program has to be current.
+    * 
+    * @param handle - The handle of the uniform
+    * @param x - The x component
+    * @param y - The y component
+    * @param z - The z component
+    */
+    public void setVec3(int handle, double x, double y, double z) {
+        FloatBuffer buffer = scratch(3);
+        buffer.put(0, (float) x).put(1, (float) y).put(2, (float) z);
+        upload(handle, 3, VEC3);
+    }
+
+    /**
+    * Sets a vec4 uniform. The program has to be current.
+    * 
+    * @param handle - The handle of the uniform
+    * @param x - The x component
+    * @param y - The y component
+    * @param z - The z component
+    * @param w - The w component
+    */
+    public void setVec4(int handle, double x, double y, double z, double w) {
+        FloatBuffer buffer = scratch(4);
+        buffer.put(0, (float) x).put(1, (float) y).put(2, (float) z).put(3, (float) w);
+        upload(handle, 4, VEC4);
+    }
+
+    /**
+    * Sets the first elements of a vec3 array uniform. The program has to be current.
+    * 
+    * @param handle - The handle of the uniform
+    * @param values - The components of the vectors, three per vector
+    * @param count - The number of vectors to set
+    */
+    public void setVec3Array(int handle, float[] values, int count) {
+        scratch(count * 3).put(0, values, 0, count * 3);
+        upload(handle, count * 3, VEC3);
+    }
+
+    /**
+    * Sets a float uniform. The program has to be current.
+    * 
+    * @param handle - The handle of the uniform
+    * @param value - The value
+    */
+    public void setFloat(int handle, double value) {
+        scratch(1).put(0, (float) value);
+        upload(handle, 1, FLOAT);
+    }
+
+    /**
+    * Sets an int or sampler uniform. The program has to be current.
+    * 
+    * @param handle - The handle of the uniform
+    * @param value - The value
+    */
+    public void setInt(int handle, int value) {
+        scratch(1).put(0, Float.intBitsToFloat(value));
+        upload(handle, 1, INT);
+    }
+
+    /**
+    * Returns the uniform with the given handle.
+    * 
+    * @param handle - The handle of the uniform
+    * 
+    * @return the uniform or null if the shader has no uniform with this handle
+    */
+    public Uniform getUniform(int handle) {
+        return handle >= 0 && handle < uniforms.length ? uniforms[handle] : null;
+    }
+
+    /**
+    * Finds the uniform with the given name among the uniforms parsed by #initUniforms ( String ).
+    * 
+    * @param name - The name of the uniform
+    * 
+    * @return the uniform or null if the shader has no uniform with this name
+    */
+    Uniform findUniform(String name) {
+        return getUniform(getUniformHandle(name));
+    }
+
+    /**
+    * Returns the scratch buffer the typed setters write into, grown to hold the given number of floats.
+    * 
+    * @param length - The number of floats
+    * 
+    * @return the scratch buffer with position 0 and the length as limit
+    */
+    private FloatBuffer scratch(int length) {
+        // Grows the buffer if the value does not fit.
+        if(scratch == null || scratch.capacity() < length) {
+            scratch = MemoryUtil.memRealloc(scratch, Math.max(length, INITIAL_SCRATCH_SIZE));
         }
+        scratch.position(0).limit(length);
+        return scratch;
     }
 
+    /**
+    * Uploads the value in the scratch buffer to the uniform unless the uniform already holds it. The last uploaded value of every uniform is kept on the heap for the comparison.
+    * 
+    * @param handle - The handle of the uniform
+    * @param length - The number of floats of the value
+    * @param type - The type of the value
+    */
+    private void upload(int handle, int length, int type) {
+        Uniform uniform = getUniform(handle);
+        // Uniforms the shader does not have are ignored like location - 1 in GL.
+        if(uniform == null) {
+            return;
+        }
+        float[] uploaded = uploadedValues[handle];
+        // Skips the GL call if the value did not change.
+        if(uploaded != null && uploaded.length == length && isUploaded(uploaded, length)) {
+            ++skippedUploadsCount;
+            return;
+        }
+        // Allocates the copy of the value the first time or when the length changed.
+        if(uploaded == null || uploaded.length != length) {
+            uploaded = new float[length];
+            uploadedValues[handle] = uploaded;
+        }
+        scratch.get(0, uploaded, 0, length);
+        ++uploadsCount;
+        // Only the value is remembered without a GL context.
+        if(!Graphics.hasContext()) {
+            return;
+        }
+        int location = uniform.location();
+        switch (type) {
+            case MAT4 -> glUniformMatrix4fv(location, false, scratch);
+            case VEC3 -> glUniform3fv(location, scratch);
+            case VEC4 -> glUniform4fv(location, scratch);
+            case FLOAT -> glUniform1fv(location, scratch);
+            default -> glUniform1i(location, Float.floatToRawIntBits(scratch.get(0)));
+        }
+    }
+
+    /**
+    * Compares the scratch buffer with the last uploaded value bit by bit.
+    * 
+    * @param uploaded - The last uploaded value
+    * @param length - The number of floats to compare
+    * 
+    * @return true if the values are equal
+    */
+    private boolean isUploaded(float[] uploaded, int length) {
+        for (int i = 0; i < length; ++i) {
+            // Compares the bits so int values stored as floats compare exactly.
+            if(Float.floatToRawIntBits(uploaded[i]) != Float.floatToRawIntBits(scratch.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
 
     /**
     * Compiles a shader. This is the method that compiles and returns OpenGL shaders. The source is expected to be a well formed GLSL source code and the type is expected to be one of GL_VERTEX_SHADER GL_FRAGMENT_SHADER or GL_FRAGMENT_CUBE
@@ -167,18 +408,7 @@ public class Shader {
     * @return the shader or null if the resource could not be loaded for some reason ( not all resources are available
     */
     public static Shader load(String resourceName, String preVertex, String preFragment) {
-        String textSource;
-        InputStream is = ClassLoader.getSystemResourceAsStream(resourceName);
-        // Throws a ResourceNotFoundException if the resource is null.
-        if(is == null) {
-            throw new ResourceNotFoundException(resourceName);
-        }
-        try {
-            textSource = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            e.printStackTrace(System.err);
-            throw new ResourceFormatException(resourceName, "Could not read text file");
-        }
+        String textSource = readSource(resourceName);
 
         String[] splitString = textSource.split("(#type)( )+([a-zA-Z0-9]+)");
 
@@ -218,6 +448,9 @@ public class Shader {
         String[] preVertexSplit = preVertex.split(",");
         String[] preFragmentSplit = preFragment.split(",");
 
+        insertIncludes(vertexSource);
+        insertIncludes(fragmentSource);
+
         insertDefines(resourceName, vertexSource, preVertexSplit);
 
         insertDefines(resourceName, fragmentSource, preFragmentSplit);
@@ -225,6 +458,44 @@ public class Shader {
         return new Shader(vertexSource.toString(), fragmentSource.toString());
     }
 
+    /**
+    * Reads the text of a shader resource.
+    * 
+    * @param resourceName - The name of the resource
+    * 
+    * @return the text of the resource
+    */
+    private static String readSource(String resourceName) {
+        InputStream is = ClassLoader.getSystemResourceAsStream(resourceName);
+        // Throws a ResourceNotFoundException if the resource is null.
+        if(is == null) {
+            throw new ResourceNotFoundException(resourceName);
+        }
+        try (is) {
+            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            e.printStackTrace(System.err);
+            throw new ResourceFormatException(resourceName, "Could not read text file");
+        }
+    }
+
+    /**
+    * Replaces every #include "name" line with the text of the named resource. GLSL has no includes, this lets all shaders share declarations like the Frame uniform block. Included resources are not searched for includes themselves.
+    * 
+    * @param source - The source to insert the includes into
+    */
+    static void insertIncludes(StringBuilder source) {
+        Matcher matcher = INCLUDE_PATTERN.matcher(source);
+        int start = 0;
+        while (matcher.find(start)) {
+            String included = readSource(matcher.group(2));
+            start = matcher.start();
+            source.replace(start, matcher.end(), included);
+            start += included.length();
+            matcher = INCLUDE_PATTERN.matcher(source);
+        }
+    }
+
     /**
     * Inserts #define statements into the source. This is used to insert a set of pre - split defines that need to be inserted before the shader is compiled.
     * 
@@ -259,6 +530,11 @@ public class Shader {
     * Destroys OpenGL resources associated with this shader. This method is called by GLSL when the shader is no longer needed
     */
     public void destroy() {
-        glDeleteProgram(program);
+        MemoryUtil.memFree(scratch);
+        scratch = null;
+        // Nothing was linked without a GL context.
+        if(Graphics.hasContext()) {
+            glDeleteProgram(program);
+        }
     }
 }
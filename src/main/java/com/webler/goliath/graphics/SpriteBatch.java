@@ -3,21 +3,25 @@ package com.webler.goliath.graphics;
 import com.webler.goliath.core.components.Transform;
 import com.webler.goliath.graphics.components.Camera;
 import com.webler.goliath.graphics.components.SpriteRenderer;
+import com.webler.goliath.jobs.JobSystem;
+import com.webler.goliath.math.Frustum;
 import com.webler.goliath.math.Rect;
 import lombok.Getter;
 import org.joml.Matrix4d;
+import org.joml.Vector3d;
 import org.joml.Vector4d;
+import org.lwjgl.system.MemoryUtil;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.*;
 
 import static org.lwjgl.opengl.GL11.GL_FLOAT;
-import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
 import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
 import static org.lwjgl.opengl.GL20.glVertexAttribPointer;
 import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL32.*;
 
 public class SpriteBatch {
     private static final int MAX_SPRITES = 1000;
@@ -31,27 +35,85 @@ public class SpriteBatch {
     private static final int COLOR_SIZE = 4;
     private static final int COLOR_OFFSET = 5;
     private static final int VERT_SIZE = POS_SIZE + UV_SIZE + COLOR_SIZE;
+    private static final int SPRITE_SIZE = 4 * VERT_SIZE;
+    private static final int SPRITE_BYTES = SPRITE_SIZE * Float.BYTES;
+    private static final int SPRITE_INDICES = 6;
+    private static final int RING_SIZE = 3;
+    private static final long FENCE_TIMEOUT = 1_000_000_000L;
+    private static final int VERTICES_GRAIN = 64;
+    private static final double[] CORNERS = new double[] {
+            -0.5, 0.5,
+            0.5, 0.5,
+            0.5, -0.5,
+            -0.5, -0.5
+    };
     private int vao;
     private int vbo;
     private int ebo;
     private final List<SpriteRenderer> spriteRenderers;
+    private final Map<SpriteRenderer, SpriteQuad> quads;
+    private final ArrayList<SpriteRenderer> visibleRenderers;
     private final List<DrawCall> drawCalls;
+    private final Vector4d boundingSphere;
+    private final FloatBuffer vertices;
+    private final IntBuffer indices;
+    private final int[] freeStaticSlots;
+    private int freeStaticSlotsCount;
+    private int nextStaticSlot;
+    private final int[] freeDynamicSlots;
+    private int freeDynamicSlotsCount;
+    private int nextDynamicSlot;
+    private final int[] dirtyMin;
+    private final int[] dirtyMax;
+    private final long[] fences;
+    private int ringIndex;
+    private int segment;
+    private final float[] drawCallDepths;
+    private int visibleCount;
+    @Getter
+    private int rebuiltSpritesCount;
+    @Getter
+    private int culledSpritesCount;
     @Getter
     private final int zIndex;
 
     public SpriteBatch(int zIndex) {
         this.zIndex = zIndex;
         spriteRenderers = new ArrayList<>();
+        quads = new IdentityHashMap<>();
+        visibleRenderers = new ArrayList<>();
         drawCalls = new ArrayList<>();
+        boundingSphere = new Vector4d();
+        vertices = MemoryUtil.memAllocFloat(MAX_SPRITES * SPRITE_SIZE);
+        indices = MemoryUtil.memAllocInt(MAX_SPRITES * SPRITE_INDICES);
+        freeStaticSlots = new int[MAX_SPRITES];
+        freeStaticSlotsCount = 0;
+        nextStaticSlot = 0;
+        freeDynamicSlots = new int[MAX_SPRITES];
+        freeDynamicSlotsCount = 0;
+        nextDynamicSlot = MAX_SPRITES - 1;
+        dirtyMin = new int[RING_SIZE];
+        dirtyMax = new int[RING_SIZE];
+        Arrays.fill(dirtyMin, MAX_SPRITES);
+        Arrays.fill(dirtyMax, -1);
+        fences = new long[RING_SIZE];
+        ringIndex = 0;
+        segment = 0;
+        drawCallDepths = new float[MAX_SPRITES];
+        visibleCount = 0;
+        rebuiltSpritesCount = 0;
+        culledSpritesCount = 0;
     }
 
     /**
-    * Adds a SpriteRenderer to the list of SpriteRenderers. This is useful for adding custom SpriteRenderer instances that are specific to the game.
+    * Adds a SpriteRenderer to the batch. Every sprite gets its own slot in the vertex buffer, static sprites at the front and the others at the back, so the ranges rewritten for moving sprites do not span the static ones.
     * 
     * @param spriteRenderer - The SpriteRenderer to add to the
     */
     public void add(SpriteRenderer spriteRenderer) {
+        SpriteQuad quad = new SpriteQuad(allocateSlot(spriteRenderer.isStaticSprite()), spriteRenderer.isStaticSprite());
         spriteRenderers.add(spriteRenderer);
+        quads.put(spriteRenderer, quad);
     }
 
     /**
@@ -62,19 +124,29 @@ public class SpriteBatch {
     * @return True if the SpriteRenderer was removed false otherwise ( since there is no way to determine if the SpriteRenderer was in the list
     */
     public boolean remove(SpriteRenderer spriteRenderer) {
+        SpriteQuad quad = quads.remove(spriteRenderer);
+        // Returns if the renderer is in another batch.
+        if(quad == null) {
+            return false;
+        }
+        freeSlot(quad);
         return spriteRenderers.remove(spriteRenderer);
     }
 
     /**
-    * Initializes the OpenGL state. This is called by the start method of the SpriteRenderer. You can call it any time you want to start drawing
+    * Initializes the OpenGL state. The vertex and index buffers hold RING_SIZE segments that are written in turn, so a segment is only written after the GPU finished the frame that last read it.
     */
     public void start() {
+        // Only the CPU side is kept without a GL context.
+        if(!Graphics.hasContext()) {
+            return;
+        }
         vao = glGenVertexArrays();
         glBindVertexArray(vao);
 
         vbo = glGenBuffers();
         glBindBuffer(GL_ARRAY_BUFFER, vbo);
-        glBufferData(GL_ARRAY_BUFFER, MAX_SPRITES * 4 * VERT_SIZE * Float.BYTES, GL_DYNAMIC_DRAW);
+        glBufferData(GL_ARRAY_BUFFER, (long) RING_SIZE * MAX_SPRITES * SPRITE_BYTES, GL_STREAM_DRAW);
         glVertexAttribPointer(POS_INDEX,
                 POS_SIZE,
                 GL_FLOAT,
@@ -93,114 +165,207 @@ public class SpriteBatch {
                 false,
                 VERT_SIZE * Float.BYTES,
                 COLOR_OFFSET * Float.BYTES);
-
-        int[] indexCache = new int[] {
-                0, 1, 2,
-                0, 2, 3
-        };
-        int[] indices = new int[MAX_SPRITES * 6];
-        // This method is used to store the indices of the index cache.
-        for (int i = 0; i < MAX_SPRITES; ++i) {
-            // Set the indices of the indices in the cache.
-            for(int j = 0; j < indexCache.length; ++j) {
-                indices[i * 6 + j] = indexCache[j] + i * 4;
-            }
-        }
+        glEnableVertexAttribArray(POS_INDEX);
+        glEnableVertexAttribArray(UV_INDEX);
+        glEnableVertexAttribArray(COLOR_INDEX);
 
         ebo = glGenBuffers();
         glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ebo);
-        glBufferData(GL_ELEMENT_ARRAY_BUFFER, indices, GL_STATIC_DRAW);
+        glBufferData(GL_ELEMENT_ARRAY_BUFFER, (long) RING_SIZE * MAX_SPRITES * SPRITE_INDICES * Integer.BYTES, GL_STREAM_DRAW);
 
         glBindVertexArray(0);
     }
 
-    // TODO: Do only if needed
     /**
-    * Initializes the buffers. This is called by Scene#begin ( Graphics ) and Scene#end () to ensure that buffers are initialized
+    * Builds the indices and draw calls of all sprites that intersect the view of the camera without culling them against a frustum.
+    */
+    public void prepare() {
+        prepare(null);
+    }
+
+    /**
+    * Builds the indices and draw calls of the visible sprites on the CPU. This is called by Renderer#prepare ( Camera ) in the render - prep phase. Sprites outside of the frustum are dropped before they are sorted, only sprites that changed since they were last built write their vertices again, on the workers of the JobSystem, and their slots are marked for the upload.
+    * 
+    * @param frustum - The frustum of the camera to cull depth - sorted sprites against or null to keep them all
     */
-    public void initBuffers() {
+    public void prepare(Frustum frustum) {
 
         drawCalls.clear();
+        visibleCount = 0;
+        rebuiltSpritesCount = 0;
+        culledSpritesCount = 0;
 
         // Returns true if there are no sprite renderers.
         if(spriteRenderers.isEmpty()) return;
 
-        ArrayList<SpriteRenderer> visibleRenderers = getVisibleRenderers();
+        ArrayList<SpriteRenderer> visibleRenderers = getVisibleRenderers(frustum);
+        culledSpritesCount = spriteRenderers.size() - visibleRenderers.size();
 
-        float[] vertices = new float[visibleRenderers.size() * 4 * VERT_SIZE];
+        // Resolves the render matrices on the main thread, since a transform builds its matrix lazily from its parent and sprites may share a parent.
+        for (int i = 0; i < visibleRenderers.size(); ++i) {
+            SpriteRenderer spriteRenderer = visibleRenderers.get(i);
+            quads.get(spriteRenderer).resolve(spriteRenderer.getGameObject().transform);
+        }
 
-        // Draw all the visible renderers.
-        for(int i = 0; i < visibleRenderers.size(); ++i) {
+        // Every sprite writes only its own slot so the sprites are split between the workers, which only read the resolved matrices.
+        JobSystem.get().parallelFor(visibleRenderers.size(), VERTICES_GRAIN, i -> {
             SpriteRenderer spriteRenderer = visibleRenderers.get(i);
-            Sprite sprite = spriteRenderer.getSprite();
+            SpriteQuad quad = quads.get(spriteRenderer);
+            quad.rebuilt = quad.update(spriteRenderer);
+            // Writes the vertices of a changed sprite into its slot.
+            if(quad.rebuilt) {
+                writeVertices(spriteRenderer, quad);
+            }
+        });
 
-            float[] positions = getPositions(spriteRenderer);
-            float[] uvs = sprite.getTexCoords();
-            float[] color = spriteRenderer.getColor().toArray();
-            // Copy all the vertices and uvs from the vertices and color.
-            for(int j = 0; j < 4; ++j) {
-                // Set the position of the vertices in the graph.
-                for(int k = 0; k < POS_SIZE; ++k) {
-                    vertices[(i * 4 + j) * VERT_SIZE + POS_OFFSET + k] = positions[j * POS_SIZE + k];
-                }
-                // Set the vertices of the vertex.
-                for(int k = 0; k < UV_SIZE; ++k) {
-                    vertices[(i * 4 + j) * VERT_SIZE + UV_OFFSET + k] = uvs[j * UV_SIZE + k];
-                }
-                System.arraycopy(color, 0, vertices, (i * 4 + j) * VERT_SIZE + COLOR_OFFSET, COLOR_SIZE);
+        for(int i = 0; i < visibleRenderers.size(); ++i) {
+            SpriteRenderer spriteRenderer = visibleRenderers.get(i);
+            SpriteQuad quad = quads.get(spriteRenderer);
+            // Marks the slot of a rebuilt sprite for upload into every segment.
+            if(quad.rebuilt) {
+                markDirty(quad.slot);
+                quad.rebuilt = false;
+                ++rebuiltSpritesCount;
             }
+            int vertex = quad.slot * 4;
+            indices.put(i * SPRITE_INDICES, vertex);
+            indices.put(i * SPRITE_INDICES + 1, vertex + 1);
+            indices.put(i * SPRITE_INDICES + 2, vertex + 2);
+            indices.put(i * SPRITE_INDICES + 3, vertex);
+            indices.put(i * SPRITE_INDICES + 4, vertex + 2);
+            indices.put(i * SPRITE_INDICES + 5, vertex + 3);
 
+            Sprite sprite = spriteRenderer.getSprite();
             // Add a DrawCall to the drawCalls list.
             if(i == visibleRenderers.size() - 1 || !sprite.getTexture().equals(visibleRenderers.get(i + 1).getSprite().getTexture())) {
+                int offset = 0;
                 // Add a DrawCall to the drawCalls list.
-                if(drawCalls.isEmpty()) {
-                    drawCalls.add(new DrawCall(0, (i + 1) * 6, sprite.getTexture().getTexId()));
-                } else {
+                if(!drawCalls.isEmpty()) {
                     DrawCall prevDrawCall = drawCalls.get(drawCalls.size() - 1);
-                    int offset = prevDrawCall.offset() + prevDrawCall.count();
-                    int count = (i + 1) * 6 - offset;
-                    drawCalls.add(new DrawCall(offset, count, sprite.getTexture().getTexId()));
+                    offset = prevDrawCall.offset() + prevDrawCall.count();
                 }
+                // The first sprite of a run is its farthest one.
+                drawCallDepths[drawCalls.size()] = (float) quads.get(visibleRenderers.get(offset / SPRITE_INDICES)).distance;
+                drawCalls.add(new DrawCall(offset, (i + 1) * SPRITE_INDICES - offset, sprite.getTexture().getTexId()));
             }
         }
 
-        glBindBuffer(GL_ARRAY_BUFFER, vbo);
-        glBufferSubData(GL_ARRAY_BUFFER, 0, vertices);
+        visibleCount = visibleRenderers.size();
+        // Picks the segment the frame is uploaded into.
+        if(visibleCount > 0) {
+            segment = ringIndex;
+            ringIndex = (ringIndex + 1) % RING_SIZE;
+        }
     }
 
     /**
-    * Renders the VAO. This is called by OpenGL every frame to render the vertex data to the screen
+    * Adds one item per draw call to the render queue. Depth - sorted sprites go to the blended pass with the distance of the farthest sprite of every draw call, so the draw calls stay in back to front order, the other batches go to the given overlay pass in the order of their draw calls.
+    * 
+    * @param queue - The render queue of the frame
+    * @param shader - The index of the sprite shader
+    * @param pass - The pass of the batch if it is not depth - sorted
     */
-    public void render() {
-        initBuffers();
-
-        glBindVertexArray(vao);
+    void enqueue(RenderQueue queue, int shader, int pass) {
+        long indicesOffset = (long) segment * MAX_SPRITES * SPRITE_INDICES * Integer.BYTES;
+        int baseVertex = segment * MAX_SPRITES * 4;
+        boolean depthSorted = zIndex == -1;
+        for (int i = 0; i < drawCalls.size(); ++i) {
+            DrawCall drawCall = drawCalls.get(i);
+            long key = depthSorted ? RenderQueue.blendedKey(RenderQueue.PASS_BLENDED, shader, drawCall.texId(), drawCallDepths[i]) :
+                    RenderQueue.blendedKey(pass, shader, drawCall.texId(), 0);
+            RenderQueue.Item item = queue.add(key);
+            item.set(shader, vao, drawCall.texId(), true, depthSorted, drawCall.count(),
+                    indicesOffset + (long) drawCall.offset() * Integer.BYTES, baseVertex, 0);
+        }
+    }
 
-        glEnableVertexAttribArray(POS_INDEX);
-        glEnableVertexAttribArray(UV_INDEX);
-        glEnableVertexAttribArray(COLOR_INDEX);
+    /**
+    * Uploads the changed slots and the indices built by #prepare ( Frustum ) into the segment of the frame. The segment is mapped unsynchronized since its fence tells that the GPU is done with it. The draw calls are submitted by the render queue of the Renderer afterwards.
+    * 
+    * @param state - The GL state cache of the renderer
+    */
+    void upload(GLStateCache state) {
+        // Nothing was prepared for this frame.
+        if(visibleCount == 0) return;
+
+        waitFence(segment);
+
+        state.bindVertexArray(vao);
+
+        // Copies the slots that changed since the segment was last written.
+        if(dirtyMin[segment] <= dirtyMax[segment]) {
+            long offset = (long) dirtyMin[segment] * SPRITE_BYTES;
+            long length = (long) (dirtyMax[segment] - dirtyMin[segment] + 1) * SPRITE_BYTES;
+            long segmentOffset = (long) segment * MAX_SPRITES * SPRITE_BYTES + offset;
+            glBindBuffer(GL_ARRAY_BUFFER, vbo);
+            ByteBuffer mapped = glMapBufferRange(GL_ARRAY_BUFFER, segmentOffset, length,
+                    GL_MAP_WRITE_BIT | GL_MAP_INVALIDATE_RANGE_BIT | GL_MAP_UNSYNCHRONIZED_BIT);
+            // Falls back to a plain upload if the buffer could not be mapped.
+            if(mapped != null) {
+                MemoryUtil.memCopy(MemoryUtil.memAddress(vertices) + offset, MemoryUtil.memAddress(mapped), length);
+                glUnmapBuffer(GL_ARRAY_BUFFER);
+            } else {
+                nglBufferSubData(GL_ARRAY_BUFFER, segmentOffset, length, MemoryUtil.memAddress(vertices) + offset);
+            }
+            dirtyMin[segment] = MAX_SPRITES;
+            dirtyMax[segment] = -1;
+        }
 
-        for (DrawCall drawCall : drawCalls) {
-            glBindTexture(GL_TEXTURE_2D, drawCall.texId());
-            glDrawElements(GL_TRIANGLES, drawCall.count(), GL_UNSIGNED_INT, (long) drawCall.offset() * Integer.BYTES);
+        long indicesOffset = (long) segment * MAX_SPRITES * SPRITE_INDICES * Integer.BYTES;
+        long indicesLength = (long) visibleCount * SPRITE_INDICES * Integer.BYTES;
+        ByteBuffer mapped = glMapBufferRange(GL_ELEMENT_ARRAY_BUFFER, indicesOffset, indicesLength,
+                GL_MAP_WRITE_BIT | GL_MAP_INVALIDATE_RANGE_BIT | GL_MAP_UNSYNCHRONIZED_BIT);
+        // Falls back to a plain upload if the buffer could not be mapped.
+        if(mapped != null) {
+            MemoryUtil.memCopy(MemoryUtil.memAddress(indices), MemoryUtil.memAddress(mapped), indicesLength);
+            glUnmapBuffer(GL_ELEMENT_ARRAY_BUFFER);
+        } else {
+            nglBufferSubData(GL_ELEMENT_ARRAY_BUFFER, indicesOffset, indicesLength, MemoryUtil.memAddress(indices));
         }
+    }
 
-        glDisableVertexAttribArray(POS_INDEX);
-        glDisableVertexAttribArray(UV_INDEX);
-        glDisableVertexAttribArray(COLOR_INDEX);
+    /**
+    * Puts a fence behind the draw calls of the frame so the segment is not written again before the GPU has read it. Called after the render queue was submitted.
+    */
+    void endRender() {
+        // Nothing was drawn this frame.
+        if(visibleCount == 0) return;
 
-        glBindVertexArray(0);
+        fences[segment] = glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
     }
 
     /**
-    * Destroys OpenGL resources. This is called by #destroy ( GLContext ) when the context is no longer needed
+    * Destroys OpenGL resources and frees the off - heap vertex and index data. This is called by Renderer#clear () when the batch is no longer needed
     */
     public void destroy() {
+        MemoryUtil.memFree(vertices);
+        MemoryUtil.memFree(indices);
+        // Nothing was created without a GL context.
+        if(!Graphics.hasContext()) {
+            return;
+        }
+        for (int i = 0; i < RING_SIZE; ++i) {
+            // Deletes the fences of segments that were rendered.
+            if(fences[i] != 0) {
+                glDeleteSync(fences[i]);
+                fences[i] = 0;
+            }
+        }
         glDeleteVertexArrays(vao);
         glDeleteBuffers(vbo);
         glDeleteBuffers(ebo);
     }
 
+    /**
+    * Returns the number of sprite renderers in this batch.
+    * 
+    * 
+    * @return the number of sprites
+    */
+    public int getSpritesCount() {
+        return spriteRenderers.size();
+    }
+
     /**
     * Returns true if the queue is full. This is used to determine if we should try to render a new tile or not.
     * 
@@ -212,64 +377,216 @@ public class SpriteBatch {
     }
 
     /**
-    * Returns a list of SpriteRenderers that are visible to the camera. The list is sorted by Z - order and the Sprite's texture ID is used as the key to the array list.
+    * Returns a list of SpriteRenderers that are visible to the camera. The list is sorted by Z - order and the Sprite's texture ID is used as the key to the array list. The list is reused between frames.
     * 
+    * @param frustum - The frustum depth - sorted sprites are culled against or null to keep them all
     * 
     * @return An ArrayList of SpriteRenderer that are visible to the camera sorted by Z - order and the Sprite's texture ID
     */
-    private ArrayList<SpriteRenderer> getVisibleRenderers() {
+    private ArrayList<SpriteRenderer> getVisibleRenderers(Frustum frustum) {
         Camera camera = spriteRenderers.get(0).getGameObject().getScene().getCamera();
 
-        ArrayList<SpriteRenderer> visibleRenderers = new ArrayList<>(spriteRenderers);
+        visibleRenderers.clear();
 
         // Returns a list of visible renderers.
         if(zIndex == -1) {
-            visibleRenderers.sort((a, b) -> {
-                double distToCam1 = a.getOffsetPosition().distance(camera.getGameObject().transform.position);
-                double distToCam2 = b.getOffsetPosition().distance(camera.getGameObject().transform.position);
-                return Double.compare(distToCam2, distToCam1);
-            });
+            Vector3d cameraPosition = camera.getGameObject().transform.getRenderPosition();
+            for (SpriteRenderer spriteRenderer : spriteRenderers) {
+                spriteRenderer.getBoundingSphere(boundingSphere);
+                // Culls before sorting so sprites behind the camera or past the fog are neither sorted nor built.
+                if(frustum == null || frustum.intersectsSphere(boundingSphere.x, boundingSphere.y, boundingSphere.z, boundingSphere.w)) {
+                    quads.get(spriteRenderer).distance = cameraPosition.distance(boundingSphere.x, boundingSphere.y, boundingSphere.z);
+                    visibleRenderers.add(spriteRenderer);
+                }
+            }
+            visibleRenderers.sort((a, b) -> Double.compare(quads.get(b).distance, quads.get(a).distance));
         } else {
             Rect cameraBoundingRect = camera.getViewport();
-            visibleRenderers = visibleRenderers.stream()
-                    .filter(a -> {
-                        Rect boundingRect = a.getBoundingRect();
-                        return boundingRect.intersects(cameraBoundingRect);
-                    })
-                    .sorted(Comparator.comparingInt(a -> a.getSprite().getTexture().getTexId()))
-                    .collect(Collectors.toCollection(ArrayList::new));
+            for (SpriteRenderer spriteRenderer : spriteRenderers) {
+                // Keeps the sprites that intersect the viewport.
+                if(spriteRenderer.getBoundingRect().intersects(cameraBoundingRect)) {
+                    visibleRenderers.add(spriteRenderer);
+                }
+            }
+            visibleRenderers.sort(Comparator.comparingInt(a -> a.getSprite().getTexture().getTexId()));
         }
         return visibleRenderers;
     }
 
     /**
-    * Returns the positions of the sprites. This is used to calculate the world coordinates of the sprites.
+    * Writes the four vertices of a sprite into its slot. The corners are transformed by hand so nothing is allocated per sprite.
+    * 
+    * @param spriteRenderer - The SpriteRenderer of the sprite
+    * @param quad - The slot and cached state of the sprite
+    */
+    private void writeVertices(SpriteRenderer spriteRenderer, SpriteQuad quad) {
+        Matrix4d mat = quad.renderMatrix;
+        Sprite sprite = spriteRenderer.getSprite();
+        Vector3d offset = spriteRenderer.offset;
+        float[] uvs = sprite.getTexCoords();
+        Color color = spriteRenderer.getColor();
+        double sin = Math.sin(spriteRenderer.angle);
+        double cos = Math.cos(spriteRenderer.angle);
+        double flip = zIndex == -1 ? 1 : -1;
+        int base = quad.slot * SPRITE_SIZE;
+        for (int i = 0; i < 4; ++i) {
+            double x = CORNERS[i * 2] * sprite.getWidth();
+            double y = CORNERS[i * 2 + 1] * sprite.getHeight() * flip;
+            double px = x * cos - y * sin + offset.x;
+            double py = x * sin + y * cos + offset.y;
+            double pz = offset.z;
+            int v = base + i * VERT_SIZE;
+            vertices.put(v + POS_OFFSET, (float) (mat.m00() * px + mat.m10() * py + mat.m20() * pz + mat.m30()));
+            vertices.put(v + POS_OFFSET + 1, (float) (mat.m01() * px + mat.m11() * py + mat.m21() * pz + mat.m31()));
+            vertices.put(v + POS_OFFSET + 2, (float) (mat.m02() * px + mat.m12() * py + mat.m22() * pz + mat.m32()));
+            vertices.put(v + UV_OFFSET, uvs[i * UV_SIZE]);
+            vertices.put(v + UV_OFFSET + 1, uvs[i * UV_SIZE + 1]);
+            vertices.put(v + COLOR_OFFSET, (float) color.r);
+            vertices.put(v + COLOR_OFFSET + 1, (float) color.g);
+            vertices.put(v + COLOR_OFFSET + 2, (float) color.b);
+            vertices.put(v + COLOR_OFFSET + 3, (float) color.a);
+        }
+    }
+
+    /**
+    * Adds a slot to the range every segment has to upload before it is drawn again.
+    * 
+    * @param slot - The slot that changed
+    */
+    private void markDirty(int slot) {
+        for (int i = 0; i < RING_SIZE; ++i) {
+            dirtyMin[i] = Math.min(dirtyMin[i], slot);
+            dirtyMax[i] = Math.max(dirtyMax[i], slot);
+        }
+    }
+
+    /**
+    * Waits until the GPU finished the frame that last read the segment. The fence has usually signalled long ago since the segment was used RING_SIZE frames before.
+    * 
+    * @param segment - The segment about to be written
+    */
+    private void waitFence(int segment) {
+        // Returns if the segment was never rendered.
+        if(fences[segment] == 0) {
+            return;
+        }
+        glClientWaitSync(fences[segment], GL_SYNC_FLUSH_COMMANDS_BIT, FENCE_TIMEOUT);
+        glDeleteSync(fences[segment]);
+        fences[segment] = 0;
+    }
+
+    /**
+    * Takes a free slot from the static region at the front or the dynamic region at the back of the vertex buffer. If a region has no free slot left the sprite is placed in the other one.
+    * 
+    * @param staticSprite - Whether the sprite is static
+    * 
+    * @return the slot
+    */
+    private int allocateSlot(boolean staticSprite) {
+        // Reuses a slot of the preferred region.
+        if(staticSprite && freeStaticSlotsCount > 0) {
+            return freeStaticSlots[--freeStaticSlotsCount];
+        }
+        // Reuses a slot of the dynamic region.
+        if(!staticSprite && freeDynamicSlotsCount > 0) {
+            return freeDynamicSlots[--freeDynamicSlotsCount];
+        }
+        // Grows the regions towards each other.
+        if(nextStaticSlot <= nextDynamicSlot) {
+            return staticSprite ? nextStaticSlot++ : nextDynamicSlot--;
+        }
+        // Falls back to a free slot of the other region.
+        if(freeStaticSlotsCount > 0) {
+            return freeStaticSlots[--freeStaticSlotsCount];
+        }
+        // Throws an exception if the batch is full.
+        if(freeDynamicSlotsCount == 0) {
+            throw new IllegalStateException("Sprite batch cannot hold more than " + MAX_SPRITES + " sprites");
+        }
+        return freeDynamicSlots[--freeDynamicSlotsCount];
+    }
+
+    /**
+    * Gives the slot of a removed sprite back to the region it lies in.
     * 
-    * @param spriteRenderer - The SpriteRenderer to calculate the positions
+    * @param quad - The quad of the removed sprite
     */
-    private float[] getPositions(SpriteRenderer spriteRenderer) {
-        Transform transform = spriteRenderer.getGameObject().transform;
-        Matrix4d mat = new Matrix4d(transform.getMatrix());
-        mat.translate(spriteRenderer.offset);
-        Vector4d[] positions = new Vector4d[] {
-                new Vector4d(-0.5, 0.5, 0, 1),
-                new Vector4d(0.5, 0.5, 0, 1),
-                new Vector4d(0.5, -0.5, 0, 1),
-                new Vector4d(-0.5, -0.5, 0, 1)
-        };
-        float[] vertices = new float[POS_SIZE * positions.length];
-        // Set the position of the sprite.
-        for (int i = 0; i < positions.length; ++i) {
-            positions[i].x *= spriteRenderer.getSprite().getWidth();
-            positions[i].y *= spriteRenderer.getSprite().getHeight();
-            positions[i].y *= zIndex == -1 ? 1 : -1;
-            positions[i].rotateZ(spriteRenderer.angle);
-            positions[i].mul(mat);
-            vertices[i * POS_SIZE] = (float)positions[i].x;
-            vertices[i * POS_SIZE + 1] = (float)positions[i].y;
-            vertices[i * POS_SIZE + 2] = (float)positions[i].z;
+    private void freeSlot(SpriteQuad quad) {
+        // Slots below the next static slot belong to the static region.
+        if(quad.slot < nextStaticSlot) {
+            freeStaticSlots[freeStaticSlotsCount++] = quad.slot;
+        } else {
+            freeDynamicSlots[freeDynamicSlotsCount++] = quad.slot;
+        }
+    }
+
+    private static class SpriteQuad {
+        private final int slot;
+        private final boolean staticSprite;
+        private boolean rebuilt = false;
+        private double distance;
+        private long version = -1;
+        private long transformVersion = -1;
+        private Matrix4d renderMatrix;
+        private long rendererVersion = -1;
+        private double angle;
+        private Sprite sprite;
+        private int width;
+        private int height;
+        private final float[] uvs = new float[UV_SIZE * 4];
+        private double r, g, b, a;
+        private final Vector3d offset = new Vector3d();
+
+        private SpriteQuad(int slot, boolean staticSprite) {
+            this.slot = slot;
+            this.staticSprite = staticSprite;
+        }
+
+        /**
+        * Reads the render matrix and its version from the transform. Called on the main thread before the vertices are built on the workers.
+        * 
+        * @param transform - The transform of the sprite
+        */
+        private void resolve(Transform transform) {
+            renderMatrix = transform.getRenderMatrix();
+            transformVersion = transform.getRenderVersion();
         }
 
-        return vertices;
+        /**
+        * Compares the sprite with the state its vertices were built from and remembers the new state. The version of the transform is the one read by #resolve ( Transform ). Static sprites only compare the versions of the transform and the renderer, everything else of them changes through methods of SpriteRenderer that bump its version.
+        * 
+        * @param spriteRenderer - The SpriteRenderer of the sprite
+        * 
+        * @return true if the vertices have to be built again
+        */
+        private boolean update(SpriteRenderer spriteRenderer) {
+            boolean changed = version != transformVersion || rendererVersion != spriteRenderer.getVersion();
+            version = transformVersion;
+            rendererVersion = spriteRenderer.getVersion();
+            // Static sprites only change with their versions.
+            if(staticSprite) {
+                return changed;
+            }
+            Sprite current = spriteRenderer.getSprite();
+            Color color = spriteRenderer.getColor();
+            float[] texCoords = current.getTexCoords();
+            // Returns false if nothing changed.
+            if(!changed && sprite == current && angle == spriteRenderer.angle && width == current.getWidth() &&
+                    height == current.getHeight() && offset.equals(spriteRenderer.offset) && Arrays.equals(uvs, texCoords) &&
+                    r == color.r && g == color.g && b == color.b && a == color.a) {
+                return false;
+            }
+            sprite = current;
+            angle = spriteRenderer.angle;
+            width = current.getWidth();
+            height = current.getHeight();
+            offset.set(spriteRenderer.offset);
+            System.arraycopy(texCoords, 0, uvs, 0, uvs.length);
+            r = color.r;
+            g = color.g;
+            b = color.b;
+            a = color.a;
+            return true;
+        }
     }
 }
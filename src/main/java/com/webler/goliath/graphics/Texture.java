@@ -40,9 +40,13 @@ public class Texture {
     }
 
     public Texture(int width, int height) {
-        texId = glGenTextures();
+        texId = Graphics.getBackend().genTexture();
         this.width = width;
         this.height = height;
+        // Only the size is kept without a GL context.
+        if(!Graphics.hasContext()) {
+            return;
+        }
 
         glBindTexture(GL_TEXTURE_2D, texId);
 
@@ -90,6 +94,10 @@ public class Texture {
     * Destroys the texture. This is called by OpenGL when the texture is no longer needed to be used
     */
     public void destroy() {
+        // Nothing was created without a GL context.
+        if(!Graphics.hasContext()) {
+            return;
+        }
         glDeleteTextures(texId);
     }
 
@@ -111,7 +119,7 @@ public class Texture {
     * Generates a texture id for use in OpenGL. Must be called on the EGL thread to avoid deadlocks
     */
     private void generateTextureId() {
-        texId = glGenTextures();
+        texId = Graphics.getBackend().genTexture();
     }
 
     /**
@@ -120,6 +128,13 @@ public class Texture {
     * @param image - The image to load the texture from. Must not be null
     */
     public void loadFromImage(BufferedImage image) {
+        // Only the size is kept without a GL context, so the image is not converted.
+        if(!Graphics.hasContext()) {
+            generateTextureId();
+            width = image.getWidth();
+            height = image.getHeight();
+            return;
+        }
         int[] width = new int[1];
         int[] height = new int[1];
         int format;
@@ -166,7 +181,7 @@ public class Texture {
             texImage = new BufferedImage(glColorModel, raster, false, new Hashtable<>());
         }
 
-        Graphics g = texImage.getGraphics();
+        java.awt.Graphics g = texImage.getGraphics();
         g.drawImage(bufferedImage, 0, 0, null);
 
         byte[] data = ((DataBufferByte) texImage.getRaster().getDataBuffer()).getData();
@@ -6,7 +6,6 @@ import com.webler.goliath.graphics.font.BitmapFont;
 import com.webler.goliath.utils.AssetPool;
 import lombok.Getter;
 import lombok.Setter;
-import org.joml.Matrix4d;
 import org.joml.Vector2f;
 
 import java.util.ArrayList;
@@ -31,6 +30,7 @@ public class Canvas {
     private static final int COLOR_SIZE = 4;
     private static final int COLOR_OFFSET = 4;
     private static final int VERT_SIZE = POS_SIZE + UV_SIZE + COLOR_SIZE;
+    private static final int U_TEX = Shader.getUniformHandle("u_tex");
     private final Game game;
     private int vao;
     private int vbo;
@@ -47,7 +47,6 @@ public class Canvas {
     @Setter
     @Getter
     private TextAlign textAlign;
-    private final Matrix4d projection;
     @Getter
     private Vector2f translate;
     private Stack<Vector2f> translateStack;
@@ -57,7 +56,6 @@ public class Canvas {
     public Canvas(Game game) {
         this.game = game;
         vertices = new float[VERT_SIZE * 4 * MAX_QUADS];
-        projection = new Matrix4d();
         quads = new ArrayList<>();
     }
 
@@ -72,8 +70,12 @@ public class Canvas {
         drawCalls = new ArrayList<>();
         fontSize = 32;
         bitmapFont = AssetPool.getBitmapFont("default");
-        shader = AssetPool.getShader("goliath/shaders/canvas.glsl");
         defaultTexture = AssetPool.getTexture("goliath/images/square.png");
+        // Quads are still collected without a GL context, they are just not drawn.
+        if(!Graphics.hasContext()) {
+            return;
+        }
+        shader = AssetPool.getShader("goliath/shaders/canvas.glsl");
         vao = glGenVertexArrays();
         glBindVertexArray(vao);
 
@@ -148,17 +150,27 @@ public class Canvas {
     }
 
     /**
-    * Clears draw calls and quads. Call this before drawing a new frame to ensure that the frame is in a consistent state
+    * Clears the quads. Call this before drawing a new frame to ensure that the frame is in a consistent state
     */
     public void beginFrame() {
-        drawCalls.clear();
         quads.clear();
     }
 
     /**
-    * Ends the frame. This is called at the end of each frame to update the vertex positions uvs
+    * Returns the number of quads drawn since #beginFrame ().
+    * 
+    * 
+    * @return the number of quads
+    */
+    public int getQuadsCount() {
+        return quads.size();
+    }
+
+    /**
+    * Ends the frame. This is called at the end of each frame to update the vertex positions uvs. Draw calls are rebuilt on every call so quads of a frame without simulation steps are drawn again
     */
     public void endFrame() {
+        drawCalls.clear();
 
         // Draws all the CanvasQuads in the canvas.
         for(int i = 0; i < quads.size(); ++i) {
@@ -211,9 +223,8 @@ public class Canvas {
         glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
 
         glUseProgram(shader.getProgram());
-
-        projection.identity().ortho2D(0, game.getWidth(), game.getHeight(), 0);
-        shader.supplyUniform("u_projection", projection);
+        // Textures are bound to unit 0, the upload is skipped once the program holds it.
+        shader.setInt(U_TEX, 0);
 
         glBindVertexArray(vao);
 
@@ -362,6 +373,10 @@ public class Canvas {
     * Clears the OpenGL state. This is useful for debugging and to ensure that you don't accidentally destroy the object
     */
     public void clear() {
+        // Nothing was created without a GL context.
+        if(!Graphics.hasContext()) {
+            return;
+        }
         glDeleteVertexArrays(vao);
         glDeleteBuffers(vbo);
         glDeleteBuffers(ebo);
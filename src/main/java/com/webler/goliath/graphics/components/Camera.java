@@ -41,12 +41,21 @@ public abstract class Camera extends Component {
     * Updates the view matrix to reflect the direction of the game object. This is called every frame by the view
     */
     public void updateView() {
+        updateView(gameObject.transform.position);
+    }
+
+    /**
+    * Updates the view matrix to look from the given position in the direction of the camera.
+    * 
+    * @param eye - The position of the camera
+    */
+    protected void updateView(Vector3d eye) {
         direction.normalize();
         right.set(new Vector3d(0, 1, 0).cross(direction));
         up.set(new Vector3d(direction).cross(right));
 
-        Vector3d center = new Vector3d(gameObject.transform.position).add(direction);
-        viewMatrix.identity().lookAt(gameObject.transform.position, center, up);
+        Vector3d center = new Vector3d(eye).add(direction);
+        viewMatrix.identity().lookAt(eye, center, up);
 
     }
 
@@ -100,6 +109,18 @@ public abstract class Camera extends Component {
         inversePVMatrix.set(PVMatrix).invert();
     }
 
+    /**
+    * Recomputes the view from the interpolated position of the camera so the camera moves as smoothly as the objects it renders.
+    * 
+    * @param alpha - How far the render time is between the last two simulation steps
+    */
+    @Override
+    public void prepareRender(double alpha) {
+        updateView(gameObject.transform.getRenderPosition());
+        PVMatrix.set(projectionMatrix).mul(viewMatrix);
+        inversePVMatrix.set(PVMatrix).invert();
+    }
+
     /**
     * Called when the component is no longer needed. This is the place to do any cleanup that needs to be done
     */
@@ -6,6 +6,7 @@ import com.webler.goliath.core.Component;
 import com.webler.goliath.graphics.Mesh;
 import lombok.Getter;
 import lombok.Setter;
+import org.joml.Vector3d;
 
 public class MeshRenderer extends Component {
     private Mesh mesh;
@@ -14,30 +15,54 @@ public class MeshRenderer extends Component {
     private Color color;
     @Getter
     private final Geometry geometry;
+    private long renderedVersion;
+    private final Vector3d renderedOffset;
 
     public MeshRenderer(Geometry geometry) {
         this.geometry = geometry;
         this.color = Color.WHITE;
+        renderedVersion = -1;
+        renderedOffset = new Vector3d();
     }
 
     /**
-    * Creates and adds the mesh to the game's renderer. Called when the object is started and is ready to be played
+    * Creates and adds the mesh to the game's renderer. Called when the object is started and is ready to be played. A pooled object keeps its mesh so it is only created on the first start.
     */
     @Override
     public void start() {
-        mesh = new Mesh(geometry);
+        // Creates the mesh unless it is kept from an earlier use of a pooled object.
+        if(mesh == null) {
+            mesh = new Mesh(geometry);
+        }
+        renderedVersion = -1;
         gameObject.getGame().getRenderer().add(mesh);
     }
 
     /**
-    * Updates the model. This is called every frame to update the model. You can override this in your own implementation if you want to do something other than update the model and / or offset the model by a certain amount.
+    * Updates the model. The model matrix is set in #prepareRender ( double ) so it follows the interpolated transform.
     * 
     * @param dt - Time since the last update in seconds ( ignored
     */
     @Override
     public void update(double dt) {
-        mesh.getModelMatrix().set(gameObject.transform.getMatrix());
-        mesh.getModelMatrix().translate(offset);
+
+    }
+
+    /**
+    * Updates the model matrix and color of the mesh from the interpolated transform. The model matrix is only copied if the transform or the offset changed since the last frame. You can override this in your own implementation if you want to do something other than update the model and / or offset the model by a certain amount.
+    * 
+    * @param alpha - How far the render time is between the last two simulation steps ( ignored
+    */
+    @Override
+    public void prepareRender(double alpha) {
+        long version = gameObject.transform.getRenderVersion();
+        // Copies the model matrix only if it changed.
+        if(version != renderedVersion || !offset.equals(renderedOffset)) {
+            mesh.getModelMatrix().set(gameObject.transform.getRenderMatrix());
+            mesh.getModelMatrix().translate(offset);
+            renderedVersion = version;
+            renderedOffset.set(offset);
+        }
         mesh.getColor().set(color.r, color.g, color.b, color.a);
     }
 
@@ -49,4 +74,16 @@ public class MeshRenderer extends Component {
         gameObject.getGame().getRenderer().remove(mesh);
     }
 
+    /**
+    * Deletes the GPU buffers of the mesh that was kept for reuse.
+    */
+    @Override
+    public void dispose() {
+        // Deletes the mesh only if it was created.
+        if(mesh != null) {
+            mesh.destroy();
+            mesh = null;
+        }
+    }
+
 }
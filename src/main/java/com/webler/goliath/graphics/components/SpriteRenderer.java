@@ -7,24 +7,31 @@ import com.webler.goliath.graphics.Sprite;
 import com.webler.goliath.math.Rect;
 import lombok.Getter;
 import lombok.Setter;
+import org.joml.Matrix4d;
 import org.joml.Vector3d;
+import org.joml.Vector4d;
 
 public class SpriteRenderer extends Component implements Animable {
-    @Setter
     @Getter
     private Sprite sprite;
     @Getter
     private int zIndex;
-    @Setter
     @Getter
     private Color color;
     public double angle;
+    @Getter
+    @Setter
+    private boolean staticSprite;
+    @Getter
+    private long version;
 
     public SpriteRenderer(Sprite sprite, int zIndex) {
         this.sprite = sprite;
         this.color = Color.WHITE;
         this.zIndex = zIndex;
         this.angle = 0;
+        staticSprite = false;
+        version = 0;
     }
 
     /**
@@ -53,6 +60,47 @@ public class SpriteRenderer extends Component implements Animable {
         gameObject.getGame().getRenderer().remove(this);
     }
 
+    /**
+    * Restores the default color and angle of a pooled renderer.
+    */
+    @Override
+    public void reset() {
+        color = Color.WHITE;
+        angle = 0;
+        markDirty();
+    }
+
+    /**
+    * Sets the sprite. The vertices of the sprite are built again.
+    * 
+    * @param sprite - The sprite to draw
+    */
+    public void setSprite(Sprite sprite) {
+        this.sprite = sprite;
+        markDirty();
+    }
+
+    /**
+    * Sets the color the sprite is multiplied with. Setting an equal color does not rebuild the vertices, so components may set it every frame.
+    * 
+    * @param color - The color
+    */
+    public void setColor(Color color) {
+        // Keeps the vertices if the color did not change.
+        if(color.r == this.color.r && color.g == this.color.g && color.b == this.color.b && color.a == this.color.a) {
+            return;
+        }
+        this.color = color;
+        markDirty();
+    }
+
+    /**
+    * Tells the sprite batch to build the vertices of this sprite again. Static sprites are only compared by version, so call this after changing the offset, the angle or the region of the sprite of a static renderer. Moving the game object is always noticed.
+    */
+    public void markDirty() {
+        ++version;
+    }
+
     /**
     * Sets the Z - index of the player. This can be used to move the player to a different location in the Z - index when it is dragged.
     * 
@@ -80,6 +128,26 @@ public class SpriteRenderer extends Component implements Animable {
         return new Rect(offsetPosition.x - width / 2, offsetPosition.y - height / 2, width, height);
     }
 
+    /**
+    * Computes the bounding sphere of the sprite in world space from the render matrix of the game object. The sphere holds the sprite at any angle.
+    * 
+    * @param dest - Receives the center in x, y and z and the radius in w
+    * 
+    * @return dest
+    */
+    public Vector4d getBoundingSphere(Vector4d dest) {
+        Matrix4d m = gameObject.transform.getRenderMatrix();
+        double scaleX = m.m00() * m.m00() + m.m01() * m.m01() + m.m02() * m.m02();
+        double scaleY = m.m10() * m.m10() + m.m11() * m.m11() + m.m12() * m.m12();
+        double scaleZ = m.m20() * m.m20() + m.m21() * m.m21() + m.m22() * m.m22();
+        double scale = Math.sqrt(Math.max(scaleX, Math.max(scaleY, scaleZ)));
+        double radius = Math.sqrt(sprite.getWidth() * sprite.getWidth() + sprite.getHeight() * sprite.getHeight()) * 0.5;
+        return dest.set(m.m00() * offset.x + m.m10() * offset.y + m.m20() * offset.z + m.m30(),
+                m.m01() * offset.x + m.m11() * offset.y + m.m21() * offset.z + m.m31(),
+                m.m02() * offset.x + m.m12() * offset.y + m.m22() * offset.z + m.m32(),
+                radius * scale);
+    }
+
     /**
     * Sets the frame at the specified coordinates. This is useful for drawing a frame of text on the screen.
     * 
@@ -91,5 +159,6 @@ public class SpriteRenderer extends Component implements Animable {
     @Override
     public void setFrame(int x, int y, int frameWidth, int frameHeight) {
         sprite.setRegion(x * frameWidth, y * frameHeight, frameWidth, frameHeight);
+        markDirty();
     }
 }
@@ -19,6 +19,7 @@ public class Input {
     private boolean captured;
     private long window;
     private boolean locked;
+    private InputRecorder recorder;
 
     private Input() {
         mouseButtonDown = 0;
@@ -28,6 +29,7 @@ public class Input {
         keyBeginPress = new boolean[GLFW_KEY_LAST + 1];
         captured = false;
         locked = false;
+        recorder = null;
     }
 
     /**
@@ -107,6 +109,10 @@ public class Input {
     */
     public static void keyCallback(long window, int key, int scancode, int action, int mods) {
         Input instance = getInstance();
+        // Records the event if input is recorded.
+        if(instance.recorder != null) {
+            instance.recorder.key(key, action);
+        }
         // This method is called when the key is pressed.
         if(key >= 0 && key <= GLFW_KEY_LAST) {
             // This method is called when the key is pressed.
@@ -133,10 +139,18 @@ public class Input {
 
         // Clear the internal buffer and clear the instance.
         if(instance.captured) {
+            // Records the clear if input is recorded.
+            if(instance.recorder != null) {
+                instance.recorder.clear();
+            }
             clear();
             return;
         }
 
+        // Records the event if input is recorded.
+        if(instance.recorder != null) {
+            instance.recorder.mousePos(xpos, ypos);
+        }
         instance.mouseX = xpos;
         instance.mouseY = ypos;
     }
@@ -154,6 +168,10 @@ public class Input {
         if(instance.captured) return;
 
         Input instance = getInstance();
+        // Records the event if input is recorded.
+        if(instance.recorder != null) {
+            instance.recorder.mouseButton(button, action);
+        }
         // This method is called when the mouse button is pressed.
         if(action == GLFW_PRESS) {
             ++instance.mouseButtonDown;
@@ -184,6 +202,10 @@ public class Input {
         if(instance.captured) return;
 
         Input instance = getInstance();
+        // Records the event if input is recorded.
+        if(instance.recorder != null) {
+            instance.recorder.scroll(xOffset, yOffset);
+        }
         instance.scrollX = xOffset;
         instance.scrollY = yOffset;
     }
@@ -330,7 +352,10 @@ public class Input {
         // Sets the locked state of the instance.
         if(instance.locked != locked) {
             instance.locked = locked;
-            glfwSetInputMode(instance.window, GLFW_CURSOR, locked ? GLFW_CURSOR_DISABLED : GLFW_CURSOR_NORMAL);
+            // There is no cursor to lock without a window.
+            if(instance.window != 0) {
+                glfwSetInputMode(instance.window, GLFW_CURSOR, locked ? GLFW_CURSOR_DISABLED : GLFW_CURSOR_NORMAL);
+            }
         }
 //        if(locked) {
 //            int[] width = new int[1];
@@ -339,4 +364,13 @@ public class Input {
 //            glfwSetCursorPos(instance.window, (double) width[0] /2, (double) height[0] /2);
 //        }
     }
+
+    /**
+    * Sets the recorder that receives every event applied by the callbacks. Only InputRecorder sets it.
+    * 
+    * @param recorder - The recorder or null to stop recording
+    */
+    static void setRecorder(InputRecorder recorder) {
+        getInstance().recorder = recorder;
+    }
 }
@@ -0,0 +1,231 @@
+package com.webler.goliath.input;
+
+import com.webler.goliath.Game;
+import com.webler.goliath.math.Rng;
+import lombok.Getter;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+public class InputRecorder implements InputSource {
+    private static final Logger logger = Logger.getLogger(InputRecorder.class.getName());
+    static final int MAGIC = 0x47495250;
+    static final short VERSION = 2;
+    static final int MAX_EVENTS_PER_FRAME = 0xFFFF;
+    static final byte KEY = 0;
+    static final byte MOUSE_POS = 1;
+    static final byte MOUSE_BUTTON = 2;
+    static final byte SCROLL = 3;
+    static final byte CLEAR = 4;
+    private final String fileName;
+    private final DataOutputStream out;
+    private ByteBuffer events;
+    private int eventsCount;
+    @Getter
+    private long framesCount;
+    private Game game;
+    private boolean started;
+    private boolean failed;
+
+    /**
+    * Creates a recorder that writes to the given file. The file is a gzip compressed stream of a header with the seed of Rng and the viewport size followed by one record per frame with the time of the frame and the input events Input applied before it.
+    * 
+    * @param fileName - The file to write to
+    */
+    public InputRecorder(String fileName) throws IOException {
+        this.fileName = fileName;
+        out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(fileName))));
+        events = ByteBuffer.allocate(256);
+        eventsCount = 0;
+        framesCount = 0;
+        game = null;
+        started = false;
+        failed = false;
+    }
+
+    /**
+    * Keeps the game to read the viewport size from on the first frame.
+    * 
+    * @param game - The game the input is fed into
+    */
+    @Override
+    public void start(Game game) {
+        this.game = game;
+    }
+
+    /**
+    * Starts recording on the first frame. Events that arrive afterwards are recorded for the following frame.
+    * 
+    * @param frame - The index of the frame, starting at 0
+    */
+    @Override
+    public void update(long frame) {
+        // The header is written once Game has seeded Rng and a windowed game has read the size of its window.
+        if(!started) {
+            // Throws an exception if Game did not start the recorder.
+            if(game == null) {
+                throw new IllegalStateException("Input recorder was not started.");
+            }
+            started = true;
+            try {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeLong(Rng.get().getSeed());
+                out.writeInt(game.getWidth());
+                out.writeInt(game.getHeight());
+            } catch (IOException e) {
+                fail(e);
+            }
+            Input.setRecorder(this);
+        }
+    }
+
+    /**
+    * Writes the record of the frame with the measured time and the pending events.
+    * 
+    * @param frame - The index of the frame, starting at 0
+    * @param dt - The measured time of the frame in seconds
+    * 
+    * @return the measured time
+    */
+    @Override
+    public double getFrameTime(long frame, double dt) {
+        // Nothing is written after an error.
+        if(failed) {
+            return dt;
+        }
+        try {
+            out.writeDouble(dt);
+            out.writeShort(eventsCount);
+            out.write(events.array(), 0, events.position());
+            ++framesCount;
+        } catch (IOException e) {
+            fail(e);
+        }
+        events.clear();
+        eventsCount = 0;
+        return dt;
+    }
+
+    /**
+    * Stops recording and closes the file.
+    */
+    @Override
+    public void destroy() {
+        Input.setRecorder(null);
+        try {
+            out.close();
+            logger.info("Recorded " + framesCount + " frames of input to " + fileName);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+    * Records a key event.
+    * 
+    * @param key - The GLFW key code
+    * @param action - The GLFW action
+    */
+    void key(int key, int action) {
+        // Returns if the event can not be recorded.
+        if(!beginEvent(KEY, Short.BYTES + 1)) {
+            return;
+        }
+        events.putShort((short) key);
+        events.put((byte) action);
+    }
+
+    /**
+    * Records a mouse move.
+    * 
+    * @param x - The x position of the mouse
+    * @param y - The y position of the mouse
+    */
+    void mousePos(double x, double y) {
+        // Returns if the event can not be recorded.
+        if(!beginEvent(MOUSE_POS, Double.BYTES * 2)) {
+            return;
+        }
+        events.putDouble(x);
+        events.putDouble(y);
+    }
+
+    /**
+    * Records a mouse button event.
+    * 
+    * @param button - The GLFW mouse button
+    * @param action - The GLFW action
+    */
+    void mouseButton(int button, int action) {
+        // Returns if the event can not be recorded.
+        if(!beginEvent(MOUSE_BUTTON, 2)) {
+            return;
+        }
+        events.put((byte) button);
+        events.put((byte) action);
+    }
+
+    /**
+    * Records a scroll event.
+    * 
+    * @param x - The horizontal scroll amount
+    * @param y - The vertical scroll amount
+    */
+    void scroll(double x, double y) {
+        // Returns if the event can not be recorded.
+        if(!beginEvent(SCROLL, Double.BYTES * 2)) {
+            return;
+        }
+        events.putDouble(x);
+        events.putDouble(y);
+    }
+
+    /**
+    * Records that Input cleared its state because the UI captured the mouse.
+    */
+    void clear() {
+        beginEvent(CLEAR, 0);
+    }
+
+    /**
+    * Writes the type of an event to the events of the current frame and makes room for its data.
+    * 
+    * @param type - The type of the event
+    * @param size - The size of the data of the event in bytes
+    * 
+    * @return false if the event is dropped
+    */
+    private boolean beginEvent(byte type, int size) {
+        // Drops events after an error.
+        if(failed) {
+            return false;
+        }
+        // Drops events that do not fit into the count of the frame.
+        if(eventsCount == MAX_EVENTS_PER_FRAME) {
+            logger.warning("Dropping input event, more than " + MAX_EVENTS_PER_FRAME + " events in one frame.");
+            return false;
+        }
+        // Grows the buffer of the frame if the event does not fit.
+        if(events.remaining() < size + 1) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(events.capacity() * 2, events.position() + size + 1));
+            grown.put(events.array(), 0, events.position());
+            events = grown;
+        }
+        ++eventsCount;
+        events.put(type);
+        return true;
+    }
+
+    /**
+    * Stops recording after a write error.
+    * 
+    * @param e - The error
+    */
+    private void fail(IOException e) {
+        failed = true;
+        logger.severe("Could not write input recording " + fileName + ": " + e.getMessage());
+    }
+}
@@ -0,0 +1,153 @@
+package com.webler.goliath.input;
+
+import com.webler.goliath.Game;
+import com.webler.goliath.exceptions.ResourceFormatException;
+import lombok.Getter;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPInputStream;
+
+import static com.webler.goliath.input.InputRecorder.*;
+
+public class InputReplayer implements InputSource {
+    private final ByteBuffer data;
+    private final double[] frameTimes;
+    private final int[] eventOffsets;
+    @Getter
+    private final long seed;
+    @Getter
+    private final int viewportWidth;
+    @Getter
+    private final int viewportHeight;
+
+    /**
+    * Reads a recording written by InputRecorder. The whole recording is kept in memory and indexed by frame so the replay does not touch the disk.
+    * 
+    * @param fileName - The file of the recording
+    */
+    public InputReplayer(String fileName) throws IOException {
+        try(InputStream is = new GZIPInputStream(new FileInputStream(fileName))) {
+            data = ByteBuffer.wrap(is.readAllBytes());
+        }
+        try {
+            // Throws an exception if the file is not a recording of this version.
+            if(data.getInt() != MAGIC || data.getShort() != VERSION) {
+                throw new ResourceFormatException(fileName, "Not an input recording of version " + VERSION + ".");
+            }
+            seed = data.getLong();
+            viewportWidth = data.getInt();
+            viewportHeight = data.getInt();
+            int framesCount = 0;
+            int start = data.position();
+            while(data.hasRemaining()) {
+                data.getDouble();
+                skipEvents(data.getShort() & 0xFFFF);
+                ++framesCount;
+            }
+            frameTimes = new double[framesCount];
+            eventOffsets = new int[framesCount];
+            data.position(start);
+            for (int i = 0; i < framesCount; ++i) {
+                frameTimes[i] = data.getDouble();
+                eventOffsets[i] = data.position();
+                skipEvents(data.getShort() & 0xFFFF);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new ResourceFormatException(fileName, "Input recording is truncated or corrupt.");
+        }
+    }
+
+    /**
+    * Gives the game the viewport size of the recorded run, so the scene starts with the aspect and canvas size the input was recorded against.
+    * 
+    * @param game - The game the input is fed into
+    */
+    @Override
+    public void start(Game game) {
+        game.setSize(viewportWidth, viewportHeight);
+    }
+
+    /**
+    * Returns the number of recorded frames. A replay should run exactly this many frames.
+    * 
+    * 
+    * @return the number of frames
+    */
+    public long getFramesCount() {
+        return frameTimes.length;
+    }
+
+    /**
+    * Feeds the recorded events of the frame into Input in the order they were recorded.
+    * 
+    * @param frame - The index of the frame, starting at 0
+    */
+    @Override
+    public void update(long frame) {
+        // Returns after the end of the recording.
+        if(frame >= frameTimes.length) {
+            return;
+        }
+        data.position(eventOffsets[(int) frame]);
+        int count = data.getShort() & 0xFFFF;
+        for (int i = 0; i < count; ++i) {
+            byte type = data.get();
+            switch (type) {
+                case KEY -> {
+                    int key = data.getShort();
+                    Input.keyCallback(0, key, 0, data.get(), 0);
+                }
+                case MOUSE_POS -> {
+                    double x = data.getDouble();
+                    Input.mousePosCallback(0, x, data.getDouble());
+                }
+                case MOUSE_BUTTON -> {
+                    int button = data.get();
+                    Input.mouseButtonCallback(0, button, data.get(), 0);
+                }
+                case SCROLL -> {
+                    double x = data.getDouble();
+                    Input.mouseScrollCallback(0, x, data.getDouble());
+                }
+                case CLEAR -> Input.clear();
+                default -> throw new IllegalStateException("Unknown input event type " + type + " in frame " + frame + ".");
+            }
+        }
+    }
+
+    /**
+    * Returns the recorded time of the frame.
+    * 
+    * @param frame - The index of the frame, starting at 0
+    * @param dt - The measured time of the frame in seconds
+    * 
+    * @return the recorded time or the measured time after the end of the recording
+    */
+    @Override
+    public double getFrameTime(long frame, double dt) {
+        return frame < frameTimes.length ? frameTimes[(int) frame] : dt;
+    }
+
+    /**
+    * Moves the position of the data past the events of a frame.
+    * 
+    * @param count - The number of events
+    */
+    private void skipEvents(int count) {
+        for (int i = 0; i < count; ++i) {
+            byte type = data.get();
+            int size = switch (type) {
+                case KEY -> Short.BYTES + 1;
+                case MOUSE_POS, SCROLL -> Double.BYTES * 2;
+                case MOUSE_BUTTON -> 2;
+                case CLEAR -> 0;
+                default -> throw new IllegalArgumentException("Unknown input event type " + type + ".");
+            };
+            data.position(data.position() + size);
+        }
+    }
+}
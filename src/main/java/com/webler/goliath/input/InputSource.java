@@ -0,0 +1,36 @@
+package com.webler.goliath.input;
+
+import com.webler.goliath.Game;
+
+public interface InputSource {
+    /**
+    * Called by Game in init after Rng is seeded and before the window and the start scene are created. Replays apply the recorded viewport size here.
+    * 
+    * @param game - The game the input is fed into
+    */
+    default void start(Game game) {}
+
+    /**
+    * Feeds the input of a frame into Input through its callbacks. Called by Game before the simulation steps of the frame.
+    * 
+    * @param frame - The index of the frame, starting at 0
+    */
+    void update(long frame);
+
+    /**
+    * Returns the time of the frame used by the simulation. Called by Game right after #update ( long ). Replays return the recorded time here so the simulation steps the same way as in the recorded run.
+    * 
+    * @param frame - The index of the frame, starting at 0
+    * @param dt - The measured time of the frame in seconds
+    * 
+    * @return the time of the frame in seconds
+    */
+    default double getFrameTime(long frame, double dt) {
+        return dt;
+    }
+
+    /**
+    * Releases the resources of the source. Called by Game when it is destroyed.
+    */
+    default void destroy() {}
+}
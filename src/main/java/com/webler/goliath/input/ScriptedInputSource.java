@@ -0,0 +1,124 @@
+package com.webler.goliath.input;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.lwjgl.glfw.GLFW.GLFW_PRESS;
+import static org.lwjgl.glfw.GLFW.GLFW_RELEASE;
+
+public class ScriptedInputSource implements InputSource {
+    private final Map<Long, List<Runnable>> actions;
+    private long length;
+
+    public ScriptedInputSource() {
+        actions = new HashMap<>();
+        length = 0;
+    }
+
+    /**
+    * Presses a key at the given frame.
+    * 
+    * @param frame - The frame of the press
+    * @param key - The GLFW key code
+    * 
+    * @return this script for chaining
+    */
+    public ScriptedInputSource press(long frame, int key) {
+        return at(frame, () -> Input.keyCallback(0, key, 0, GLFW_PRESS, 0));
+    }
+
+    /**
+    * Releases a key at the given frame.
+    * 
+    * @param frame - The frame of the release
+    * @param key - The GLFW key code
+    * 
+    * @return this script for chaining
+    */
+    public ScriptedInputSource release(long frame, int key) {
+        return at(frame, () -> Input.keyCallback(0, key, 0, GLFW_RELEASE, 0));
+    }
+
+    /**
+    * Holds a key down from the first frame until the last frame.
+    * 
+    * @param fromFrame - The frame of the press
+    * @param toFrame - The frame of the release
+    * @param key - The GLFW key code
+    * 
+    * @return this script for chaining
+    */
+    public ScriptedInputSource hold(long fromFrame, long toFrame, int key) {
+        return press(fromFrame, key).release(toFrame, key);
+    }
+
+    /**
+    * Clicks a mouse button at the given frame. The button is released in the next frame.
+    * 
+    * @param frame - The frame of the click
+    * @param button - The GLFW mouse button
+    * 
+    * @return this script for chaining
+    */
+    public ScriptedInputSource click(long frame, int button) {
+        at(frame, () -> Input.mouseButtonCallback(0, button, GLFW_PRESS, 0));
+        return at(frame + 1, () -> Input.mouseButtonCallback(0, button, GLFW_RELEASE, 0));
+    }
+
+    /**
+    * Moves the mouse to the given position at the given frame.
+    * 
+    * @param frame - The frame of the move
+    * @param x - The x position of the mouse
+    * @param y - The y position of the mouse
+    * 
+    * @return this script for chaining
+    */
+    public ScriptedInputSource moveMouse(long frame, double x, double y) {
+        return at(frame, () -> Input.mousePosCallback(0, x, y));
+    }
+
+    /**
+    * Makes the script repeat after the given number of frames. Long runs can loop a short script this way.
+    * 
+    * @param length - The length of one loop in frames or 0 to play the script once
+    * 
+    * @return this script for chaining
+    */
+    public ScriptedInputSource loop(long length) {
+        this.length = length;
+        return this;
+    }
+
+    /**
+    * Applies the actions scheduled for the frame.
+    * 
+    * @param frame - The index of the frame, starting at 0
+    */
+    @Override
+    public void update(long frame) {
+        List<Runnable> frameActions = actions.get(length > 0 ? frame % length : frame);
+        // Returns if nothing happens in this frame.
+        if(frameActions == null) {
+            return;
+        }
+        for(Runnable action : frameActions) {
+            action.run();
+        }
+    }
+
+    /**
+    * Schedules an action for a frame. Actions of the same frame run in the order they were added.
+    * 
+    * @param frame - The frame of the action
+    * @param action - The action
+    * 
+    * @return this script for chaining
+    */
+    private ScriptedInputSource at(long frame, Runnable action) {
+        actions.computeIfAbsent(frame, f -> new ArrayList<>()).add(action);
+        return this;
+    }
+}
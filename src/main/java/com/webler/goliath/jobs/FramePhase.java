@@ -0,0 +1,17 @@
+package com.webler.goliath.jobs;
+
+import lombok.Getter;
+
+@Getter
+public enum FramePhase {
+    PRE_UPDATE("Pre-update"),
+    PARALLEL_UPDATE("Parallel update"),
+    SYNC("Sync"),
+    RENDER_PREP("Render prep");
+
+    private final String label;
+
+    FramePhase(String label) {
+        this.label = label;
+    }
+}
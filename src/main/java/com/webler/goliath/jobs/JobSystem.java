@@ -0,0 +1,175 @@
+package com.webler.goliath.jobs;
+
+import com.webler.goliath.profiler.Profiler;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.logging.Logger;
+
+public class JobSystem {
+    private static final Logger logger = Logger.getLogger(JobSystem.class.getName());
+    private static final JobSystem instance = new JobSystem();
+    private ForkJoinPool pool;
+    @Getter
+    private int workerCount;
+    private volatile FramePhase currentPhase;
+    private final long[] phaseBeginTimes;
+    private final long[] accumulatedPhaseTimes;
+    private final long[] lastFramePhaseTimes;
+
+    /**
+    * Returns the singleton instance of JobSystem. It is created eagerly, so worker threads never race to create it. Until #start ( int ) is called all jobs run on the calling thread.
+    * 
+    * 
+    * @return the singleton instance of JobSystem
+    */
+    public static JobSystem get() {
+        return instance;
+    }
+
+    public JobSystem() {
+        pool = null;
+        workerCount = 0;
+        currentPhase = null;
+        int phasesCount = FramePhase.values().length;
+        phaseBeginTimes = new long[phasesCount];
+        accumulatedPhaseTimes = new long[phasesCount];
+        lastFramePhaseTimes = new long[phasesCount];
+    }
+
+    /**
+    * Starts the work - stealing pool. With less than two workers no pool is created and jobs run on the calling thread.
+    * 
+    * @param workerCount - The number of worker threads
+    */
+    public void start(int workerCount) {
+        destroy();
+        this.workerCount = Math.max(workerCount, 1);
+        // Creates the pool only if there is something to gain from it.
+        if(this.workerCount > 1) {
+            pool = new ForkJoinPool(this.workerCount);
+        }
+        logger.info("Job system started with " + this.workerCount + " worker(s).");
+    }
+
+    /**
+    * Shuts down the worker threads. Jobs submitted afterwards run on the calling thread.
+    */
+    public void destroy() {
+        // Waits for running jobs before the pool is dropped.
+        if(pool != null) {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            pool = null;
+        }
+        workerCount = 0;
+    }
+
+    /**
+    * Runs the body for every index between 0 and count. Ranges of at most grain indices run as one job and the call returns when all of them are done.
+    * 
+    * @param count - The number of indices
+    * @param grain - The largest range that is not split any further
+    * @param body - The job to run for each index. It is called from worker threads so it must only write data owned by its index
+    */
+    public void parallelFor(int count, int grain, IntConsumer body) {
+        // Runs small loops on the calling thread.
+        if(pool == null || count <= grain) {
+            for (int i = 0; i < count; ++i) {
+                body.accept(i);
+            }
+            return;
+        }
+        pool.invoke(new RangeAction(0, count, Math.max(grain, 1), body));
+    }
+
+    /**
+    * Moves the phase timings of the finished frame to the values returned by #getPhaseTime ( FramePhase ). Called once at the beginning of every frame.
+    */
+    public void beginFrame() {
+        System.arraycopy(accumulatedPhaseTimes, 0, lastFramePhaseTimes, 0, accumulatedPhaseTimes.length);
+        Arrays.fill(accumulatedPhaseTimes, 0);
+    }
+
+    /**
+    * Marks the beginning of a phase. Phases may run several times per frame and their times add up. The phase is also opened as a scope of the Profiler.
+    * 
+    * @param phase - The phase that begins
+    */
+    public void beginPhase(FramePhase phase) {
+        currentPhase = phase;
+        Profiler.get().begin(phase.getLabel());
+        phaseBeginTimes[phase.ordinal()] = System.nanoTime();
+    }
+
+    /**
+    * Marks the end of a phase.
+    * 
+    * @param phase - The phase that ends
+    */
+    public void endPhase(FramePhase phase) {
+        accumulatedPhaseTimes[phase.ordinal()] += System.nanoTime() - phaseBeginTimes[phase.ordinal()];
+        Profiler.get().end();
+        currentPhase = null;
+    }
+
+    /**
+    * Returns how long the phase took in the last frame.
+    * 
+    * @param phase - The phase
+    * 
+    * @return The time in milliseconds
+    */
+    public double getPhaseTime(FramePhase phase) {
+        return lastFramePhaseTimes[phase.ordinal()] / 1e6;
+    }
+
+    /**
+    * Returns true while the parallel update phase runs. Structural changes such as event dispatch are deferred to the sync phase in the meantime.
+    * 
+    * 
+    * @return true if the current phase is FramePhase.PARALLEL_UPDATE
+    */
+    public boolean isParallelPhase() {
+        return currentPhase == FramePhase.PARALLEL_UPDATE;
+    }
+
+    private static class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final IntConsumer body;
+
+        private RangeAction(int from, int to, int grain, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        /**
+        * Splits the range in halves until it is small enough and runs the body for every index of it.
+        */
+        @Override
+        protected void compute() {
+            // Runs the range if it is small enough.
+            if(to - from <= grain) {
+                for (int i = from; i < to; ++i) {
+                    body.accept(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeAction(from, middle, grain, body), new RangeAction(middle, to, grain, body));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.webler.goliath.math;
+
+import org.joml.Matrix4d;
+import org.joml.Vector3d;
+
+public class Frustum {
+    private static final int PLANES_COUNT = 6;
+    private final double[] planes;
+    private final Vector3d eye;
+    private double maxDistance;
+
+    public Frustum() {
+        planes = new double[PLANES_COUNT * 4];
+        eye = new Vector3d();
+        maxDistance = Double.POSITIVE_INFINITY;
+    }
+
+    /**
+    * Extracts the six clipping planes from the projection view matrix of a camera. The planes are normalized so the distance of a point to them is in world units.
+    * 
+    * @param PVMatrix - The projection view matrix of the camera
+    */
+    public void set(Matrix4d PVMatrix) {
+        setPlane(0, PVMatrix.m03() + PVMatrix.m00(), PVMatrix.m13() + PVMatrix.m10(), PVMatrix.m23() + PVMatrix.m20(), PVMatrix.m33() + PVMatrix.m30());
+        setPlane(1, PVMatrix.m03() - PVMatrix.m00(), PVMatrix.m13() - PVMatrix.m10(), PVMatrix.m23() - PVMatrix.m20(), PVMatrix.m33() - PVMatrix.m30());
+        setPlane(2, PVMatrix.m03() + PVMatrix.m01(), PVMatrix.m13() + PVMatrix.m11(), PVMatrix.m23() + PVMatrix.m21(), PVMatrix.m33() + PVMatrix.m31());
+        setPlane(3, PVMatrix.m03() - PVMatrix.m01(), PVMatrix.m13() - PVMatrix.m11(), PVMatrix.m23() - PVMatrix.m21(), PVMatrix.m33() - PVMatrix.m31());
+        setPlane(4, PVMatrix.m03() + PVMatrix.m02(), PVMatrix.m13() + PVMatrix.m12(), PVMatrix.m23() + PVMatrix.m22(), PVMatrix.m33() + PVMatrix.m32());
+        setPlane(5, PVMatrix.m03() - PVMatrix.m02(), PVMatrix.m13() - PVMatrix.m12(), PVMatrix.m23() - PVMatrix.m22(), PVMatrix.m33() - PVMatrix.m32());
+    }
+
+    /**
+    * Adds a cut by distance from the eye on top of the planes. Used to drop everything behind the far end of the fog.
+    * 
+    * @param eye - The position of the camera
+    * @param maxDistance - The distance after which nothing is visible or Double.POSITIVE_INFINITY to keep only the planes
+    */
+    public void setMaxDistance(Vector3d eye, double maxDistance) {
+        this.eye.set(eye);
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+    * Returns true if a sphere is at least partly inside the frustum. Spheres that touch a plane are kept, so the test may keep a few objects that are not visible but never drops a visible one.
+    * 
+    * @param x - The x coordinate of the center in world space
+    * @param y - The y coordinate of the center in world space
+    * @param z - The z coordinate of the center in world space
+    * @param radius - The radius of the sphere
+    * 
+    * @return false if the sphere lies completely outside of one of the planes or past the maximum distance
+    */
+    public boolean intersectsSphere(double x, double y, double z, double radius) {
+        for (int i = 0; i < PLANES_COUNT; ++i) {
+            int p = i * 4;
+            // The sphere is completely on the outer side of the plane.
+            if(planes[p] * x + planes[p + 1] * y + planes[p + 2] * z + planes[p + 3] < -radius) {
+                return false;
+            }
+        }
+        // Skips the distance test if there is no maximum distance.
+        if(maxDistance == Double.POSITIVE_INFINITY) {
+            return true;
+        }
+        double reach = maxDistance + radius;
+        return eye.distanceSquared(x, y, z) <= reach * reach;
+    }
+
+    /**
+    * Stores a plane with its normal scaled to unit length.
+    * 
+    * @param index - The index of the plane
+    * @param a - The x component of the normal
+    * @param b - The y component of the normal
+    * @param c - The z component of the normal
+    * @param d - The distance of the plane from the origin
+    */
+    private void setPlane(int index, double a, double b, double c, double d) {
+        double length = Math.sqrt(a * a + b * b + c * c);
+        int p = index * 4;
+        planes[p] = a / length;
+        planes[p + 1] = b / length;
+        planes[p + 2] = c / length;
+        planes[p + 3] = d / length;
+    }
+}
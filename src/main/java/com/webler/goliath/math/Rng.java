@@ -0,0 +1,74 @@
+package com.webler.goliath.math;
+
+import lombok.Getter;
+
+import java.util.Random;
+
+public class Rng {
+    private static Rng instance = null;
+    private final Random random;
+    @Getter
+    private long seed;
+
+    /**
+    * Returns the random number generator shared by the engine and the game. Game seeds it from the config when it starts, so a run with the same seed and the same input makes the same choices.
+    * 
+    * 
+    * @return the singleton instance of Rng
+    */
+    public static Rng get() {
+        // Create a new Rng instance.
+        if(instance == null) {
+            instance = new Rng(System.nanoTime());
+        }
+        return instance;
+    }
+
+    public Rng(long seed) {
+        this.seed = seed;
+        random = new Random(seed);
+    }
+
+    /**
+    * Restarts the sequence with the given seed.
+    * 
+    * @param seed - The seed of the sequence
+    */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        random.setSeed(seed);
+    }
+
+    /**
+    * Returns the next value between 0 inclusive and 1 exclusive. Replaces Math.random in gameplay code.
+    * 
+    * 
+    * @return the next value in [ 0 1 )
+    */
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    /**
+    * Returns the next value between min inclusive and max exclusive.
+    * 
+    * @param min - The smallest value
+    * @param max - The upper bound of the values
+    * 
+    * @return the next value in [ min max )
+    */
+    public double nextDouble(double min, double max) {
+        return min + random.nextDouble() * (max - min);
+    }
+
+    /**
+    * Returns the next value between 0 inclusive and bound exclusive.
+    * 
+    * @param bound - The upper bound of the values, must be positive
+    * 
+    * @return the next value in [ 0 bound )
+    */
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+}
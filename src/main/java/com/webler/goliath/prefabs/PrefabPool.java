@@ -0,0 +1,84 @@
+package com.webler.goliath.prefabs;
+
+import com.webler.goliath.core.GameObject;
+import com.webler.goliath.core.Scene;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+public class PrefabPool {
+    @Getter
+    private final Scene scene;
+    private final Prefab prefab;
+    private final GameObject[] freeObjects;
+    private int freeObjectsCount;
+    @Getter
+    private int createdCount;
+
+    public PrefabPool(Scene scene, Prefab prefab, int capacity) {
+        this.scene = scene;
+        this.prefab = prefab;
+        freeObjects = new GameObject[capacity];
+        freeObjectsCount = 0;
+        createdCount = 0;
+    }
+
+    /**
+    * Returns a game object of the prefab that is not in the scene. A released game object is reused if there is one, otherwise the prefab creates a new one. The caller sets it up and adds it to the scene.
+    * 
+    * 
+    * @return A game object that belongs to this pool
+    */
+    public GameObject acquire() {
+        // Reuses a released game object if there is one.
+        if(freeObjectsCount > 0) {
+            GameObject go = freeObjects[--freeObjectsCount];
+            freeObjects[freeObjectsCount] = null;
+            return go;
+        }
+        GameObject go = prefab.create(scene);
+        go.setPool(this);
+        ++createdCount;
+        return go;
+    }
+
+    /**
+    * Gives a game object back to the pool. Called by the scene after the game object was removed and destroyed. The components are reset so the next #acquire () starts from the state the prefab created. If the pool is full the game object is disposed instead.
+    * 
+    * @param go - The game object to release. Must have been acquired from this pool
+    */
+    public void release(GameObject go) {
+        // Throws an exception if the game object belongs to another pool.
+        if(go.getPool() != this) {
+            throw new IllegalArgumentException("Game object " + go.getName() + " does not belong to this pool");
+        }
+        // Drops the game object if the pool is full.
+        if(freeObjectsCount == freeObjects.length) {
+            go.dispose();
+            return;
+        }
+        go.reset();
+        freeObjects[freeObjectsCount++] = go;
+    }
+
+    /**
+    * Disposes all released game objects. Called when the scene of the pool is destroyed.
+    */
+    public void clear() {
+        for (int i = 0; i < freeObjectsCount; ++i) {
+            freeObjects[i].dispose();
+        }
+        Arrays.fill(freeObjects, 0, freeObjectsCount, null);
+        freeObjectsCount = 0;
+    }
+
+    /**
+    * Returns the number of released game objects waiting for reuse.
+    * 
+    * 
+    * @return The number of free game objects
+    */
+    public int getFreeCount() {
+        return freeObjectsCount;
+    }
+}
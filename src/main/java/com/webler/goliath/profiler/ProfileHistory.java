@@ -0,0 +1,160 @@
+package com.webler.goliath.profiler;
+
+import java.util.Arrays;
+
+public class ProfileHistory {
+    private final long[] samples;
+    private final long[] sorted;
+    private int next;
+    private int count;
+    private boolean statsDirty;
+    private long min;
+    private long max;
+    private long avg;
+    private long p99;
+
+    public ProfileHistory(int capacity) {
+        samples = new long[capacity];
+        sorted = new long[capacity];
+        next = 0;
+        count = 0;
+        statsDirty = false;
+    }
+
+    /**
+    * Adds a sample to the history. The oldest sample is dropped when the history is full.
+    * 
+    * @param nanos - The measured time in nanoseconds
+    */
+    public void add(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        statsDirty = true;
+    }
+
+    /**
+    * Removes all samples from the history.
+    */
+    public void clear() {
+        next = 0;
+        count = 0;
+        statsDirty = true;
+    }
+
+    /**
+    * Returns the number of samples in the history.
+    * 
+    * 
+    * @return the number of samples, at most the capacity
+    */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+    * Returns the capacity of the history.
+    * 
+    * 
+    * @return the maximum number of samples
+    */
+    public int getCapacity() {
+        return samples.length;
+    }
+
+    /**
+    * Returns the most recent sample.
+    * 
+    * 
+    * @return the last sample in nanoseconds or 0 if the history is empty
+    */
+    public long getLast() {
+        return count == 0 ? 0 : samples[(next - 1 + samples.length) % samples.length];
+    }
+
+    /**
+    * Returns the smallest sample in the history.
+    * 
+    * 
+    * @return the minimum in nanoseconds
+    */
+    public long getMin() {
+        updateStats();
+        return min;
+    }
+
+    /**
+    * Returns the largest sample in the history.
+    * 
+    * 
+    * @return the maximum in nanoseconds
+    */
+    public long getMax() {
+        updateStats();
+        return max;
+    }
+
+    /**
+    * Returns the average of the samples in the history.
+    * 
+    * 
+    * @return the average in nanoseconds
+    */
+    public long getAvg() {
+        updateStats();
+        return avg;
+    }
+
+    /**
+    * Returns the 99th percentile of the samples in the history. Only one percent of the samples took longer.
+    * 
+    * 
+    * @return the 99th percentile in nanoseconds
+    */
+    public long getP99() {
+        updateStats();
+        return p99;
+    }
+
+    /**
+    * Copies the samples from oldest to newest into the array in milliseconds. Used for the frame time graph.
+    * 
+    * @param dest - The array to fill, at least as long as the count
+    * 
+    * @return the number of samples written
+    */
+    public int copyMillis(float[] dest) {
+        int n = Math.min(count, dest.length);
+        int start = (next - n + samples.length) % samples.length;
+        for (int i = 0; i < n; ++i) {
+            dest[i] = samples[(start + i) % samples.length] / 1e6f;
+        }
+        return n;
+    }
+
+    /**
+    * Recomputes the statistics if samples were added since they were last read. Sorting is only done when statistics are read, so recording stays cheap.
+    */
+    private void updateStats() {
+        // Statistics are still valid.
+        if(!statsDirty) {
+            return;
+        }
+        statsDirty = false;
+        // An empty history has no statistics.
+        if(count == 0) {
+            min = max = avg = p99 = 0;
+            return;
+        }
+        long sum = 0;
+        for (int i = 0; i < count; ++i) {
+            sorted[i] = samples[i];
+            sum += samples[i];
+        }
+        Arrays.sort(sorted, 0, count);
+        min = sorted[0];
+        max = sorted[count - 1];
+        avg = sum / count;
+        p99 = sorted[Math.min((int) Math.ceil(count * 0.99) - 1, count - 1)];
+    }
+}
@@ -0,0 +1,126 @@
+package com.webler.goliath.profiler;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ProfileNode {
+    @Getter
+    private final String name;
+    @Getter
+    private final ProfileNode parent;
+    private final Object key;
+    private final List<ProfileNode> children;
+    @Getter
+    private final ProfileHistory history;
+    private long beginTime;
+    private long frameTime;
+    private int frameCalls;
+    @Getter
+    private int lastCalls;
+
+    ProfileNode(ProfileNode parent, Object key, String name, int historyCapacity) {
+        this.parent = parent;
+        this.key = key;
+        this.name = name;
+        children = new ArrayList<>();
+        history = new ProfileHistory(historyCapacity);
+        beginTime = 0;
+        frameTime = 0;
+        frameCalls = 0;
+        lastCalls = 0;
+    }
+
+    /**
+    * Returns the child scope with the given key and creates it on first use. Keys are compared by identity first, so class objects and string constants are found without hashing.
+    * 
+    * @param key - The key of the scope, a name or a class
+    * @param name - The name shown for the scope if it has to be created or null to use the simple name of a class key
+    * 
+    * @return the child scope
+    */
+    ProfileNode child(Object key, String name) {
+        for (int i = 0; i < children.size(); ++i) {
+            ProfileNode child = children.get(i);
+            // Identity is the common case, equals covers names built at runtime.
+            if(child.key == key || child.key.equals(key)) {
+                return child;
+            }
+        }
+        String childName = name != null ? name : ((Class<?>) key).getSimpleName();
+        ProfileNode child = new ProfileNode(this, key, childName, history.getCapacity());
+        children.add(child);
+        return child;
+    }
+
+    /**
+    * Starts timing the scope.
+    * 
+    * @param now - The current time from System.nanoTime
+    */
+    void begin(long now) {
+        beginTime = now;
+    }
+
+    /**
+    * Stops timing the scope and adds the time to the current frame. A scope entered several times in a frame accumulates its time.
+    * 
+    * @param now - The current time from System.nanoTime
+    */
+    void end(long now) {
+        frameTime += now - beginTime;
+        ++frameCalls;
+    }
+
+    /**
+    * Moves the time of the current frame into the history of this scope and all of its children.
+    */
+    void endFrame() {
+        history.add(frameTime);
+        lastCalls = frameCalls;
+        frameTime = 0;
+        frameCalls = 0;
+        for (int i = 0; i < children.size(); ++i) {
+            children.get(i).endFrame();
+        }
+    }
+
+    /**
+    * Clears the history of this scope and all of its children.
+    */
+    void clear() {
+        history.clear();
+        for (int i = 0; i < children.size(); ++i) {
+            children.get(i).clear();
+        }
+    }
+
+    /**
+    * Returns a read - only view of the child scopes in the order they were first entered.
+    * 
+    * 
+    * @return the child scopes
+    */
+    public List<ProfileNode> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    /**
+    * Returns the child scope with the given name.
+    * 
+    * @param name - The name of the scope
+    * 
+    * @return the child scope or null if it was never entered
+    */
+    public ProfileNode findChild(String name) {
+        for (ProfileNode child : children) {
+            // Compares names since class scopes are keyed by class.
+            if(child.name.equals(name)) {
+                return child;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,165 @@
+package com.webler.goliath.profiler;
+
+import lombok.Getter;
+import lombok.Setter;
+
+public class Profiler {
+    public static final int HISTORY_CAPACITY = 240;
+    private static final int MAX_DEPTH = 32;
+    private static Profiler instance = null;
+    @Getter
+    @Setter
+    private boolean enabled;
+    @Getter
+    @Setter
+    private boolean overlayVisible;
+    @Getter
+    private final ProfileNode root;
+    private final ProfileNode[] stack;
+    private int depth;
+    private Thread thread;
+    private boolean inFrame;
+
+    /**
+    * Returns the singleton instance of Profiler.
+    * 
+    * 
+    * @return the singleton instance of Profiler
+    */
+    public static Profiler get() {
+        // Create a new Profiler instance.
+        if(instance == null) {
+            instance = new Profiler();
+        }
+        return instance;
+    }
+
+    public Profiler() {
+        enabled = true;
+        overlayVisible = false;
+        root = new ProfileNode(null, "Frame", "Frame", HISTORY_CAPACITY);
+        stack = new ProfileNode[MAX_DEPTH];
+        depth = 0;
+        thread = null;
+        inFrame = false;
+    }
+
+    /**
+    * Begins a frame. Scopes are only recorded between #beginFrame () and #endFrame () and only on the thread that began the frame, scopes entered by worker threads are ignored.
+    */
+    public void beginFrame() {
+        // Nothing is recorded while the profiler is disabled.
+        if(!enabled) {
+            return;
+        }
+        thread = Thread.currentThread();
+        inFrame = true;
+        depth = 0;
+        stack[0] = root;
+        root.begin(System.nanoTime());
+    }
+
+    /**
+    * Ends the frame and adds the time of every scope to its history. Scopes that were not entered in this frame record zero.
+    */
+    public void endFrame() {
+        // Frames that began while disabled are not recorded.
+        if(!inFrame) {
+            return;
+        }
+        // Throws an exception if a scope is still open.
+        if(depth != 0) {
+            throw new IllegalStateException("Profiler scope " + stack[depth].getName() + " was not ended.");
+        }
+        root.end(System.nanoTime());
+        root.endFrame();
+        inFrame = false;
+    }
+
+    /**
+    * Begins a nested scope under the current one. Must be followed by #end () in the same frame.
+    * 
+    * @param name - The name of the scope
+    */
+    public void begin(String name) {
+        begin(name, name);
+    }
+
+    /**
+    * Begins a nested scope attributed to a class. Used to time component updates per component class.
+    * 
+    * @param cls - The class the time is attributed to
+    */
+    public void begin(Class<?> cls) {
+        begin(cls, null);
+    }
+
+    /**
+    * Ends the innermost scope.
+    */
+    public void end() {
+        // Ignores scopes outside of a frame or on other threads.
+        if(!isRecording()) {
+            return;
+        }
+        // Throws an exception if there is no scope to end.
+        if(depth == 0) {
+            throw new IllegalStateException("Profiler scope ended without begin.");
+        }
+        stack[depth--].end(System.nanoTime());
+    }
+
+    /**
+    * Returns true if scopes entered on the calling thread are recorded. Callers can use this to skip the timing of cheap work altogether.
+    * 
+    * 
+    * @return true if the calling thread is inside a recorded frame
+    */
+    public boolean isRecording() {
+        return inFrame && Thread.currentThread() == thread;
+    }
+
+    /**
+    * Returns the history of whole frame times.
+    * 
+    * 
+    * @return the history of the root scope
+    */
+    public ProfileHistory getFrameHistory() {
+        return root.getHistory();
+    }
+
+    /**
+    * Clears the history of all scopes. Scopes themselves are kept.
+    */
+    public void clear() {
+        root.clear();
+    }
+
+    /**
+    * Toggles the visibility of the overlay drawn by the ImGuiLayer.
+    */
+    public void toggleOverlay() {
+        overlayVisible = !overlayVisible;
+    }
+
+    /**
+    * Pushes the child scope with the given key. The display name of class keys is only computed when the scope is created.
+    * 
+    * @param key - The key of the scope
+    * @param name - The name of the scope or null to use the simple name of the class key
+    */
+    private void begin(Object key, String name) {
+        // Ignores scopes outside of a frame or on other threads.
+        if(!isRecording()) {
+            return;
+        }
+        // Throws an exception if scopes are nested too deep, which is usually a missing end.
+        if(depth + 1 == MAX_DEPTH) {
+            throw new IllegalStateException("Profiler scopes are nested deeper than " + MAX_DEPTH + ".");
+        }
+        ProfileNode node = stack[depth].child(key, name);
+        stack[++depth] = node;
+        node.begin(System.nanoTime());
+    }
+}
@@ -0,0 +1,84 @@
+package com.webler.goliath.time;
+
+import com.webler.goliath.core.GameObject;
+import lombok.Getter;
+
+public final class TimerHandle {
+    private final TimerWheel wheel;
+    @Getter
+    private final GameObject owner;
+    private final int ownerHandle;
+    private final Runnable callback;
+    @Getter
+    private final double interval;
+    @Getter
+    private double expiryTime;
+    int slot;
+    TimerHandle prev;
+    TimerHandle next;
+    boolean pending;
+
+    TimerHandle(TimerWheel wheel, GameObject owner, Runnable callback, double expiryTime, double interval) {
+        this.wheel = wheel;
+        this.owner = owner;
+        this.ownerHandle = owner.getHandle();
+        this.callback = callback;
+        this.expiryTime = expiryTime;
+        this.interval = interval;
+        slot = -1;
+        prev = null;
+        next = null;
+        pending = false;
+    }
+
+    /**
+    * Cancels the timer. The callback is not called anymore and a repeating timer stops. Cancelling a timer that already fired or was cancelled has no effect.
+    */
+    public void cancel() {
+        wheel.cancel(this);
+    }
+
+    /**
+    * Returns true if the timer is waiting to fire.
+    * 
+    * 
+    * @return true if the timer was neither cancelled nor fired, a repeating timer stays pending until it is cancelled
+    */
+    public boolean isPending() {
+        return pending;
+    }
+
+    /**
+    * Returns the time left until the timer fires.
+    * 
+    * 
+    * @return the remaining time in seconds or 0 if the timer is not pending
+    */
+    public double getRemainingTime() {
+        return pending ? Math.max(expiryTime - wheel.getTime(), 0) : 0;
+    }
+
+    /**
+    * Returns true if the owner of the timer is still in the scene it was in when the timer was scheduled. A game object that was removed and added again, like a pooled one, gets a new handle, so its old timers do not reach it.
+    * 
+    * 
+    * @return true if the callback may be called
+    */
+    boolean isOwnerAlive() {
+        return owner.getScene().isAlive(ownerHandle);
+    }
+
+    /**
+    * Calls the callback of the timer.
+    */
+    void fire() {
+        callback.run();
+    }
+
+    /**
+    * Moves the expiry time of a repeating timer one interval forward.
+    */
+    void repeat() {
+        expiryTime += interval;
+    }
+}
@@ -0,0 +1,237 @@
+package com.webler.goliath.time;
+
+import com.webler.goliath.core.GameObject;
+import com.webler.goliath.core.Scene;
+import lombok.Getter;
+
+public class TimerWheel {
+    public static final int TICKS_PER_SECOND = 256;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+    private final TimerHandle[] slots;
+    @Getter
+    private double time;
+    private long currentTick;
+    @Getter
+    private int pendingCount;
+    @Getter
+    private int firedCount;
+
+    public TimerWheel() {
+        slots = new TimerHandle[SLOTS * LEVELS];
+        time = 0;
+        currentTick = 0;
+        pendingCount = 0;
+        firedCount = 0;
+    }
+
+    /**
+    * Schedules a callback that is called once after the delay. The callback is only called if the owner is still in the scene, so components do not have to check whether their game object was removed in the meantime.
+    * 
+    * @param owner - The game object the timer belongs to, must be in the scene
+    * @param delay - The delay in seconds
+    * @param callback - Called on the main thread when the timer fires
+    * 
+    * @return the handle used to cancel the timer
+    */
+    public TimerHandle schedule(GameObject owner, double delay, Runnable callback) {
+        return schedule(owner, delay, 0, callback);
+    }
+
+    /**
+    * Schedules a callback that is called every interval until the timer is cancelled or the owner leaves the scene.
+    * 
+    * @param owner - The game object the timer belongs to, must be in the scene
+    * @param interval - The time between two calls in seconds, at least one tick
+    * @param callback - Called on the main thread when the timer fires
+    * 
+    * @return the handle used to cancel the timer
+    */
+    public TimerHandle scheduleRepeating(GameObject owner, double interval, Runnable callback) {
+        // Throws an exception if the timer would fire in every tick.
+        if(interval * TICKS_PER_SECOND < 1) {
+            throw new IllegalArgumentException("Timer interval must be at least one tick, was " + interval);
+        }
+        return schedule(owner, interval, interval, callback);
+    }
+
+    /**
+    * Cancels a timer. Called by TimerHandle#cancel ().
+    * 
+    * @param timer - The timer to cancel
+    */
+    void cancel(TimerHandle timer) {
+        // Returns if the timer already fired or was cancelled.
+        if(!timer.pending) {
+            return;
+        }
+        timer.pending = false;
+        // A timer that is firing right now is not linked to a slot.
+        if(timer.slot != -1) {
+            unlink(timer);
+        }
+        --pendingCount;
+    }
+
+    /**
+    * Advances the time of the wheel and fires every timer that expired. Only the slots of the elapsed ticks are visited and timers further away are moved to lower levels once per turn of the level below them, so the cost depends on the expired timers and not on all pending ones.
+    * 
+    * @param dt - Time since the last update in seconds
+    */
+    public void update(double dt) {
+        time += dt;
+        firedCount = 0;
+        long targetTick = (long) Math.floor(time * TICKS_PER_SECOND);
+        while(currentTick < targetTick) {
+            ++currentTick;
+            // Moves the timers of the next slot of each higher level down whenever the level below completes a turn.
+            for (int level = 1; level < LEVELS && (currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0; ++level) {
+                cascade(level);
+            }
+            int slot = (int) (currentTick & SLOT_MASK);
+            TimerHandle timer = slots[slot];
+            slots[slot] = null;
+            while(timer != null) {
+                TimerHandle next = timer.next;
+                timer.prev = null;
+                timer.next = null;
+                timer.slot = -1;
+                expire(timer);
+                timer = next;
+            }
+        }
+    }
+
+    /**
+    * Cancels all timers and resets the time. Called when the scene is destroyed.
+    */
+    public void clear() {
+        for (int i = 0; i < slots.length; ++i) {
+            TimerHandle timer = slots[i];
+            slots[i] = null;
+            while(timer != null) {
+                TimerHandle next = timer.next;
+                timer.pending = false;
+                timer.prev = null;
+                timer.next = null;
+                timer.slot = -1;
+                timer = next;
+            }
+        }
+        time = 0;
+        currentTick = 0;
+        pendingCount = 0;
+        firedCount = 0;
+    }
+
+    /**
+    * Creates a timer and links it into the wheel.
+    * 
+    * @param owner - The owner of the timer
+    * @param delay - The delay in seconds
+    * @param interval - The interval of a repeating timer or 0
+    * @param callback - The callback
+    * 
+    * @return the pending timer
+    */
+    private TimerHandle schedule(GameObject owner, double delay, double interval, Runnable callback) {
+        // Throws an exception if the owner is not in the scene, its timers would never fire.
+        if(owner.getHandle() == Scene.NULL_HANDLE) {
+            throw new IllegalArgumentException("Game object " + owner.getName() + " must be in the scene to schedule timers");
+        }
+        TimerHandle timer = new TimerHandle(this, owner, callback, time + Math.max(delay, 0), interval);
+        timer.pending = true;
+        link(timer, currentTick + 1);
+        ++pendingCount;
+        return timer;
+    }
+
+    /**
+    * Calls the callback of an expired timer and links a repeating timer again. Timers of owners that left the scene are dropped.
+    * 
+    * @param timer - The expired timer, not linked to a slot
+    */
+    private void expire(TimerHandle timer) {
+        // Drops the timer if its owner is gone.
+        if(!timer.isOwnerAlive()) {
+            timer.pending = false;
+            --pendingCount;
+            return;
+        }
+        // A one - shot timer is done before its callback runs, so the callback may schedule a new one.
+        if(timer.getInterval() == 0) {
+            timer.pending = false;
+            --pendingCount;
+        }
+        ++firedCount;
+        timer.fire();
+        // Links a repeating timer again unless the callback cancelled it.
+        if(timer.pending) {
+            timer.repeat();
+            link(timer, currentTick + 1);
+        }
+    }
+
+    /**
+    * Moves the timers of the current slot of a level to the levels below.
+    * 
+    * @param level - The level, at least 1
+    */
+    private void cascade(int level) {
+        int slot = level * SLOTS + (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        TimerHandle timer = slots[slot];
+        slots[slot] = null;
+        while(timer != null) {
+            TimerHandle next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            link(timer, currentTick);
+            timer = next;
+        }
+    }
+
+    /**
+    * Links the timer into the slot of the level its remaining ticks fall into. Timers that are due are placed in the earliest tick that is still processed and timers beyond the range of the wheel in the last slot of the highest level, from where they are placed again once it is reached.
+    * 
+    * @param timer - The timer to link
+    * @param minTick - The earliest tick the timer may be placed in, the current tick while its slot is not processed yet
+    */
+    private void link(TimerHandle timer, long minTick) {
+        long expiryTick = Math.max((long) Math.ceil(timer.getExpiryTime() * TICKS_PER_SECOND), minTick);
+        long delta = Math.min(expiryTick - currentTick, MAX_DELTA);
+        long tick = currentTick + delta;
+        int level = 0;
+        while(level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            ++level;
+        }
+        timer.slot = level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        TimerHandle head = slots[timer.slot];
+        timer.next = head;
+        if(head != null) {
+            head.prev = timer;
+        }
+        slots[timer.slot] = timer;
+    }
+
+    /**
+    * Removes the timer from its slot in constant time.
+    * 
+    * @param timer - The linked timer
+    */
+    private void unlink(TimerHandle timer) {
+        if(timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            slots[timer.slot] = timer.next;
+        }
+        if(timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.slot = -1;
+    }
+}
@@ -1,8 +1,12 @@
 package com.webler.goliath.utils;
 
 import com.webler.goliath.core.Component;
+import com.webler.goliath.core.LodTier;
+import com.webler.goliath.core.SimulationLod;
 import com.webler.goliath.graphics.Color;
 import com.webler.goliath.graphics.canvas.Canvas;
+import com.webler.goliath.jobs.FramePhase;
+import com.webler.goliath.jobs.JobSystem;
 import lombok.Getter;
 
 public class FPSCounter extends Component {
@@ -51,12 +55,25 @@ public class FPSCounter extends Component {
     }
 
     /**
-    * Draws the FPS on the screen to indicate the size of the game. This is called by update
+    * Draws the FPS, the number of workers of the job system and the time of every frame phase and the number of entities per simulation LOD tier on the screen. This is called by update
     */
     private void draw() {
         Canvas canvas = gameObject.getScene().getGame().getCanvas();
         canvas.setColor(Color.WHITE);
         canvas.setFontSize(16);
         canvas.text("FPS: " + fps, 8, 8);
+
+        JobSystem jobs = JobSystem.get();
+        canvas.setFontSize(12);
+        canvas.text("Workers: " + jobs.getWorkerCount(), 8, 28);
+        int y = 44;
+        for (FramePhase phase : FramePhase.values()) {
+            canvas.text(String.format("%s: %.2f ms", phase.getLabel(), jobs.getPhaseTime(phase)), 8, y);
+            y += 14;
+        }
+
+        SimulationLod lod = gameObject.getScene().getLod();
+        canvas.text("LOD: " + lod.getTierCount(LodTier.ACTIVE) + " / " + lod.getTierCount(LodTier.REDUCED) +
+                " / " + lod.getTierCount(LodTier.DORMANT), 8, y);
     }
 }
@@ -7,8 +7,17 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+import static org.lwjgl.glfw.GLFW.*;
+
 import com.webler.goliath.Config;
 import com.webler.goliath.Game;
+import com.webler.goliath.graphics.RecordingGraphicsBackend;
+import com.webler.goliath.input.InputRecorder;
+import com.webler.goliath.input.InputReplayer;
+import com.webler.goliath.input.InputSource;
+import com.webler.goliath.input.ScriptedInputSource;
+import com.webler.goliath.profiler.ProfileHistory;
+import com.webler.goliath.profiler.Profiler;
 import com.webler.untitledgame.scenes.LevelEditorScene;
 import com.webler.untitledgame.scenes.LevelScene;
 import com.webler.untitledgame.scenes.LevelParams;
@@ -23,6 +32,10 @@ public class Main {
     public static void main(String[] args) {
         boolean enableLogging = true;
         boolean showDemo = false;
+        boolean headless = false;
+        long frames = 3600;
+        String recordPath = null;
+        String replayPath = null;
 
         for (String arg : args) {
             // If the command line arguments are not specified in the command line arguments disable logging show demo level show demo level
@@ -32,12 +45,47 @@ public class Main {
             // Show demo level if the command line argument is show demo level
             } else if (arg.equals("--show-demo-level")) {
                 showDemo = true;
+            // Runs the demo level without a window for the given number of frames
+            } else if (arg.equals("--headless")) {
+                headless = true;
+            } else if (arg.startsWith("--frames=")) {
+                frames = Long.parseLong(arg.substring("--frames=".length()));
+            // Plays the demo level and records the input to the given file
+            } else if (arg.startsWith("--record=")) {
+                recordPath = arg.substring("--record=".length());
+            // Replays a recording of the demo level without a window
+            } else if (arg.startsWith("--replay=")) {
+                replayPath = arg.substring("--replay=".length());
             }
         }
 
         Path demoLevelPath = Paths.get(System.getProperty("user.home"), "untitled-game", "demo_level.xml");
         boolean success = saveDemoLevel(demoLevelPath);
 
+        if(replayPath != null) {
+            try {
+                InputReplayer replayer = new InputReplayer(replayPath);
+                runHeadless(demoLevelPath, replayer.getFramesCount(), enableLogging, replayer, replayer.getSeed());
+            } catch (IOException e) {
+                System.err.println("Could not read input recording " + replayPath + ": " + e.getMessage());
+            }
+            return;
+        }
+
+        if(headless) {
+            runHeadless(demoLevelPath, frames, enableLogging, createDemoInput(), 0L);
+            return;
+        }
+
+        if(recordPath != null) {
+            try {
+                record(demoLevelPath, recordPath, enableLogging);
+            } catch (IOException e) {
+                System.err.println("Could not create input recording " + recordPath + ": " + e.getMessage());
+            }
+            return;
+        }
+
         Config config = new MyConfig(
                 "LevelEditorScene",
                 new LevelParams((showDemo && success) ? demoLevelPath.toString() : null),
@@ -49,6 +97,76 @@ public class Main {
         game.run();
     }
 
+    /**
+    * Plays the demo level in a window and records the input and frame times, so the session can be replayed with --replay.
+    * 
+    * @param levelPath - The path of the demo level
+    * @param recordPath - The file to record to
+    * @param enableLogging - Whether logging is enabled
+    */
+    private static void record(Path levelPath, String recordPath, boolean enableLogging) throws IOException {
+        Config config = new MyConfig("LevelScene", new LevelParams(levelPath.toString()), enableLogging);
+        config.setInputSource(new InputRecorder(recordPath));
+        Game game = new Game(config);
+        game.registerScene(LevelScene.class);
+        game.run();
+    }
+
+    /**
+    * Runs the demo level without a window, GL context or audio device. The player follows scripted or replayed input and the frame times are printed at the end.
+    * 
+    * @param levelPath - The path of the demo level
+    * @param frames - The number of frames to run
+    * @param enableLogging - Whether logging is enabled
+    * @param input - The input of the player
+    * @param seed - The seed of the random numbers
+    */
+    private static void runHeadless(Path levelPath, long frames, boolean enableLogging, InputSource input, long seed) {
+        RecordingGraphicsBackend graphicsBackend = new RecordingGraphicsBackend();
+        Config config = new MyConfig("LevelScene", new LevelParams(levelPath.toString()), enableLogging);
+        config.setHeadless(true);
+        config.setHeadlessFrames(frames);
+        config.setGraphicsBackend(graphicsBackend);
+        config.setInputSource(input);
+        config.setSeed(seed);
+
+        Game game = new Game(config);
+        game.registerScene(LevelScene.class);
+        game.run();
+
+        ProfileHistory history = Profiler.get().getFrameHistory();
+        System.out.printf("Ran %d frames, frame time min %.3f ms, avg %.3f ms, p99 %.3f ms over the last %d frames%n",
+                game.getFrame(), history.getMin() / 1e6, history.getAvg() / 1e6, history.getP99() / 1e6, history.getCount());
+        System.out.printf("Submitted %d meshes, %d sprites, %d debug lines and %d canvas quads%n",
+                graphicsBackend.getTotalMeshesCount(), graphicsBackend.getTotalSpritesCount(),
+                graphicsBackend.getTotalLinesCount(), graphicsBackend.getTotalQuadsCount());
+    }
+
+    /**
+    * Creates the input loop of the headless run. The player walks, strafes, runs, jumps, turns and shoots.
+    * 
+    * 
+    * @return the scripted input
+    */
+    private static ScriptedInputSource createDemoInput() {
+        ScriptedInputSource input = new ScriptedInputSource()
+                .hold(0, 240, GLFW_KEY_W)
+                .hold(240, 360, GLFW_KEY_D)
+                .hold(360, 480, GLFW_KEY_LEFT_SHIFT)
+                .hold(360, 480, GLFW_KEY_W)
+                .hold(420, 430, GLFW_KEY_LEFT_ALT)
+                .hold(480, 580, GLFW_KEY_S)
+                .press(60, GLFW_KEY_E)
+                .release(61, GLFW_KEY_E);
+        for (int i = 0; i < 600; i += 10) {
+            input.moveMouse(i, i * 2.0, 0);
+        }
+        for (int i = 90; i < 600; i += 120) {
+            input.click(i, GLFW_MOUSE_BUTTON_LEFT);
+        }
+        return input.loop(600);
+    }
+
     private static boolean saveDemoLevel(Path path) {
         InputStream is = ClassLoader.getSystemResourceAsStream("untitled-game/levels/demo_level.xml");
         if(is == null) {
@@ -29,6 +29,7 @@ import org.joml.Vector2d;
 import org.joml.Vector4d;
 
 
+import java.util.Collection;
 import java.util.List;
 
 import static org.lwjgl.glfw.GLFW.*;
@@ -333,7 +334,7 @@ public class EditorComponent extends Component {
 
         level.getLevelMap().clear();
 
-        List<GameObject> platformObjects = scene.getEntitiesByTag(Platform.TAG);
+        Collection<GameObject> platformObjects = scene.getEntitiesByTag(Platform.TAG);
         for(GameObject platformObject : platformObjects) {
             Platform platform = (Platform) platformObject
                     .getComponent(EditorController.class, "Controller")
@@ -341,7 +342,7 @@ public class EditorComponent extends Component {
             level.getLevelMap().addPlatform(platform);
         }
 
-        List<GameObject> lightObjects = scene.getEntitiesByTag(Light.TAG);
+        Collection<GameObject> lightObjects = scene.getEntitiesByTag(Light.TAG);
         for(GameObject lightObject : lightObjects) {
             Light light = (Light) lightObject
                     .getComponent(EditorController.class, "Controller")
@@ -349,7 +350,7 @@ public class EditorComponent extends Component {
             level.getLevelMap().addLight(light);
         }
 
-        List<GameObject> entityObjects = scene.getEntitiesByTag(Entity.TAG);
+        Collection<GameObject> entityObjects = scene.getEntitiesByTag(Entity.TAG);
         for(GameObject entityObject : entityObjects) {
             Entity entity = (Entity) entityObject
                     .getComponent(EditorController.class, "Controller")
@@ -357,7 +358,7 @@ public class EditorComponent extends Component {
             level.getLevelMap().addEntity(entity);
         }
 
-        List<GameObject> doorObjects = scene.getEntitiesByTag(Door.TAG);
+        Collection<GameObject> doorObjects = scene.getEntitiesByTag(Door.TAG);
         for(GameObject doorObject : doorObjects) {
             Door door = (Door) doorObject
                     .getComponent(EditorController.class, "Controller")
@@ -456,7 +457,7 @@ public class EditorComponent extends Component {
     */
     private GameObject getHoveredGameObject() {
         Vector2d worldMousePosition = getWorldMousePosition();
-        List<GameObject> selectableObjects = gameObject.getScene().getEntitiesByTag(SELECTABLE_TAG);
+        Collection<GameObject> selectableObjects = gameObject.getScene().getEntitiesByTag(SELECTABLE_TAG);
         GameObject hoveredGameObject = null;
         int zIndex = 0;
         for(GameObject go : selectableObjects) {
@@ -491,22 +492,22 @@ public class EditorComponent extends Component {
     private void clearLevel() {
         Scene scene = gameObject.getScene();
 
-        List<GameObject> platformsToRemove = scene.getEntitiesByTag(Platform.TAG);
+        Collection<GameObject> platformsToRemove = scene.getEntitiesByTag(Platform.TAG);
         for(GameObject platform : platformsToRemove) {
             scene.remove(platform);
         }
 
-        List<GameObject> lightsToRemove = scene.getEntitiesByTag(Light.TAG);
+        Collection<GameObject> lightsToRemove = scene.getEntitiesByTag(Light.TAG);
         for(GameObject light : lightsToRemove) {
             scene.remove(light);
         }
 
-        List<GameObject> entitiesToRemove = scene.getEntitiesByTag(Entity.TAG);
+        Collection<GameObject> entitiesToRemove = scene.getEntitiesByTag(Entity.TAG);
         for(GameObject entity : entitiesToRemove) {
             scene.remove(entity);
         }
 
-        List<GameObject> doorsToRemove = scene.getEntitiesByTag(Door.TAG);
+        Collection<GameObject> doorsToRemove = scene.getEntitiesByTag(Door.TAG);
         for(GameObject door : doorsToRemove) {
             scene.remove(door);
         }
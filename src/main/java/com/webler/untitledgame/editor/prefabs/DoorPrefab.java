@@ -33,8 +33,8 @@ public class DoorPrefab implements Prefab {
         sprite.setWidth(editorComponent.getConfig().gridWidth());
         sprite.setHeight(editorComponent.getConfig().gridHeight());
         GameObject gameObject = new GameObject(scene);
-        gameObject.tags.add(Door.TAG);
-        gameObject.tags.add(EditorComponent.SELECTABLE_TAG);
+        gameObject.addTag(Door.TAG);
+        gameObject.addTag(EditorComponent.SELECTABLE_TAG);
         gameObject.addComponent("Controller", new DoorEditorController(editorComponent, door));
         SpriteRenderer renderer = new SpriteRenderer(sprite, 30);
         renderer.offset.set(sprite.getWidth() * 0.5, sprite.getHeight() * 0.5, 0);
@@ -32,8 +32,8 @@ public class EntityPrefab implements Prefab {
         int tileWidth = editorComponent.getConfig().gridWidth();
         int tileHeight = editorComponent.getConfig().gridHeight();
         GameObject go = new GameObject(scene);
-        go.tags.add(Entity.TAG);
-        go.tags.add(EditorComponent.SELECTABLE_TAG);
+        go.addTag(Entity.TAG);
+        go.addTag(EditorComponent.SELECTABLE_TAG);
         Sprite sprite = new Sprite(levelObject.getSprite());
         sprite.setWidth((int)(tileWidth * levelObject.getScale().x));
         sprite.setHeight((int)(tileHeight * levelObject.getScale().y));
@@ -33,9 +33,11 @@ public class LightPrefab implements Prefab {
         sprite.setHeight(editorComponent.getConfig().gridHeight());
         GameObject go = new GameObject(scene);
         go.transform.scale.set(0.5);
-        go.tags.add(Light.TAG);
-        go.tags.add(EditorComponent.SELECTABLE_TAG);
-        go.addComponent("Renderer", new SpriteRenderer(sprite, 100));
+        go.addTag(Light.TAG);
+        go.addTag(EditorComponent.SELECTABLE_TAG);
+        SpriteRenderer renderer = new SpriteRenderer(sprite, 100);
+        renderer.setStaticSprite(true);
+        go.addComponent("Renderer", renderer);
         go.addComponent("Controller", new LightEditorController(editorComponent, light));
         return go;
     }
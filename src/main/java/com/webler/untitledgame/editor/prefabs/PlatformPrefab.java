@@ -31,8 +31,8 @@ public class PlatformPrefab implements Prefab {
         sprite.setWidth(editorComponent.getConfig().gridWidth());
         sprite.setHeight(editorComponent.getConfig().gridHeight());
         GameObject gameObject = new GameObject(scene);
-        gameObject.tags.add(Platform.TAG);
-        gameObject.tags.add(EditorComponent.SELECTABLE_TAG);
+        gameObject.addTag(Platform.TAG);
+        gameObject.addTag(EditorComponent.SELECTABLE_TAG);
         gameObject.addComponent("Controller", new PlatformEditorController(editorComponent, platform));
         SpriteRenderer renderer = new SpriteRenderer(sprite, 0);
         renderer.offset.set(sprite.getWidth() * 0.5, sprite.getHeight() * 0.5, 0);
@@ -10,7 +10,7 @@ import imgui.flag.ImGuiCond;
 import imgui.flag.ImGuiTreeNodeFlags;
 
 import java.nio.file.Path;
-import java.util.List;
+import java.util.Collection;
 
 public class HierarchyWindow {
     private final EditorComponent editor;
@@ -38,7 +38,7 @@ public class HierarchyWindow {
         // This method is called by the main method to display the tree.
         if(ImGui.treeNode(levelName)) {
             imguiLevelObjectNode(scene.getEntityByName("Editor"), i++);
-            List<GameObject> platformGameObjects = scene.getEntitiesByTag(Platform.TAG);
+            Collection<GameObject> platformGameObjects = scene.getEntitiesByTag(Platform.TAG);
             // This method is called by the main method to display the game objects in the scene.
             if(ImGui.treeNode("Platforms (" + platformGameObjects.size() + ")")) {
                 for(GameObject platformGameObject : platformGameObjects) {
@@ -46,7 +46,7 @@ public class HierarchyWindow {
                 }
                 ImGui.treePop();
             }
-            List<GameObject> lightGameObjects = scene.getEntitiesByTag(Light.TAG);
+            Collection<GameObject> lightGameObjects = scene.getEntitiesByTag(Light.TAG);
             // This method is called by the main loop to display the light objects.
             if(ImGui.treeNode("Lights (" + lightGameObjects.size() + ")")) {
                 for(GameObject lightGameObject : lightGameObjects) {
@@ -54,7 +54,7 @@ public class HierarchyWindow {
                 }
                 ImGui.treePop();
             }
-            List<GameObject> entityGameObjects = scene.getEntitiesByTag(Entity.TAG);
+            Collection<GameObject> entityGameObjects = scene.getEntitiesByTag(Entity.TAG);
             // This method is called by the main method to display the game objects in the tree.
             if(ImGui.treeNode("Entities (" + entityGameObjects.size() + ")")) {
                 for(GameObject entityGameObject : entityGameObjects) {
@@ -62,7 +62,7 @@ public class HierarchyWindow {
                 }
                 ImGui.treePop();
             }
-            List<GameObject> doorGameObjects = scene.getEntitiesByTag(Door.TAG);
+            Collection<GameObject> doorGameObjects = scene.getEntitiesByTag(Door.TAG);
             // This method is called by the DoorManager to display the doors.
             if(ImGui.treeNode("Doors (" + doorGameObjects.size() + ")")) {
                 for(GameObject doorGameObject : doorGameObjects) {
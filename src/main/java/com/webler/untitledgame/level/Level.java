@@ -22,6 +22,7 @@ import com.webler.goliath.graphics.geometry.Cube;
 import com.webler.goliath.graphics.light.AmbientLight;
 import com.webler.goliath.graphics.light.SpotLight;
 import com.webler.goliath.input.Input;
+import com.webler.goliath.prefabs.PrefabPool;
 import com.webler.goliath.utils.AssetPool;
 import com.webler.untitledgame.level.controllers.entity.*;
 import com.webler.untitledgame.level.controllers.entity.enemy.EnemyController;
@@ -32,17 +33,23 @@ import com.webler.untitledgame.level.objects.LevelEntity;
 import com.webler.untitledgame.level.objects.LevelItem;
 import com.webler.untitledgame.level.objects.LevelObject;
 import com.webler.untitledgame.level.enums.LevelObjectType;
+import com.webler.untitledgame.level.enums.Projectile;
 import com.webler.untitledgame.level.ai.PathFinder;
 import com.webler.untitledgame.level.controllers.*;
 import com.webler.untitledgame.level.inventory.Inventory;
+import com.webler.untitledgame.level.systems.ParticlePhysicsSystem;
 import com.webler.untitledgame.level.levelmap.*;
+import com.webler.untitledgame.level.prefabs.ExplosionLightPrefab;
 import com.webler.untitledgame.level.prefabs.ItemPrefab;
+import com.webler.untitledgame.level.prefabs.ParticlePrefab;
+import com.webler.untitledgame.level.prefabs.ProjectilePrefab;
 import lombok.Getter;
 import org.joml.Vector2d;
 import org.joml.Vector3d;
 import org.joml.Vector3i;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -51,6 +58,9 @@ import static org.lwjgl.glfw.GLFW.GLFW_KEY_X;
 public class Level extends Component {
     protected Logger logger = Logger.getLogger(Level.class.getName());
     public static final int TILE_SIZE = 4;
+    private static final int PROJECTILE_POOL_CAPACITY = 64;
+    private static final int PARTICLE_POOL_CAPACITY = 128;
+    private static final int EXPLOSION_LIGHT_POOL_CAPACITY = 16;
     @Getter
     private final LevelMap levelMap;
     private GridItem[][] grid;
@@ -64,15 +74,25 @@ public class Level extends Component {
     private final Dijkstra dijkstra;
     @Getter
     private boolean debug;
+    private final ParticlePhysicsSystem particlePhysicsSystem;
+    private final Map<Projectile, PrefabPool> projectilePools;
+    @Getter
+    private PrefabPool particlePool;
+    @Getter
+    private PrefabPool explosionLightPool;
 
     public Level() {
         this.levelMap = new LevelMap();
         path = null;
         player = null;
-        objectGroups = new HashMap<>();
+        objectGroups = new ConcurrentHashMap<>();
         levelObjectRegistry = new ArrayList<>();
         dijkstra = new Dijkstra();
         debug = false;
+        particlePhysicsSystem = new ParticlePhysicsSystem(this);
+        projectilePools = new EnumMap<>(Projectile.class);
+        particlePool = null;
+        explosionLightPool = null;
         buildGrid();
     }
 
@@ -145,6 +165,13 @@ public class Level extends Component {
     @Override
     public void start() {
         init();
+        Scene scene = gameObject.getScene();
+        scene.getWorld().addSystem(particlePhysicsSystem);
+        for (Projectile type : Projectile.values()) {
+            projectilePools.put(type, new PrefabPool(scene, new ProjectilePrefab(this, type), PROJECTILE_POOL_CAPACITY));
+        }
+        particlePool = new PrefabPool(scene, new ParticlePrefab(new Sprite()), PARTICLE_POOL_CAPACITY);
+        explosionLightPool = new PrefabPool(scene, new ExplosionLightPrefab(), EXPLOSION_LIGHT_POOL_CAPACITY);
     }
 
     /**
@@ -164,7 +191,27 @@ public class Level extends Component {
     */
     @Override
     public void destroy() {
+        gameObject.getScene().getWorld().removeSystem(particlePhysicsSystem);
+        for (PrefabPool pool : projectilePools.values()) {
+            pool.clear();
+        }
+        projectilePools.clear();
+        // Clears the pools only if they were created.
+        if(particlePool != null) {
+            particlePool.clear();
+            explosionLightPool.clear();
+        }
+    }
 
+    /**
+    * Returns the pool of the projectiles of the given type. Guns take their projectiles from it so sustained fire does not create new meshes.
+    * 
+    * @param type - The type of the projectile
+    * 
+    * @return The pool of the projectile type
+    */
+    public PrefabPool getProjectilePool(Projectile type) {
+        return projectilePools.get(type);
     }
 
     /**
@@ -277,12 +324,28 @@ public class Level extends Component {
     * @return True if any of the blocks in the box lie within the tiles false otherwise. Note that the box is assumed to be in world
     */
     public boolean isBlockAtBox(Vector3d min, Vector3d max) {
-        int blockMinX = (int)Math.floor(min.x / TILE_SIZE);
-        int blockMinZ = (int)Math.floor(min.z / TILE_SIZE);
-        int blockMaxX = (int)Math.floor(max.x / TILE_SIZE);
-        int blockMaxZ = (int)Math.floor(max.z / TILE_SIZE);
-        int blockMinY = (int) Math.floor(min.y / TILE_SIZE);
-        int blockMaxY = (int) Math.floor(max.y / TILE_SIZE);
+        return isBlockAtBox(min.x, min.y, min.z, max.x, max.y, max.z);
+    }
+
+    /**
+    * Checks if any of the blocks in the specified box lie within the tiles. Same as #isBlockAtBox ( Vector3d Vector3d ) without allocating vectors.
+    * 
+    * @param minX - The x coordinate of the minimum corner of the box
+    * @param minY - The y coordinate of the minimum corner of the box
+    * @param minZ - The z coordinate of the minimum corner of the box
+    * @param maxX - The x coordinate of the maximum corner of the box
+    * @param maxY - The y coordinate of the maximum corner of the box
+    * @param maxZ - The z coordinate of the maximum corner of the box
+    * 
+    * @return True if any of the blocks in the box lie within the tiles false otherwise
+    */
+    public boolean isBlockAtBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        int blockMinX = (int)Math.floor(minX / TILE_SIZE);
+        int blockMinZ = (int)Math.floor(minZ / TILE_SIZE);
+        int blockMaxX = (int)Math.floor(maxX / TILE_SIZE);
+        int blockMaxZ = (int)Math.floor(maxZ / TILE_SIZE);
+        int blockMinY = (int) Math.floor(minY / TILE_SIZE);
+        int blockMaxY = (int) Math.floor(maxY / TILE_SIZE);
         // Returns true if any of the blocks in the block at the given coordinates.
         // Returns true if the block is at the specified coordinates.
         for(int z = blockMinZ; z <= blockMaxZ; ++z) {
@@ -310,12 +373,8 @@ public class Level extends Component {
     * @param group - The name of the group to add the object to
     */
     public void addObjectToGroup(GameObject object, String group) {
-        // Adds a group to the list of object groups.
-        // Adds a group to the list of object groups.
-        if(!objectGroups.containsKey(group)) {
-            objectGroups.put(group, new ArrayList<>());
-        }
-        objectGroups.get(group).add(object);
+        // Creates the group on first use in one atomic step, like #getObjectsByGroup ( String ).
+        objectGroups.computeIfAbsent(group, k -> new ArrayList<>()).add(object);
     }
 
     /**
@@ -340,12 +399,8 @@ public class Level extends Component {
     * @return An array of GameObjects in the specified group or null if there are none in that group or if the group does not exist
     */
     public List<GameObject> getObjectsByGroup(String group) {
-        // Adds a group to the list of object groups.
-        // Adds a group to the list of object groups.
-        if(!objectGroups.containsKey(group)) {
-            objectGroups.put(group, new ArrayList<>());
-        }
-        return objectGroups.get(group);
+        // Adds a group to the list of object groups. Controllers look up groups from worker threads so this must be atomic.
+        return objectGroups.computeIfAbsent(group, k -> new ArrayList<>());
     }
 
     /**
@@ -364,7 +419,10 @@ public class Level extends Component {
         //bgMusic.play();
     }
 
-    private void buildGraph() {
+    /**
+    * Builds the path finding graph from the grid. Tiles at the border of a platform become vertices, neighbouring tiles of the same height are connected and all vertices on a platform are connected with each other.
+    */
+    void buildGraph() {
         List<Vertex> vertices = new ArrayList<>();
         List<Edge> edges = new ArrayList<>();
 
@@ -622,7 +680,9 @@ public class Level extends Component {
             Sprite sprite = AssetPool.getSpritesheet("untitled-game/spritesheets/tileset.png").getSprite(37);
             sprite.setWidth(1);
             sprite.setHeight(1);
-            go.addComponent("Renderer", new SpriteRenderer(sprite, -1));
+            SpriteRenderer renderer = new SpriteRenderer(sprite, -1);
+            renderer.setStaticSprite(true);
+            go.addComponent("Renderer", renderer);
             go.addComponent("Bilboard", new Billboard());
             scene.add(go);
         }
@@ -631,6 +691,7 @@ public class Level extends Component {
         fog.fogNear = levelMap.getFogNear();
         fog.fogFar = levelMap.getFogFar();
         fog.fogColor = levelMap.getFogColor();
+        scene.getLod().setFarDistance(fog.fogFar);
 
         GameObject ambientLightGameObject = new GameObject(scene);
         AmbientLight ambientLight = new AmbientLight(levelMap.getAmbeintColor());
@@ -645,9 +706,10 @@ public class Level extends Component {
     private void createDoors() {
         Scene scene = getGameObject().getScene();
         List<Door> doors = levelMap.getDoors();
+        Cube doorCube = new Cube(AssetPool.getTexture("untitled-game/images/door.png").getTexId());
         for (Door door : doors) {
             GameObject doorGameObject = new GameObject(scene);
-            MeshRenderer renderer = new MeshRenderer(new Cube(AssetPool.getTexture("untitled-game/images/door.png").getTexId()));
+            MeshRenderer renderer = new MeshRenderer(doorCube);
             renderer.offset.x = 0.5;
             renderer.offset.y = -0.25;
             doorGameObject.addComponent("Renderer", renderer);
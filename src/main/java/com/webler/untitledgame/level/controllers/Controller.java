@@ -2,6 +2,7 @@ package com.webler.untitledgame.level.controllers;
 
 import com.webler.goliath.colliders.BoxCollider3D;
 import com.webler.goliath.core.Component;
+import com.webler.goliath.core.ComponentRef;
 import com.webler.goliath.core.GameObject;
 import com.webler.untitledgame.level.Level;
 import com.webler.untitledgame.level.controllers.entity.PlayerController;
@@ -10,6 +11,7 @@ import org.joml.Vector2d;
 import org.joml.Vector3d;
 
 public abstract class Controller extends Component {
+    protected static final ComponentRef<PlayerController> PLAYER_CONTROLLER = ComponentRef.of(PlayerController.class, "Controller");
     public double yaw;
     public double pitch;
     protected Level level;
@@ -42,7 +44,7 @@ public abstract class Controller extends Component {
         GameObject player = level.getPlayer();
 
         Vector3d playerDirection = new Vector3d(1, 0, 0);
-        playerDirection.rotateY(player.getComponent(PlayerController.class, "Controller").yaw);
+        playerDirection.rotateY(PLAYER_CONTROLLER.get(player).yaw);
         playerDirection.normalize();
 
         Vector3d center = getCenter();
@@ -72,7 +74,7 @@ public abstract class Controller extends Component {
         GameObject player = level.getPlayer();
         // Returns true if the player is currently focused.
         if(player != null) {
-            PlayerController playerController = player.getComponent(PlayerController.class, "Controller");
+            PlayerController playerController = PLAYER_CONTROLLER.get(player);
             return playerController.getFocusedObject() == gameObject;
         }
         return false;
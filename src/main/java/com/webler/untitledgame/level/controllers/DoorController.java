@@ -112,7 +112,7 @@ public class DoorController extends Controller {
         // Called when the game is opened.
         if(state == State.OPENED) {
             collider.setSize(new Vector3d(0, 0, 0));
-            EventManager.dispatchEvent(new DoorOpenedEvent(gameObject));
+            EventManager.queueEvent(new DoorOpenedEvent(gameObject), true);
         } else {
             collider.setSize(new Vector3d(4, 12, 4));
         }
@@ -1,26 +1,25 @@
 package com.webler.untitledgame.level.controllers;
 
 import com.webler.goliath.core.Component;
-import com.webler.goliath.eventsystem.listeners.EventHandler;
 import com.webler.goliath.graphics.light.SpotLight;
-import com.webler.goliath.time.TimeoutEvent;
-import com.webler.goliath.time.Timer;
+import com.webler.goliath.time.TimerHandle;
 
 public class ExplosionLightController extends Component {
-    private final Timer timer;
+    private static final double DURATION = 0.125;
     private final SpotLight light;
+    private TimerHandle timer;
 
-    public ExplosionLightController(Timer timer, SpotLight light) {
-        this.timer = timer;
+    public ExplosionLightController(SpotLight light) {
         this.light = light;
+        timer = null;
     }
 
     /**
-    * Starts the timer. This is called by the start method of the PlaybackService and should not be called by user
+    * Schedules the removal of the light. The timer belongs to the game object, so a pooled light that is added again gets a new one.
     */
     @Override
     public void start() {
-        timer.startTimer(0.125);
+        timer = gameObject.getScene().getTimers().schedule(gameObject, DURATION, gameObject::remove);
     }
 
     /**
@@ -30,29 +29,18 @@ public class ExplosionLightController extends Component {
     */
     @Override
     public void update(double dt) {
-        light.setRadiusMin(1 * timer.getRemainingTime() / timer.getWaitTime());
-        light.setRadiusMax(8 * timer.getRemainingTime() / timer.getWaitTime());
+        light.setRadiusMin(1 * timer.getRemainingTime() / DURATION);
+        light.setRadiusMax(8 * timer.getRemainingTime() / DURATION);
     }
 
     /**
-    * Called when the component is no longer needed. This is the place to do any cleanup that needs to be done
+    * Cancels the timer in case the light was removed before it ran out.
     */
     @Override
     public void destroy() {
-
-    }
-
-    /**
-    * Called when the timeout occurs. This is a no - op to prevent an attacker from trying to play the game in the middle of a timeout.
-    * 
-    * @param event - The event that triggered the timeout. Must not be null
-    */
-    @EventHandler
-    @SuppressWarnings("unused")
-    public void onTimeout(TimeoutEvent event) {
-        // Remove the game object from the game object.
-        if(event.getGameObject() == gameObject) {
-            gameObject.remove();
+        // The timer is only scheduled once the light started.
+        if(timer != null) {
+            timer.cancel();
         }
     }
 }
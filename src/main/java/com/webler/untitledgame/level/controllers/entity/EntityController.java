@@ -2,9 +2,11 @@ package com.webler.untitledgame.level.controllers.entity;
 
 import com.webler.goliath.algorithm.Vertex;
 import com.webler.goliath.colliders.BoxCollider3D;
+import com.webler.goliath.core.ComponentRef;
 import com.webler.goliath.core.GameObject;
 import com.webler.goliath.graphics.Color;
 import com.webler.goliath.graphics.DebugDraw;
+import com.webler.goliath.jobs.JobSystem;
 import com.webler.untitledgame.level.Level;
 import com.webler.untitledgame.level.ai.PathFinder;
 import com.webler.untitledgame.level.controllers.CollisionInfo;
@@ -13,9 +15,14 @@ import org.joml.Vector2d;
 import org.joml.Vector3d;
 import org.joml.Vector3i;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public abstract class EntityController extends Controller {
+    private static final double SLEEP_DELAY = 0.5;
+    private static final double SLEEP_VELOCITY = 0.01;
+    private static final ComponentRef<BoxCollider3D> COLLIDER = ComponentRef.of(BoxCollider3D.class, "Collider");
+    private static final ComponentRef<Controller> CONTROLLER = ComponentRef.of(Controller.class, "Controller");
     protected Vector3d velocity;
     protected Vector3d acceleration;
     protected double friction;
@@ -30,6 +37,10 @@ public abstract class EntityController extends Controller {
     private final Vector3d followTargetPos;
     protected double followTargetDistance;
     protected boolean keepOffLedges;
+    protected boolean canSleep;
+    private boolean sleeping;
+    private double restingTime;
+    private final List<GameObject> deferredCollisions;
 
     public EntityController(Level level, BoxCollider3D collider, String[] collisionGroups, PathFinder pathFinder, int hp, double speed) {
         super(level, collider);
@@ -48,6 +59,56 @@ public abstract class EntityController extends Controller {
         followTargetPos = new Vector3d();
         followTargetDistance = 8;
         keepOffLedges = false;
+        canSleep = false;
+        sleeping = false;
+        restingTime = 0;
+        deferredCollisions = new ArrayList<>();
+    }
+
+    /**
+    * Clears the motion and restores the health of a pooled entity.
+    */
+    @Override
+    public void reset() {
+        velocity.zero();
+        acceleration.zero();
+        onGround = false;
+        hp = maxHp;
+        currentPathIdx = 0;
+        sleeping = false;
+        restingTime = 0;
+        deferredCollisions.clear();
+    }
+
+    /**
+    * Delivers the collisions with entities that were found while the physics ran on a worker thread. Subclasses that override this have to call it.
+    * 
+    * @param dt - Time since last frame in seconds
+    */
+    @Override
+    public void lateUpdate(double dt) {
+        for (int i = 0; i < deferredCollisions.size(); ++i) {
+            dispatchCollision(deferredCollisions.get(i));
+        }
+        deferredCollisions.clear();
+    }
+
+    /**
+    * Wakes the body up if it is sleeping. Both entities of a collision are woken up when it is delivered, anything that moves a resting body or the ground under it from outside its physics, like a teleport, has to call it as well, since a sleeping body only wakes up by itself when its own velocity or acceleration changes.
+    */
+    public void wake() {
+        sleeping = false;
+        restingTime = 0;
+    }
+
+    /**
+    * Returns true if the body rests on the ground and its physics is skipped.
+    * 
+    * 
+    * @return true if the body is sleeping
+    */
+    public boolean isSleeping() {
+        return sleeping;
     }
 
     /**
@@ -134,6 +195,14 @@ public abstract class EntityController extends Controller {
     */
     protected void updatePhysics(double dt) {
 
+        // Wakes a sleeping body up if something gave it acceleration or velocity, otherwise skips the physics.
+        if(sleeping) {
+            if(acceleration.x == 0 && acceleration.z == 0 && velocity.lengthSquared() == 0) {
+                return;
+            }
+            wake();
+        }
+
         acceleration.y = -gravity;
 
         double frameFriction = friction * dt;
@@ -193,6 +262,28 @@ public abstract class EntityController extends Controller {
         if(level.isDebug()) {
             DebugDraw.get().addBox(collider.getCenter(), collider.getSize(), Color.RED);
         }
+
+        updateSleep(dt);
+    }
+
+    /**
+    * Puts the body to sleep after it rested on the ground without being pushed for a while. Only bodies that can sleep are affected.
+    * 
+    * @param dt - The amount of time in seconds since the last
+    */
+    private void updateSleep(double dt) {
+        // Counts the time the body is resting.
+        if(canSleep && onGround && acceleration.x == 0 && acceleration.z == 0 &&
+                velocity.lengthSquared() < SLEEP_VELOCITY * SLEEP_VELOCITY) {
+            restingTime += dt;
+            // Stops the body so the wake up check sees no velocity.
+            if(restingTime >= SLEEP_DELAY) {
+                velocity.zero();
+                sleeping = true;
+            }
+        } else {
+            restingTime = 0;
+        }
     }
 
     /**
@@ -211,22 +302,22 @@ public abstract class EntityController extends Controller {
                 // Returns true if the collision group is fixed or fixed.
                 if (collisionGroup.equals("fixed")) {
                     for (GameObject doorObject : objects) {
-                        BoxCollider3D otherCollider = doorObject.getComponent(BoxCollider3D.class, "Collider");
+                        BoxCollider3D otherCollider = COLLIDER.get(doorObject);
                         // Returns true if this entity collides with another entity.
                         if (collider.collidesWith(otherCollider)) {
-                            didCollidesWithEntity(doorObject);
+                            collidedWithEntity(doorObject);
                             return true;
                         }
                     }
                 } else {
                     Vector2d positionXY = new Vector2d(gameObject.transform.position.x, gameObject.transform.position.z);
                     for (GameObject checkedObject : objects) {
-                        BoxCollider3D otherCollider = checkedObject.getComponent(BoxCollider3D.class, "Collider");
+                        BoxCollider3D otherCollider = COLLIDER.get(checkedObject);
                         Vector2d otherPositionXY = new Vector2d(checkedObject.transform.position.x, checkedObject.transform.position.z);
                         // Check if the collision is within the collision s size.
                         if (positionXY.distance(otherPositionXY) < (collider.getSize().x + otherCollider.getSize().x) * 0.5 &&
                                 Math.abs(gameObject.transform.position.y - checkedObject.transform.position.y) < (collider.getSize().y + otherCollider.getSize().y) * 0.5) {
-                            didCollidesWithEntity(checkedObject);
+                            collidedWithEntity(checkedObject);
                             return true;
                         }
                     }
@@ -253,6 +344,34 @@ public abstract class EntityController extends Controller {
         return collidesWithBlock;
     }
 
+    /**
+    * Calls #didCollidesWithEntity ( GameObject ) or, in the parallel update phase, defers the call to #lateUpdate ( double ) on the main thread, so subclasses never react to a collision on a worker thread.
+    * 
+    * @param entity - The entity this entity collided with
+    */
+    private void collidedWithEntity(GameObject entity) {
+        // Worker threads may only write the state of this entity.
+        if(JobSystem.get().isParallelPhase()) {
+            deferredCollisions.add(entity);
+        } else {
+            dispatchCollision(entity);
+        }
+    }
+
+    /**
+    * Wakes up both entities of a collision and calls #didCollidesWithEntity ( GameObject ). Runs on the main thread since it writes the other entity.
+    * 
+    * @param entity - The entity this entity collided with
+    */
+    private void dispatchCollision(GameObject entity) {
+        wake();
+        // Wakes the other body if it is an entity, doors and other controllers do not sleep.
+        if(CONTROLLER.find(entity) instanceof EntityController other) {
+            other.wake();
+        }
+        didCollidesWithEntity(entity);
+    }
+
     /**
     * Raycast from a position to a direction until it hits maxDist. This is useful for determining where to start a ray from
     * 
@@ -295,7 +414,7 @@ public abstract class EntityController extends Controller {
                 // Returns true if the collision group is fixed or fixed.
                 if (collisionGroup.equals("fixed")) {
                     for (GameObject doorObject : objects) {
-                        BoxCollider3D otherCollider = doorObject.getComponent(BoxCollider3D.class, "Collider");
+                        BoxCollider3D otherCollider = COLLIDER.get(doorObject);
                         // Check if the point is in the other collider.
                         if (otherCollider.contains(point)) {
                             collidingGameObject[0] = doorObject;
@@ -305,7 +424,7 @@ public abstract class EntityController extends Controller {
                 } else {
                     Vector2d positionXY = new Vector2d(point.x, point.z);
                     for (GameObject checkedObject : objects) {
-                        BoxCollider3D otherCollider = checkedObject.getComponent(BoxCollider3D.class, "Collider");
+                        BoxCollider3D otherCollider = COLLIDER.get(checkedObject);
                         Vector2d otherPositionXY = new Vector2d(checkedObject.transform.position.x, checkedObject.transform.position.z);
                         // Check if the positionXY distance between the otherCollider and the otherCollider is within the size of the transform.
                         if (positionXY.distance(otherPositionXY) < (otherCollider.getSize().x) * 0.5 &&
@@ -329,7 +448,7 @@ public abstract class EntityController extends Controller {
     protected void didCollides(Vector3d axis) {}
 
     /**
-    * Called when an entity collides with this entity. Subclasses may override this to provide behavior. By default this does nothing.
+    * Called when an entity collides with this entity. Subclasses may override this to provide behavior. By default this does nothing. Always called on the main thread, for entities whose physics runs in the parallel update it is called from #lateUpdate ( double ).
     * 
     * @param entity - GameObject whose collision has occurred. This is passed to the Collider
     */
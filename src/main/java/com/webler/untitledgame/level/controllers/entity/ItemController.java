@@ -14,14 +14,16 @@ public class ItemController extends EntityController {
     public ItemController(Level level, String itemName, BoxCollider3D boxCollider3D) {
         super(level, boxCollider3D, new String[]{}, null, 0, 0);
         this.itemName = itemName;
+        canSleep = true;
     }
 
     /**
-    * Called when the player starts. This is where we add the GameObject to the level's group
+    * Called when the player starts. This is where we add the GameObject to the level's group and register it for the simulation LOD
     */
     @Override
     public void start() {
         level.addObjectToGroup(gameObject, "focusable");
+        gameObject.getScene().getLod().register(gameObject);
     }
 
     /**
@@ -1,30 +1,53 @@
 package com.webler.untitledgame.level.controllers.entity;
 
 import com.webler.goliath.colliders.BoxCollider3D;
-import com.webler.untitledgame.level.Level;
+import com.webler.goliath.core.ecs.ColumnType;
+import com.webler.goliath.core.ecs.EntityLink;
+import com.webler.untitledgame.level.systems.ParticlePhysicsSystem;
 import org.joml.Vector3d;
 
-public class ParticleController extends EntityController {
+public class ParticleController extends EntityLink {
+    private final BoxCollider3D collider;
+    private final Vector3d velocity;
+    private final double friction;
+    private final double bounciness;
     private double lifetime;
 
-    public ParticleController(Level level, BoxCollider3D collider, double speed, double lifetime, Vector3d direction) {
-        super(level, collider, new String[]{ "fixed" }, null, 0, speed);
+    public ParticleController(BoxCollider3D collider, double speed, double lifetime, Vector3d direction) {
+        super(ColumnType.POSITION, ColumnType.VELOCITY, ColumnType.ACCELERATION, ColumnType.SIZE, ParticlePhysicsSystem.PHYSICS);
+        this.collider = collider;
         this.lifetime = lifetime;
-        velocity.set(new Vector3d(direction).mul(speed));
+        velocity = new Vector3d(direction).mul(speed);
         bounciness = 0.5;
         friction = 5;
     }
 
     /**
-    * Called when the server is started. This is where we start the web server and the server's state is maintained
+    * Creates the entity of the particle and fills its velocity, collider size and physics columns. The physics is done by ParticlePhysicsSystem.
     */
     @Override
     public void start() {
+        super.start();
+        Vector3d size = collider.getSize();
+        world.set(entity, ColumnType.VELOCITY, velocity.x, velocity.y, velocity.z);
+        world.set(entity, ColumnType.SIZE, size.x, size.y, size.z);
+        world.set(entity, ParticlePhysicsSystem.PHYSICS, friction, 40, bounciness);
+    }
 
+    /**
+    * Sets the velocity and lifetime of the particle. Called before a pooled particle is added to the scene.
+    * 
+    * @param speed - The speed of the particle
+    * @param lifetime - The time in seconds until the particle is removed
+    * @param direction - The normalized direction of the particle
+    */
+    public void launch(double speed, double lifetime, Vector3d direction) {
+        this.lifetime = lifetime;
+        velocity.set(direction).mul(speed);
     }
 
     /**
-    * Updates the physics state. This is called every frame to update the physics state. If the lifetime is less than zero the object is removed from the game.
+    * Copies the simulated position into the transform. If the lifetime is less than zero the object is removed from the game.
     * 
     * @param dt - Time since the last update in seconds ( ignored
     */
@@ -36,25 +59,6 @@ public class ParticleController extends EntityController {
             gameObject.remove();
         }
 
-        updatePhysics(dt);
-    }
-
-    /**
-    * Called when the component is no longer needed. This is the place to do any cleanup that needs to be done
-    */
-    @Override
-    public void destroy() {
-
-    }
-
-    /**
-    * Returns the name of this entity. This is used to identify the entity in error messages. If the entity does not have a name an empty string is returned.
-    * 
-    * 
-    * @return the name of this entity or an empty string if there is no name in the entity's name
-    */
-    @Override
-    public String getName() {
-        return "";
+        super.update(dt);
     }
 }
@@ -1,6 +1,7 @@
 package com.webler.untitledgame.level.controllers.entity;
 
 import com.webler.goliath.colliders.BoxCollider3D;
+import com.webler.goliath.core.ComponentRef;
 import com.webler.goliath.core.GameObject;
 import com.webler.goliath.core.Scene;
 import com.webler.goliath.dialogs.DialogOption;
@@ -30,8 +31,6 @@ import com.webler.untitledgame.level.events.DoorOpenedEvent;
 import com.webler.untitledgame.level.events.ItemSelectedEvent;
 import com.webler.untitledgame.level.inventory.Inventory;
 import com.webler.untitledgame.level.prefabs.GunPrefab;
-import lombok.Getter;
-import lombok.Setter;
 import org.joml.Vector3d;
 
 import java.util.List;
@@ -39,16 +38,14 @@ import java.util.List;
 import static org.lwjgl.glfw.GLFW.*;
 
 public class PlayerController extends EntityController {
+    private static final ComponentRef<Controller> CONTROLLER = ComponentRef.of(Controller.class, "Controller");
     private final Vector3d cameraOffset;
     private final Camera camera;
     private boolean canJump;
-    @Getter
-    private GameObject focusedObject;
+    private int focusedObjectHandle;
     private State state;
     private final Inventory inventory;
-    @Setter
-    @Getter
-    private GameObject companion;
+    private int companionHandle;
     private GameObject gun;
     private boolean shouldStopInteraction;
     private final double jumpSpeed;
@@ -64,9 +61,9 @@ public class PlayerController extends EntityController {
         this.inventory = inventory;
         bounciness = 0;
         canJump = true;
-        focusedObject = null;
+        focusedObjectHandle = Scene.NULL_HANDLE;
         state = State.PLAYING;
-        companion = null;
+        companionHandle = Scene.NULL_HANDLE;
         gun = null;
         shouldStopInteraction = false;
         jumpSpeed = 20;
@@ -119,6 +116,7 @@ public class PlayerController extends EntityController {
         // Create a gun prefab and add it to the scene.
         if(!isSame) {
             gun = new GunPrefab(level, itemName).create(scene);
+            gun.transform.setParent(gameObject.transform);
             scene.add(gun);
             lastGun = itemName;
         } else {
@@ -251,7 +249,7 @@ public class PlayerController extends EntityController {
     @SuppressWarnings("unused")
     public void onDoorOpened(DoorOpenedEvent event) {
         // Stop the interaction if the door is focused.
-        if(event.getDoor() == focusedObject) {
+        if(event.getDoor() == getFocusedObject()) {
             stopInteraction();
         }
     }
@@ -302,9 +300,9 @@ public class PlayerController extends EntityController {
         if(forceWithoutObject) {
             state = State.INTERACTING;
         // Stops the interaction if the focused object is currently focused.
-        } else if(focusedObject != null) {
+        } else if(getFocusedObject() != null) {
             state = State.INTERACTING;
-            Controller controller = focusedObject.getComponent(Controller.class, "Controller");
+            Controller controller = CONTROLLER.get(getFocusedObject());
             // Stop the interaction if the controller is interacting.
             if(!controller.interact()) {
                 stopInteraction();
@@ -410,9 +408,10 @@ public class PlayerController extends EntityController {
         updateCamera(dt);
 
         updateFocusedObject();
+        GameObject focusedObject = getFocusedObject();
         // This method is called when the focused object is focused.
         if(focusedObject != null) {
-            Controller focusedObjectController = focusedObject.getComponent(Controller.class, "Controller");
+            Controller focusedObjectController = CONTROLLER.get(focusedObject);
 
             Canvas canvas = gameObject.getGame().getCanvas();
             canvas.setColor(Color.WHITE);
@@ -439,9 +438,10 @@ public class PlayerController extends EntityController {
         acceleration.x = 0;
         acceleration.z = 0;
 
+        GameObject focusedObject = getFocusedObject();
         // Updates camera position and direction of the camera.
         if(focusedObject != null && gameObject != focusedObject) {
-            Vector3d focusPosition = focusedObject.getComponent(Controller.class, "Controller").getFocusPosition();
+            Vector3d focusPosition = CONTROLLER.get(focusedObject).getFocusPosition();
 
             camera.getGameObject().transform.position.set(new Vector3d(gameObject.transform.position).add(cameraOffset));
 
@@ -504,8 +504,8 @@ public class PlayerController extends EntityController {
             direction.rotateX(pitch);
             direction.rotateY(yaw + Math.PI / 2);
 
-            gun.transform.position.set(gameObject.transform.position);
-            gun.transform.position.add(new Vector3d(0, 0.5, 1).rotateY(yaw));
+            // The gun is a child of the player so only its offset from the player is set.
+            gun.transform.position.set(0, 0.5, 1).rotateY(yaw);
 
             CollisionInfo rayCollisionInfo = raycast(camera.getGameObject().transform.position, direction, 100, 1, new String[] { "fixed", "npc", "enemy" });
 
@@ -537,7 +537,7 @@ public class PlayerController extends EntityController {
     */
     private void updateFocusedObject() {
         if(gun != null) {
-            focusedObject = gunTarget;
+            setFocusedObject(gunTarget);
             return;
         }
 
@@ -546,7 +546,7 @@ public class PlayerController extends EntityController {
         double currentDistance = 0;
 
         for(GameObject object : focusableObjects) {
-            Controller controller = object.getComponent(Controller.class, "Controller");
+            Controller controller = CONTROLLER.get(object);
             double distance = controller.getCenter().distance(camera.getGameObject().transform.position);
             // Sets the current distance to the new object.
             if(controller.isInFrontOfPlayer() && (newFocusedObject == null || distance < currentDistance)) {
@@ -554,7 +554,45 @@ public class PlayerController extends EntityController {
                 currentDistance = distance;
             }
         }
-        focusedObject = newFocusedObject;
+        setFocusedObject(newFocusedObject);
+    }
+
+    /**
+    * Returns the object the player is focusing. The object is held by its scene handle so a removed object is never returned.
+    * 
+    * 
+    * @return The focused object or null if there is none or it was removed from the scene
+    */
+    public GameObject getFocusedObject() {
+        return gameObject.getScene().resolve(focusedObjectHandle);
+    }
+
+    /**
+    * Sets the object the player is focusing.
+    * 
+    * @param focusedObject - The focused object or null
+    */
+    private void setFocusedObject(GameObject focusedObject) {
+        focusedObjectHandle = focusedObject == null ? Scene.NULL_HANDLE : focusedObject.getHandle();
+    }
+
+    /**
+    * Returns the companion of the player. The companion is held by its scene handle so a removed companion is never returned.
+    * 
+    * 
+    * @return The companion or null if there is none or it was removed from the scene
+    */
+    public GameObject getCompanion() {
+        return gameObject.getScene().resolve(companionHandle);
+    }
+
+    /**
+    * Sets the companion of the player.
+    * 
+    * @param companion - The companion or null
+    */
+    public void setCompanion(GameObject companion) {
+        companionHandle = companion == null ? Scene.NULL_HANDLE : companion.getHandle();
     }
 
     private enum State {
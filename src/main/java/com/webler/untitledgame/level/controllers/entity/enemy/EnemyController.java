@@ -18,16 +18,37 @@ public class EnemyController extends EntityController {
     public void start() {
         level.addObjectToGroup(gameObject, "enemy");
         level.addObjectToGroup(gameObject, "focusable");
+        gameObject.getScene().getLod().register(gameObject);
     }
 
     /**
-    * Updates physics based on time. This is called every frame to ensure that we don't accidentally miss any collisions
+    * Updates friction based on whether the enemy is on ground. The physics runs later in #updateParallel ( double ).
     * 
     * @param dt - Time since last frame
     */
     @Override
     public void update(double dt) {
         friction = onGround ? 10 : 2.5;
+    }
+
+    /**
+    * Enemies only collide with the level, doors and the player so their physics may run on worker threads. Collisions with entities are delivered in #lateUpdate ( double ).
+    * 
+    * 
+    * @return true
+    */
+    @Override
+    public boolean isParallelSafe() {
+        return true;
+    }
+
+    /**
+    * Updates physics based on time. This is called every frame to ensure that we don't accidentally miss any collisions
+    * 
+    * @param dt - Time since last frame
+    */
+    @Override
+    public void updateParallel(double dt) {
         updatePhysics(dt);
     }
 
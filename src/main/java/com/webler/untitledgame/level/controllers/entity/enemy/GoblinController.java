@@ -2,25 +2,28 @@ package com.webler.untitledgame.level.controllers.entity.enemy;
 
 import com.webler.goliath.animation.components.Animator;
 import com.webler.goliath.colliders.BoxCollider3D;
+import com.webler.goliath.core.ComponentRef;
 import com.webler.goliath.utils.AssetPool;
 import com.webler.untitledgame.level.Level;
 import com.webler.untitledgame.level.ai.PathFinder;
 
 public class GoblinController extends EnemyController {
+    private static final ComponentRef<Animator> ANIMATOR = ComponentRef.of(Animator.class, "Animator");
+
     public GoblinController(Level level, BoxCollider3D collider, PathFinder pathFinder) {
         super(level, collider, pathFinder, 100);
     }
 
     /**
-    * Updates the knight. Called every frame. Overridden to play animations based on acceleration. This is used for moving the knight to an opportunity to stop it if it is on ground.
+    * Plays animations based on acceleration and ground contact. Runs after the physics of the step so the animation sees where the physics left the goblin.
     * 
     * @param dt - Time since the last update in seconds ( ignored
     */
     @Override
-    public void update(double dt) {
-        super.update(dt);
+    public void lateUpdate(double dt) {
+        super.lateUpdate(dt);
 
-        Animator animator = getComponent(Animator.class, "Animator");
+        Animator animator = gameObject.getComponent(ANIMATOR);
         // If the acceleration is negative or not onGround then play the game animation.
         if(Math.abs(acceleration.x) + Math.abs(acceleration.z) == 0 || !onGround) {
             animator.playAnimIfNotPlaying(AssetPool.getAnimation("untitled-game/animations/knight__idle"), true);
@@ -9,6 +9,7 @@ import com.webler.goliath.dialogs.nodes.DialogTextNode;
 import com.webler.goliath.eventsystem.listeners.EventHandler;
 import com.webler.goliath.graphics.Color;
 import com.webler.goliath.graphics.components.SpriteRenderer;
+import com.webler.goliath.time.TimerHandle;
 import com.webler.goliath.utils.AssetPool;
 import com.webler.untitledgame.level.Level;
 import com.webler.untitledgame.level.ai.PathFinder;
@@ -17,15 +18,14 @@ import com.webler.untitledgame.level.widgets.HPBar;
 import com.webler.untitledgame.level.inventory.Inventory;
 
 public class KnightController extends NpcController {
+    private static final double PATH_REFRESH_DELAY = 0.5;
     private State state;
-    private double counter;
-    private final double delay;
+    private TimerHandle pathTimer;
     private int dialogIdx;
 
     public KnightController(Level level, BoxCollider3D collider, DialogComponent dialogComponent, PathFinder pathFinder) {
         super(level, collider, dialogComponent, pathFinder, 90);
-        counter = 0;
-        delay = 0.5;
+        pathTimer = null;
         state = State.IDLE;
         dialogIdx = 0;
     }
@@ -39,7 +39,7 @@ public class KnightController extends NpcController {
     }
 
     /**
-    * Updates physics friction and state. Called every frame. This is the method that should be called by the GameObject.
+    * Updates friction and state. Called every frame. This is the method that should be called by the GameObject. The physics runs later in #updateParallel ( double ) and the animation in #lateUpdate ( double ).
     * 
     * @param dt - Time since last frame in seconds ( ignored if onGround
     */
@@ -59,7 +59,16 @@ public class KnightController extends NpcController {
         }
 
         friction = onGround ? 10 : 2.5;
-        updatePhysics(dt);
+    }
+
+    /**
+    * Plays animations based on acceleration and ground contact and shades the knight if it is not focused. Runs after the physics of the step.
+    * 
+    * @param dt - Time since last frame in seconds
+    */
+    @Override
+    public void lateUpdate(double dt) {
+        super.lateUpdate(dt);
 
         Animator animator = getComponent(Animator.class, "Animator");
         // If the acceleration is negative or not onGround then play the game animation.
@@ -73,6 +82,36 @@ public class KnightController extends NpcController {
         renderer.setColor(isFocused() ? new Color(1.00, 1.00, 1.00) : new Color(0.5, 0.5, 0.5));
     }
 
+    /**
+    * Stops refreshing the path to the player.
+    */
+    @Override
+    public void destroy() {
+        super.destroy();
+        stopPathRefresh();
+    }
+
+    /**
+    * Knights only collide with the level and doors so their physics may run on worker threads. Collisions with entities are delivered in #lateUpdate ( double ).
+    * 
+    * 
+    * @return true
+    */
+    @Override
+    public boolean isParallelSafe() {
+        return true;
+    }
+
+    /**
+    * Updates physics of the knight. Runs on a worker thread after #update ( double ) has set the acceleration.
+    * 
+    * @param dt - Time since last frame in seconds
+    */
+    @Override
+    public void updateParallel(double dt) {
+        updatePhysics(dt);
+    }
+
     /**
     * Initializes options and dialogs. Called by init () when the dialog is created or re - created in order to set the options
     */
@@ -109,12 +148,9 @@ public class KnightController extends NpcController {
     * 
     * @param event - The event that triggered this method call. Must contain gameObject
     */
-    @EventHandler
+    @EventHandler(own = true)
     @SuppressWarnings("unused")
     public void onDialogNext(DialogNextEvent event) {
-        // This method is called when the event is triggered by the game object.
-        if(event.getGameObject() != gameObject) return;
-
         // This method is called when the user clicks on the follow button.
         switch (event.getDialogName()) {
             case "npc__stop_follow":
@@ -138,27 +174,38 @@ public class KnightController extends NpcController {
     * @param dt - The time since the last update in seconds ( ignored
     */
     private void updateIdle(double dt) {
+        stopPathRefresh();
         acceleration.x = 0;
         acceleration.z = 0;
     }
 
     /**
-    * Updates the follow path. This is called every frame to find the next path if it's time to follow
+    * Follows the path to the player. The path is found again by a repeating timer of the scene, which is started when the knight starts following.
     * 
     * @param dt - time since last update in
     */
     private void updateFollowing(double dt) {
-        counter += dt;
-
-        // Move the path to the next position.
-        if(counter >= delay) {
-            findPath(level.getPlayer().transform.position);
-            counter = 0;
+        // Starts refreshing the path when the knight starts following.
+        if(pathTimer == null) {
+            pathTimer = gameObject.getScene().getTimers().scheduleRepeating(gameObject, PATH_REFRESH_DELAY,
+                    () -> findPath(level.getPlayer().transform.position));
         }
 
         followPath();
     }
 
+    /**
+    * Cancels the timer that refreshes the path to the player.
+    */
+    private void stopPathRefresh() {
+        // Returns if the knight is not following.
+        if(pathTimer == null) {
+            return;
+        }
+        pathTimer.cancel();
+        pathTimer = null;
+    }
+
     /**
     * Checks if the player is companion. This is used to prevent gameplay of player that are not played in game.
     * 
@@ -54,6 +54,7 @@ public abstract class NpcController extends EntityController {
     public void start() {
         level.addObjectToGroup(gameObject, "npc");
         level.addObjectToGroup(gameObject, "focusable");
+        gameObject.getScene().getLod().register(gameObject);
     }
 
     /**
@@ -53,12 +53,9 @@ public class VendingMachineController extends NpcController {
     * 
     * @param event - The event that triggered
     */
-    @EventHandler
+    @EventHandler(own = true)
     @SuppressWarnings("unused")
     public void onDialogNext(DialogNextEvent event) {
-        // This method is called when the event is triggered by the game object.
-        if(event.getGameObject() != gameObject) return;
-
         PlayerController playerController = level.getPlayer().getComponent(PlayerController.class, "Controller");
 
         for(LevelItem item : sellingItems) {
@@ -34,6 +34,16 @@ public class ProjectileController extends EntityController {
         updatePhysics(dt);
     }
 
+    /**
+    * Points the projectile in the direction given by the angles. Called before a pooled projectile is added to the scene.
+    * 
+    * @param yaw - The yaw of the direction in radians
+    * @param pitch - The pitch of the direction in radians
+    */
+    public void launch(double yaw, double pitch) {
+        direction.set(0, 0, 1).rotateX(pitch).rotateY(yaw + Math.PI / 2).normalize();
+    }
+
     /**
     * Called when the component is no longer needed. This is the place to do any cleanup that needs to be done
     */
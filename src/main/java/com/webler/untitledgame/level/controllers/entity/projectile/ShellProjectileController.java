@@ -1,19 +1,22 @@
 package com.webler.untitledgame.level.controllers.entity.projectile;
 
 import com.webler.goliath.colliders.BoxCollider3D;
+import com.webler.goliath.core.ComponentRef;
 import com.webler.goliath.core.GameObject;
 import com.webler.goliath.core.Scene;
 import com.webler.goliath.graphics.Color;
-import com.webler.goliath.graphics.Sprite;
 import com.webler.goliath.graphics.components.SpriteRenderer;
-import com.webler.goliath.utils.AssetPool;
+import com.webler.goliath.math.Rng;
 import com.webler.untitledgame.level.Level;
 import com.webler.untitledgame.level.controllers.Controller;
-import com.webler.untitledgame.level.prefabs.ExplosionLightPrefab;
-import com.webler.untitledgame.level.prefabs.ParticlePrefab;
+import com.webler.untitledgame.level.controllers.entity.ParticleController;
 import org.joml.Vector3d;
 
 public class ShellProjectileController extends ProjectileController {
+    private static final ComponentRef<ParticleController> PARTICLE_CONTROLLER = ComponentRef.of(ParticleController.class, "Controller");
+    private static final ComponentRef<SpriteRenderer> PARTICLE_RENDERER = ComponentRef.of(SpriteRenderer.class, "Renderer");
+    private static final Color HIT_PARTICLE_COLOR = new Color(0.3, 0.05, 0.15);
+    private static final Color PARTICLE_COLOR = new Color(0.5, 0.35, 0.25);
     public ShellProjectileController(Level level, BoxCollider3D collider, Vector3d direction) {
         super(level, collider, 150, direction, 2);
         gravity = 0;
@@ -53,27 +56,26 @@ public class ShellProjectileController extends ProjectileController {
         Vector3d pos = new Vector3d(gameObject.transform.position).sub(offset);
         Scene scene = gameObject.getScene();
 
-        // Creates a new explosion light prefab.
+        // Takes an explosion light from the pool.
         if(generateLight) {
-            GameObject explosionLight = new ExplosionLightPrefab().create(scene);
+            GameObject explosionLight = level.getExplosionLightPool().acquire();
             explosionLight.transform.position.set(pos);
             scene.add(explosionLight);
         }
 
-        // Creates a 2D Sprite prefab and adds it to the game objects.
+        Rng rng = Rng.get();
+        // Takes particles from the pool and adds them to the game objects.
         for(int i = 0; i < 2; ++i) {
-            Sprite particleSprite = new Sprite(AssetPool.getTexture("goliath/images/square.png"));
-            particleSprite.setWidth(1);
-            particleSprite.setHeight(1);
-            GameObject particle = new ParticlePrefab(level, 20, Math.random() * 0.4 + 0.4, particleSprite).create(scene);
+            GameObject particle = level.getParticlePool().acquire();
+            Vector3d direction = new Vector3d(rng.nextDouble() - 0.5, rng.nextDouble() - 0.5, rng.nextDouble() - 0.5).normalize();
+            PARTICLE_CONTROLLER.get(particle).launch(20, rng.nextDouble(0.4, 0.8), direction);
             particle.transform.position.set(pos);
+            particle.transform.scale.set(0.5);
             // Set the color of the SpriteRenderer.
             if(hit) {
-                particle.transform.scale.set(0.5);
-                particle.getComponent(SpriteRenderer.class, "Renderer").setColor(new Color(0.3, 0.05, 0.15));
+                PARTICLE_RENDERER.get(particle).setColor(HIT_PARTICLE_COLOR);
             } else {
-                particle.transform.scale.set(0.5);
-                particle.getComponent(SpriteRenderer.class, "Renderer").setColor(new Color(0.5, 0.35, 0.25));
+                PARTICLE_RENDERER.get(particle).setColor(PARTICLE_COLOR);
             }
             scene.add(particle);
         }
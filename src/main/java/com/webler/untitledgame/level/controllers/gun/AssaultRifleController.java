@@ -6,7 +6,6 @@ import com.webler.goliath.core.Scene;
 import com.webler.goliath.utils.AssetPool;
 import com.webler.untitledgame.level.Level;
 import com.webler.untitledgame.level.enums.Projectile;
-import com.webler.untitledgame.level.prefabs.ProjectilePrefab;
 import org.joml.Vector2d;
 
 public class AssaultRifleController extends GunController {
@@ -20,7 +19,8 @@ public class AssaultRifleController extends GunController {
     @Override
     protected void shoot() {
         Scene scene = getGameObject().getScene();
-        GameObject projectile = new ProjectilePrefab(level, getProjectileType(), yaw, pitch).create(scene);
+        GameObject projectile = level.getProjectilePool(getProjectileType()).acquire();
+        PROJECTILE_CONTROLLER.get(projectile).launch(yaw, pitch);
         projectile.transform.position.set(getProjectilePosition());
         scene.add(projectile);
         AudioManager.play(AssetPool.getSound("untitled-game/sounds/gun.ogg").getBufferId());
@@ -1,9 +1,12 @@
 package com.webler.untitledgame.level.controllers.gun;
 
+import com.webler.goliath.core.ComponentRef;
 import com.webler.goliath.graphics.components.SpriteRenderer;
 import com.webler.goliath.math.MathUtils;
+import com.webler.goliath.time.TimerHandle;
 import com.webler.untitledgame.level.Level;
 import com.webler.untitledgame.level.controllers.Controller;
+import com.webler.untitledgame.level.controllers.entity.projectile.ProjectileController;
 import com.webler.untitledgame.level.enums.Projectile;
 import lombok.Getter;
 import lombok.Setter;
@@ -11,10 +14,11 @@ import org.joml.Vector2d;
 import org.joml.Vector3d;
 
 public abstract class GunController extends Controller {
+    protected static final ComponentRef<ProjectileController> PROJECTILE_CONTROLLER = ComponentRef.of(ProjectileController.class, "Controller");
     @Getter
     private String itemName;
     private final double reloadTime;
-    private double reloadCounter;
+    private TimerHandle reloadTimer;
     @Getter
     private Projectile projectileType;
     private State state;
@@ -28,7 +32,7 @@ public abstract class GunController extends Controller {
         super(level, null);
         this.itemName = itemName;
         this.reloadTime = reloadTime;
-        this.reloadCounter = reloadTime;
+        this.reloadTimer = null;
         this.projectileType = projectileType;
         this.state = State.READY;
         this.shooting = false;
@@ -51,19 +55,10 @@ public abstract class GunController extends Controller {
     */
     @Override
     public void update(double dt) {
-
-        // Increments the reload counter if the reloading is in the state.
-        if(state == State.RELOADING) {
-            reloadCounter += dt;
-            // Reload the state of the state.
-            if(reloadCounter >= reloadTime) {
-                state = State.READY;
-            }
-        }
-        // Shoots the reloading state if the reloading state is ready.
+        // Shoots and starts reloading if the gun is ready. The timer of the scene ends the reload.
         if(shooting && state == State.READY) {
-            reloadCounter = 0;
             state = State.RELOADING;
+            reloadTimer = gameObject.getScene().getTimers().schedule(gameObject, reloadTime, this::onReloaded);
             shoot();
         }
 
@@ -73,11 +68,14 @@ public abstract class GunController extends Controller {
     }
 
     /**
-    * Called when the component is no longer needed. This is the place to do any cleanup that needs to be done
+    * Cancels a running reload. Called when the gun is unequipped.
     */
     @Override
     public void destroy() {
-
+        // Only a reloading gun has a pending timer.
+        if(reloadTimer != null) {
+            reloadTimer.cancel();
+        }
     }
 
     /**
@@ -100,21 +98,30 @@ public abstract class GunController extends Controller {
     * Calculates the position of the projectile. This is used to determine where the object should be positioned in the game object's coordinate system.
     * 
     * 
-    * @return Vector3d A vector that contains the position of the projectile relative to the game object's
+    * @return Vector3d A vector that contains the position of the projectile in world coordinates
     */
     public Vector3d getProjectilePosition() {
-        return new Vector3d(gameObject.transform.position)
+        return gameObject.transform.getWorldPosition(new Vector3d())
                 .add(new Vector3d(0, projectileOffset.y, projectileOffset.x)
                         .rotateX(pitch)
                         .rotateY(yaw + Math.PI / 2));
     }
 
+    /**
+    * Makes the gun ready to shoot again. Called by the reload timer.
+    */
+    private void onReloaded() {
+        state = State.READY;
+        reloadTimer = null;
+    }
+
     /**
     * Updates the SpriteRenderer to reflect the change in reload time. This is used to make the sprite appear at the center of the screen
     */
     private void updateRenderer() {
         SpriteRenderer renderer = getComponent(SpriteRenderer.class, "Renderer");
-        renderer.offset.set(centerOffset.x + MathUtils.clamp(1 - reloadCounter / reloadTime, 0, 1) * -0.5, centerOffset.y, 0);
+        double remainingTime = reloadTimer != null ? reloadTimer.getRemainingTime() : 0;
+        renderer.offset.set(centerOffset.x + MathUtils.clamp(remainingTime / reloadTime, 0, 1) * -0.5, centerOffset.y, 0);
     }
 
     private enum State {
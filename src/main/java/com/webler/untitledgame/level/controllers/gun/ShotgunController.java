@@ -3,10 +3,10 @@ package com.webler.untitledgame.level.controllers.gun;
 import com.webler.goliath.audio.AudioManager;
 import com.webler.goliath.core.GameObject;
 import com.webler.goliath.core.Scene;
+import com.webler.goliath.math.Rng;
 import com.webler.goliath.utils.AssetPool;
 import com.webler.untitledgame.level.Level;
 import com.webler.untitledgame.level.enums.Projectile;
-import com.webler.untitledgame.level.prefabs.ProjectilePrefab;
 import org.joml.Vector2d;
 
 public class ShotgunController extends GunController {
@@ -20,11 +20,13 @@ public class ShotgunController extends GunController {
     @Override
     protected void shoot() {
         // This method creates 5 projectiles and adds a projectile prefab to the game.
+        Rng rng = Rng.get();
         for(int i = 0; i < 5; ++i) {
-            double yawOffset = (Math.random() * 2 - 1) * 0.1;
-            double pitchOffset = (Math.random() * 2 - 1) * 0.1;
+            double yawOffset = rng.nextDouble(-0.1, 0.1);
+            double pitchOffset = rng.nextDouble(-0.1, 0.1);
             Scene scene = getGameObject().getScene();
-            GameObject projectile = new ProjectilePrefab(level, getProjectileType(), yaw + yawOffset, pitch + pitchOffset).create(scene);
+            GameObject projectile = level.getProjectilePool(getProjectileType()).acquire();
+            PROJECTILE_CONTROLLER.get(projectile).launch(yaw + yawOffset, pitch + pitchOffset);
             projectile.transform.position.set(getProjectilePosition());
             scene.add(projectile);
             AudioManager.play(AssetPool.getSound("untitled-game/sounds/biggun.ogg").getBufferId());
@@ -5,7 +5,6 @@ import com.webler.goliath.core.Scene;
 import com.webler.goliath.graphics.Color;
 import com.webler.goliath.graphics.light.SpotLight;
 import com.webler.goliath.prefabs.Prefab;
-import com.webler.goliath.time.Timer;
 import com.webler.untitledgame.level.controllers.ExplosionLightController;
 
 public class ExplosionLightPrefab implements Prefab {
@@ -22,9 +21,7 @@ public class ExplosionLightPrefab implements Prefab {
         SpotLight light = new SpotLight(new Color(1, 0.75, 0.5), 1, 8);
         light.setIntensity(4);
         go.addComponent("Light", light);
-        Timer timer = new Timer();
-        go.addComponent("Timer", timer);
-        go.addComponent("Controller", new ExplosionLightController(timer, light));
+        go.addComponent("Controller", new ExplosionLightController(light));
         return go;
     }
 }
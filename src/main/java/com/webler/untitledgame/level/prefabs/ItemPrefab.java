@@ -29,6 +29,7 @@ public class ItemPrefab implements Prefab {
         sprite.setWidth((int)(Level.TILE_SIZE * levelItem.getScale().x));
         sprite.setHeight((int)(Level.TILE_SIZE * levelItem.getScale().y));
         SpriteRenderer renderer = new SpriteRenderer(sprite, -1);
+        renderer.setStaticSprite(true);
 
         go.addComponent("Renderer", renderer);
         go.addComponent("Bilboard", new Billboard());
@@ -7,25 +7,18 @@ import com.webler.goliath.graphics.Sprite;
 import com.webler.goliath.graphics.components.Billboard;
 import com.webler.goliath.graphics.components.SpriteRenderer;
 import com.webler.goliath.prefabs.Prefab;
-import com.webler.untitledgame.level.Level;
 import com.webler.untitledgame.level.controllers.entity.ParticleController;
 import org.joml.Vector3d;
 
 public class ParticlePrefab implements Prefab {
-    private final Level level;
-    private final double speed;
-    private final double lifetime;
     private final Sprite sprite;
 
-    public ParticlePrefab(Level level, double speed, double lifetime, Sprite sprite) {
-        this.level = level;
-        this.speed = speed;
-        this.lifetime = lifetime;
+    public ParticlePrefab(Sprite sprite) {
         this.sprite = sprite;
     }
 
     /**
-    * Creates a GameObject that will be used to interact with the Particle. You can override this method to create your own game objects.
+    * Creates a GameObject that will be used to interact with the Particle. The particle pool of the level calls this so the motion is set later with ParticleController#launch ( double double Vector3d ).
     * 
     * @param scene - The scene to create the game object in.
     * 
@@ -34,11 +27,10 @@ public class ParticlePrefab implements Prefab {
     @Override
     public GameObject create(Scene scene) {
         GameObject go = new GameObject(scene);
-        Vector3d direction = new Vector3d(Math.random() - 0.5, Math.random() - 0.5, Math.random() - 0.5).normalize();
         BoxCollider3D collider = new BoxCollider3D(new Vector3d(0, 0, 0));
         go.addComponent("Collider", collider);
-        go.addComponent("Controller", new ParticleController(level, collider, speed, lifetime, direction));
-        go.addComponent("Renderer", new SpriteRenderer(sprite, -1));
+        go.addComponent("Controller", new ParticleController(collider, 0, 0, new Vector3d()));
+        go.addComponent("Renderer", new SpriteRenderer(new Sprite(sprite), -1));
         go.addComponent("Bilboard", new Billboard());
         return go;
     }
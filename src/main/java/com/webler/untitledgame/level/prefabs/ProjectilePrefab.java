@@ -17,18 +17,16 @@ import org.joml.Vector3d;
 public class ProjectilePrefab implements Prefab {
     private final Level level;
     private final Projectile type;
-    private final double yaw;
-    private final double pitch;
+    private Cube cube;
 
-    public ProjectilePrefab(Level level, Projectile type, double yaw, double pitch) {
+    public ProjectilePrefab(Level level, Projectile type) {
         this.type = type;
         this.level = level;
-        this.yaw = yaw;
-        this.pitch = pitch;
+        cube = null;
     }
 
     /**
-    * Creates a projectile GameObject. This is called by Scene#create ( java. util. Collection ) to create the projectile's game object.
+    * Creates a projectile GameObject. This is called by the projectile pools of the level so the direction is set later with ProjectileController#launch ( double double ).
     * 
     * @param scene - The scene to create the projectile in.
     * 
@@ -37,8 +35,12 @@ public class ProjectilePrefab implements Prefab {
     @Override
     public GameObject create(Scene scene) {
         GameObject go = new GameObject(scene);
-        Vector3d direction = new Vector3d(0, 0, 1).rotateX(pitch).rotateY(yaw + Math.PI / 2).normalize();
-        MeshRenderer renderer = new MeshRenderer(new Cube(AssetPool.getTexture("goliath/images/square.png").getTexId()));
+        Vector3d direction = new Vector3d(1, 0, 0);
+        // All projectiles of the prefab share one geometry so they are drawn with one instanced draw call.
+        if(cube == null) {
+            cube = new Cube(AssetPool.getTexture("goliath/images/square.png").getTexId());
+        }
+        MeshRenderer renderer = new MeshRenderer(cube);
         go.addComponent("Renderer", renderer);
         BoxCollider3D collider = new BoxCollider3D(new Vector3d(0, 0, 0));
         go.addComponent("Collider", collider);
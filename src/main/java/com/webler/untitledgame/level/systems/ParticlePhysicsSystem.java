@@ -0,0 +1,162 @@
+package com.webler.untitledgame.level.systems;
+
+import com.webler.goliath.colliders.BoxCollider3D;
+import com.webler.goliath.core.ComponentRef;
+import com.webler.goliath.core.GameObject;
+import com.webler.goliath.core.ecs.Archetype;
+import com.webler.goliath.core.ecs.ColumnType;
+import com.webler.goliath.core.ecs.EntitySystem;
+import com.webler.goliath.core.ecs.EntityWorld;
+import com.webler.untitledgame.level.Level;
+import org.joml.Vector3d;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class ParticlePhysicsSystem implements EntitySystem {
+    public static final ColumnType PHYSICS = ColumnType.register("Physics", 3, 1, 40, 0);
+    public static final int FRICTION = 0;
+    public static final int GRAVITY = 1;
+    public static final int BOUNCINESS = 2;
+    private static final ComponentRef<BoxCollider3D> COLLIDER = ComponentRef.of(BoxCollider3D.class, "Collider");
+    private static final double STEP_DISTANCE = 1.0;
+    private final Level level;
+    private double[] fixedBoxes;
+    private int fixedBoxesCount;
+
+    public ParticlePhysicsSystem(Level level) {
+        this.level = level;
+        fixedBoxes = new double[6 * 16];
+        fixedBoxesCount = 0;
+    }
+
+    /**
+    * Moves all particles by their velocity and resolves collisions with blocks and fixed objects axis by axis. This is the same integration as EntityController#updatePhysics but runs over the columns of the world.
+    * 
+    * @param world - The world the system belongs to.
+    * @param dt - Time since the last update in seconds.
+    */
+    @Override
+    public void update(EntityWorld world, double dt) {
+        List<Archetype> archetypes = world.query(ColumnType.POSITION, ColumnType.VELOCITY, ColumnType.ACCELERATION, ColumnType.SIZE, PHYSICS);
+        // Returns early if there is nothing to simulate.
+        if(archetypes.isEmpty()) {
+            return;
+        }
+        collectFixedBoxes();
+        for (Archetype archetype : archetypes) {
+            double[] position = archetype.getColumn(ColumnType.POSITION);
+            double[] velocity = archetype.getColumn(ColumnType.VELOCITY);
+            double[] acceleration = archetype.getColumn(ColumnType.ACCELERATION);
+            double[] size = archetype.getColumn(ColumnType.SIZE);
+            double[] physics = archetype.getColumn(PHYSICS);
+            int count = archetype.getCount();
+            for (int row = 0; row < count; ++row) {
+                int v = row * 3;
+                int p = row * 3;
+                double frameFriction = physics[v + FRICTION] * dt;
+                double bounciness = physics[v + BOUNCINESS];
+                acceleration[v + 1] = -physics[v + GRAVITY];
+                velocity[v] += acceleration[v] * dt - velocity[v] * frameFriction;
+                velocity[v + 1] += acceleration[v + 1] * dt;
+                velocity[v + 2] += acceleration[v + 2] * dt - velocity[v + 2] * frameFriction;
+
+                double moveX = velocity[v] * dt;
+                double moveY = velocity[v + 1] * dt;
+                double moveZ = velocity[v + 2] * dt;
+                int steps = (int)Math.ceil(Math.sqrt(moveX * moveX + moveY * moveY + moveZ * moveZ) / STEP_DISTANCE);
+                double halfX = size[p] * 0.5;
+                double halfY = size[p + 1] * 0.5;
+                double halfZ = size[p + 2] * 0.5;
+
+                // Moves the particle step by step and stops at the first collision.
+                for (int i = 0; i < steps; ++i) {
+                    double lastX = position[p];
+                    double lastY = position[p + 1];
+                    double lastZ = position[p + 2];
+
+                    position[p] += moveX / steps;
+                    // Moves the particle back if it collides on the x axis.
+                    if(collides(position[p], position[p + 1], position[p + 2], halfX, halfY, halfZ)) {
+                        position[p] = lastX;
+                        velocity[v] *= -bounciness;
+                        i = steps;
+                    }
+
+                    position[p + 2] += moveZ / steps;
+                    // Moves the particle back if it collides on the z axis.
+                    if(collides(position[p], position[p + 1], position[p + 2], halfX, halfY, halfZ)) {
+                        position[p + 2] = lastZ;
+                        velocity[v + 2] *= -bounciness;
+                        i = steps;
+                    }
+
+                    position[p + 1] += moveY / steps;
+                    // Moves the particle back if it collides on the y axis.
+                    if(collides(position[p], position[p + 1], position[p + 2], halfX, halfY, halfZ)) {
+                        position[p + 1] = lastY;
+                        // Bounces only if the particle falls fast enough.
+                        if(velocity[v + 1] < -20) {
+                            velocity[v + 1] *= -bounciness;
+                        } else {
+                            velocity[v + 1] = 0;
+                        }
+                        i = steps;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+    * Copies the bounds of all objects of the fixed group into a flat array so the inner loop does not touch any game object.
+    */
+    private void collectFixedBoxes() {
+        List<GameObject> objects = level.getObjectsByGroup("fixed");
+        // Grows the array if there are more fixed objects than before.
+        if(objects.size() * 6 > fixedBoxes.length) {
+            fixedBoxes = Arrays.copyOf(fixedBoxes, objects.size() * 12);
+        }
+        fixedBoxesCount = 0;
+        for (GameObject object : objects) {
+            BoxCollider3D collider = COLLIDER.get(object);
+            Vector3d min = collider.getMin();
+            Vector3d max = collider.getMax();
+            int i = fixedBoxesCount * 6;
+            fixedBoxes[i] = min.x;
+            fixedBoxes[i + 1] = min.y;
+            fixedBoxes[i + 2] = min.z;
+            fixedBoxes[i + 3] = max.x;
+            fixedBoxes[i + 4] = max.y;
+            fixedBoxes[i + 5] = max.z;
+            ++fixedBoxesCount;
+        }
+    }
+
+    /**
+    * Checks if the box collides with any block of the level or any fixed object.
+    * 
+    * @param x - The x coordinate of the center of the box.
+    * @param y - The y coordinate of the center of the box.
+    * @param z - The z coordinate of the center of the box.
+    * @param halfX - Half of the size of the box on the x axis.
+    * @param halfY - Half of the size of the box on the y axis.
+    * @param halfZ - Half of the size of the box on the z axis.
+    * 
+    * @return true if the box collides with something
+    */
+    private boolean collides(double x, double y, double z, double halfX, double halfY, double halfZ) {
+        double minX = x - halfX, minY = y - halfY, minZ = z - halfZ;
+        double maxX = x + halfX, maxY = y + halfY, maxZ = z + halfZ;
+        for (int b = 0; b < fixedBoxesCount; ++b) {
+            int i = b * 6;
+            // Returns true if the box overlaps the fixed object.
+            if((maxX - fixedBoxes[i]) * (minX - fixedBoxes[i + 3]) < 0 &&
+                    (maxY - fixedBoxes[i + 1]) * (minY - fixedBoxes[i + 4]) < 0 &&
+                    (maxZ - fixedBoxes[i + 2]) * (minZ - fixedBoxes[i + 5]) < 0) {
+                return true;
+            }
+        }
+        return level.isBlockAtBox(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+}
@@ -5,7 +5,7 @@ layout (location=0) in vec2 a_pos;
 layout (location=1) in vec2 a_uv;
 layout (location=2) in vec4 a_color;
 
-uniform mat4 u_projection;
+#include "goliath/shaders/frame.glsl"
 
 out vec2 v_uv;
 out vec4 v_color;
@@ -13,7 +13,7 @@ out vec4 v_color;
 void main() {
     v_uv = a_uv;
     v_color = a_color;
-    gl_Position = u_projection * vec4(a_pos, 0.0, 1.0);
+    gl_Position = u_screen * vec4(a_pos, 0.0, 1.0);
 }
 
 #type fragment
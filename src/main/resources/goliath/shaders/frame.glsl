@@ -0,0 +1,11 @@
+layout (std140) uniform Frame {
+    mat4 u_PV;
+    mat4 u_view;
+    mat4 u_screen;
+    vec4 u_fog_color;
+    vec4 u_ambient_color;
+    float u_fog_near;
+    float u_fog_far;
+    int u_spot_lights_count;
+    vec4 u_spot_lights[64 * 3];
+};
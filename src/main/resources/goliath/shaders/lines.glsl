@@ -4,7 +4,7 @@
 layout (location=0) in vec3 a_pos;
 layout (location=1) in vec4 a_color;
 
-uniform mat4 u_PV;
+#include "goliath/shaders/frame.glsl"
 
 out vec4 v_color;
 
@@ -4,22 +4,24 @@
 layout (location=0) in vec3 a_pos;
 layout (location=1) in vec2 a_uv;
 layout (location=2) in vec3 a_normal;
+layout (location=3) in mat4 a_model;
+layout (location=7) in vec4 a_color;
 
-uniform mat4 u_PVM;
-uniform mat4 u_view;
-uniform mat4 u_model;
+#include "goliath/shaders/frame.glsl"
 
 out vec3 v_world_pos;
 out vec3 v_view_pos;
 out vec2 v_uv;
 out vec3 v_normal;
+out vec4 v_color;
 
 void main() {
-    v_world_pos = (u_model * vec4(a_pos, 1.0)).xyz;
+    v_world_pos = (a_model * vec4(a_pos, 1.0)).xyz;
     v_view_pos = (u_view * vec4(v_world_pos, 1.0)).xyz;
     v_uv = a_uv;
-    v_normal = mat3(u_model) * a_normal;
-    gl_Position = u_PVM * vec4(a_pos, 1.0);
+    v_normal = mat3(a_model) * a_normal;
+    v_color = a_color;
+    gl_Position = u_PV * vec4(v_world_pos, 1.0);
 }
 
 #type fragment
@@ -31,36 +33,26 @@ in vec3 v_world_pos;
 in vec3 v_view_pos;
 in vec2 v_uv;
 in vec3 v_normal;
+in vec4 v_color;
 
-uniform sampler2D u_tex;
-uniform vec4 u_color;
-
-#ifdef LIGHT_ON
-uniform vec3 u_spot_lights[64 * 3];
-uniform int u_spot_lights_count;
-uniform vec3 u_ambient_color;
-#endif
+#include "goliath/shaders/frame.glsl"
 
-#ifdef FOG_ON
-uniform vec3 u_fog_color;
-uniform float u_fog_near;
-uniform float u_fog_far;
-#endif
+uniform sampler2D u_tex;
 
 out vec4 color;
 
 void main() {
     vec4 tex_color = texture2D(u_tex, v_uv);
 
-    color = tex_color * u_color;
+    color = tex_color * v_color;
 
     #ifdef LIGHT_ON
 
     vec3 result = vec3(0.0);
 
     for(int i = 0; i < u_spot_lights_count * 3; i += 3) {
-        vec3 light_pos = u_spot_lights[i];
-        vec3 light_color = u_spot_lights[i + 1];
+        vec3 light_pos = u_spot_lights[i].xyz;
+        vec3 light_color = u_spot_lights[i + 1].rgb;
         float light_radius_min = u_spot_lights[i + 2].x;
         float light_radius_max = u_spot_lights[i + 2].y;
         float theta = dot(v_normal, normalize(light_pos - v_world_pos));
@@ -70,7 +62,7 @@ void main() {
         result += max(theta, 0.0) * intensity * light_color;
     }
 
-    result += u_ambient_color;
+    result += u_ambient_color.rgb;
 
     color.rgb *= result;
 
@@ -85,7 +77,7 @@ void main() {
     float fog_factor = smoothstep(u_fog_near, u_fog_far, fog_depth);
     fog_factor = clamp(fog_factor, 0.0, 1.0);
 
-    color = mix(color, vec4(u_fog_color, fog_alpha), fog_factor);
+    color = mix(color, vec4(u_fog_color.rgb, fog_alpha), fog_factor);
 
     #endif
 }
\ No newline at end of file
@@ -5,8 +5,7 @@ layout (location=0) in vec3 a_pos;
 layout (location=1) in vec2 a_uv;
 layout (location=2) in vec4 a_color;
 
-uniform mat4 u_PV;
-uniform mat4 u_view;
+#include "goliath/shaders/frame.glsl"
 
 out vec3 v_view_pos;
 out vec2 v_uv;
@@ -28,13 +27,9 @@ in vec3 v_view_pos;
 in vec2 v_uv;
 in vec4 v_color;
 
-uniform sampler2D u_tex;
+#include "goliath/shaders/frame.glsl"
 
-#ifdef FOG_ON
-uniform vec3 u_fog_color;
-uniform float u_fog_near;
-uniform float u_fog_far;
-#endif
+uniform sampler2D u_tex;
 
 out vec4 color;
 
@@ -51,7 +46,7 @@ void main() {
     float fog_factor = smoothstep(u_fog_near, u_fog_far, fog_depth);
     fog_factor = clamp(fog_factor, 0.0, 1.0);
 
-    color = mix(color, vec4(u_fog_color, fog_alpha), fog_factor);
+    color = mix(color, vec4(u_fog_color.rgb, fog_alpha), fog_factor);
 
     #endif
 }
\ No newline at end of file
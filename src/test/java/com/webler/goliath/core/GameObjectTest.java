@@ -0,0 +1,81 @@
+package com.webler.goliath.core;
+
+import com.webler.goliath.core.components.Transform;
+import com.webler.goliath.core.exceptions.ComponentNotFoundException;
+import com.webler.goliath.core.exceptions.ComponentTypeException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameObjectTest {
+    private static final ComponentRef<Transform> TRANSFORM = ComponentRef.of(Transform.class, "Transform");
+    private static final ComponentRef<Transform> MISSING = ComponentRef.of(Transform.class, "__missing__");
+
+    private final Scene scene;
+
+    public GameObjectTest() {
+        scene = new TestScene();
+    }
+
+    @Test
+    public void getComponentByNameAndRef() {
+        GameObject gameObject = new GameObject(scene);
+        assertSame(gameObject.transform, gameObject.getComponent(Transform.class, "Transform"));
+        assertSame(gameObject.transform, gameObject.getComponent(TRANSFORM));
+        assertTrue(gameObject.hasComponent("Transform"));
+        assertFalse(gameObject.hasComponent("__missing__"));
+        assertNull(MISSING.find(gameObject));
+        assertThrows(ComponentNotFoundException.class, () -> MISSING.get(gameObject));
+    }
+
+    @Test
+    public void getComponentWithWrongType() {
+        GameObject gameObject = new GameObject(scene);
+        ComponentRef<Component> ref = ComponentRef.of(Component.class, "Transform");
+        assertSame(gameObject.transform, ref.get(gameObject));
+        assertThrows(ComponentTypeException.class, () -> gameObject.getComponent(FakeComponent.class, "Transform"));
+        assertThrows(ComponentTypeException.class, () -> ComponentRef.of(FakeComponent.class, "Transform").get(gameObject));
+    }
+
+    @Test
+    public void addComponentAfterRegistryGrows() {
+        GameObject gameObject = new GameObject(scene);
+        String name = "__late__" + System.nanoTime();
+        Transform transform = new Transform();
+        gameObject.addComponent(name, transform);
+        assertSame(transform, gameObject.getComponent(ComponentRef.of(Transform.class, name)));
+    }
+
+    @Test
+    public void lookupsDoNotRegisterNames() {
+        GameObject gameObject = new GameObject(scene);
+        String name = "__probe__" + System.nanoTime();
+        int slotCount = ComponentRegistry.getSlotCount();
+        assertFalse(gameObject.hasComponent(name));
+        assertThrows(ComponentNotFoundException.class, () -> gameObject.getComponent(Transform.class, name));
+        assertEquals(-1, ComponentRegistry.findSlot(name));
+        assertEquals(slotCount, ComponentRegistry.getSlotCount());
+    }
+
+    @Test
+    public void tags() {
+        GameObject gameObject = new GameObject(scene);
+        assertTrue(gameObject.getTags().isEmpty());
+        gameObject.addTag("a");
+        assertTrue(gameObject.hasTag("a"));
+        assertFalse(gameObject.hasTag("b"));
+        gameObject.removeTag("a");
+        assertFalse(gameObject.hasTag("a"));
+    }
+
+    private static class FakeComponent extends Component {
+        @Override
+        public void start() {}
+
+        @Override
+        public void update(double dt) {}
+
+        @Override
+        public void destroy() {}
+    }
+}
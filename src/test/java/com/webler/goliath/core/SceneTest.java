@@ -0,0 +1,244 @@
+package com.webler.goliath.core;
+
+import com.webler.goliath.eventsystem.EventManager;
+import com.webler.goliath.eventsystem.events.Event;
+import com.webler.goliath.eventsystem.listeners.EventHandler;
+import com.webler.goliath.jobs.FramePhase;
+import com.webler.goliath.jobs.JobSystem;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SceneTest {
+    private final Scene scene;
+
+    public SceneTest() {
+        scene = new TestScene();
+    }
+
+    @Test
+    public void tagIndexFollowsTagChanges() {
+        GameObject a = new GameObject(scene, "a");
+        a.addTag("platform");
+        scene.add(a);
+        Collection<GameObject> platforms = scene.getEntitiesByTag("platform");
+        assertEquals(1, platforms.size());
+
+        GameObject b = new GameObject(scene, "b");
+        scene.add(b);
+        b.addTag("platform");
+        assertEquals(2, platforms.size());
+
+        a.removeTag("platform");
+        assertEquals(1, platforms.size());
+        assertTrue(platforms.contains(b));
+        assertThrows(UnsupportedOperationException.class, platforms::clear);
+    }
+
+    @Test
+    public void duplicateNamesStayIndexed() {
+        GameObject first = new GameObject(scene, "twin");
+        GameObject second = new GameObject(scene, "twin");
+        scene.add(first);
+        scene.add(second);
+        assertSame(first, scene.getEntityByName("twin"));
+
+        scene.remove(first);
+        assertSame(second, scene.getEntityByName("twin"));
+
+        scene.remove(second);
+        assertNull(scene.getEntityByName("twin"));
+    }
+
+    @Test
+    public void indexesFollowAddAndRemove() {
+        GameObject a = new GameObject(scene, "a");
+        a.addTag("light");
+        scene.add(a);
+        assertSame(a, scene.getEntityByName("a"));
+
+        scene.remove(a);
+        assertNull(scene.getEntityByName("a"));
+        assertTrue(scene.getEntitiesByTag("light").isEmpty());
+
+        a.addTag("door");
+        assertTrue(scene.getEntitiesByTag("door").isEmpty());
+    }
+
+    @Test
+    public void removeSwapsLastEntity() {
+        GameObject a = new GameObject(scene, "a");
+        GameObject b = new GameObject(scene, "b");
+        GameObject c = new GameObject(scene, "c");
+        scene.add(a);
+        scene.add(b);
+        scene.add(c);
+        scene.remove(a);
+        assertEquals(2, scene.getEntitiesCount());
+        assertSame(c, scene.getEntity(0));
+        assertSame(b, scene.getEntity(1));
+    }
+
+    @Test
+    public void staleHandlesDoNotResolve() {
+        GameObject a = new GameObject(scene, "a");
+        scene.add(a);
+        int handle = a.getHandle();
+        assertSame(a, scene.resolve(handle));
+        assertTrue(a.isAlive());
+
+        scene.remove(a);
+        assertFalse(a.isAlive());
+        assertEquals(Scene.NULL_HANDLE, a.getHandle());
+        assertNull(scene.resolve(handle));
+
+        GameObject b = new GameObject(scene, "b");
+        scene.add(b);
+        assertNotEquals(handle, b.getHandle());
+        assertNull(scene.resolve(handle));
+        assertSame(b, scene.resolve(b.getHandle()));
+        assertNull(scene.resolve(Scene.NULL_HANDLE));
+    }
+
+    @Test
+    public void churnedSlotsDoNotResolveOldHandles() {
+        GameObject a = new GameObject(scene, "a");
+        scene.add(a);
+        int handle = a.getHandle();
+        GameObject pooled = new GameObject(scene, "pooled");
+        scene.remove(a);
+        // Enough churn to reuse the slot of the old handle more than 2048 times, which used to wrap its generation.
+        for (int i = 0; i < 2200 * 1100; ++i) {
+            scene.add(pooled);
+            assertFalse(scene.isAlive(handle));
+            scene.remove(pooled);
+        }
+        assertNull(scene.resolve(handle));
+        scene.add(pooled);
+        assertSame(pooled, scene.resolve(pooled.getHandle()));
+    }
+
+    @Test
+    public void lateUpdateRunsOnTheMainThreadAfterTheParallelUpdate() {
+        List<String> calls = new ArrayList<>();
+        GameObject e = new GameObject(scene);
+        e.addComponent("Recorder", new Component() {
+            @Override
+            public void start() {}
+
+            @Override
+            public void update(double dt) {
+                calls.add("update");
+            }
+
+            @Override
+            public boolean isParallelSafe() {
+                return true;
+            }
+
+            @Override
+            public void updateParallel(double dt) {
+                assertTrue(JobSystem.get().isParallelPhase());
+                calls.add("parallel");
+            }
+
+            @Override
+            public void lateUpdate(double dt) {
+                assertFalse(JobSystem.get().isParallelPhase());
+                calls.add("late");
+            }
+
+            @Override
+            public void destroy() {}
+        });
+        scene.add(e);
+        scene.update(1.0 / 60);
+        assertEquals(List.of("update", "parallel", "late"), calls);
+    }
+
+    @Test
+    public void deferredEventsAreDeliveredInEntityOrder() {
+        OrderListener listener = new OrderListener();
+        EventManager.registerListeners(listener);
+        JobSystem.get().start(4);
+        try {
+            List<GameObject> entities = new ArrayList<>();
+            for (int i = 0; i < 16; ++i) {
+                GameObject e = new GameObject(scene, "e" + i);
+                // The first entities finish last so the workers finish out of order.
+                long delay = i < 4 ? 20 : 0;
+                e.addComponent("Dispatcher", new Component() {
+                    @Override
+                    public void start() {}
+
+                    @Override
+                    public void update(double dt) {}
+
+                    @Override
+                    public boolean isParallelSafe() {
+                        return true;
+                    }
+
+                    @Override
+                    public void updateParallel(double dt) {
+                        try {
+                            Thread.sleep(delay);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                        EventManager.dispatchEvent(new OrderEvent(getGameObject()));
+                    }
+
+                    @Override
+                    public void destroy() {}
+                });
+                scene.add(e);
+                entities.add(e);
+            }
+            scene.update(1.0 / 60);
+            assertEquals(entities, listener.sources);
+        } finally {
+            JobSystem.get().destroy();
+            EventManager.unregisterListeners(listener);
+        }
+    }
+
+    @Test
+    public void eventsOutsideOfAnEntityUpdateAreRejectedInTheParallelPhase() {
+        JobSystem jobs = JobSystem.get();
+        jobs.beginPhase(FramePhase.PARALLEL_UPDATE);
+        try {
+            assertThrows(IllegalStateException.class, () -> EventManager.dispatchEvent(new OrderEvent(null)));
+        } finally {
+            jobs.endPhase(FramePhase.PARALLEL_UPDATE);
+        }
+    }
+
+    private static class OrderEvent extends Event {
+        public OrderEvent(GameObject gameObject) {
+            super(gameObject);
+        }
+    }
+
+    private static class OrderListener extends Component {
+        private final List<GameObject> sources = new ArrayList<>();
+
+        @Override
+        public void start() {}
+
+        @Override
+        public void update(double dt) {}
+
+        @Override
+        public void destroy() {}
+
+        @EventHandler
+        public void onOrder(OrderEvent event) {
+            sources.add(event.getGameObject());
+        }
+    }
+}
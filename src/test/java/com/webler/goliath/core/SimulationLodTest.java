@@ -0,0 +1,39 @@
+package com.webler.goliath.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulationLodTest {
+    @Test
+    public void reducedTierAccumulatesTime() {
+        LodState state = new LodState(0);
+        state.set(LodTier.REDUCED, false);
+        for (int i = 0; i < LodTier.REDUCED.getInterval() - 1; ++i) {
+            assertFalse(state.advance(0.25));
+            assertFalse(state.isUpdated());
+        }
+        assertTrue(state.advance(0.25));
+        assertEquals(0.25 * LodTier.REDUCED.getInterval(), state.getDt(), 1e-9);
+
+        state.set(LodTier.ACTIVE, true);
+        assertTrue(state.advance(0.1));
+        assertEquals(0.1, state.getDt(), 1e-9);
+    }
+
+    @Test
+    public void entitiesStayActiveWithoutCamera() {
+        Scene scene = new TestScene();
+        GameObject e = new GameObject(scene);
+        scene.add(e);
+        scene.getLod().register(e);
+        LodState state = e.getLod();
+        scene.getLod().register(e);
+        assertSame(state, e.getLod());
+
+        scene.getLod().update();
+        assertEquals(LodTier.ACTIVE, state.getTier());
+        assertTrue(e.isVisible());
+        assertEquals(1, scene.getLod().getTierCount(LodTier.ACTIVE));
+    }
+}
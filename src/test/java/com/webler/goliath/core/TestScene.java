@@ -0,0 +1,10 @@
+package com.webler.goliath.core;
+
+public class TestScene extends Scene {
+    public TestScene() {
+        super(null);
+    }
+
+    @Override
+    public void init(SceneParams params) {}
+}
@@ -0,0 +1,71 @@
+package com.webler.goliath.core.components;
+
+import org.joml.Vector3d;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransformTest {
+    @Test
+    public void prepareRenderInterpolatesLastStep() {
+        Transform transform = new Transform();
+        transform.start();
+        transform.update(1.0 / 60);
+        transform.position.set(10, 0, 0);
+
+        transform.prepareRender(0.25);
+        assertEquals(2.5, transform.getRenderPosition().x, 1e-9);
+        assertEquals(2.5, transform.getRenderMatrix().getTranslation(new Vector3d()).x, 1e-9);
+
+        transform.prepareRender(1);
+        assertEquals(10, transform.getRenderPosition().x, 1e-9);
+    }
+
+    @Test
+    public void snapSkipsInterpolation() {
+        Transform transform = new Transform();
+        transform.start();
+        transform.update(1.0 / 60);
+        transform.position.set(10, 0, 0);
+        transform.snap();
+
+        transform.prepareRender(0);
+        assertEquals(10, transform.getRenderPosition().x, 1e-9);
+    }
+
+    @Test
+    public void versionChangesOnlyWithTheTransform() {
+        Transform transform = new Transform();
+        transform.start();
+        long version = transform.getVersion();
+        transform.update(1.0 / 60);
+        assertEquals(version, transform.getVersion());
+
+        transform.scale.set(2);
+        assertNotEquals(version, transform.getVersion());
+        assertEquals(2, transform.getMatrix().m00(), 1e-9);
+    }
+
+    @Test
+    public void childFollowsParentLazily() {
+        Transform parent = new Transform();
+        Transform child = new Transform();
+        child.setParent(parent);
+        child.position.set(0, 1, 0);
+        parent.position.set(5, 0, 0);
+
+        Vector3d position = child.getWorldPosition(new Vector3d());
+        assertEquals(5, position.x, 1e-9);
+        assertEquals(1, position.y, 1e-9);
+
+        parent.snap();
+        child.snap();
+        long renderVersion = child.getRenderVersion();
+        parent.position.set(7, 0, 0);
+        parent.snap();
+        assertNotEquals(renderVersion, child.getRenderVersion());
+        assertEquals(7, child.getRenderMatrix().getTranslation(new Vector3d()).x, 1e-9);
+
+        assertThrows(IllegalArgumentException.class, () -> parent.setParent(child));
+    }
+}
@@ -0,0 +1,90 @@
+package com.webler.goliath.core.ecs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityWorldTest {
+    @Test
+    public void createFillsDefaults() {
+        EntityWorld world = new EntityWorld();
+        int entity = world.create(ColumnType.POSITION, ColumnType.ROTATION, ColumnType.SCALE);
+        assertTrue(world.isAlive(entity));
+        assertEquals(0, world.get(entity, ColumnType.POSITION, 0));
+        assertEquals(1, world.get(entity, ColumnType.ROTATION, 3));
+        assertEquals(1, world.get(entity, ColumnType.SCALE, 2));
+    }
+
+    @Test
+    public void destroyMovesLastRow() {
+        EntityWorld world = new EntityWorld();
+        int a = world.create(ColumnType.POSITION);
+        int b = world.create(ColumnType.POSITION);
+        int c = world.create(ColumnType.POSITION);
+        world.set(c, ColumnType.POSITION, 7, 8, 9);
+        world.destroy(a);
+        assertFalse(world.isAlive(a));
+        assertEquals(0, world.getRow(c));
+        assertEquals(1, world.getRow(b));
+        assertEquals(8, world.get(c, ColumnType.POSITION, 1));
+        assertEquals(2, world.getEntityCount());
+    }
+
+    @Test
+    public void destroyDuringUpdateIsDeferred() {
+        EntityWorld world = new EntityWorld();
+        int a = world.create(ColumnType.POSITION, ColumnType.VELOCITY);
+        world.create(ColumnType.POSITION, ColumnType.VELOCITY);
+        world.addSystem((w, dt) -> {
+            for (Archetype archetype : w.query(ColumnType.POSITION, ColumnType.VELOCITY)) {
+                w.destroy(archetype.getEntity(0));
+                assertEquals(2, archetype.getCount());
+            }
+        });
+        world.update(0.1);
+        assertFalse(world.isAlive(a));
+        assertEquals(1, world.getEntityCount());
+    }
+
+    @Test
+    public void idsFromBeforeClearDoNotResolve() {
+        EntityWorld world = new EntityWorld();
+        world.create(ColumnType.POSITION);
+        int b = world.create(ColumnType.POSITION, ColumnType.VELOCITY);
+        world.clear();
+        assertFalse(world.isAlive(b));
+        assertNull(world.getArchetype(b));
+        assertEquals(-1, world.getRow(b));
+        assertEquals(0, world.getEntityCount());
+
+        int c = world.create(ColumnType.POSITION);
+        assertEquals(0, world.getRow(c));
+        assertFalse(world.isAlive(b));
+        assertEquals(1, world.getEntityCount());
+    }
+
+    @Test
+    public void queryIncludesLaterArchetypes() {
+        EntityWorld world = new EntityWorld();
+        List<Archetype> query = world.query(ColumnType.POSITION);
+        assertTrue(query.isEmpty());
+        world.create(ColumnType.POSITION, ColumnType.VELOCITY);
+        world.create(ColumnType.VELOCITY);
+        world.create(ColumnType.POSITION, ColumnType.SIZE);
+        assertEquals(2, query.size());
+    }
+
+    @Test
+    public void archetypeGrows() {
+        EntityWorld world = new EntityWorld();
+        int last = -1;
+        for (int i = 0; i < 1000; ++i) {
+            last = world.create(ColumnType.POSITION);
+            world.set(last, ColumnType.POSITION, i, i, i);
+        }
+        assertEquals(999, world.get(last, ColumnType.POSITION, 2));
+        assertEquals(1000, world.getEntityCount());
+    }
+}
@@ -0,0 +1,246 @@
+package com.webler.goliath.eventsystem;
+
+import com.webler.goliath.core.Component;
+import com.webler.goliath.core.GameObject;
+import com.webler.goliath.core.Scene;
+import com.webler.goliath.core.TestScene;
+import com.webler.goliath.eventsystem.events.Event;
+import com.webler.goliath.eventsystem.exceptions.EventHandlerException;
+import com.webler.goliath.eventsystem.listeners.EventHandler;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventManagerTest {
+    @Test
+    public void dispatchCallsHandlersUntilUnregistered() {
+        CountingListener listener = new CountingListener();
+        EventManager.registerListeners(listener);
+        EventManager.dispatchEvent(new TestEvent(null));
+        EventManager.dispatchEvent(new TestEvent(null));
+        assertEquals(2, listener.count);
+
+        EventManager.unregisterListeners(listener);
+        EventManager.dispatchEvent(new TestEvent(null));
+        assertEquals(2, listener.count);
+    }
+
+    @Test
+    public void handlerExceptionIsSurfacedWithCause() {
+        FailingListener listener = new FailingListener();
+        EventManager.registerListeners(listener);
+        try {
+            EventHandlerException e = assertThrows(EventHandlerException.class, () -> EventManager.dispatchEvent(new FailEvent(null)));
+            assertTrue(e.getCause() instanceof ArithmeticException);
+            assertTrue(e.getMessage().contains("FailingListener.onFail"));
+        } finally {
+            EventManager.unregisterListeners(listener);
+        }
+    }
+
+    @Test
+    public void failingHandlerDoesNotSkipLaterListeners() {
+        FailingListener first = new FailingListener();
+        FailingListener second = new FailingListener();
+        FailCountingListener counting = new FailCountingListener();
+        EventManager.registerListeners(first);
+        EventManager.registerListeners(second);
+        EventManager.registerListeners(counting);
+        try {
+            EventHandlerException e = assertThrows(EventHandlerException.class, () -> EventManager.dispatchEvent(new FailEvent(null)));
+            assertEquals(1, counting.count);
+            assertEquals(1, e.getSuppressed().length);
+        } finally {
+            EventManager.unregisterListeners(first);
+            EventManager.unregisterListeners(second);
+            EventManager.unregisterListeners(counting);
+        }
+    }
+
+    @Test
+    public void scopedHandlersOnlyReceiveTheirEvents() {
+        Scene scene = new TestScene();
+        GameObject a = new GameObject(scene, "a");
+        GameObject b = new GameObject(scene, "b");
+        ScopedListener listenerA = new ScopedListener();
+        ScopedListener listenerB = new ScopedListener();
+        a.addComponent("Listener", listenerA);
+        b.addComponent("Listener", listenerB);
+        EventManager.registerListeners(listenerA);
+        EventManager.registerListeners(listenerB);
+
+        EventManager.dispatchEvent(new TestEvent(a));
+        assertEquals(1, listenerA.ownCount);
+        assertEquals(0, listenerB.ownCount);
+
+        EventManager.dispatchEvent(new TestEvent(b, "alarm"));
+        assertEquals(1, listenerA.ownCount);
+        assertEquals(1, listenerB.ownCount);
+        assertEquals(1, listenerA.channelCount);
+        assertEquals(1, listenerB.channelCount);
+
+        EventManager.unregisterListeners(listenerA);
+        EventManager.dispatchEvent(new TestEvent(a, "alarm"));
+        assertEquals(1, listenerA.ownCount);
+        assertEquals(1, listenerA.channelCount);
+        assertEquals(2, listenerB.channelCount);
+        EventManager.unregisterListeners(listenerB);
+    }
+
+    @Test
+    public void queuedEventsAreCoalescedAndFlushedInOrder() {
+        Scene scene = new TestScene();
+        GameObject a = new GameObject(scene, "a");
+        GameObject b = new GameObject(scene, "b");
+        CountingListener listener = new CountingListener();
+        EventManager.registerListeners(listener);
+
+        EventManager.queueEvent(new TestEvent(a), true);
+        EventManager.queueEvent(new TestEvent(b), true);
+        EventManager.queueEvent(new TestEvent(a), true);
+        EventManager.queueEvent(new TestEvent(a));
+        assertEquals(3, EventManager.getQueuedEventsCount());
+        assertEquals(0, listener.count);
+
+        EventManager.flushQueuedEvents();
+        assertEquals(3, listener.count);
+        assertEquals(0, EventManager.getQueuedEventsCount());
+
+        EventManager.queueEvent(new TestEvent(a), true);
+        EventManager.clearQueuedEvents();
+        EventManager.flushQueuedEvents();
+        assertEquals(3, listener.count);
+        EventManager.unregisterListeners(listener);
+    }
+
+    @Test
+    public void listenersCanUnregisterDuringDispatch() {
+        CountingListener first = new CountingListener();
+        UnregisteringListener second = new UnregisteringListener();
+        CountingListener third = new CountingListener();
+        second.target = third;
+        EventManager.registerListeners(first);
+        EventManager.registerListeners(second);
+        EventManager.registerListeners(third);
+        EventManager.registerListeners(first);
+        try {
+            EventManager.dispatchEvent(new TestEvent(null));
+            assertEquals(1, first.count);
+            assertEquals(0, third.count);
+
+            EventManager.registerListeners(third);
+            EventManager.dispatchEvent(new TestEvent(null));
+            assertEquals(2, first.count);
+            assertEquals(0, third.count);
+        } finally {
+            EventManager.unregisterListeners(first);
+            EventManager.unregisterListeners(second);
+            EventManager.unregisterListeners(third);
+        }
+    }
+
+    @Test
+    public void postedEventsAreDrainedOnTheCallingThread() throws InterruptedException {
+        CountingListener listener = new CountingListener();
+        EventManager.registerListeners(listener);
+        try {
+            Thread[] producers = new Thread[4];
+            for (int i = 0; i < producers.length; ++i) {
+                producers[i] = new Thread(() -> {
+                    for (int j = 0; j < 1000; ++j) {
+                        EventManager.postEvent(new TestEvent(null));
+                    }
+                });
+                producers[i].start();
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            assertEquals(0, listener.count);
+
+            assertEquals(1, EventManager.drainPostedEvents(0));
+            assertEquals(1, listener.count);
+            assertEquals(3999, EventManager.drainPostedEvents(10));
+            assertEquals(4000, listener.count);
+            assertFalse(EventManager.hasPostedEvents());
+        } finally {
+            EventManager.unregisterListeners(listener);
+        }
+    }
+
+    private static class TestEvent extends Event {
+        public TestEvent(GameObject gameObject) {
+            super(gameObject);
+        }
+
+        public TestEvent(GameObject gameObject, String channel) {
+            super(gameObject, channel);
+        }
+    }
+
+    private static class FailEvent extends Event {
+        public FailEvent(GameObject gameObject) {
+            super(gameObject);
+        }
+    }
+
+    private static class TestListener extends Component {
+        @Override
+        public void start() {}
+
+        @Override
+        public void update(double dt) {}
+
+        @Override
+        public void destroy() {}
+    }
+
+    private static class CountingListener extends TestListener {
+        private int count = 0;
+
+        @EventHandler
+        public void onTest(TestEvent event) {
+            ++count;
+        }
+    }
+
+    private static class UnregisteringListener extends TestListener {
+        private Component target = null;
+
+        @EventHandler
+        public void onTest(TestEvent event) {
+            EventManager.unregisterListeners(target);
+        }
+    }
+
+    private static class ScopedListener extends TestListener {
+        private int ownCount = 0;
+        private int channelCount = 0;
+
+        @EventHandler(own = true)
+        public void onOwnTest(TestEvent event) {
+            ++ownCount;
+        }
+
+        @EventHandler(channel = "alarm")
+        public void onAlarm(TestEvent event) {
+            ++channelCount;
+        }
+    }
+
+    private static class FailingListener extends TestListener {
+        @EventHandler
+        public void onFail(FailEvent event) {
+            throw new ArithmeticException("handler failed");
+        }
+    }
+
+    private static class FailCountingListener extends TestListener {
+        private int count = 0;
+
+        @EventHandler
+        public void onFail(FailEvent event) {
+            ++count;
+        }
+    }
+}
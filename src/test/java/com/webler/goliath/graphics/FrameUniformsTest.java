@@ -0,0 +1,49 @@
+package com.webler.goliath.graphics;
+
+import org.joml.Matrix4d;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrameUniformsTest {
+    @Test
+    public void blockIsPackedStd140AndUploadedOnlyWhenChanged() {
+        Graphics.setBackend(new RecordingGraphicsBackend());
+        FrameUniforms frameUniforms = new FrameUniforms();
+        Matrix4d PV = new Matrix4d().translate(1, 2, 3);
+        Matrix4d view = new Matrix4d().scale(2);
+        frameUniforms.setCamera(PV, view);
+        frameUniforms.setScreen(800, 600, new Matrix4d());
+        frameUniforms.setFog(new Fog(10, 20, Color.BLACK));
+        frameUniforms.setAmbientColor(0.5, 0.25, 0.125);
+        frameUniforms.setSpotLightsCount(1);
+        frameUniforms.setSpotLight(0, 4, 5, 6, 1, 1, 1, 2, 8);
+
+        ByteBuffer data = frameUniforms.getData();
+        assertEquals(1f, data.getFloat(FrameUniforms.PV_OFFSET + 12 * Float.BYTES));
+        assertEquals(3f, data.getFloat(FrameUniforms.PV_OFFSET + 14 * Float.BYTES));
+        assertEquals(2f, data.getFloat(FrameUniforms.VIEW_OFFSET));
+        assertEquals(2f / 800, data.getFloat(FrameUniforms.SCREEN_OFFSET), 1e-6);
+        assertEquals(10f, data.getFloat(FrameUniforms.FOG_NEAR_OFFSET));
+        assertEquals(20f, data.getFloat(FrameUniforms.FOG_FAR_OFFSET));
+        assertEquals(0.25f, data.getFloat(FrameUniforms.AMBIENT_COLOR_OFFSET + 4));
+        assertEquals(1, data.getInt(FrameUniforms.SPOT_LIGHTS_COUNT_OFFSET));
+        assertEquals(0, FrameUniforms.SPOT_LIGHTS_OFFSET % 16);
+        assertEquals(5f, data.getFloat(FrameUniforms.SPOT_LIGHTS_OFFSET + 4));
+        assertEquals(8f, data.getFloat(FrameUniforms.SPOT_LIGHTS_OFFSET + 2 * 16 + 4));
+
+        frameUniforms.upload();
+        frameUniforms.upload();
+        assertEquals(1, frameUniforms.getUploadsCount());
+        assertEquals(1, frameUniforms.getSkippedUploadsCount());
+
+        frameUniforms.setFog(new Fog(10, 30, Color.BLACK));
+        frameUniforms.upload();
+        frameUniforms.setSpotLightsCount(0);
+        frameUniforms.upload();
+        assertEquals(3, frameUniforms.getUploadsCount());
+        frameUniforms.destroy();
+    }
+}
@@ -0,0 +1,46 @@
+package com.webler.goliath.graphics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RenderQueueTest {
+    @Test
+    public void itemsAreSortedByPassStateAndDepth() {
+        RenderQueue queue = new RenderQueue();
+        queue.add(RenderQueue.blendedKey(RenderQueue.PASS_OVERLAY, 1, 3, 0)).texture = 0;
+        queue.add(RenderQueue.blendedKey(RenderQueue.PASS_BLENDED, 1, 7, 2)).texture = 1;
+        queue.add(RenderQueue.opaqueKey(RenderQueue.PASS_OPAQUE, 0, 5, 10)).texture = 2;
+        queue.add(RenderQueue.blendedKey(RenderQueue.PASS_BLENDED, 1, 3, 20)).texture = 3;
+        queue.add(RenderQueue.opaqueKey(RenderQueue.PASS_OPAQUE, 0, 5, 1.5f)).texture = 4;
+        queue.add(RenderQueue.opaqueKey(RenderQueue.PASS_OPAQUE, 0, 4, 30)).texture = 5;
+        queue.add(RenderQueue.blendedKey(RenderQueue.PASS_OVERLAY, 1, 2, 0)).texture = 6;
+        queue.add(RenderQueue.blendedKey(RenderQueue.PASS_OVERLAY + 1, 1, 1, 0)).texture = 7;
+        queue.sort();
+
+        int[] expected = new int[] { 5, 4, 2, 3, 1, 6, 0, 7 };
+        assertEquals(expected.length, queue.size());
+        for (int i = 0; i < expected.length; ++i) {
+            assertEquals(expected[i], queue.get(i).texture);
+        }
+    }
+
+    @Test
+    public void equalKeysKeepTheirOrder() {
+        RenderQueue queue = new RenderQueue();
+        for (int i = 0; i < 200; ++i) {
+            queue.add(RenderQueue.opaqueKey(RenderQueue.PASS_OPAQUE, 0, i % 3, 1)).texture = i;
+        }
+        queue.sort();
+        assertEquals(200, queue.size());
+        for (int i = 1; i < queue.size(); ++i) {
+            assertTrue(queue.getKey(i - 1) <= queue.getKey(i));
+            // Items with the same key are in the order they were added.
+            if(queue.getKey(i - 1) == queue.getKey(i)) {
+                assertTrue(queue.get(i - 1).texture < queue.get(i).texture);
+            }
+        }
+        queue.clear();
+        assertEquals(0, queue.size());
+    }
+}
@@ -0,0 +1,42 @@
+package com.webler.goliath.graphics;
+
+import com.webler.goliath.graphics.geometry.Cube;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RendererTest {
+    @Test
+    public void meshesShareTheBuffersOfTheirGeometry() {
+        Graphics.setBackend(new RecordingGraphicsBackend());
+        Renderer renderer = new Renderer();
+        Cube cube = new Cube(0);
+        Mesh[] meshes = new Mesh[] { new Mesh(cube), new Mesh(cube), new Mesh(cube) };
+        Mesh other = new Mesh(new Cube(0));
+        for (Mesh mesh : meshes) {
+            renderer.add(mesh);
+        }
+        renderer.add(other);
+        assertEquals(4, renderer.getMeshesCount());
+        assertEquals(2, renderer.getMeshGroupsCount());
+
+        assertTrue(renderer.remove(meshes[0]));
+        assertFalse(renderer.remove(meshes[0]));
+        assertEquals(3, renderer.getMeshesCount());
+        assertEquals(2, renderer.getMeshGroupsCount());
+
+        renderer.add(meshes[0]);
+        meshes[0].destroy();
+        meshes[1].destroy();
+        other.destroy();
+        assertEquals(1, renderer.getMeshesCount());
+        assertEquals(1, renderer.getMeshGroupsCount());
+
+        renderer.clear();
+        assertEquals(0, renderer.getMeshGroupsCount());
+        renderer.add(meshes[2]);
+        assertEquals(1, renderer.getMeshesCount());
+        meshes[2].destroy();
+        assertEquals(0, renderer.getMeshGroupsCount());
+    }
+}
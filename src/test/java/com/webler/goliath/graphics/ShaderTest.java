@@ -0,0 +1,68 @@
+package com.webler.goliath.graphics;
+
+import org.joml.Matrix4d;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShaderTest {
+    @Test
+    public void unchangedValuesAreNotUploaded() {
+        Graphics.setBackend(new RecordingGraphicsBackend());
+        String source = "uniform mat4 u_PV;\nuniform float u_fog_far;\n";
+        Shader shader = new Shader(source, "");
+        shader.initUniforms(source);
+        int pv = Shader.getUniformHandle("u_PV");
+        int fogFar = Shader.getUniformHandle("u_fog_far");
+        assertEquals(pv, Shader.getUniformHandle("u_PV"));
+        assertEquals("u_PV", shader.getUniform(pv).name());
+        assertNull(shader.getUniform(Shader.getUniformHandle("u_missing")));
+
+        Matrix4d matrix = new Matrix4d().translate(1, 2, 3);
+        shader.setMat4(pv, matrix);
+        shader.setMat4(pv, matrix);
+        shader.supplyUniform("u_PV", new Matrix4d(matrix));
+        assertEquals(1, shader.getUploadsCount());
+        assertEquals(2, shader.getSkippedUploadsCount());
+
+        matrix.translate(0, 0, 1);
+        shader.setMat4(pv, matrix);
+        shader.setFloat(fogFar, 100);
+        shader.setFloat(fogFar, 100);
+        shader.setFloat(Shader.getUniformHandle("u_missing"), 1);
+        assertEquals(3, shader.getUploadsCount());
+        assertEquals(3, shader.getSkippedUploadsCount());
+        shader.destroy();
+    }
+
+    @Test
+    public void includesAreExpanded() {
+        Graphics.setBackend(new RecordingGraphicsBackend());
+        StringBuilder source = new StringBuilder("#version 330 core\n#include \"goliath/shaders/frame.glsl\"\nuniform sampler2D u_tex;\n");
+        Shader.insertIncludes(source);
+        String expanded = source.toString();
+        assertFalse(expanded.contains("#include"));
+        assertTrue(expanded.contains("uniform " + FrameUniforms.BLOCK_NAME + " {"));
+        assertTrue(expanded.endsWith("uniform sampler2D u_tex;\n"));
+
+        Shader shader = new Shader(expanded, "");
+        shader.initUniforms(expanded);
+        assertNotNull(shader.findUniform("u_tex"));
+        assertNull(shader.findUniform("u_PV"));
+        shader.destroy();
+    }
+
+    @Test
+    public void textureUnitOfEngineShaderIsUploadedOnce() {
+        Graphics.setBackend(new RecordingGraphicsBackend());
+        Shader shader = Shader.load("goliath/shaders/sprite.glsl", "", "FOG_ON");
+        shader.initUniforms();
+        int tex = Shader.getUniformHandle("u_tex");
+        assertEquals("sampler2D", shader.getUniform(tex).type());
+        shader.setInt(tex, 0);
+        shader.setInt(tex, 0);
+        assertEquals(1, shader.getUploadsCount());
+        assertEquals(1, shader.getSkippedUploadsCount());
+        shader.destroy();
+    }
+}
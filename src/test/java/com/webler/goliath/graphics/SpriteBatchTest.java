@@ -0,0 +1,89 @@
+package com.webler.goliath.graphics;
+
+import com.webler.goliath.core.GameObject;
+import com.webler.goliath.core.Scene;
+import com.webler.goliath.core.TestScene;
+import com.webler.goliath.graphics.components.SpriteRenderer;
+import com.webler.goliath.prefabs.PerspectiveCameraPrefab;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpriteBatchTest {
+    @Test
+    public void onlyChangedSpritesAreRebuilt() {
+        Graphics.setBackend(new RecordingGraphicsBackend());
+        Scene scene = new TestScene();
+        new PerspectiveCameraPrefab(Math.PI / 3, 0.1, 1000).create(scene);
+        Sprite sprite = new Sprite(new Texture(16, 16));
+        SpriteBatch spriteBatch = new SpriteBatch(-1);
+        GameObject[] gameObjects = new GameObject[3];
+        SpriteRenderer[] renderers = new SpriteRenderer[3];
+        for (int i = 0; i < gameObjects.length; ++i) {
+            gameObjects[i] = new GameObject(scene);
+            gameObjects[i].transform.position.set(i, 0, 0);
+            renderers[i] = new SpriteRenderer(sprite, -1);
+            renderers[i].setStaticSprite(i == 0);
+            gameObjects[i].addComponent("SpriteRenderer", renderers[i]);
+            gameObjects[i].prepareRender(1);
+            spriteBatch.add(renderers[i]);
+        }
+        try {
+            spriteBatch.prepare();
+            assertEquals(3, spriteBatch.getRebuiltSpritesCount());
+            spriteBatch.prepare();
+            assertEquals(0, spriteBatch.getRebuiltSpritesCount());
+
+            gameObjects[1].transform.position.y = 1;
+            gameObjects[1].transform.prepareRender(1);
+            renderers[2].setColor(new Color(1, 1, 1));
+            spriteBatch.prepare();
+            assertEquals(1, spriteBatch.getRebuiltSpritesCount());
+
+            renderers[0].setColor(Color.RED);
+            renderers[2].setColor(Color.RED);
+            spriteBatch.prepare();
+            assertEquals(2, spriteBatch.getRebuiltSpritesCount());
+
+            assertTrue(spriteBatch.remove(renderers[1]));
+            spriteBatch.add(renderers[1]);
+            spriteBatch.prepare();
+            assertEquals(1, spriteBatch.getRebuiltSpritesCount());
+        } finally {
+            spriteBatch.destroy();
+        }
+    }
+
+    @Test
+    public void spritesWithASharedParentFollowIt() {
+        Graphics.setBackend(new RecordingGraphicsBackend());
+        Scene scene = new TestScene();
+        new PerspectiveCameraPrefab(Math.PI / 3, 0.1, 1000).create(scene);
+        Sprite sprite = new Sprite(new Texture(16, 16));
+        SpriteBatch spriteBatch = new SpriteBatch(-1);
+        GameObject parent = new GameObject(scene);
+        for (int i = 0; i < 200; ++i) {
+            GameObject gameObject = new GameObject(scene);
+            gameObject.transform.setParent(parent.transform);
+            gameObject.transform.position.set(i % 10, i / 10, 0);
+            SpriteRenderer renderer = new SpriteRenderer(sprite, -1);
+            gameObject.addComponent("SpriteRenderer", renderer);
+            gameObject.transform.prepareRender(1);
+            spriteBatch.add(renderer);
+        }
+        try {
+            spriteBatch.prepare();
+            assertEquals(200, spriteBatch.getRebuiltSpritesCount());
+
+            // Only the parent moves, the children resolve its new matrix in the batch.
+            parent.transform.position.z = 1;
+            parent.transform.prepareRender(1);
+            spriteBatch.prepare();
+            assertEquals(200, spriteBatch.getRebuiltSpritesCount());
+            spriteBatch.prepare();
+            assertEquals(0, spriteBatch.getRebuiltSpritesCount());
+        } finally {
+            spriteBatch.destroy();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.webler.goliath.input;
+
+import com.webler.goliath.Config;
+import com.webler.goliath.Game;
+import com.webler.goliath.math.Rng;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.lwjgl.glfw.GLFW.*;
+
+public class InputRecorderTest {
+    @Test
+    public void replayAppliesRecordedEventsAndFrameTimes() throws IOException {
+        Path path = Files.createTempFile("input", ".rec");
+        Rng.get().setSeed(42);
+
+        InputRecorder recorder = new InputRecorder(path.toString());
+        recorder.start(createGame(800, 600));
+        recorder.update(0);
+        Input.keyCallback(0, GLFW_KEY_W, 0, GLFW_PRESS, 0);
+        Input.mousePosCallback(0, 12.5, -3);
+        assertEquals(0.016, recorder.getFrameTime(0, 0.016));
+        recorder.update(1);
+        Input.keyCallback(0, GLFW_KEY_W, 0, GLFW_RELEASE, 0);
+        Input.mouseButtonCallback(0, GLFW_MOUSE_BUTTON_LEFT, GLFW_PRESS, 0);
+        recorder.getFrameTime(1, 0.02);
+        recorder.destroy();
+        assertEquals(2, recorder.getFramesCount());
+
+        Input.clear();
+        InputReplayer replayer = new InputReplayer(path.toString());
+        assertEquals(42, replayer.getSeed());
+        assertEquals(2, replayer.getFramesCount());
+
+        replayer.update(0);
+        assertEquals(0.016, replayer.getFrameTime(0, 1));
+        assertTrue(Input.keyPressed(GLFW_KEY_W));
+        assertEquals(12.5, Input.mouseX());
+        assertEquals(-3, Input.mouseY());
+
+        replayer.update(1);
+        assertEquals(0.02, replayer.getFrameTime(1, 1));
+        assertFalse(Input.keyPressed(GLFW_KEY_W));
+        assertTrue(Input.mouseButtonPressed(GLFW_MOUSE_BUTTON_LEFT));
+
+        // Frames after the end of the recording keep the measured time.
+        replayer.update(2);
+        assertEquals(1, replayer.getFrameTime(2, 1));
+        Input.clear();
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void replayAppliesRecordedViewportSize() throws IOException {
+        Path path = Files.createTempFile("input", ".rec");
+        Game recorded = createGame(800, 600);
+
+        InputRecorder recorder = new InputRecorder(path.toString());
+        recorder.start(recorded);
+        // The window is resized before the first frame, the header keeps the size the first frame ran with.
+        recorded.setSize(1600, 900);
+        recorder.update(0);
+        recorder.getFrameTime(0, 0.016);
+        recorder.destroy();
+
+        InputReplayer replayer = new InputReplayer(path.toString());
+        assertEquals(1600, replayer.getViewportWidth());
+        assertEquals(900, replayer.getViewportHeight());
+
+        Game replayed = createGame(1280, 720);
+        replayer.start(replayed);
+        assertEquals(1600, replayed.getWidth());
+        assertEquals(900, replayed.getHeight());
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void recorderMustBeStarted() throws IOException {
+        Path path = Files.createTempFile("input", ".rec");
+        InputRecorder recorder = new InputRecorder(path.toString());
+        assertThrows(IllegalStateException.class, () -> recorder.update(0));
+        recorder.destroy();
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void sameSeedGivesSameSequence() {
+        Rng a = new Rng(7);
+        Rng b = new Rng(7);
+        for (int i = 0; i < 16; ++i) {
+            assertEquals(a.nextDouble(), b.nextDouble());
+        }
+        a.setSeed(7);
+        b.setSeed(7);
+        assertEquals(a.nextDouble(-1, 1), b.nextDouble(-1, 1));
+    }
+
+    private static Game createGame(int width, int height) {
+        return new Game(new Config("Test", width, height, null, null, false));
+    }
+}
@@ -0,0 +1,48 @@
+package com.webler.goliath.jobs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JobSystemTest {
+    @Test
+    public void parallelForVisitsEveryIndexOnce() {
+        JobSystem jobs = new JobSystem();
+        jobs.start(4);
+        try {
+            AtomicIntegerArray visits = new AtomicIntegerArray(1000);
+            jobs.parallelFor(visits.length(), 7, visits::incrementAndGet);
+            for (int i = 0; i < visits.length(); ++i) {
+                assertEquals(1, visits.get(i));
+            }
+        } finally {
+            jobs.destroy();
+        }
+    }
+
+    @Test
+    public void parallelForRunsSeriallyWithoutPool() {
+        JobSystem jobs = new JobSystem();
+        int[] order = new int[10];
+        int[] count = new int[1];
+        jobs.parallelFor(order.length, 1, i -> order[count[0]++] = i);
+        for (int i = 0; i < order.length; ++i) {
+            assertEquals(i, order[i]);
+        }
+    }
+
+    @Test
+    public void phaseTimesAreReportedForLastFrame() {
+        JobSystem jobs = new JobSystem();
+        jobs.beginPhase(FramePhase.PARALLEL_UPDATE);
+        assertTrue(jobs.isParallelPhase());
+        jobs.endPhase(FramePhase.PARALLEL_UPDATE);
+        assertFalse(jobs.isParallelPhase());
+        assertEquals(0, jobs.getPhaseTime(FramePhase.PARALLEL_UPDATE));
+        jobs.beginFrame();
+        assertTrue(jobs.getPhaseTime(FramePhase.PARALLEL_UPDATE) >= 0);
+        assertEquals(0, jobs.getPhaseTime(FramePhase.SYNC));
+    }
+}
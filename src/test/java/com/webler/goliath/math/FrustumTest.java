@@ -0,0 +1,31 @@
+package com.webler.goliath.math;
+
+import org.joml.Matrix4d;
+import org.joml.Vector3d;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrustumTest {
+    @Test
+    public void spheresOutsideOfTheViewAreCulled() {
+        Vector3d eye = new Vector3d(0, 0, 10);
+        Matrix4d PVMatrix = new Matrix4d()
+                .perspective(Math.PI / 3, 1, 0.1, 100)
+                .lookAt(eye, new Vector3d(0, 0, 0), new Vector3d(0, 1, 0));
+        Frustum frustum = new Frustum();
+        frustum.set(PVMatrix);
+        frustum.setMaxDistance(eye, Double.POSITIVE_INFINITY);
+
+        assertTrue(frustum.intersectsSphere(0, 0, 0, 1));
+        assertFalse(frustum.intersectsSphere(0, 0, 20, 1));
+        assertTrue(frustum.intersectsSphere(0, 0, 10.5, 1));
+        assertFalse(frustum.intersectsSphere(50, 0, 0, 1));
+        assertTrue(frustum.intersectsSphere(50, 0, 0, 50));
+        assertFalse(frustum.intersectsSphere(0, 0, -200, 1));
+
+        frustum.setMaxDistance(eye, 20);
+        assertTrue(frustum.intersectsSphere(0, 0, -9, 1));
+        assertFalse(frustum.intersectsSphere(0, 0, -12, 1));
+    }
+}
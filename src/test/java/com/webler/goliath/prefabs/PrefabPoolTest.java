@@ -0,0 +1,83 @@
+package com.webler.goliath.prefabs;
+
+import com.webler.goliath.core.Component;
+import com.webler.goliath.core.GameObject;
+import com.webler.goliath.core.Scene;
+import com.webler.goliath.core.TestScene;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrefabPoolTest {
+    private final Scene scene;
+
+    public PrefabPoolTest() {
+        scene = new TestScene();
+    }
+
+    @Test
+    public void releasedObjectsAreResetAndReused() {
+        PrefabPool pool = new PrefabPool(scene, this::createCounted, 1);
+        GameObject a = pool.acquire();
+        Counter counter = a.getComponent(Counter.class, "Counter");
+        counter.value = 5;
+        assertSame(pool, a.getPool());
+
+        pool.release(a);
+        assertEquals(0, counter.value);
+        assertEquals(1, pool.getFreeCount());
+        assertSame(a, pool.acquire());
+        assertEquals(1, pool.getCreatedCount());
+    }
+
+    @Test
+    public void fullPoolDisposesReleasedObjects() {
+        PrefabPool pool = new PrefabPool(scene, this::createCounted, 1);
+        GameObject a = pool.acquire();
+        GameObject b = pool.acquire();
+        pool.release(a);
+        pool.release(b);
+        assertTrue(b.getComponent(Counter.class, "Counter").disposed);
+        assertFalse(a.getComponent(Counter.class, "Counter").disposed);
+
+        pool.clear();
+        assertTrue(a.getComponent(Counter.class, "Counter").disposed);
+        assertEquals(0, pool.getFreeCount());
+    }
+
+    @Test
+    public void releaseRejectsForeignObjects() {
+        PrefabPool pool = new PrefabPool(scene, this::createCounted, 1);
+        assertThrows(IllegalArgumentException.class, () -> pool.release(new GameObject(scene)));
+    }
+
+    private GameObject createCounted(Scene scene) {
+        GameObject go = new GameObject(scene);
+        go.addComponent("Counter", new Counter());
+        return go;
+    }
+
+    private static class Counter extends Component {
+        private int value;
+        private boolean disposed;
+
+        @Override
+        public void start() {}
+
+        @Override
+        public void update(double dt) {}
+
+        @Override
+        public void destroy() {}
+
+        @Override
+        public void reset() {
+            value = 0;
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+    }
+}
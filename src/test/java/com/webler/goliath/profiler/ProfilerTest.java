@@ -0,0 +1,77 @@
+package com.webler.goliath.profiler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProfilerTest {
+    @Test
+    public void scopesNestUnderTheirParent() {
+        Profiler profiler = new Profiler();
+        for (int i = 0; i < 3; ++i) {
+            profiler.beginFrame();
+            profiler.begin("Scene.update");
+            profiler.begin(String.class);
+            profiler.end();
+            profiler.begin(String.class);
+            profiler.end();
+            profiler.end();
+            profiler.begin("Swap");
+            profiler.end();
+            profiler.endFrame();
+        }
+
+        ProfileNode root = profiler.getRoot();
+        assertEquals(3, root.getHistory().getCount());
+        assertEquals(2, root.getChildren().size());
+        ProfileNode update = root.findChild("Scene.update");
+        assertNotNull(update);
+        ProfileNode component = update.findChild("String");
+        assertNotNull(component);
+        assertEquals(1, update.getChildren().size());
+        assertEquals(2, component.getLastCalls());
+        assertTrue(update.getHistory().getLast() >= component.getHistory().getLast());
+    }
+
+    @Test
+    public void unbalancedScopesThrow() {
+        Profiler profiler = new Profiler();
+        profiler.beginFrame();
+        assertThrows(IllegalStateException.class, profiler::end);
+        profiler.begin("open");
+        assertThrows(IllegalStateException.class, profiler::endFrame);
+    }
+
+    @Test
+    public void otherThreadsAreIgnored() throws InterruptedException {
+        Profiler profiler = new Profiler();
+        profiler.beginFrame();
+        Thread worker = new Thread(() -> {
+            profiler.begin("worker");
+            profiler.end();
+        });
+        worker.start();
+        worker.join();
+        profiler.endFrame();
+        assertNull(profiler.getRoot().findChild("worker"));
+    }
+
+    @Test
+    public void historyKeepsStatistics() {
+        ProfileHistory history = new ProfileHistory(100);
+        for (int i = 1; i <= 150; ++i) {
+            history.add(i);
+        }
+        assertEquals(100, history.getCount());
+        assertEquals(150, history.getLast());
+        assertEquals(51, history.getMin());
+        assertEquals(150, history.getMax());
+        assertEquals(100, history.getAvg());
+        assertEquals(149, history.getP99());
+
+        float[] millis = new float[100];
+        assertEquals(100, history.copyMillis(millis));
+        assertEquals(51 / 1e6f, millis[0]);
+        assertEquals(150 / 1e6f, millis[99]);
+    }
+}
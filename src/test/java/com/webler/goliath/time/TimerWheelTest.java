@@ -0,0 +1,84 @@
+package com.webler.goliath.time;
+
+import com.webler.goliath.core.GameObject;
+import com.webler.goliath.core.Scene;
+import com.webler.goliath.core.TestScene;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimerWheelTest {
+    @Test
+    public void timersFireOnceAfterTheirDelay() {
+        Scene scene = createScene();
+        GameObject owner = createOwner(scene);
+        TimerWheel timers = scene.getTimers();
+        int[] calls = new int[2];
+        TimerHandle first = timers.schedule(owner, 0.1, () -> ++calls[0]);
+        TimerHandle second = timers.schedule(owner, 0.1, () -> ++calls[1]);
+        second.cancel();
+        assertEquals(1, timers.getPendingCount());
+
+        for (int i = 0; i < 5; ++i) {
+            timers.update(1 / 60.0);
+        }
+        assertEquals(0, calls[0]);
+        assertTrue(first.isPending());
+        assertEquals(0.1 - 5 / 60.0, first.getRemainingTime(), 1e-9);
+
+        timers.update(1 / 60.0);
+        timers.update(1 / 60.0);
+        assertEquals(1, calls[0]);
+        assertEquals(0, calls[1]);
+        assertFalse(first.isPending());
+        assertEquals(0, timers.getPendingCount());
+    }
+
+    @Test
+    public void distantTimersCascadeToTheirStep() {
+        Scene scene = createScene();
+        GameObject owner = createOwner(scene);
+        TimerWheel timers = scene.getTimers();
+        double[] delays = { 0.2, 3, 20, 1500, 70000 };
+        double[] firedAt = new double[delays.length];
+        for (int i = 0; i < delays.length; ++i) {
+            int index = i;
+            timers.schedule(owner, delays[i], () -> firedAt[index] = timers.getTime());
+        }
+        while(timers.getPendingCount() > 0) {
+            timers.update(0.25);
+        }
+        for (int i = 0; i < delays.length; ++i) {
+            assertTrue(firedAt[i] >= delays[i] && firedAt[i] < delays[i] + 0.25, "timer " + delays[i] + " fired at " + firedAt[i]);
+        }
+    }
+
+    @Test
+    public void repeatingTimersStopWithTheirOwner() {
+        Scene scene = createScene();
+        GameObject owner = createOwner(scene);
+        TimerWheel timers = scene.getTimers();
+        int[] calls = new int[1];
+        TimerHandle timer = timers.scheduleRepeating(owner, 0.5, () -> ++calls[0]);
+
+        timers.update(1.6);
+        assertEquals(3, calls[0]);
+        assertTrue(timer.isPending());
+
+        owner.remove();
+        timers.update(1);
+        assertEquals(3, calls[0]);
+        assertFalse(timer.isPending());
+        assertEquals(0, timers.getPendingCount());
+    }
+
+    private static Scene createScene() {
+        return new TestScene();
+    }
+
+    private static GameObject createOwner(Scene scene) {
+        GameObject owner = new GameObject(scene, "owner");
+        scene.add(owner);
+        return owner;
+    }
+}
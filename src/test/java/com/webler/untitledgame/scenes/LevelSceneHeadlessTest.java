@@ -0,0 +1,48 @@
+package com.webler.untitledgame.scenes;
+
+import com.webler.goliath.Config;
+import com.webler.goliath.Game;
+import com.webler.goliath.audio.RecordingAudioBackend;
+import com.webler.goliath.graphics.RecordingGraphicsBackend;
+import com.webler.goliath.input.ScriptedInputSource;
+import com.webler.untitledgame.MyConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.lwjgl.glfw.GLFW.GLFW_KEY_W;
+
+public class LevelSceneHeadlessTest {
+    @Test
+    public void demoLevelRunsWithoutWindow() throws IOException {
+        Path levelPath = Files.createTempFile("demo_level", ".xml");
+        try(InputStream is = ClassLoader.getSystemResourceAsStream("untitled-game/levels/demo_level.xml")) {
+            assertNotNull(is);
+            Files.copy(is, levelPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        RecordingGraphicsBackend graphicsBackend = new RecordingGraphicsBackend();
+        Config config = new MyConfig("LevelScene", new LevelParams(levelPath.toString()), false);
+        config.setHeadless(true);
+        config.setHeadlessFrames(300);
+        config.setGraphicsBackend(graphicsBackend);
+        config.setAudioBackend(new RecordingAudioBackend());
+        config.setInputSource(new ScriptedInputSource().hold(0, 200, GLFW_KEY_W));
+
+        Game game = new Game(config);
+        game.registerScene(LevelScene.class);
+        game.run();
+
+        assertEquals(300, game.getFrame());
+        // The start scene is loaded at the end of the first frame.
+        assertEquals(299, graphicsBackend.getFramesCount());
+        assertTrue(graphicsBackend.getLastMeshesCount() > 0);
+        assertTrue(graphicsBackend.getLastSpritesCount() > 0);
+        Files.deleteIfExists(levelPath);
+    }
+}